@@ -12,6 +12,9 @@ repositories {
 }
 
 dependencies {
+    // the runtime used by generated tests; the generator builds on it
+    api(project(":runtime"))
+
     //implementation("org.antlr:antlr:3.5.2")
     implementation("org.antlr:ST4:4.3.1")
 
@@ -0,0 +1,30 @@
+/*
+ * The JMLUnitNG runtime: the iterators, strategies, object generators and
+ * TestNG support that generated tests use. It has no dependencies of its own
+ * (generated tests bring TestNG), so the test classpath stays small.
+ */
+
+plugins {
+    `java-library`
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    compileOnly(files("../lib/testng-6.3.2beta-modified.jar"))
+
+    testImplementation(files("../lib/testng-6.3.2beta-modified.jar"))
+    testImplementation("org.junit.jupiter:junit-jupiter-api:5.8.2")
+    testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:5.8.2")
+    testImplementation("org.junit.jupiter:junit-jupiter-params:5.8.2")
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
+
+tasks.jar {
+    archiveBaseName.set("jmlunitng-runtime")
+}
@@ -0,0 +1,267 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.iterator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Builds covering arrays: sets of rows of value indices, one per parameter,
+ * such that every combination of values of every t parameters appears in
+ * at least one row, where t is the strength of the array. The arrays are
+ * built by the in-parameter-order (IPOG) strategy: the rows start as all
+ * combinations of the first t parameters, and each further parameter is
+ * added by choosing, for each row, the value that covers the most new
+ * combinations, and then adding rows for the combinations that remain.
+ * The result depends only on the numbers of values of the parameters and
+ * the strength, so it is the same every time.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+final class CoveringArray {
+    /**
+     * The marker for a value that is not yet chosen.
+     */
+    private static final int UNCHOSEN = -1;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private CoveringArray() {
+        // do nothing
+    }
+
+    /**
+     * Builds a covering array.
+     *
+     * @param the_sizes    The number of values of each parameter.
+     * @param the_strength The strength.
+     * @return the rows of the covering array; each row has the index of a
+     * value for each parameter. If any parameter has no values, there are
+     * no rows.
+     * @throws IllegalArgumentException if the_strength is less than 1 or
+     *                                  greater than the number of parameters,
+     *                                  or if there are too many combinations
+     *                                  of values of t parameters to track.
+     */
+    //@ requires 1 <= the_strength && the_strength <= the_sizes.length;
+    static /*@ non_null @*/ int[][] generate(final /*@ non_null @*/ int[] the_sizes,
+                                             final int the_strength) {
+        if (the_strength < 1 || the_strength > the_sizes.length) {
+            throw new IllegalArgumentException("strength " + the_strength + " is invalid for " +
+                    the_sizes.length + " parameters");
+        }
+        for (int s : the_sizes) {
+            if (s == 0) {
+                return new int[0][];
+            }
+        }
+
+        // all combinations of the values of the first t parameters
+        final List<int[]> rows = new ArrayList<int[]>();
+        final int[] row = new int[the_sizes.length];
+        Arrays.fill(row, the_strength, row.length, UNCHOSEN);
+        int p;
+        do {
+            rows.add(row.clone());
+            p = the_strength - 1;
+            while (p >= 0 && ++row[p] == the_sizes[p]) {
+                row[p] = 0;
+                p--;
+            }
+        } while (p >= 0);
+
+        for (int k = the_strength; k < the_sizes.length; k++) {
+            extend(rows, the_sizes, the_strength, k);
+        }
+
+        // values that no combination needs can be anything
+        for (int[] r : rows) {
+            for (int i = 0; i < r.length; i++) {
+                if (r[i] == UNCHOSEN) {
+                    r[i] = 0;
+                }
+            }
+        }
+        return rows.toArray(new int[rows.size()][]);
+    }
+
+    /**
+     * Adds a parameter to the rows of a covering array, choosing its value
+     * in each row and adding rows until every combination of its values
+     * with the values of any t - 1 earlier parameters is covered.
+     *
+     * @param the_rows     The rows, which cover the earlier parameters.
+     * @param the_sizes    The number of values of each parameter.
+     * @param the_strength The strength.
+     * @param the_param    The index of the parameter to add.
+     */
+    private static void extend(final List<int[]> the_rows, final int[] the_sizes,
+                               final int the_strength, final int the_param) {
+        final List<int[]> subsets = subsets(the_param, the_strength - 1);
+        final BitSet[] covered = new BitSet[subsets.size()];
+        final int[] combinations = new int[subsets.size()];
+        for (int s = 0; s < covered.length; s++) {
+            long count = the_sizes[the_param];
+            for (int i : subsets.get(s)) {
+                count = count * the_sizes[i];
+            }
+            if (count > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("too many combinations of values to cover");
+            }
+            combinations[s] = (int) count;
+            covered[s] = new BitSet();
+        }
+
+        // horizontal growth: the best value for each row
+        for (int[] row : the_rows) {
+            int best = 0;
+            int best_count = -1;
+            for (int v = 0; v < the_sizes[the_param]; v++) {
+                row[the_param] = v;
+                int count = 0;
+                for (int s = 0; s < covered.length; s++) {
+                    final int c = combination(row, subsets.get(s), the_sizes, the_param);
+                    if (c != UNCHOSEN && !covered[s].get(c)) {
+                        count++;
+                    }
+                }
+                if (count > best_count) {
+                    best = v;
+                    best_count = count;
+                }
+            }
+            row[the_param] = best;
+            cover(row, subsets, covered, the_sizes, the_param);
+        }
+
+        // vertical growth: rows for the combinations that remain
+        for (int s = 0; s < covered.length; s++) {
+            final int[] subset = subsets.get(s);
+            for (int c = covered[s].nextClearBit(0); c < combinations[s];
+                 c = covered[s].nextClearBit(c + 1)) {
+                // decode the combination into the values it needs
+                final int[] values = new int[subset.length];
+                int rest = c / the_sizes[the_param];
+                for (int i = subset.length - 1; i >= 0; i--) {
+                    values[i] = rest % the_sizes[subset[i]];
+                    rest = rest / the_sizes[subset[i]];
+                }
+                int[] row = compatibleRow(the_rows, subset, values, the_param,
+                                          c % the_sizes[the_param]);
+                if (row == null) {
+                    row = new int[the_sizes.length];
+                    Arrays.fill(row, UNCHOSEN);
+                    row[the_param] = c % the_sizes[the_param];
+                    the_rows.add(row);
+                }
+                for (int i = 0; i < subset.length; i++) {
+                    row[subset[i]] = values[i];
+                }
+                cover(row, subsets, covered, the_sizes, the_param);
+            }
+        }
+    }
+
+    /**
+     * @param the_rows   The rows.
+     * @param the_subset The indices of some parameters.
+     * @param the_values The values needed for the parameters in the_subset.
+     * @param the_param  The index of the parameter being added.
+     * @param the_value  The value needed for the parameter being added.
+     * @return a row whose values for the parameters in the_subset are either
+     * the needed values or unchosen, and whose value for the parameter
+     * being added is the needed value, or null if there is none.
+     */
+    private static int[] compatibleRow(final List<int[]> the_rows, final int[] the_subset,
+                                       final int[] the_values, final int the_param,
+                                       final int the_value) {
+        for (int[] row : the_rows) {
+            boolean compatible = row[the_param] == the_value;
+            for (int i = 0; compatible && i < the_subset.length; i++) {
+                final int v = row[the_subset[i]];
+                compatible = v == UNCHOSEN || v == the_values[i];
+            }
+            if (compatible) {
+                return row;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Marks the combinations in a row as covered.
+     *
+     * @param the_row     The row.
+     * @param the_subsets The subsets of earlier parameters.
+     * @param the_covered The covered combinations for each subset.
+     * @param the_sizes   The number of values of each parameter.
+     * @param the_param   The index of the parameter being added.
+     */
+    private static void cover(final int[] the_row, final List<int[]> the_subsets,
+                              final BitSet[] the_covered, final int[] the_sizes,
+                              final int the_param) {
+        for (int s = 0; s < the_covered.length; s++) {
+            final int c = combination(the_row, the_subsets.get(s), the_sizes, the_param);
+            if (c != UNCHOSEN) {
+                the_covered[s].set(c);
+            }
+        }
+    }
+
+    /**
+     * @param the_row    A row.
+     * @param the_subset The indices of some earlier parameters.
+     * @param the_sizes  The number of values of each parameter.
+     * @param the_param  The index of the parameter being added.
+     * @return the index of the combination of values of the parameters in
+     * the_subset and the parameter being added in the_row, or UNCHOSEN if
+     * any of those values is not chosen.
+     */
+    private static int combination(final int[] the_row, final int[] the_subset,
+                                   final int[] the_sizes, final int the_param) {
+        int result = 0;
+        for (int i : the_subset) {
+            if (the_row[i] == UNCHOSEN) {
+                return UNCHOSEN;
+            }
+            result = result * the_sizes[i] + the_row[i];
+        }
+        return result * the_sizes[the_param] + the_row[the_param];
+    }
+
+    /**
+     * @param the_count The number of elements to choose from.
+     * @param the_size  The size of the subsets.
+     * @return all the subsets of {0, ..., the_count - 1} with the_size
+     * elements, in increasing lexicographic order.
+     */
+    private static List<int[]> subsets(final int the_count, final int the_size) {
+        final List<int[]> result = new ArrayList<int[]>();
+        final int[] subset = new int[the_size];
+        for (int i = 0; i < the_size; i++) {
+            subset[i] = i;
+        }
+        while (true) {
+            result.add(subset.clone());
+            int i = the_size - 1;
+            while (i >= 0 && subset[i] == the_count - the_size + i) {
+                i--;
+            }
+            if (i < 0) {
+                break;
+            }
+            subset[i]++;
+            for (int j = i + 1; j < the_size; j++) {
+                subset[j] = subset[j - 1] + 1;
+            }
+        }
+        return result;
+    }
+}
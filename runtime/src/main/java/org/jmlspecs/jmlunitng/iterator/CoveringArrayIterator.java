@@ -0,0 +1,333 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.iterator;
+
+import org.jmlspecs.jmlunitng.strategy.Strategy;
+import org.jmlspecs.jmlunitng.strategy.StrategyFactory;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A repeated access iterator that generates arrays of objects from
+ * strategies that contain test parameter data, like ParameterArrayIterator,
+ * but that generates only the arrays of a covering array of strength t
+ * rather than all combinations: every combination of values of any t
+ * parameters appears in some array, which takes far fewer arrays than all
+ * combinations when there are more than t parameters. Strength 2
+ * (pairwise testing) is the default.
+ * <p>
+ * The arrays are taken from an IndexedParameterSpace of the strategies,
+ * so objects are not shared between arrays any more than they are by
+ * ParameterArrayIterator: each array of receiver objects, for instance,
+ * has a receiver constructed for it. The iterator is indexed: any of its
+ * arrays can be generated directly. It is also splittable: its copies
+ * share the covering array, but not the space.
+ * <p>
+ * The data providers of generated test classes use the strength chosen
+ * when the tests were generated, which can be changed in each test class
+ * and is overridden for all test classes by the "jmlunitng.covering.strength"
+ * system property (0 to test all combinations).
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+public class CoveringArrayIterator implements SplittableIterator<Object[]> {
+    /**
+     * The system property that sets the strength of the covering arrays of
+     * all data providers.
+     */
+    public static final String STRENGTH_PROPERTY = "jmlunitng.covering.strength";
+
+    /**
+     * The strength of pairwise testing, the default.
+     */
+    public static final int PAIRWISE = 2;
+
+    /**
+     * The space of arrays of the strategies.
+     */
+    private final IndexedParameterSpace my_space;
+
+    /**
+     * The rows of the covering array, each with the index of an element
+     * of each strategy.
+     */
+    private final int[][] my_rows;
+
+    /**
+     * The index of the current row.
+     */
+    private int my_row;
+
+    /**
+     * Creates a new CoveringArrayIterator that iterates over a pairwise
+     * covering array of the objects in the strategies made by the given
+     * factories.
+     *
+     * @param the_factories The factories of the strategies to iterate over.
+     */
+    public CoveringArrayIterator(final StrategyFactory... the_factories) {
+        this(PAIRWISE, the_factories);
+    }
+
+    /**
+     * Creates a new CoveringArrayIterator that iterates over a covering
+     * array of the given strength of the objects in the given strategies.
+     * Each strategy is asked for a fresh iterator whenever one is needed.
+     *
+     * @param the_strength   The strength.
+     * @param the_strategies The strategies to iterate over.
+     * @throws IllegalArgumentException if the_strength is not positive.
+     */
+    //@ requires the_strength > 0;
+    public CoveringArrayIterator(final int the_strength, final Strategy... the_strategies) {
+        this(the_strength, ParameterArrayIterator.factories(the_strategies));
+    }
+
+    /**
+     * Creates a new CoveringArrayIterator that iterates over a covering
+     * array of the given strength of the objects in the strategies made by
+     * the given factories. If the strength is at least the number of
+     * strategies, all combinations are iterated over.
+     *
+     * @param the_strength  The strength.
+     * @param the_factories The factories of the strategies to iterate over.
+     * @throws IllegalArgumentException if the_strength is not positive.
+     */
+    //@ requires the_strength > 0;
+    public CoveringArrayIterator(final int the_strength,
+                                 final StrategyFactory... the_factories) {
+        this(the_strength, new IndexedParameterSpace(the_factories));
+    }
+
+    /**
+     * Creates a new CoveringArrayIterator that iterates over a covering
+     * array of the given strength of the given space of arrays.
+     *
+     * @param the_strength The strength.
+     * @param the_space    The space. It must not be used by anything else
+     *                     while this iterator is in use.
+     * @throws IllegalArgumentException if the_strength is not positive.
+     */
+    //@ requires the_strength > 0;
+    public CoveringArrayIterator(final int the_strength,
+                                 final /*@ non_null @*/ IndexedParameterSpace the_space) {
+        if (the_strength < 1) {
+            throw new IllegalArgumentException("covering strength must be positive");
+        }
+        my_space = the_space;
+        final int[] sizes = new int[the_space.dimensions()];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = the_space.size(i);
+        }
+        if (sizes.length == 0) {
+            my_rows = new int[0][];
+        } else {
+            my_rows = CoveringArray.generate(sizes, Math.min(the_strength, sizes.length));
+        }
+        my_row = 0;
+    }
+
+    /**
+     * Creates a new CoveringArrayIterator that iterates over the given rows
+     * of the given space of arrays.
+     *
+     * @param the_rows  The rows of the covering array.
+     * @param the_space The space.
+     */
+    private CoveringArrayIterator(final int[][] the_rows,
+                                  final IndexedParameterSpace the_space) {
+        my_space = the_space;
+        my_rows = the_rows;
+        my_row = 0;
+    }
+
+    /**
+     * Creates an iterator for a data provider: a CoveringArrayIterator if
+     * the strength (the "jmlunitng.covering.strength" system property if it
+     * is set, the_strength otherwise) is positive and less than the number
+     * of strategies, and a ParameterArrayIterator over all combinations
+     * otherwise.
+     *
+     * @param the_strength  The strength if the system property is not set.
+     * @param the_factories The factories of the strategies to iterate over.
+     * @return the iterator.
+     */
+    public static /*@ non_null @*/ RepeatedAccessIterator<Object[]> forStrength
+    (final int the_strength, final StrategyFactory... the_factories) {
+        final int strength = strength(the_strength);
+        final RepeatedAccessIterator<Object[]> result;
+        if (strength > 0 && strength < the_factories.length) {
+            result = new CoveringArrayIterator(strength, the_factories);
+        } else {
+            result = new ParameterArrayIterator(the_factories);
+        }
+        return result;
+    }
+
+    /**
+     * Creates an iterator for a data provider, as forStrength does for
+     * strategy factories.
+     *
+     * @param the_strength   The strength if the system property is not set.
+     * @param the_strategies The strategies to iterate over.
+     * @return the iterator.
+     */
+    public static /*@ non_null @*/ RepeatedAccessIterator<Object[]> forStrength
+    (final int the_strength, final Strategy... the_strategies) {
+        return forStrength(the_strength, ParameterArrayIterator.factories(the_strategies));
+    }
+
+    /**
+     * Creates an iterator for a data provider that can be split between
+     * threads, as by a PartitionedIteratorWrapper, if the iterators of all
+     * the strategies are indexed: a CoveringArrayIterator if the strength
+     * (chosen as by forStrength) is positive and less than the number of
+     * strategies, and an iterator over all the arrays of an
+     * IndexedParameterSpace otherwise. If some strategy iterator is not
+     * indexed, this returns the same iterator as forStrength, which is not
+     * split, so that the objects of that strategy are generated no more
+     * often than they would be without splitting.
+     *
+     * @param the_strength  The strength if the system property is not set.
+     * @param the_factories The factories of the strategies to iterate over.
+     * @return the iterator.
+     */
+    public static /*@ non_null @*/ RepeatedAccessIterator<Object[]> splittableForStrength
+    (final int the_strength, final StrategyFactory... the_factories) {
+        final int strength = strength(the_strength);
+        final RepeatedAccessIterator<?>[] iterators =
+                ParameterArrayIterator.iterators(the_factories);
+        boolean indexed = true;
+        for (RepeatedAccessIterator<?> i : iterators) {
+            indexed = indexed && i.isIndexed();
+        }
+        final RepeatedAccessIterator<Object[]> result;
+        if (strength > 0 && strength < the_factories.length) {
+            result = new CoveringArrayIterator
+                    (strength, new IndexedParameterSpace(the_factories, iterators));
+        } else if (indexed) {
+            result = new IndexedParameterSpace(the_factories, iterators).iterator();
+        } else {
+            result = new ParameterArrayIterator(the_factories, iterators);
+        }
+        return result;
+    }
+
+    /**
+     * Creates a splittable iterator for a data provider, as
+     * splittableForStrength does for strategy factories.
+     *
+     * @param the_strength   The strength if the system property is not set.
+     * @param the_strategies The strategies to iterate over.
+     * @return the iterator.
+     */
+    public static /*@ non_null @*/ RepeatedAccessIterator<Object[]> splittableForStrength
+    (final int the_strength, final Strategy... the_strategies) {
+        return splittableForStrength(the_strength,
+                                     ParameterArrayIterator.factories(the_strategies));
+    }
+
+    /**
+     * @param the_default The strength to use if the system property is not
+     *                    set.
+     * @return the value of the "jmlunitng.covering.strength" system property
+     * if it is set to an integer, the_default otherwise.
+     */
+    public static int strength(final int the_default) {
+        return Integer.getInteger(STRENGTH_PROPERTY, the_default);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Object[] element() throws NoSuchElementException {
+        if (!hasElement()) {
+            throw new NoSuchElementException("iterator has no current element");
+        }
+        return elementAt(my_row);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean hasElement() {
+        return my_row < my_rows.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void advance() {
+        my_row++;
+    }
+
+    /**
+     * @return true, since the space restarts the strategy iterators when
+     * it needs to.
+     */
+    @Override
+    public /*@ pure */ boolean isResettable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        my_row = 0;
+    }
+
+    /**
+     * @return true, since the arrays are generated from the rows of the
+     * covering array.
+     */
+    @Override
+    public /*@ pure */ boolean isIndexed() {
+        return true;
+    }
+
+    /**
+     * @return the number of arrays this iterator generates.
+     */
+    @Override
+    public /*@ pure */ int size() {
+        return my_rows.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object[] elementAt(final int the_index) {
+        final int[] row = my_rows[the_index];
+        final Object[] result = new Object[row.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = my_space.element(i, row[i]);
+        }
+        return result;
+    }
+
+    /**
+     * @return an iterator over the same covering array of a copy of the
+     * space.
+     */
+    @Override
+    public SplittableIterator<Object[]> copy() {
+        return new CoveringArrayIterator(my_rows, my_space.copy());
+    }
+
+    /**
+     * @return true if the iterators of all the strategies are indexed, false
+     * if the copies of this iterator would each advance the iterator of some
+     * strategy over objects that they do not use.
+     */
+    @Override
+    public /*@ pure */ boolean isSplittable() {
+        return my_space.isIndexed();
+    }
+}
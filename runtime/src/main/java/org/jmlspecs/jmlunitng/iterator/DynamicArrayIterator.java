@@ -0,0 +1,260 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.iterator;
+
+import org.jmlspecs.jmlunitng.strategy.Strategy;
+import org.jmlspecs.jmlunitng.strategy.StrategyFactory;
+
+import java.lang.reflect.Array;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A repeated access iterator that generates arrays of objects of a specific
+ * type and maximum length by instantiating strategies, through their
+ * factories, to supply data for the array components. The iterators of
+ * those strategies are reset, when they are resettable, rather than being
+ * made again whenever array elements need refilling.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+public class DynamicArrayIterator implements RepeatedAccessIterator<Object> {
+    /**
+     * The component type of the generated array.
+     */
+    private final Class<?> my_component_type;
+
+    /**
+     * The factories of the strategies that supply the array components.
+     */
+    private final StrategyFactory[] my_factories;
+
+    /**
+     * The maximum length of arrays to generate.
+     */
+    private final int my_max_length;
+
+    /**
+     * The current strategies being used.
+     */
+    private RepeatedAccessIterator<?>[] my_strategies;
+
+    /**
+     * The most recently generated array (current element).
+     */
+    private Object my_element;
+
+    /**
+     * A flag indicating whether there are elements remaining.
+     */
+    private boolean my_is_finished;
+
+    /**
+     * Creates a new DynamicArrayIterator that generates arrays of the specified
+     * component type using the specified strategy classes to provide data, up to
+     * the specified maximum array length.
+     *
+     * @param the_component_type   The component type of the generated arrays.
+     * @param the_strategy_classes The strategy classes to use to populate the
+     *                             arrays.
+     * @param the_max_length       The maximum array length.
+     * @throws IllegalArgumentException if there is a problem finding the
+     *                                  constructors of the strategy classes.
+     */
+    public DynamicArrayIterator(final Class<?> the_component_type,
+                                final List<Class<? extends Strategy>> the_strategy_classes,
+                                final int the_max_length) throws IllegalArgumentException {
+        this(the_component_type, factories(the_strategy_classes), the_max_length);
+    }
+
+    /**
+     * Creates a new DynamicArrayIterator that generates arrays of the specified
+     * component type using the specified strategies to provide data, up to
+     * the specified maximum array length. Each strategy is asked for a fresh
+     * iterator whenever array elements need refilling.
+     *
+     * @param the_component_type The component type of the generated arrays.
+     * @param the_strategies     The strategies to use to populate the arrays.
+     * @param the_max_length     The maximum array length.
+     */
+    public DynamicArrayIterator(final Class<?> the_component_type,
+                                final Strategy[] the_strategies,
+                                final int the_max_length) {
+        this(the_component_type, factories(the_strategies), the_max_length);
+    }
+
+    /**
+     * Creates a new DynamicArrayIterator that generates arrays of the specified
+     * component type using the strategies made by the specified factories to
+     * provide data, up to the specified maximum array length. New strategies
+     * are made whenever array elements need refilling.
+     *
+     * @param the_component_type The component type of the generated arrays.
+     * @param the_factories      The factories of the strategies to use to
+     *                           populate the arrays.
+     * @param the_max_length     The maximum array length.
+     */
+    public DynamicArrayIterator(final Class<?> the_component_type,
+                                final StrategyFactory[] the_factories,
+                                final int the_max_length) {
+        my_component_type = the_component_type;
+        my_factories = the_factories.clone();
+        my_max_length = the_max_length;
+        my_strategies = new RepeatedAccessIterator<?>[0];
+        my_element = Array.newInstance(the_component_type, 0);
+        my_is_finished = my_factories.length == 0;
+    }
+
+    /**
+     * @param the_strategy_classes Strategy classes.
+     * @return the factories of the_strategy_classes.
+     * @throws IllegalArgumentException if there is a problem finding the
+     *                                  constructors of the strategy classes.
+     */
+    private static StrategyFactory[] factories
+    (final List<Class<? extends Strategy>> the_strategy_classes) {
+        final StrategyFactory[] result = new StrategyFactory[the_strategy_classes.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = StrategyFactory.forClass(the_strategy_classes.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * @param the_strategies Strategies.
+     * @return factories that return the_strategies.
+     */
+    private static StrategyFactory[] factories(final Strategy[] the_strategies) {
+        final StrategyFactory[] result = new StrategyFactory[the_strategies.length];
+        for (int i = 0; i < result.length; i++) {
+            final Strategy s = the_strategies[i];
+            result[i] = () -> s;
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Object element() throws NoSuchElementException {
+        if (my_is_finished) {
+            throw new NoSuchElementException("iterator has no current element");
+        }
+        return my_element;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean hasElement() {
+        return !my_is_finished;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void advance() {
+        int p = 0;
+        while (p < my_strategies.length) {
+            // ensure each iterator is at a valid element
+            my_strategies[p].advance();
+            if (my_strategies[p].hasElement()) {
+                // no need to check the other iterators
+                break;
+            } else {
+                // leave the strategy empty for later refilling
+                p++;
+            }
+        }
+
+        my_is_finished = p == my_strategies.length && my_strategies.length == my_max_length;
+
+        if (strategiesAreEmpty() && !my_is_finished) {
+            // bump up the array length
+            my_strategies = new RepeatedAccessIterator<?>[my_strategies.length + 1];
+            for (int i = 0; i < my_strategies.length; i++) {
+                my_strategies[i] = newStrategy();
+            }
+        }
+
+        if (!my_is_finished) {
+            // refill all the strategies that need it
+            for (int i = 0; i < my_strategies.length; i++) {
+                if (!my_strategies[i].hasElement()) {
+                    if (my_strategies[i].isResettable()) {
+                        my_strategies[i].reset();
+                    } else {
+                        my_strategies[i] = newStrategy();
+                    }
+                }
+            }
+
+            my_element = Array.newInstance(my_component_type, my_strategies.length);
+            for (int i = 0; i < my_strategies.length; i++) {
+                final RepeatedAccessIterator<?> s = my_strategies[i];
+                if (s instanceof PrimitiveArrayIterator &&
+                        ((PrimitiveArrayIterator) s).componentType() == my_component_type) {
+                    // copy primitive values without boxing them
+                    ((PrimitiveArrayIterator) s).copyElement(my_element, i);
+                } else {
+                    Array.set(my_element, i, s.element());
+                }
+            }
+        } // else the element stays at its default value
+    }
+
+    /**
+     * @return true, since resetting starts again with the empty array.
+     */
+    @Override
+    public /*@ pure */ boolean isResettable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        my_strategies = new RepeatedAccessIterator<?>[0];
+        my_element = Array.newInstance(my_component_type, 0);
+        my_is_finished = my_factories.length == 0;
+    }
+
+    /**
+     * @return true if there are no values left in our strategies, false
+     * otherwise; note that this always returns false for the strategy
+     * array of size 0.
+     */
+    private boolean strategiesAreEmpty() {
+        boolean result = false;
+        for (RepeatedAccessIterator<?> s : my_strategies) {
+            result = result || s.hasElement();
+        }
+        return !result;
+    }
+
+    /**
+     * @return a new strategy for an array element, comprised of the concatenation
+     * of the strategies made by all the factories specified at construction;
+     * if there is only one factory, its strategy's iterator is used as it is,
+     * so that primitive values can be copied from it without boxing.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private RepeatedAccessIterator<?> newStrategy() {
+        if (my_factories.length == 1) {
+            return my_factories[0].newStrategy().iterator();
+        }
+        final List<RepeatedAccessIterator<?>> strategy_list =
+                new LinkedList<RepeatedAccessIterator<?>>();
+        for (StrategyFactory f : my_factories) {
+            strategy_list.add(f.newStrategy().iterator());
+        }
+        return new MultiIterator(strategy_list);
+    }
+}
@@ -0,0 +1,540 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.iterator;
+
+import org.jmlspecs.jmlunitng.strategy.Strategy;
+import org.jmlspecs.jmlunitng.strategy.StrategyFactory;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * The space of arrays of objects generated by strategies that contain test
+ * parameter data, indexed so that any array can be generated directly. The
+ * arrays are numbered in the order in which a ParameterArrayIterator over
+ * the same strategies generates them: the index of an array is a
+ * mixed-radix number whose digits are the indices of its objects in their
+ * strategies, with the first strategy's as the least significant digit.
+ * <p>
+ * The object at an index of a strategy is taken from the current iterator
+ * of the strategy, which is restarted as by ParameterArrayIterator when an
+ * object before the last one taken from it is needed, so that objects that
+ * a test may have modified are not returned again; an array has its own
+ * objects just as an array of a ParameterArrayIterator does. If the
+ * iterator is indexed, the object is taken in constant time. If it is not
+ * (as for receiver objects, which are constructed when they are taken),
+ * the objects of the strategy are counted once, when the space is
+ * created, and the iterator is advanced to the object; if it has fewer
+ * objects than were counted, for instance because constructors that
+ * sometimes fail skipped more objects, the missing objects are null. Any
+ * array of strategies whose iterators are indexed can therefore be
+ * generated in time proportional to the number of strategies, from any
+ * index onward, or from any range or subset of indices, without
+ * generating the arrays before them.
+ * <p>
+ * A space keeps the current iterator of each strategy, so it must not be
+ * used on different threads at the same time; copies of it, which have
+ * their own strategy iterators, can be. The iterators over ranges of a
+ * space are splittable, by copying the space, if the iterators of all the
+ * strategies are indexed.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+public class IndexedParameterSpace {
+    /**
+     * The factories of the strategies whose iterators are used.
+     */
+    private final StrategyFactory[] my_factories;
+
+    /**
+     * The current strategy iterators.
+     */
+    //@ private invariant my_iterators.length == my_factories.length;
+    private final RepeatedAccessIterator<?>[] my_iterators;
+
+    /**
+     * Whether the iterators of each strategy are indexed.
+     */
+    //@ private invariant my_indexed.length == my_factories.length;
+    private final boolean[] my_indexed;
+
+    /**
+     * The index of the element last taken from each indexed strategy
+     * iterator, and the index of the current element of each strategy
+     * iterator that is not indexed.
+     */
+    //@ private invariant my_positions.length == my_factories.length;
+    private final int[] my_positions;
+
+    /**
+     * The number of objects of each strategy.
+     */
+    //@ private invariant my_sizes.length == my_factories.length;
+    private final int[] my_sizes;
+
+    /**
+     * The number of arrays in the space.
+     */
+    private final long my_size;
+
+    /**
+     * Creates a new IndexedParameterSpace of the arrays of objects in the
+     * given strategies. Each strategy is asked for a fresh iterator
+     * whenever one is needed.
+     *
+     * @param the_strategies The strategies.
+     * @throws IllegalArgumentException if there are more arrays than can be
+     *                                  indexed by a long.
+     */
+    public IndexedParameterSpace(final Strategy... the_strategies) {
+        this(ParameterArrayIterator.factories(the_strategies));
+    }
+
+    /**
+     * Creates a new IndexedParameterSpace of the arrays of objects in the
+     * strategies made by the given factories.
+     *
+     * @param the_factories The factories of the strategies.
+     * @throws IllegalArgumentException if there are more arrays than can be
+     *                                  indexed by a long.
+     */
+    public IndexedParameterSpace(final StrategyFactory... the_factories) {
+        this(the_factories, ParameterArrayIterator.iterators(the_factories));
+    }
+
+    /**
+     * Creates a new IndexedParameterSpace of the arrays of objects in the
+     * strategies made by the given factories, starting with the given
+     * iterators of the strategies.
+     *
+     * @param the_factories The factories of the strategies.
+     * @param the_iterators New iterators of strategies made by the factories.
+     * @throws IllegalArgumentException if there are more arrays than can be
+     *                                  indexed by a long.
+     */
+    //@ requires the_iterators.length == the_factories.length;
+    IndexedParameterSpace(final StrategyFactory[] the_factories,
+                          final RepeatedAccessIterator<?>[] the_iterators) {
+        my_factories = the_factories;
+        my_iterators = the_iterators.clone();
+        my_indexed = new boolean[the_factories.length];
+        my_positions = new int[the_factories.length];
+        my_sizes = new int[the_factories.length];
+        long size = the_factories.length == 0 ? 0 : 1;
+        for (int i = 0; i < the_factories.length; i++) {
+            final RepeatedAccessIterator<?> iterator = the_iterators[i];
+            my_indexed[i] = iterator.isIndexed();
+            if (my_indexed[i]) {
+                my_sizes[i] = iterator.size();
+            } else {
+                // count the objects; the iterator is restarted when one is needed
+                while (iterator.hasElement()) {
+                    my_sizes[i] = my_sizes[i] + 1;
+                    iterator.advance();
+                }
+                my_positions[i] = my_sizes[i];
+            }
+            try {
+                size = Math.multiplyExact(size, my_sizes[i]);
+            } catch (final ArithmeticException e) {
+                throw new IllegalArgumentException("too many parameter arrays to index", e);
+            }
+        }
+        my_size = size;
+    }
+
+    /**
+     * Creates a new IndexedParameterSpace of the arrays of the same
+     * strategies as another space, with its own strategy iterators.
+     *
+     * @param the_space The other space.
+     */
+    private IndexedParameterSpace(final IndexedParameterSpace the_space) {
+        my_factories = the_space.my_factories;
+        my_iterators = new RepeatedAccessIterator<?>[my_factories.length];
+        my_indexed = the_space.my_indexed;
+        my_positions = new int[my_factories.length];
+        my_sizes = the_space.my_sizes;
+        my_size = the_space.my_size;
+        for (int i = 0; i < my_factories.length; i++) {
+            my_iterators[i] = my_factories[i].newStrategy().iterator();
+        }
+    }
+
+    /**
+     * @return a new space of the arrays of the same strategies, with its own
+     * strategy iterators, so that it can be used on a different thread from
+     * this one. It shares no objects with this space.
+     */
+    public /*@ non_null @*/ IndexedParameterSpace copy() {
+        return new IndexedParameterSpace(this);
+    }
+
+    /**
+     * @return the number of strategies, which is the length of each array.
+     */
+    public /*@ pure */ int dimensions() {
+        return my_sizes.length;
+    }
+
+    /**
+     * @return true if the iterators of all the strategies are indexed, so
+     * that any array can be generated without advancing a strategy iterator
+     * over the objects before its own, false otherwise.
+     */
+    public /*@ pure */ boolean isIndexed() {
+        boolean result = true;
+        for (int i = 0; result && i < my_indexed.length; i++) {
+            result = my_indexed[i];
+        }
+        return result;
+    }
+
+    /**
+     * @param the_dimension The index of a strategy.
+     * @return the number of objects of the strategy.
+     */
+    public /*@ pure */ int size(final int the_dimension) {
+        return my_sizes[the_dimension];
+    }
+
+    /**
+     * @return the number of arrays in the space.
+     */
+    public /*@ pure */ long size() {
+        return my_size;
+    }
+
+    /**
+     * @param the_index The index of an array.
+     * @return the array at the_index.
+     * @throws IndexOutOfBoundsException if the_index is negative or not
+     *                                   less than size().
+     */
+    public Object[] element(final long the_index) {
+        if (the_index < 0 || the_index >= my_size) {
+            throw new IndexOutOfBoundsException("index " + the_index + " is out of bounds");
+        }
+        final Object[] result = new Object[my_sizes.length];
+        long rest = the_index;
+        for (int i = 0; i < result.length; i++) {
+            result[i] = element(i, (int) (rest % my_sizes[i]));
+            rest = rest / my_sizes[i];
+        }
+        return result;
+    }
+
+    /**
+     * @param the_dimension The index of a strategy.
+     * @param the_index     The index of an object of the strategy.
+     * @return the object, or null if there is no such object or getting it
+     * throws an exception.
+     */
+    public Object element(final int the_dimension, final int the_index) {
+        if (the_index < 0 || the_index >= my_sizes[the_dimension]) {
+            return null;
+        }
+        if (the_index < my_positions[the_dimension]) {
+            restart(the_dimension);
+        }
+        final RepeatedAccessIterator<?> iterator = my_iterators[the_dimension];
+        Object result;
+        try {
+            if (my_indexed[the_dimension]) {
+                my_positions[the_dimension] = the_index;
+                result = iterator.elementAt(the_index);
+            } else {
+                while (my_positions[the_dimension] < the_index && iterator.hasElement()) {
+                    iterator.advance();
+                    my_positions[the_dimension] = my_positions[the_dimension] + 1;
+                }
+                result = iterator.hasElement() ? iterator.element() : null;
+            }
+        } catch (final Exception e) {
+            // the same as for an element of a ParameterArrayIterator
+            result = null;
+        }
+        return result;
+    }
+
+    /**
+     * @return a spliterator over all the arrays of the space, in order, for
+     * a parallel stream; the parts it is split into use copies of the space.
+     * @throws IllegalArgumentException if the space has more than
+     *                                  Integer.MAX_VALUE arrays.
+     */
+    public /*@ non_null @*/ IndexedSpliterator<Object[]> spliterator() {
+        return new IndexedSpliterator<Object[]>(iterator());
+    }
+
+    /**
+     * @return an iterator over all the arrays of the space, in order.
+     */
+    public /*@ non_null @*/ SplittableIterator<Object[]> iterator() {
+        return iterator(0, my_size);
+    }
+
+    /**
+     * @param the_from The index of the first array.
+     * @param the_to   The index after that of the last array.
+     * @return an iterator over the arrays of the space from the_from
+     * (inclusive) to the_to (exclusive), in order.
+     * @throws IndexOutOfBoundsException if the range is not within the space.
+     */
+    //@ requires 0 <= the_from && the_from <= the_to && the_to <= size();
+    public /*@ non_null @*/ SplittableIterator<Object[]> iterator(final long the_from,
+                                                                 final long the_to) {
+        if (the_from < 0 || the_from > the_to || the_to > my_size) {
+            throw new IndexOutOfBoundsException("range [" + the_from + ", " + the_to +
+                    ") is out of bounds");
+        }
+        return new RangeIterator(the_from, the_to);
+    }
+
+    /**
+     * @param the_count The number of arrays to return.
+     * @param the_seed  The random seed to use (for reproducibility of results).
+     * @return an iterator over exactly the_count arrays of the space (or all
+     * of them, if there are no more than the_count), chosen uniformly at
+     * random and returned in order. Only the chosen arrays are generated,
+     * and they are chosen in time proportional to the_count.
+     * @throws IllegalArgumentException if the_count is negative.
+     */
+    //@ requires the_count >= 0;
+    public /*@ non_null @*/ RepeatedAccessIterator<Object[]> sample(final int the_count,
+                                                                   final long the_seed) {
+        if (the_count < 0) {
+            throw new IllegalArgumentException("sample count cannot be negative");
+        }
+        return new SampleIterator(RandomSampler.choose(my_size, the_count, new Random(the_seed)));
+    }
+
+    /**
+     * Restarts the iterator of a strategy, by resetting it if it is
+     * resettable and replacing it by an iterator of a new strategy otherwise.
+     *
+     * @param the_index The index of the strategy.
+     */
+    private void restart(final int the_index) {
+        if (my_iterators[the_index].isResettable()) {
+            my_iterators[the_index].reset();
+        } else {
+            my_iterators[the_index] = my_factories[the_index].newStrategy().iterator();
+        }
+        my_positions[the_index] = 0;
+    }
+
+    /**
+     * An iterator over a range of the arrays of the space. It is indexed
+     * if the range is small enough to be indexed by an int.
+     */
+    private final class RangeIterator implements SplittableIterator<Object[]> {
+        /**
+         * The index of the first array.
+         */
+        private final long my_from;
+
+        /**
+         * The index after that of the last array.
+         */
+        private final long my_to;
+
+        /**
+         * The index of the current array.
+         */
+        private long my_index;
+
+        /**
+         * Constructs a RangeIterator.
+         *
+         * @param the_from The index of the first array.
+         * @param the_to   The index after that of the last array.
+         */
+        RangeIterator(final long the_from, final long the_to) {
+            my_from = the_from;
+            my_to = the_to;
+            my_index = the_from;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean hasElement() {
+            return my_index < my_to;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Object[] element() throws NoSuchElementException {
+            if (!hasElement()) {
+                throw new NoSuchElementException("iterator has no current element");
+            }
+            return IndexedParameterSpace.this.element(my_index);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void advance() {
+            my_index++;
+        }
+
+        /**
+         * @return true, since each strategy iterator is either reset or
+         * replaced.
+         */
+        @Override
+        public /*@ pure */ boolean isResettable() {
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void reset() {
+            my_index = my_from;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public /*@ pure */ boolean isIndexed() {
+            return my_to - my_from <= Integer.MAX_VALUE;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public /*@ pure */ int size() {
+            if (!isIndexed()) {
+                throw new UnsupportedOperationException("range is too large to be indexed");
+            }
+            return (int) (my_to - my_from);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Object[] elementAt(final int the_index) {
+            if (the_index < 0 || the_index >= size()) {
+                throw new IndexOutOfBoundsException("index " + the_index + " is out of bounds");
+            }
+            return IndexedParameterSpace.this.element(my_from + the_index);
+        }
+
+        /**
+         * @return an iterator over the same range of a copy of the space.
+         */
+        @Override
+        public SplittableIterator<Object[]> copy() {
+            return IndexedParameterSpace.this.copy().iterator(my_from, my_to);
+        }
+
+        /**
+         * @return true if the iterators of all the strategies of the space
+         * are indexed, false otherwise.
+         */
+        @Override
+        public /*@ pure */ boolean isSplittable() {
+            return IndexedParameterSpace.this.isIndexed();
+        }
+    }
+
+    /**
+     * An iterator over the arrays of the space at chosen indices.
+     */
+    private final class SampleIterator implements RepeatedAccessIterator<Object[]> {
+        /**
+         * The indices of the arrays, in increasing order.
+         */
+        private final long[] my_indices;
+
+        /**
+         * The index in my_indices of the current array.
+         */
+        private int my_index;
+
+        /**
+         * Constructs a SampleIterator.
+         *
+         * @param the_indices The indices of the arrays, in increasing order.
+         */
+        SampleIterator(final long[] the_indices) {
+            my_indices = the_indices;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean hasElement() {
+            return my_index < my_indices.length;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Object[] element() throws NoSuchElementException {
+            if (!hasElement()) {
+                throw new NoSuchElementException("iterator has no current element");
+            }
+            return IndexedParameterSpace.this.element(my_indices[my_index]);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void advance() {
+            my_index++;
+        }
+
+        /**
+         * @return true, since each strategy iterator is either reset or
+         * replaced.
+         */
+        @Override
+        public /*@ pure */ boolean isResettable() {
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void reset() {
+            my_index = 0;
+        }
+
+        /**
+         * @return true, since the indices of the arrays are known.
+         */
+        @Override
+        public /*@ pure */ boolean isIndexed() {
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public /*@ pure */ int size() {
+            return my_indices.length;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Object[] elementAt(final int the_index) {
+            return IndexedParameterSpace.this.element(my_indices[the_index]);
+        }
+    }
+}
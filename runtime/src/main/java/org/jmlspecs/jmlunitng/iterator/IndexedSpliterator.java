@@ -0,0 +1,115 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.iterator;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A Spliterator over the elements of an indexed SplittableIterator, so
+ * that they can be consumed by a parallel stream. The elements are
+ * generated by index; splitting hands the first half of the remaining
+ * indices to a new spliterator over a copy of the iterator, so spliterators
+ * that are split from each other share no mutable state and can be used
+ * on different threads at the same time.
+ *
+ * @param <T> The type of the returned elements.
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+public class IndexedSpliterator<T> implements Spliterator<T> {
+    /**
+     * The iterator whose elements are generated.
+     */
+    private final SplittableIterator<T> my_iterator;
+
+    /**
+     * The index of the next element.
+     */
+    private int my_index;
+
+    /**
+     * The index after the last element.
+     */
+    private final int my_end;
+
+    /**
+     * Creates a new IndexedSpliterator over all the elements of the given
+     * iterator.
+     *
+     * @param the_iterator The iterator. It must not be used by anything else
+     *                     while this spliterator is in use.
+     * @throws IllegalArgumentException if the_iterator is not indexed.
+     */
+    //@ requires the_iterator.isIndexed();
+    public IndexedSpliterator(final /*@ non_null @*/ SplittableIterator<T> the_iterator) {
+        if (!the_iterator.isIndexed()) {
+            throw new IllegalArgumentException("iterator is not indexed");
+        }
+        my_iterator = the_iterator;
+        my_index = 0;
+        my_end = the_iterator.size();
+    }
+
+    /**
+     * Creates a new IndexedSpliterator over a range of the elements of the
+     * given iterator.
+     *
+     * @param the_iterator The iterator.
+     * @param the_from     The index of the first element.
+     * @param the_to       The index after the last element.
+     */
+    private IndexedSpliterator(final SplittableIterator<T> the_iterator,
+                               final int the_from, final int the_to) {
+        my_iterator = the_iterator;
+        my_index = the_from;
+        my_end = the_to;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> the_action) {
+        if (my_index < my_end) {
+            the_action.accept(my_iterator.elementAt(my_index++));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return a spliterator over the first half of the remaining elements,
+     * generated by a copy of the iterator, or null if there are fewer than
+     * two remaining elements or the iterator is not splittable.
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+        final int remaining = my_end - my_index;
+        if (remaining < 2 || !my_iterator.isSplittable()) {
+            return null;
+        }
+        final int from = my_index;
+        my_index = from + remaining / 2;
+        return new IndexedSpliterator<T>(my_iterator.copy(), from, my_index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public /*@ pure */ long estimateSize() {
+        return my_end - my_index;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public /*@ pure */ int characteristics() {
+        return ORDERED | SIZED | SUBSIZED;
+    }
+}
@@ -15,7 +15,7 @@ import java.util.NoSuchElementException;
  *
  * @param <T> The type of the returned elements.
  * @author Daniel M. Zimmerman
- * @version January 2012
+ * @version October 2026
  */
 public class InstantiationIterator<T> implements RepeatedAccessIterator<T> {
     /**
@@ -101,4 +101,21 @@ public class InstantiationIterator<T> implements RepeatedAccessIterator<T> {
     public boolean hasElement() {
         return my_params.hasElement();
     }
+
+    /**
+     * @return true if the iterator of parameter lists is resettable, false
+     * otherwise; the objects themselves are instantiated anew each time.
+     */
+    @Override
+    public /*@ pure */ boolean isResettable() {
+        return my_params.isResettable();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        my_params.reset();
+    }
 }
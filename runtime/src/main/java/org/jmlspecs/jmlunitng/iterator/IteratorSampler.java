@@ -18,8 +18,12 @@ import java.util.Random;
  *
  * @param <T> The type to be sampled.
  * @author Daniel M. Zimmerman
- * @version February 2011
+ * @version October 2026
+ * @deprecated Use RandomSampler, which skips elements without drawing a
+ * random number for each and without reading them, and can also return
+ * an exact number of elements.
  */
+@Deprecated
 public class IteratorSampler<T> implements RepeatedAccessIterator<T> {
     /**
      * The underlying RepeatedAccessIterator.
@@ -36,6 +40,11 @@ public class IteratorSampler<T> implements RepeatedAccessIterator<T> {
      */
     private final Random my_random;
 
+    /**
+     * The random seed, used again when the sampler is reset.
+     */
+    private final long my_seed;
+
     /**
      * Constructs an IteratorSampler for the specified iterator with the
      * specified parameters. The fraction must be greater than 0 to be
@@ -51,6 +60,7 @@ public class IteratorSampler<T> implements RepeatedAccessIterator<T> {
         my_iterator = the_iterator;
         my_fraction = the_fraction;
         my_random = new Random(the_seed);
+        my_seed = the_seed;
     }
 
     /**
@@ -82,4 +92,22 @@ public class IteratorSampler<T> implements RepeatedAccessIterator<T> {
             my_iterator.advance();
         }
     }
+
+    /**
+     * @return true if the underlying iterator is resettable, false otherwise.
+     */
+    @Override
+    public /*@ pure */ boolean isResettable() {
+        return my_iterator.isResettable();
+    }
+
+    /**
+     * Resets the underlying iterator and the random number generator, so
+     * that the same sample is taken again.
+     */
+    @Override
+    public void reset() {
+        my_iterator.reset();
+        my_random.setSeed(my_seed);
+    }
 }
@@ -0,0 +1,178 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.iterator;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A repeated access iterator that combines one or more other iterators.
+ * It is indexed if all the combined iterators are indexed.
+ *
+ * @param <T> The type of the returned elements.
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+public class MultiIterator<T> implements RepeatedAccessIterator<T> {
+    /**
+     * The Iterator over concatenated iterators.
+     */
+    private final RepeatedAccessIterator<RepeatedAccessIterator<T>> my_iterators;
+
+    /**
+     * The non-empty iterators that are concatenated.
+     */
+    private final RepeatedAccessIterator<T>[] my_parts;
+
+    /**
+     * The index of the first element of each combined iterator, followed
+     * by the total number of elements, if this iterator is indexed; null
+     * until it is first needed.
+     */
+    private int[] my_offsets;
+
+    /**
+     * Creates a new MultiIterator that iterates over all given iterators in
+     * sequence.
+     *
+     * @param the_iterators The list of iterators to iterate over.
+     */
+    @SuppressWarnings("unchecked")
+    public MultiIterator(final List<RepeatedAccessIterator<T>> the_iterators) {
+        // only keep non-empty iterators
+        final List<RepeatedAccessIterator<T>> non_empties =
+                new LinkedList<RepeatedAccessIterator<T>>();
+        for (RepeatedAccessIterator<T> i : the_iterators) {
+            if (i.hasElement()) {
+                non_empties.add(i);
+            }
+        }
+        final RepeatedAccessIterator<T>[] non_empty_array =
+                non_empties.toArray(new RepeatedAccessIterator[non_empties.size()]);
+        my_parts = non_empty_array;
+        my_iterators =
+                new ObjectArrayIterator<RepeatedAccessIterator<T>>(non_empty_array);
+        // at this point, the iterator either has an element or is completely empty
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final void advance() {
+        if (my_iterators.hasElement() && my_iterators.element().hasElement()) {
+            my_iterators.element().advance();
+        }
+        while (my_iterators.hasElement() &&
+                !my_iterators.element().hasElement()) {
+            my_iterators.advance();
+        }
+        // at this point, the iterator either has an element or is completely empty,
+        // as all the individual iterators are non-empty.
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public /*@ pure */ T element() throws NoSuchElementException {
+        return my_iterators.element().element();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public /*@ pure */ boolean hasElement() {
+        return my_iterators.hasElement() &&
+                my_iterators.element().hasElement();
+    }
+
+    /**
+     * @return true if all the combined iterators are resettable, false
+     * otherwise.
+     */
+    @Override
+    public /*@ pure */ boolean isResettable() {
+        boolean result = true;
+        for (int i = 0; result && i < my_parts.length; i++) {
+            result = my_parts[i].isResettable();
+        }
+        return result;
+    }
+
+    /**
+     * @return true if all the combined iterators are indexed, false
+     * otherwise.
+     */
+    @Override
+    public /*@ pure */ boolean isIndexed() {
+        boolean result = true;
+        for (int i = 0; result && i < my_parts.length; i++) {
+            result = my_parts[i].isIndexed();
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public /*@ pure */ int size() {
+        final int[] offsets = offsets();
+        return offsets[offsets.length - 1];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T elementAt(final int the_index) {
+        final int[] offsets = offsets();
+        if (the_index < 0 || the_index >= offsets[offsets.length - 1]) {
+            throw new IndexOutOfBoundsException("index " + the_index + " is out of bounds");
+        }
+        int part = Arrays.binarySearch(offsets, the_index);
+        if (part < 0) {
+            // the_index is inside the part before the insertion point
+            part = -part - 2;
+        }
+        return my_parts[part].elementAt(the_index - offsets[part]);
+    }
+
+    /**
+     * @return the index of the first element of each combined iterator,
+     * followed by the total number of elements.
+     * @throws UnsupportedOperationException if this iterator is not indexed.
+     */
+    private int[] offsets() {
+        if (my_offsets == null) {
+            if (!isIndexed()) {
+                throw new UnsupportedOperationException(getClass().getName() +
+                        " of non-indexed iterators is not indexed");
+            }
+            final int[] offsets = new int[my_parts.length + 1];
+            for (int i = 0; i < my_parts.length; i++) {
+                offsets[i + 1] = offsets[i] + my_parts[i].size();
+            }
+            my_offsets = offsets;
+        }
+        return my_offsets;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        for (RepeatedAccessIterator<T> i : my_parts) {
+            i.reset();
+        }
+        my_iterators.reset();
+    }
+}
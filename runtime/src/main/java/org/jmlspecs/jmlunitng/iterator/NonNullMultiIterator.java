@@ -16,7 +16,7 @@ import java.util.NoSuchElementException;
  *
  * @param <T> The type of the returned elements.
  * @author Daniel M. Zimmerman
- * @version January 2012
+ * @version October 2026
  */
 public class NonNullMultiIterator<T> implements RepeatedAccessIterator<T> {
     /**
@@ -24,6 +24,11 @@ public class NonNullMultiIterator<T> implements RepeatedAccessIterator<T> {
      */
     private final RepeatedAccessIterator<RepeatedAccessIterator<T>> my_iterators;
 
+    /**
+     * The non-empty iterators that are concatenated.
+     */
+    private final RepeatedAccessIterator<T>[] my_parts;
+
     /**
      * Creates a new MultiIterator that iterates over all given iterators in
      * sequence.
@@ -42,6 +47,7 @@ public class NonNullMultiIterator<T> implements RepeatedAccessIterator<T> {
         }
         final RepeatedAccessIterator<T>[] non_empty_array =
                 non_empties.toArray(new RepeatedAccessIterator[non_empties.size()]);
+        my_parts = non_empty_array;
         my_iterators =
                 new ObjectArrayIterator<RepeatedAccessIterator<T>>(non_empty_array);
         // advance to the first non-null element
@@ -95,6 +101,34 @@ public class NonNullMultiIterator<T> implements RepeatedAccessIterator<T> {
     */
     }
 
+    /**
+     * @return true if all the combined iterators are resettable, false
+     * otherwise.
+     */
+    @Override
+    public /*@ pure */ boolean isResettable() {
+        boolean result = true;
+        for (int i = 0; result && i < my_parts.length; i++) {
+            result = my_parts[i].isResettable();
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        for (RepeatedAccessIterator<T> i : my_parts) {
+            i.reset();
+        }
+        my_iterators.reset();
+        // advance to the first non-null element, as at construction
+        if (!hasElement()) {
+            advance();
+        }
+    }
+
     /**
      * Advances the current iterator of the multi-iterator, until we reach
      * a non-null value or the end.
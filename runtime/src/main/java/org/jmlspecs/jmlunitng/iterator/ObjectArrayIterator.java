@@ -7,17 +7,32 @@ package org.jmlspecs.jmlunitng.iterator;
 
 import org.jmlspecs.jmlunitng.objgen.ObjectGenerator;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.NoSuchElementException;
+import java.util.Set;
 
 /**
- * A repeated access iterator that iterates over an array of objects.
+ * A repeated access iterator that iterates over an array of objects. It can
+ * always be reset to the start of the array, but it is resettable (in the
+ * sense of RepeatedAccessIterator) only if every object in the array is
+ * null, immutable (a string, a primitive wrapper or an enum constant) or an
+ * object generator, because a test may modify any other object it is given.
  *
  * @param <T> The type of the returned elements.
  * @author Daniel M. Zimmerman
  * @author Jonathan Hogins
- * @version January 2012
+ * @version October 2026
  */
 public class ObjectArrayIterator<T> implements RepeatedAccessIterator<T> {
+    /**
+     * The immutable classes whose instances can be returned again after a
+     * reset.
+     */
+    private static final Set<Class<?>> IMMUTABLE_CLASSES = new HashSet<Class<?>>(Arrays.asList(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class,
+            Integer.class, Long.class, Float.class, Double.class));
+
     /**
      * The list of iterator generation methods.
      */
@@ -29,6 +44,11 @@ public class ObjectArrayIterator<T> implements RepeatedAccessIterator<T> {
     // @ private invariant my_element <= my_array.length && my_element >= 0;
     private int my_element;
 
+    /**
+     * Is this iterator resettable? Null until it is first checked.
+     */
+    private Boolean my_resettable;
+
     /**
      * Creates a new ObjectArrayIterator that iterates over the given array.
      * The array is <i>not</i> copied, so subsequent modifications to it will
@@ -97,12 +117,36 @@ public class ObjectArrayIterator<T> implements RepeatedAccessIterator<T> {
     /**
      * {@inheritDoc}
      */
-    @SuppressWarnings({"unchecked", "rawtypes"})
     public T element() throws NoSuchElementException {
         if (!hasElement()) {
             throw new NoSuchElementException("iterator has no current element");
         }
-        Object result = my_array[my_element];
+        return elementAt(my_element);
+    }
+
+    /**
+     * @return true, since the elements are in an array.
+     */
+    @Override
+    public /*@ pure */ boolean isIndexed() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public /*@ pure */ int size() {
+        return my_array.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public T elementAt(final int the_index) {
+        Object result = my_array[the_index];
         if (result instanceof ObjectGenerator) {
             try {
                 result = ((ObjectGenerator) result).generate();
@@ -120,4 +164,42 @@ public class ObjectArrayIterator<T> implements RepeatedAccessIterator<T> {
         return my_element < my_array.length;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isResettable() {
+        if (my_resettable == null) {
+            boolean result = true;
+            for (int i = 0; result && i < my_array.length; i++) {
+                final Object o = my_array[i];
+                result = o == null || o instanceof ObjectGenerator || o instanceof Enum ||
+                        IMMUTABLE_CLASSES.contains(o.getClass());
+            }
+            my_resettable = result;
+        }
+        return my_resettable;
+    }
+
+    /**
+     * @return true if any object in this iterator's array is an object
+     * generator, whose elements may differ every time they are returned,
+     * false otherwise.
+     */
+    public boolean hasGenerators() {
+        boolean result = false;
+        for (int i = 0; !result && i < my_array.length; i++) {
+            result = my_array[i] instanceof ObjectGenerator;
+        }
+        return result;
+    }
+
+    /**
+     * Resets this iterator to the start of its array, whether or not it is
+     * resettable.
+     */
+    @Override
+    public void reset() {
+        my_element = 0;
+    }
 }
@@ -0,0 +1,366 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.iterator;
+
+import org.jmlspecs.jmlunitng.strategy.Strategy;
+import org.jmlspecs.jmlunitng.strategy.StrategyFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A repeated access iterator that generates arrays of objects by
+ * instantiating strategies that contain test parameter data. When one of
+ * the strategy iterators is exhausted, it is reset if it is resettable, and
+ * replaced by an iterator of a new strategy otherwise.
+ * <p>
+ * Optionally, the objects of each array are built concurrently, one per
+ * strategy, on a shared pool of daemon threads (as many as there are
+ * processors, which stop when idle). This helps when the parameters are
+ * expensive to build, such as objects built reflectively by constructors.
+ * It is enabled by setConcurrent(true), or for all iterators by setting
+ * the "jmlunitng.concurrent" system property to true; in that case, the
+ * iterators of the strategies must be safe to use on different threads
+ * at the same time. Arrays built inside the pool (for example, as the
+ * parameters of constructors) are built sequentially, so that the pool
+ * cannot be exhausted by threads waiting for one another.
+ *
+ * @author Daniel M. Zimmerman
+ * @author Jonathan Hogins
+ * @version October 2026
+ */
+public class ParameterArrayIterator implements RepeatedAccessIterator<Object[]> {
+    /**
+     * The system property that enables concurrent construction of arrays
+     * for all iterators.
+     */
+    public static final String CONCURRENT_PROPERTY = "jmlunitng.concurrent";
+
+    /**
+     * Is the current thread a thread of the pool?
+     */
+    private static final ThreadLocal<Boolean> IN_POOL = new ThreadLocal<Boolean>();
+
+    /**
+     * The factories of the strategies whose iterators are used.
+     */
+    private final StrategyFactory[] my_factories;
+
+    /**
+     * The current strategies being used.
+     */
+    // @ private invariant my_strategies.length == my_factories.length;
+    private final RepeatedAccessIterator<?>[] my_strategies;
+
+    /**
+     * A flag indicating whether there are elements remaining.
+     */
+    private boolean my_is_finished;
+
+    /**
+     * Are the objects of each array built concurrently?
+     */
+    private boolean my_concurrent = Boolean.getBoolean(CONCURRENT_PROPERTY);
+
+    /*
+     * @ requires (\forall int i; i >= 0 && i < the_strategy_classes.length;
+     *   the_strategy_classes[i].newInstance().iterator().hasElement());
+     */
+
+    /**
+     * Creates a new ObjectArrayIterator that iterates over all combinations of
+     * objects in the given Strategy classes. The classes are instantiated
+     * through their (cached) strategy factories.
+     *
+     * @param the_strategy_classes The strategies to iterate over.
+     * @throws IllegalArgumentException if there is a problem calling the
+     *                                  constructors of the strategy classes.
+     */
+    public ParameterArrayIterator(final Class<? extends Strategy>... the_strategy_classes) {
+        this(factories(the_strategy_classes));
+    }
+
+    /**
+     * Creates a new ParameterArrayIterator that iterates over all combinations
+     * of objects in the given strategies. Each strategy is asked for a fresh
+     * iterator whenever one of its iterators is exhausted, so the strategies
+     * are never instantiated reflectively.
+     *
+     * @param the_strategies The strategies to iterate over.
+     */
+    public ParameterArrayIterator(final Strategy... the_strategies) {
+        this(factories(the_strategies));
+    }
+
+    /**
+     * Creates a new ParameterArrayIterator that iterates over all combinations
+     * of objects in the strategies made by the given factories. A new strategy
+     * is made whenever one of the iterators is exhausted.
+     *
+     * @param the_factories The factories of the strategies to iterate over.
+     */
+    public ParameterArrayIterator(final StrategyFactory... the_factories) {
+        this(the_factories, iterators(the_factories));
+    }
+
+    /**
+     * Creates a new ParameterArrayIterator that iterates over all combinations
+     * of objects in the strategies made by the given factories, starting with
+     * the given iterators of the strategies.
+     *
+     * @param the_factories The factories of the strategies to iterate over.
+     * @param the_iterators New iterators of strategies made by the factories.
+     */
+    //@ requires the_iterators.length == the_factories.length;
+    ParameterArrayIterator(final StrategyFactory[] the_factories,
+                           final RepeatedAccessIterator<?>[] the_iterators) {
+        my_factories = the_factories;
+        my_strategies = the_iterators;
+        my_is_finished = the_factories.length == 0;
+    }
+
+    /**
+     * @param the_factories Strategy factories.
+     * @return new iterators of strategies made by the_factories.
+     */
+    static RepeatedAccessIterator<?>[] iterators(final StrategyFactory[] the_factories) {
+        final RepeatedAccessIterator<?>[] result =
+                new RepeatedAccessIterator<?>[the_factories.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = the_factories[i].newStrategy().iterator();
+        }
+        return result;
+    }
+
+    /**
+     * @param the_strategy_classes Strategy classes.
+     * @return the factories of the_strategy_classes.
+     * @throws IllegalArgumentException if there is a problem finding the
+     *                                  constructors of the strategy classes.
+     */
+    static StrategyFactory[] factories
+    (final Class<? extends Strategy>[] the_strategy_classes) {
+        final StrategyFactory[] result = new StrategyFactory[the_strategy_classes.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = StrategyFactory.forClass(the_strategy_classes[i]);
+        }
+        return result;
+    }
+
+    /**
+     * @param the_strategies Strategies.
+     * @return factories that return the_strategies.
+     */
+    static StrategyFactory[] factories(final Strategy[] the_strategies) {
+        final StrategyFactory[] result = new StrategyFactory[the_strategies.length];
+        for (int i = 0; i < result.length; i++) {
+            final Strategy s = the_strategies[i];
+            result[i] = () -> s;
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Object[] element() throws NoSuchElementException {
+        if (my_is_finished) {
+            throw new NoSuchElementException("iterator has no current element");
+        }
+
+        final Object[] result = new Object[my_strategies.length];
+        if (my_concurrent && my_strategies.length > 1 && IN_POOL.get() == null) {
+            concurrentElement(result);
+        } else {
+            for (int i = 0; i < my_strategies.length; i++) {
+                result[i] = strategyElement(i);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sets whether the objects of each array are built concurrently.
+     *
+     * @param the_concurrent true to build them concurrently, false to build
+     *                       them one after another.
+     */
+    public void setConcurrent(final boolean the_concurrent) {
+        my_concurrent = the_concurrent;
+    }
+
+    /**
+     * @return true if the objects of each array are built concurrently,
+     * false otherwise.
+     */
+    public /*@ pure @*/ boolean isConcurrent() {
+        return my_concurrent;
+    }
+
+    /**
+     * Fills an array with the current elements of the strategies, building
+     * the first on this thread and the others on the pool.
+     *
+     * @param the_result The array to fill.
+     * @throws NoSuchElementException if this thread is interrupted while
+     *                                waiting for the pool; the interrupt is
+     *                                kept, and the array is not used.
+     */
+    private void concurrentElement(final Object[] the_result)
+            throws NoSuchElementException {
+        final List<Future<Object>> futures = new ArrayList<Future<Object>>(my_strategies.length);
+        for (int i = 1; i < my_strategies.length; i++) {
+            final int index = i;
+            futures.add(Pool.EXECUTOR.submit(() -> strategyElement(index)));
+        }
+        the_result[0] = strategyElement(0);
+        for (int i = 1; i < my_strategies.length; i++) {
+            try {
+                the_result[i] = futures.get(i - 1).get();
+            } catch (final InterruptedException e) {
+                // a partially built array must not be used as test data
+                for (int j = i - 1; j < futures.size(); j++) {
+                    futures.get(j).cancel(true);
+                }
+                Thread.currentThread().interrupt();
+                final NoSuchElementException nse =
+                        new NoSuchElementException("interrupted while building an element");
+                nse.initCause(e);
+                throw nse;
+            } catch (final ExecutionException e) {
+                // only errors get here, since strategyElement catches exceptions
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                the_result[i] = null;
+            }
+        }
+    }
+
+    /**
+     * @param the_index The index of a strategy.
+     * @return the current element of the strategy, or null if getting it
+     * throws an exception.
+     */
+    private Object strategyElement(final int the_index) {
+        Object result;
+        try {
+            result = my_strategies[the_index].element();
+        } catch (final Exception e) {
+            // better to get the exception here, since calling hasElement()
+            // would result in potential duplicate work
+            result = null;
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean hasElement() {
+        return !my_is_finished;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void advance() {
+        int p = 0;
+        while (p < my_strategies.length) {
+            // ensure each iterator is at a valid element
+            my_strategies[p].advance();
+            if (my_strategies[p].hasElement()) {
+                // no need to check the other iterators
+                break;
+            } else {
+                restart(p);
+                p++;
+            }
+        }
+        // if we've reset the last iterator, we're done
+        my_is_finished = p == my_strategies.length;
+    }
+
+    /**
+     * @return true, since each strategy iterator is either reset or replaced.
+     */
+    @Override
+    public /*@ pure */ boolean isResettable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        for (int i = 0; i < my_strategies.length; i++) {
+            restart(i);
+        }
+        my_is_finished = my_strategies.length == 0;
+    }
+
+    /**
+     * Restarts the iterator of a strategy, by resetting it if it is
+     * resettable and replacing it by an iterator of a new strategy otherwise.
+     *
+     * @param the_index The index of the strategy.
+     */
+    private void restart(final int the_index) {
+        if (my_strategies[the_index].isResettable()) {
+            my_strategies[the_index].reset();
+        } else {
+            my_strategies[the_index] = my_factories[the_index].newStrategy().iterator();
+        }
+    }
+
+    /**
+     * The pool on which objects are built concurrently, created when it is
+     * first used.
+     */
+    private static final class Pool {
+        /**
+         * The time, in seconds, after which idle threads of the pool stop.
+         */
+        private static final long KEEP_ALIVE_SECONDS = 10;
+
+        /**
+         * The executor of the pool.
+         */
+        static final ExecutorService EXECUTOR;
+
+        static {
+            final int threads = Runtime.getRuntime().availableProcessors();
+            final ThreadPoolExecutor executor =
+                    new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<Runnable>(), the_runnable -> {
+                        final Thread result = new Thread(() -> {
+                            IN_POOL.set(Boolean.TRUE);
+                            the_runnable.run();
+                        }, "JMLUnitNG parameter builder");
+                        result.setDaemon(true);
+                        return result;
+                    });
+            // idle threads stop, so that the pool holds no threads when unused
+            executor.allowCoreThreadTimeOut(true);
+            EXECUTOR = executor;
+        }
+
+        /**
+         * Private constructor to prevent instantiation.
+         */
+        private Pool() {
+            // do nothing
+        }
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.iterator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Wraps a RepeatedAccessIterator in a standard Iterator whose elements are
+ * computed ahead of time by several producer threads, if it is a
+ * SplittableIterator: each thread generates every n-th element, starting
+ * from a different one, from its own copy of the iterator, so that the
+ * threads share no mutable iterator state. This lets a data provider that
+ * runs in parallel build the parameters of its tests in parallel too,
+ * rather than serializing on one iterator. The elements are returned in
+ * the order of the wrapped iterator, and otherwise the wrapper behaves
+ * like a PrefetchingIteratorWrapper; in particular, the iterator is not
+ * copied or split until the first element is needed, so it can still be
+ * used through wrapped() until then.
+ * <p>
+ * The number of parts is the value of the "jmlunitng.partitions" system
+ * property if it is set, and the number of available processors otherwise;
+ * an iterator that is not splittable or not indexed is not split.
+ *
+ * @param <T> The type of the returned elements.
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+public class PartitionedIteratorWrapper<T> extends PrefetchingIteratorWrapper<T> {
+    /**
+     * The system property that sets the number of ranges.
+     */
+    public static final String PARTITIONS_PROPERTY = "jmlunitng.partitions";
+
+    /**
+     * The number of elements prefetched for each part by default.
+     */
+    public static final int DEFAULT_DEPTH = 4;
+
+    /**
+     * The number of parts.
+     */
+    private final int my_partitions;
+
+    /**
+     * Creates a new PartitionedIteratorWrapper for the_iterator, which
+     * prefetches a default number of elements for each part.
+     *
+     * @param the_iterator The iterator to wrap.
+     */
+    public PartitionedIteratorWrapper
+    (final /*@ non_null @*/ RepeatedAccessIterator<T> the_iterator) {
+        this(the_iterator, partitions() * DEFAULT_DEPTH);
+    }
+
+    /**
+     * Creates a new PartitionedIteratorWrapper for the_iterator.
+     *
+     * @param the_iterator The iterator to wrap.
+     * @param the_depth    The maximum number of elements to prefetch.
+     * @throws IllegalArgumentException if the_depth is not positive.
+     */
+    //@ requires the_depth > 0;
+    public PartitionedIteratorWrapper(final /*@ non_null @*/ RepeatedAccessIterator<T> the_iterator,
+                                      final int the_depth) {
+        this(the_iterator, partitions(), the_depth);
+    }
+
+    /**
+     * Creates a new PartitionedIteratorWrapper for the_iterator with the
+     * given number of parts.
+     *
+     * @param the_iterator   The iterator to wrap.
+     * @param the_partitions The number of parts.
+     * @param the_depth      The maximum number of elements to prefetch.
+     * @throws IllegalArgumentException if the_partitions or the_depth is not
+     *                                  positive.
+     */
+    //@ requires the_partitions > 0 && the_depth > 0;
+    public PartitionedIteratorWrapper(final /*@ non_null @*/ RepeatedAccessIterator<T> the_iterator,
+                                      final int the_partitions, final int the_depth) {
+        super(the_iterator, the_depth);
+        if (the_partitions < 1) {
+            throw new IllegalArgumentException("number of partitions must be positive");
+        }
+        my_partitions = the_partitions;
+    }
+
+    /**
+     * @return the value of the "jmlunitng.partitions" system property if it
+     * is set to a positive integer, the number of available processors
+     * otherwise.
+     */
+    public static int partitions() {
+        final int result = Integer.getInteger(PARTITIONS_PROPERTY, 0);
+        if (result > 0) {
+            return result;
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * @return the parts of the wrapped iterator, if it is an indexed
+     * SplittableIterator that is splittable, and the wrapped iterator alone
+     * otherwise.
+     */
+    @Override
+    protected List<? extends RepeatedAccessIterator<T>> sources() {
+        final RepeatedAccessIterator<T> iterator = wrapped();
+        if (iterator instanceof SplittableIterator<?> && iterator.isIndexed() &&
+                ((SplittableIterator<T>) iterator).isSplittable()) {
+            return partition((SplittableIterator<T>) iterator, my_partitions);
+        }
+        return super.sources();
+    }
+
+    /**
+     * Splits the elements of an iterator into disjoint parts of about the
+     * same size, each generated by its own copy of the iterator: with n
+     * parts, the i-th part has every n-th element, starting with the i-th,
+     * so that taking an element from each part in turn gives the elements
+     * in order. An iterator that is not indexed or not splittable gives one
+     * part, over a copy of all its elements; an indexed iterator gives no
+     * more parts than it has elements.
+     *
+     * @param the_iterator   The iterator.
+     * @param the_partitions The number of parts.
+     * @return the iterators over the parts, in order.
+     * @throws IllegalArgumentException if the_partitions is not positive.
+     */
+    //@ requires the_partitions > 0;
+    public static <T> /*@ non_null @*/ List<RepeatedAccessIterator<T>> partition
+    (final /*@ non_null @*/ SplittableIterator<T> the_iterator, final int the_partitions) {
+        if (the_partitions < 1) {
+            throw new IllegalArgumentException("number of partitions must be positive");
+        }
+        final List<RepeatedAccessIterator<T>> result = new ArrayList<RepeatedAccessIterator<T>>();
+        if (the_iterator.isIndexed() && the_iterator.isSplittable()) {
+            final int size = the_iterator.size();
+            final int count = Math.max(1, Math.min(the_partitions, size));
+            for (int i = 0; i < count; i++) {
+                result.add(new Part<T>(the_iterator.copy(), i, count));
+            }
+        } else {
+            result.add(the_iterator.copy());
+        }
+        return result;
+    }
+
+    /**
+     * An iterator over every n-th element of an indexed iterator.
+     *
+     * @param <T> The type of the returned elements.
+     */
+    private static final class Part<T> implements RepeatedAccessIterator<T> {
+        /**
+         * The indexed iterator.
+         */
+        private final RepeatedAccessIterator<T> my_iterator;
+
+        /**
+         * The index of the first element.
+         */
+        private final int my_from;
+
+        /**
+         * The distance between the indices of consecutive elements.
+         */
+        private final int my_step;
+
+        /**
+         * The number of elements.
+         */
+        private final int my_size;
+
+        /**
+         * The index in this part of the current element.
+         */
+        private int my_index;
+
+        /**
+         * Constructs a Part.
+         *
+         * @param the_iterator The indexed iterator.
+         * @param the_from     The index of the first element.
+         * @param the_step     The distance between the indices of
+         *                     consecutive elements.
+         */
+        //@ requires 0 <= the_from && the_from < the_step;
+        Part(final RepeatedAccessIterator<T> the_iterator, final int the_from,
+             final int the_step) {
+            my_iterator = the_iterator;
+            my_from = the_from;
+            my_step = the_step;
+            final int size = the_iterator.size();
+            my_size = size <= the_from ? 0 : (size - the_from - 1) / the_step + 1;
+            my_index = 0;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public T element() throws NoSuchElementException {
+            if (!hasElement()) {
+                throw new NoSuchElementException("iterator has no current element");
+            }
+            return elementAt(my_index);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean hasElement() {
+            return my_index < my_size;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void advance() {
+            my_index++;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public /*@ pure */ boolean isResettable() {
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void reset() {
+            my_index = 0;
+        }
+
+        /**
+         * @return true, since the elements are generated by index.
+         */
+        @Override
+        public /*@ pure */ boolean isIndexed() {
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public /*@ pure */ int size() {
+            return my_size;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public T elementAt(final int the_index) {
+            if (the_index < 0 || the_index >= size()) {
+                throw new IndexOutOfBoundsException("index " + the_index + " is out of bounds");
+            }
+            return my_iterator.elementAt(my_from + the_index * my_step);
+        }
+    }
+}
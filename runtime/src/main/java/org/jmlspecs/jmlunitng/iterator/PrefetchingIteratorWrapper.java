@@ -0,0 +1,315 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.iterator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps a RepeatedAccessIterator in a standard Iterator whose elements are
+ * computed ahead of time by a producer thread, so that expensive elements
+ * (such as test parameters built by constructors) are built while earlier
+ * elements are being used. The producer fills a bounded queue, in the order
+ * of the wrapped iterator, with at most the specified number of elements.
+ * <p>
+ * The producer thread is started the first time hasNext() or next() is
+ * called, and stops when the wrapped iterator is exhausted, when it throws
+ * an exception or when close() is called. An exception thrown by the
+ * wrapped iterator is thrown by hasNext() or next() after the elements that
+ * preceded it have been returned. The producer is a daemon thread, so an
+ * iterator that is abandoned before it is exhausted does not prevent the
+ * virtual machine from exiting; it should nonetheless be closed. The
+ * wrapped iterator, returned by wrapped(), must not be used once the
+ * producer thread has started.
+ * <p>
+ * Subclasses can instead prefetch from several source iterators that share
+ * no state, chosen when the producers are started, each with its own
+ * producer thread and queue, such as copies of a SplittableIterator over
+ * interleaved parts of its elements. The elements are taken from the
+ * sources in turn, one from each source that is not yet exhausted, so the
+ * order in which they are returned does not depend on the order in which
+ * they are produced; an exception thrown by any source ends the iteration
+ * when it is reached.
+ *
+ * @param <T> The type of the returned elements.
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+public class PrefetchingIteratorWrapper<T> extends IteratorWrapper<T> {
+    /**
+     * The marker for a null element in the queue.
+     */
+    private static final Object NULL = new Object();
+
+    /**
+     * The marker for the end of the elements in the queue.
+     */
+    private static final Object END = new Object();
+
+    /**
+     * The time, in milliseconds, for which the producer waits for space in
+     * the queue before checking whether it has been closed.
+     */
+    private static final long POLL_MILLIS = 100;
+
+    /**
+     * The maximum number of elements to prefetch.
+     */
+    private final int my_depth;
+
+    /**
+     * The queue of each producer, of prefetched elements, null markers,
+     * failures and the end marker; null if the producers have not been
+     * started.
+     */
+    private List<BlockingQueue<Object>> my_queues;
+
+    /**
+     * The producer threads, or null if they have not been started.
+     */
+    private Thread[] my_producers;
+
+    /**
+     * Has the end marker of each producer been taken from its queue?
+     */
+    private boolean[] my_finished;
+
+    /**
+     * The number of producers whose end marker has not yet been taken from
+     * their queues.
+     */
+    private int my_running;
+
+    /**
+     * The index of the producer whose queue the next element is taken from.
+     */
+    private int my_current;
+
+    /**
+     * The next element, marker or failure taken from the queue, or null if
+     * none has been taken.
+     */
+    private Object my_next;
+
+    /**
+     * Has this iterator been closed?
+     */
+    private volatile boolean my_closed;
+
+    /**
+     * Creates a new PrefetchingIteratorWrapper for the_iterator.
+     *
+     * @param the_iterator The iterator to wrap.
+     * @param the_depth    The maximum number of elements to prefetch.
+     * @throws IllegalArgumentException if the_depth is not positive.
+     */
+    //@ requires the_depth > 0;
+    public PrefetchingIteratorWrapper(final /*@ non_null @*/ RepeatedAccessIterator<T> the_iterator,
+                                      final int the_depth) {
+        super(the_iterator);
+        if (the_depth < 1) {
+            throw new IllegalArgumentException("prefetch depth must be positive");
+        }
+        my_depth = the_depth;
+    }
+
+    /**
+     * Returns the iterators to prefetch from, with one producer thread for
+     * each; it is called once, when the producers are started, and the
+     * iterators must share no state with each other. By default, this is
+     * the wrapped iterator alone.
+     *
+     * @return the iterators to prefetch from.
+     */
+    protected /*@ non_null @*/ List<? extends RepeatedAccessIterator<T>> sources() {
+        return Collections.singletonList(wrapped());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized boolean hasNext() {
+        return peek() != END;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized T next() {
+        final Object next = peek();
+        if (next == END) {
+            throw new NoSuchElementException("iterator has no next element");
+        }
+        my_next = null;
+        if (next == NULL) {
+            return null;
+        }
+        return (T) next;
+    }
+
+    /**
+     * Stops the producer threads and discards the prefetched elements; after
+     * this, the iterator has no more elements.
+     */
+    public synchronized void close() {
+        my_closed = true;
+        if (my_producers != null) {
+            for (Thread producer : my_producers) {
+                producer.interrupt();
+            }
+            for (BlockingQueue<Object> queue : my_queues) {
+                queue.clear();
+            }
+        }
+        my_next = END;
+    }
+
+    /**
+     * @return the next element or marker, taken from the queue of the
+     * current producer (and starting the producer threads) if necessary;
+     * the end marker once every producer has finished.
+     * @throws RuntimeException if a source iterator threw it.
+     * @throws Error if a source iterator threw it.
+     */
+    private Object peek() {
+        if (my_producers == null && my_next == null) {
+            start();
+        }
+        while (my_next == null) {
+            if (my_running == 0) {
+                my_next = END;
+            } else {
+                while (my_finished[my_current]) {
+                    my_current = (my_current + 1) % my_finished.length;
+                }
+                final Object item;
+                try {
+                    item = my_queues.get(my_current).take();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("interrupted while waiting for test data",
+                                                    e);
+                }
+                if (item == END) {
+                    my_finished[my_current] = true;
+                    my_running--;
+                } else {
+                    my_next = item;
+                }
+                my_current = (my_current + 1) % my_finished.length;
+            }
+        }
+        if (my_next instanceof Failure) {
+            final Throwable cause = ((Failure) my_next).my_cause;
+            // the failure ends the iteration, stopping any other producers
+            close();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw (RuntimeException) cause;
+        }
+        return my_next;
+    }
+
+    /**
+     * Starts a producer thread for each source, with its own queue; the
+     * prefetch depth is divided between the queues.
+     */
+    private void start() {
+        final List<? extends RepeatedAccessIterator<T>> sources = sources();
+        final int count = sources.size();
+        final int capacity = Math.max(1, (my_depth + count - 1) / Math.max(1, count));
+        my_queues = new ArrayList<BlockingQueue<Object>>(count);
+        my_producers = new Thread[count];
+        my_finished = new boolean[count];
+        my_running = count;
+        for (int i = 0; i < count; i++) {
+            final RepeatedAccessIterator<T> source = sources.get(i);
+            final BlockingQueue<Object> queue = new ArrayBlockingQueue<Object>(capacity);
+            my_queues.add(queue);
+            my_producers[i] = new Thread(() -> produce(source, queue), "JMLUnitNG prefetcher");
+            my_producers[i].setDaemon(true);
+            my_producers[i].start();
+        }
+    }
+
+    /**
+     * Prefetches the elements of a source iterator into a queue, followed
+     * by the end marker or a failure.
+     *
+     * @param the_iterator The source iterator.
+     * @param the_queue    The queue.
+     */
+    private void produce(final RepeatedAccessIterator<T> the_iterator,
+                         final BlockingQueue<Object> the_queue) {
+        try {
+            while (!my_closed && the_iterator.hasElement()) {
+                final T element = the_iterator.element();
+                the_iterator.advance();
+                if (element == null) {
+                    put(the_queue, NULL);
+                } else {
+                    put(the_queue, element);
+                }
+            }
+            put(the_queue, END);
+        } catch (final InterruptedException e) {
+            // closed, so we're done
+            return;
+        } catch (final RuntimeException | Error e) {
+            try {
+                put(the_queue, new Failure(e));
+            } catch (final InterruptedException ie) {
+                // closed, so nobody will see the failure
+                return;
+            }
+        }
+    }
+
+    /**
+     * Puts an item in a queue, waiting for space until this iterator is
+     * closed.
+     *
+     * @param the_queue The queue.
+     * @param the_item  The item.
+     * @throws InterruptedException if this iterator is closed first.
+     */
+    private void put(final BlockingQueue<Object> the_queue, final Object the_item)
+            throws InterruptedException {
+        while (!the_queue.offer(the_item, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (my_closed) {
+                throw new InterruptedException("closed");
+            }
+        }
+    }
+
+    /**
+     * An exception or error thrown by the wrapped iterator.
+     */
+    private static final class Failure {
+        /**
+         * The exception or error.
+         */
+        private final Throwable my_cause;
+
+        /**
+         * Constructs a Failure.
+         *
+         * @param the_cause The exception or error.
+         */
+        Failure(final Throwable the_cause) {
+            my_cause = the_cause;
+        }
+    }
+}
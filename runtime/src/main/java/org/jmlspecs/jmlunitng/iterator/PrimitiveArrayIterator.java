@@ -0,0 +1,299 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.iterator;
+
+import java.lang.reflect.Array;
+import java.util.NoSuchElementException;
+
+/**
+ * A repeated access iterator that iterates over an array of primitive
+ * values. The values are stored unboxed; they can be read without boxing
+ * through the accessor for their type (such as intElement() for an int
+ * array) or copied into another array of the same type with copyElement(),
+ * and are boxed only when they are read through element().
+ * The array is <i>not</i> copied, so subsequent modifications to it will
+ * affect the iteration.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+public final class PrimitiveArrayIterator implements RepeatedAccessIterator<Comparable<?>> {
+    /**
+     * The array of primitive values.
+     */
+    private final Object my_array;
+
+    /**
+     * The component type of the array.
+     */
+    private final Class<?> my_type;
+
+    /**
+     * The type descriptor character of the component type ('I' for int,
+     * 'J' for long, and so on).
+     */
+    private final char my_descriptor;
+
+    /**
+     * The length of the array.
+     */
+    private final int my_length;
+
+    /**
+     * The current element.
+     */
+    //@ private invariant my_element <= my_length && my_element >= 0;
+    private int my_element;
+
+    /**
+     * Creates a new PrimitiveArrayIterator that iterates over the given array.
+     *
+     * @param the_array The array of primitive values to iterate over.
+     * @throws IllegalArgumentException if the_array is not an array of a
+     *                                  primitive type.
+     */
+    public PrimitiveArrayIterator(final /*@ non_null @*/ Object the_array) {
+        final Class<?> type = the_array.getClass().getComponentType();
+        if (type == null || !type.isPrimitive()) {
+            throw new IllegalArgumentException(the_array + " is not a primitive array");
+        }
+        my_array = the_array;
+        my_type = type;
+        my_descriptor = the_array.getClass().getName().charAt(1);
+        my_length = Array.getLength(the_array);
+        my_element = 0;
+    }
+
+    /**
+     * @return the component type of the array.
+     */
+    public /*@ pure non_null @*/ Class<?> componentType() {
+        return my_type;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean hasElement() {
+        return my_element < my_length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void advance() {
+        my_element++;
+    }
+
+    /**
+     * @return the current element, boxed.
+     * @throws NoSuchElementException if there is no current element.
+     */
+    public Comparable<?> element() throws NoSuchElementException {
+        checkElement();
+        return elementAt(my_element);
+    }
+
+    /**
+     * @return true, since the elements are in an array.
+     */
+    @Override
+    public /*@ pure */ boolean isIndexed() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public /*@ pure */ int size() {
+        return my_length;
+    }
+
+    /**
+     * @param the_index The index of an element.
+     * @return the element at the_index, boxed.
+     * @throws IndexOutOfBoundsException if the_index is negative or not
+     *                                   less than size().
+     */
+    @Override
+    public Comparable<?> elementAt(final int the_index) {
+        final Comparable<?> result;
+        switch (my_descriptor) {
+            case 'Z':
+                result = ((boolean[]) my_array)[the_index];
+                break;
+            case 'B':
+                result = ((byte[]) my_array)[the_index];
+                break;
+            case 'S':
+                result = ((short[]) my_array)[the_index];
+                break;
+            case 'C':
+                result = ((char[]) my_array)[the_index];
+                break;
+            case 'I':
+                result = ((int[]) my_array)[the_index];
+                break;
+            case 'J':
+                result = ((long[]) my_array)[the_index];
+                break;
+            case 'F':
+                result = ((float[]) my_array)[the_index];
+                break;
+            default:
+                result = ((double[]) my_array)[the_index];
+                break;
+        }
+        return result;
+    }
+
+    /**
+     * Copies the current element into an array of the same component type,
+     * without boxing it.
+     *
+     * @param the_array The array.
+     * @param the_index The index in the_array to copy the element to.
+     * @throws NoSuchElementException if there is no current element.
+     * @throws ClassCastException if the_array does not have the same
+     *                            component type as this iterator's array.
+     */
+    public void copyElement(final /*@ non_null @*/ Object the_array, final int the_index)
+            throws NoSuchElementException {
+        checkElement();
+        switch (my_descriptor) {
+            case 'Z':
+                ((boolean[]) the_array)[the_index] = ((boolean[]) my_array)[my_element];
+                break;
+            case 'B':
+                ((byte[]) the_array)[the_index] = ((byte[]) my_array)[my_element];
+                break;
+            case 'S':
+                ((short[]) the_array)[the_index] = ((short[]) my_array)[my_element];
+                break;
+            case 'C':
+                ((char[]) the_array)[the_index] = ((char[]) my_array)[my_element];
+                break;
+            case 'I':
+                ((int[]) the_array)[the_index] = ((int[]) my_array)[my_element];
+                break;
+            case 'J':
+                ((long[]) the_array)[the_index] = ((long[]) my_array)[my_element];
+                break;
+            case 'F':
+                ((float[]) the_array)[the_index] = ((float[]) my_array)[my_element];
+                break;
+            default:
+                ((double[]) the_array)[the_index] = ((double[]) my_array)[my_element];
+                break;
+        }
+    }
+
+    /**
+     * @return the current element of a boolean array.
+     * @throws NoSuchElementException if there is no current element.
+     * @throws ClassCastException if the array is not a boolean array.
+     */
+    public boolean booleanElement() throws NoSuchElementException {
+        checkElement();
+        return ((boolean[]) my_array)[my_element];
+    }
+
+    /**
+     * @return the current element of a byte array.
+     * @throws NoSuchElementException if there is no current element.
+     * @throws ClassCastException if the array is not a byte array.
+     */
+    public byte byteElement() throws NoSuchElementException {
+        checkElement();
+        return ((byte[]) my_array)[my_element];
+    }
+
+    /**
+     * @return the current element of a short array.
+     * @throws NoSuchElementException if there is no current element.
+     * @throws ClassCastException if the array is not a short array.
+     */
+    public short shortElement() throws NoSuchElementException {
+        checkElement();
+        return ((short[]) my_array)[my_element];
+    }
+
+    /**
+     * @return the current element of a char array.
+     * @throws NoSuchElementException if there is no current element.
+     * @throws ClassCastException if the array is not a char array.
+     */
+    public char charElement() throws NoSuchElementException {
+        checkElement();
+        return ((char[]) my_array)[my_element];
+    }
+
+    /**
+     * @return the current element of an int array.
+     * @throws NoSuchElementException if there is no current element.
+     * @throws ClassCastException if the array is not an int array.
+     */
+    public int intElement() throws NoSuchElementException {
+        checkElement();
+        return ((int[]) my_array)[my_element];
+    }
+
+    /**
+     * @return the current element of a long array.
+     * @throws NoSuchElementException if there is no current element.
+     * @throws ClassCastException if the array is not a long array.
+     */
+    public long longElement() throws NoSuchElementException {
+        checkElement();
+        return ((long[]) my_array)[my_element];
+    }
+
+    /**
+     * @return the current element of a float array.
+     * @throws NoSuchElementException if there is no current element.
+     * @throws ClassCastException if the array is not a float array.
+     */
+    public float floatElement() throws NoSuchElementException {
+        checkElement();
+        return ((float[]) my_array)[my_element];
+    }
+
+    /**
+     * @return the current element of a double array.
+     * @throws NoSuchElementException if there is no current element.
+     * @throws ClassCastException if the array is not a double array.
+     */
+    public double doubleElement() throws NoSuchElementException {
+        checkElement();
+        return ((double[]) my_array)[my_element];
+    }
+
+    /**
+     * @return true, since primitive values cannot be modified by tests.
+     */
+    @Override
+    public /*@ pure */ boolean isResettable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        my_element = 0;
+    }
+
+    /**
+     * @throws NoSuchElementException if there is no current element.
+     */
+    private void checkElement() throws NoSuchElementException {
+        if (!hasElement()) {
+            throw new NoSuchElementException("iterator has no current element");
+        }
+    }
+}
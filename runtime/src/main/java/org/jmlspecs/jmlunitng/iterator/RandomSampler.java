@@ -0,0 +1,434 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.iterator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * A wrapper that encapsulates a RepeatedAccessIterator and provides a random
+ * sample of its elements, based on a specified random seed and either a
+ * fraction of elements to return or an exact number of elements to return.
+ * The sampler chooses the indices of the elements it returns before it
+ * moves to them, so skipped elements are never read with element(): an
+ * indexed iterator jumps directly to each chosen element, and any other
+ * iterator is advanced past the skipped elements. (Advancing some
+ * iterators, such as NonNullMultiIterator, evaluates elements; sampling
+ * an indexed iterator avoids this.)
+ * <p>
+ * With a fraction p, each element after the first is returned with
+ * probability p, independently of the others; the number of elements
+ * skipped between returned elements is drawn from the geometric
+ * distribution, with one random number per returned element. The first
+ * element of the underlying iterator is always returned regardless of the
+ * fraction, as by IteratorSampler.
+ * <p>
+ * With a count n, exactly n elements (or all the elements, if there are
+ * no more than n) are returned, chosen uniformly at random and returned
+ * in their original order. The number of elements of the underlying
+ * iterator must be known for this: it is the size of an indexed iterator;
+ * the elements of a resettable iterator are counted by advancing it and
+ * then it is reset; and the elements of any other iterator are all read
+ * and sampled by reservoir sampling, which gives the same distribution
+ * but does not save their evaluation.
+ *
+ * @param <T> The type to be sampled.
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+public class RandomSampler<T> implements RepeatedAccessIterator<T> {
+    /**
+     * The underlying RepeatedAccessIterator.
+     */
+    private final RepeatedAccessIterator<T> my_iterator;
+
+    /**
+     * The fraction of iterator elements to provide, in fraction mode.
+     */
+    private final double my_fraction;
+
+    /**
+     * The sorted indices of the elements to provide, in count mode, or
+     * null in fraction mode.
+     */
+    private final int[] my_indices;
+
+    /**
+     * The elements to provide, if they were chosen by reservoir sampling;
+     * null otherwise.
+     */
+    private final List<T> my_reservoir;
+
+    /**
+     * The random number generator used by this RandomSampler.
+     */
+    private final Random my_random;
+
+    /**
+     * The random seed, used again when the sampler is reset.
+     */
+    private final long my_seed;
+
+    /**
+     * The index of the current element of the underlying iterator.
+     */
+    private long my_position;
+
+    /**
+     * The number of returned elements that have been advanced past.
+     */
+    private int my_sample;
+
+    /**
+     * Constructs a RandomSampler.
+     *
+     * @param the_iterator  The iterator to sample.
+     * @param the_fraction  The fraction of values to return, in fraction mode.
+     * @param the_indices   The indices of the values to return, or null.
+     * @param the_reservoir The values to return, or null.
+     * @param the_seed      The random seed.
+     */
+    private RandomSampler(final RepeatedAccessIterator<T> the_iterator,
+                          final double the_fraction, final int[] the_indices,
+                          final List<T> the_reservoir, final long the_seed) {
+        my_iterator = the_iterator;
+        my_fraction = the_fraction;
+        my_indices = the_indices;
+        my_reservoir = the_reservoir;
+        my_random = new Random(the_seed);
+        my_seed = the_seed;
+        start();
+    }
+
+    /**
+     * Creates a RandomSampler that returns each element of the specified
+     * iterator, after the first, with the specified probability. Fractions
+     * of 1 or more return all the elements, and fractions of 0 or less
+     * return only the first.
+     *
+     * @param <T>          The type to be sampled.
+     * @param the_iterator The iterator to sample.
+     * @param the_fraction The fraction of values to return from the iterator.
+     * @param the_seed     The random seed to use (for reproducibility of results).
+     * @return the sampler.
+     */
+    public static <T> /*@ non_null @*/ RandomSampler<T> withFraction
+    (final /*@ non_null @*/ RepeatedAccessIterator<T> the_iterator,
+     final double the_fraction, final long the_seed) {
+        return new RandomSampler<T>(the_iterator, the_fraction, null, null, the_seed);
+    }
+
+    /**
+     * Creates a RandomSampler that returns exactly the specified number of
+     * elements of the specified iterator, or all its elements if it has no
+     * more than that number.
+     *
+     * @param <T>          The type to be sampled.
+     * @param the_iterator The iterator to sample; it must be at its first
+     *                     element.
+     * @param the_count    The number of values to return from the iterator.
+     * @param the_seed     The random seed to use (for reproducibility of results).
+     * @return the sampler.
+     * @throws IllegalArgumentException if the_count is negative.
+     */
+    //@ requires the_count >= 0;
+    public static <T> /*@ non_null @*/ RandomSampler<T> withCount
+    (final /*@ non_null @*/ RepeatedAccessIterator<T> the_iterator,
+     final int the_count, final long the_seed) {
+        if (the_count < 0) {
+            throw new IllegalArgumentException("sample count cannot be negative");
+        }
+        final RandomSampler<T> result;
+        if (the_iterator.isIndexed() || the_iterator.isResettable()) {
+            int size = 0;
+            if (the_iterator.isIndexed()) {
+                size = the_iterator.size();
+            } else {
+                while (the_iterator.hasElement()) {
+                    size++;
+                    the_iterator.advance();
+                }
+                the_iterator.reset();
+            }
+            final long[] chosen = choose(size, the_count, new Random(the_seed));
+            final int[] indices = new int[chosen.length];
+            for (int i = 0; i < indices.length; i++) {
+                indices[i] = (int) chosen[i];
+            }
+            result = new RandomSampler<T>(the_iterator, 1.0, indices, null, the_seed);
+        } else {
+            result = new RandomSampler<T>(the_iterator, 1.0, null,
+                                          reservoir(the_iterator, the_count, the_seed),
+                                          the_seed);
+        }
+        return result;
+    }
+
+    /**
+     * Chooses distinct indices uniformly at random, by Floyd's algorithm;
+     * this takes time proportional to the number of indices chosen, not
+     * to the number they are chosen from.
+     *
+     * @param the_size   The number of indices to choose from.
+     * @param the_count  The number of indices to choose.
+     * @param the_random The random number generator to use.
+     * @return the chosen indices, in increasing order; all of them if
+     * the_count is at least the_size.
+     */
+    //@ requires the_size >= 0 && the_count >= 0;
+    static /*@ non_null @*/ long[] choose(final long the_size, final int the_count,
+                                          final /*@ non_null @*/ Random the_random) {
+        final long[] result;
+        if (the_count >= the_size) {
+            result = new long[(int) the_size];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = i;
+            }
+        } else {
+            final Set<Long> chosen = new HashSet<Long>();
+            for (long j = the_size - the_count; j < the_size; j++) {
+                final long t = nextIndex(the_random, j + 1);
+                if (!chosen.add(t)) {
+                    chosen.add(j);
+                }
+            }
+            result = new long[the_count];
+            int i = 0;
+            for (long c : chosen) {
+                result[i] = c;
+                i++;
+            }
+            Arrays.sort(result);
+        }
+        return result;
+    }
+
+    /**
+     * @param the_random The random number generator to use.
+     * @param the_bound  The bound.
+     * @return a random index from 0 (inclusive) to the_bound (exclusive).
+     */
+    private static long nextIndex(final Random the_random, final long the_bound) {
+        final long result;
+        if (the_bound <= Integer.MAX_VALUE) {
+            result = the_random.nextInt((int) the_bound);
+        } else {
+            result = Math.min((long) (the_random.nextDouble() * the_bound), the_bound - 1);
+        }
+        return result;
+    }
+
+    /**
+     * Samples the elements of an iterator by reservoir sampling.
+     *
+     * @param <T>          The type to be sampled.
+     * @param the_iterator The iterator to sample.
+     * @param the_count    The number of values to return from the iterator.
+     * @param the_seed     The random seed.
+     * @return the chosen elements, in their original order.
+     */
+    private static <T> List<T> reservoir(final RepeatedAccessIterator<T> the_iterator,
+                                         final int the_count, final long the_seed) {
+        final Random random = new Random(the_seed);
+        final List<T> elements = new ArrayList<T>();
+        final List<Integer> indices = new ArrayList<Integer>();
+        int seen = 0;
+        while (the_iterator.hasElement()) {
+            if (seen < the_count) {
+                elements.add(the_iterator.element());
+                indices.add(seen);
+            } else {
+                final int r = random.nextInt(seen + 1);
+                if (r < the_count) {
+                    elements.set(r, the_iterator.element());
+                    indices.set(r, seen);
+                }
+            }
+            seen++;
+            the_iterator.advance();
+        }
+        // restore the original order
+        final Integer[] order = new Integer[elements.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (the_a, the_b) -> indices.get(the_a).compareTo(indices.get(the_b)));
+        final List<T> result = new ArrayList<T>(order.length);
+        for (Integer i : order) {
+            result.add(elements.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public /*@ pure */ T element() throws NoSuchElementException {
+        if (!hasElement()) {
+            throw new NoSuchElementException("iterator has no current element");
+        }
+        final T result;
+        if (my_reservoir != null) {
+            result = my_reservoir.get(my_sample);
+        } else if (my_iterator.isIndexed()) {
+            result = my_iterator.elementAt((int) my_position);
+        } else {
+            result = my_iterator.element();
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public /*@ pure */ boolean hasElement() {
+        final boolean result;
+        if (my_reservoir != null) {
+            result = my_sample < my_reservoir.size();
+        } else if (my_indices != null && my_sample >= my_indices.length) {
+            result = false;
+        } else if (my_iterator.isIndexed()) {
+            result = my_position < my_iterator.size();
+        } else {
+            result = my_iterator.hasElement();
+        }
+        return result;
+    }
+
+    /**
+     * Advances the iterator to the next chosen element, skipping the
+     * elements in between without reading them.
+     */
+    @Override
+    public void advance() {
+        my_sample++;
+        if (my_reservoir == null) {
+            if (my_indices == null) {
+                moveTo(my_position + 1 + skip());
+            } else if (my_sample < my_indices.length) {
+                moveTo(my_indices[my_sample]);
+            }
+        }
+    }
+
+    /**
+     * @return true if the underlying iterator is resettable and the elements
+     * were not chosen by reservoir sampling, false otherwise.
+     */
+    @Override
+    public /*@ pure */ boolean isResettable() {
+        return my_reservoir == null && my_iterator.isResettable();
+    }
+
+    /**
+     * Resets the underlying iterator and the random number generator, so
+     * that the same sample is taken again.
+     */
+    @Override
+    public void reset() {
+        if (my_reservoir == null) {
+            my_iterator.reset();
+        }
+        my_random.setSeed(my_seed);
+        start();
+    }
+
+    /**
+     * @return true if this sampler returns an exact number of elements of
+     * an indexed iterator, false otherwise.
+     */
+    @Override
+    public /*@ pure */ boolean isIndexed() {
+        return my_reservoir != null || (my_indices != null && my_iterator.isIndexed());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public /*@ pure */ int size() {
+        if (!isIndexed()) {
+            throw new UnsupportedOperationException("sample is not indexed");
+        }
+        final int result;
+        if (my_reservoir == null) {
+            result = my_indices.length;
+        } else {
+            result = my_reservoir.size();
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T elementAt(final int the_index) {
+        if (the_index < 0 || the_index >= size()) {
+            throw new IndexOutOfBoundsException("index " + the_index + " is out of bounds");
+        }
+        final T result;
+        if (my_reservoir == null) {
+            result = my_iterator.elementAt(my_indices[the_index]);
+        } else {
+            result = my_reservoir.get(the_index);
+        }
+        return result;
+    }
+
+    /**
+     * Moves to the first chosen element.
+     */
+    private void start() {
+        my_position = 0;
+        my_sample = 0;
+        if (my_indices != null && my_indices.length > 0) {
+            moveTo(my_indices[0]);
+        }
+    }
+
+    /**
+     * @return the number of elements to skip before the next returned
+     * element, drawn from the geometric distribution with the fraction as
+     * its success probability.
+     */
+    private long skip() {
+        final long result;
+        if (my_fraction >= 1.0) {
+            result = 0;
+        } else if (my_fraction <= 0.0) {
+            result = Long.MAX_VALUE / 2;
+        } else {
+            result = (long) Math.floor(Math.log(1.0 - my_random.nextDouble()) /
+                                       Math.log(1.0 - my_fraction));
+        }
+        return result;
+    }
+
+    /**
+     * Moves the underlying iterator to the element at the specified index,
+     * or to its end if it has no such element.
+     *
+     * @param the_index The index.
+     */
+    private void moveTo(final long the_index) {
+        if (my_iterator.isIndexed()) {
+            my_position = Math.min(the_index, my_iterator.size());
+        } else {
+            while (my_position < the_index && my_iterator.hasElement()) {
+                my_iterator.advance();
+                my_position++;
+            }
+        }
+    }
+}
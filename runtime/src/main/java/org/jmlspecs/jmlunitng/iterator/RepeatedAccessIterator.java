@@ -0,0 +1,94 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.iterator;
+
+import java.util.NoSuchElementException;
+
+/**
+ * An iterator that supports accessing the current value multiple times.
+ * An iterator may also support being reset to its first element, so that
+ * iterators that walk the same values repeatedly (such as the dimensions
+ * of a ParameterArrayIterator) can restart it rather than build a new one,
+ * and may support random access to its elements by index, so that users
+ * (such as an IndexedParameterSpace) can jump to any element without
+ * stepping through, and evaluating, the elements before it.
+ *
+ * @param <T> The type of the returned elements.
+ * @author Daniel M. Zimmerman
+ * @author Jonathan Hogins
+ * @version October 2026
+ */
+public interface RepeatedAccessIterator<T> {
+    /**
+     * @return Does the iterator have a current element?
+     */
+    boolean hasElement();
+
+    /**
+     * @return What is the iterator's current element?
+     * @throws NoSuchElementException if there is no current element.
+     */
+    T element() throws NoSuchElementException;
+
+    /**
+     * Advance the iterator to the next element!
+     */
+    void advance();
+
+    /**
+     * A resettable iterator, after reset(), returns the same sequence of
+     * elements as a new iterator made from the same source would; that is,
+     * it returns no object that a test may have modified since it was last
+     * returned. By default, iterators are not resettable.
+     *
+     * @return Can the iterator be reset?
+     */
+    default /*@ pure @*/ boolean isResettable() {
+        return false;
+    }
+
+    /**
+     * Reset the iterator to its first element!
+     *
+     * @throws UnsupportedOperationException if the iterator cannot be reset.
+     */
+    default void reset() {
+        throw new UnsupportedOperationException(getClass().getName() + " cannot be reset");
+    }
+
+    /**
+     * An indexed iterator knows how many elements it has in all, and can
+     * return any of them by its index (counting from the first element,
+     * not the current one) without changing its current element or
+     * evaluating other elements. By default, iterators are not indexed.
+     *
+     * @return Does the iterator support access by index?
+     */
+    default /*@ pure */ boolean isIndexed() {
+        return false;
+    }
+
+    /**
+     * @return How many elements does the indexed iterator have in all?
+     * @throws UnsupportedOperationException if the iterator is not indexed.
+     */
+    default /*@ pure */ int size() {
+        throw new UnsupportedOperationException(getClass().getName() + " is not indexed");
+    }
+
+    /**
+     * @param the_index The index of an element.
+     * @return What is the indexed iterator's element at the_index? This is
+     * the element that element() returns when the_index elements have been
+     * advanced over from the first.
+     * @throws IndexOutOfBoundsException if the_index is negative or not
+     *                                   less than size().
+     * @throws UnsupportedOperationException if the iterator is not indexed.
+     */
+    default T elementAt(final int the_index) {
+        throw new UnsupportedOperationException(getClass().getName() + " is not indexed");
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.iterator;
+
+/**
+ * An indexed repeated access iterator that can make independent copies of
+ * itself, so that disjoint parts of its elements can be generated on
+ * different threads at the same time: each thread uses its own copy, and
+ * the copies share no mutable state with each other or with the original.
+ * An IndexedSpliterator or a PartitionedIteratorWrapper splits its elements
+ * by index between copies.
+ *
+ * @param <T> The type of the returned elements.
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+public interface SplittableIterator<T> extends RepeatedAccessIterator<T> {
+    /**
+     * @return a new iterator over the same elements as this one, at its
+     * first element, that shares no mutable state with this one.
+     */
+    /*@ non_null @*/ SplittableIterator<T> copy();
+
+    /**
+     * @return true if this iterator's elements should be split between
+     * copies on different threads, false if they should not be, because
+     * each copy would generate many objects that it does not use; true by
+     * default.
+     */
+    default /*@ pure */ boolean isSplittable() {
+        return true;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.strategy;
+
+import org.jmlspecs.jmlunitng.iterator.RandomSampler;
+import org.jmlspecs.jmlunitng.iterator.RepeatedAccessIterator;
+
+/**
+ * The parent of all strategy classes, contains bookkeeping information
+ * for random data sampling.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+public abstract class AbstractStrategy implements Strategy {
+    /**
+     * The fraction of data values to include in the iterator,
+     * 1 by default.
+     */
+    private double my_fraction = 1.0;
+
+    /**
+     * The random seed to use for sampling data values, 0 by default.
+     */
+    private long my_seed;
+
+    /**
+     * The exact number of data values to include in the iterator, or 0
+     * (the default) to include a fraction of them.
+     */
+    private int my_count;
+
+    /**
+     * Sets the fraction of strategy values to include in the iterator.
+     * Values greater than or equal to 1 include all the strategy values,
+     * and values less than 0 include only the first strategy value.
+     *
+     * @param the_fraction The fraction of values to include.
+     */
+    public final void setFraction(final double the_fraction) {
+        my_fraction = the_fraction;
+    }
+
+    /**
+     * @return the fraction of strategy values to include in the iterator.
+     */
+    public final double fraction() {
+        return my_fraction;
+    }
+
+    /**
+     * Sets the random seed to be used when sampling values for the iterator.
+     *
+     * @param the_seed The random seed.
+     */
+    public final void setSeed(final long the_seed) {
+        my_seed = the_seed;
+    }
+
+    /**
+     * @return the random seed to be used when sampling values for the iterator.
+     */
+    public final long seed() {
+        return my_seed;
+    }
+
+    /**
+     * Sets the exact number of strategy values to include in the iterator,
+     * chosen uniformly at random; this takes precedence over the fraction.
+     * 0 includes the fraction of the values set by setFraction() instead.
+     *
+     * @param the_count The number of values to include.
+     * @throws IllegalArgumentException if the_count is negative.
+     */
+    //@ requires the_count >= 0;
+    public final void setCount(final int the_count) {
+        if (the_count < 0) {
+            throw new IllegalArgumentException("sample count cannot be negative");
+        }
+        my_count = the_count;
+    }
+
+    /**
+     * @return the exact number of strategy values to include in the
+     * iterator, or 0 if a fraction of them is included.
+     */
+    public final int count() {
+        return my_count;
+    }
+
+    /**
+     * @param <T>          The type of the strategy values.
+     * @param the_iterator An iterator over all the strategy values.
+     * @return the_iterator, or a random sample of its elements if a count
+     * or a fraction less than 1 is set.
+     */
+    protected final <T> RepeatedAccessIterator<T> sample
+    (final /*@ non_null @*/ RepeatedAccessIterator<T> the_iterator) {
+        RepeatedAccessIterator<T> result = the_iterator;
+        if (my_count > 0) {
+            result = RandomSampler.withCount(the_iterator, my_count, my_seed);
+        } else if (my_fraction < 1.0) {
+            result = RandomSampler.withFraction(the_iterator, my_fraction, my_seed);
+        }
+        return result;
+    }
+}
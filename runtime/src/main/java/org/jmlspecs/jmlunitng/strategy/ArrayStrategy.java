@@ -67,7 +67,7 @@ public abstract class ArrayStrategy extends NonPrimitiveStrategy {
                 new ArrayList<RepeatedAccessIterator<?>>();
         list.add(new ObjectArrayIterator(new Object[]{null}));
         list.add(new DynamicArrayIterator(my_class.getComponentType(),
-                my_generators, max));
+                my_generators.toArray(new StrategyFactory[0]), max));
         return new MultiIterator(list);
     }
 
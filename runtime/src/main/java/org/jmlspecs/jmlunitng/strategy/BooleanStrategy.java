@@ -6,6 +6,7 @@
 package org.jmlspecs.jmlunitng.strategy;
 
 import org.jmlspecs.jmlunitng.iterator.ObjectArrayIterator;
+import org.jmlspecs.jmlunitng.iterator.PrimitiveArrayIterator;
 import org.jmlspecs.jmlunitng.iterator.RepeatedAccessIterator;
 
 /**
@@ -14,13 +15,13 @@ import org.jmlspecs.jmlunitng.iterator.RepeatedAccessIterator;
  *
  * @author Jonathan Hogins
  * @author Daniel M. Zimmerman
- * @version January 2011
+ * @version October 2026
  */
 public abstract class BooleanStrategy extends PrimitiveStrategy {
     /**
      * The default values for this strategy.
      */
-    private static final Boolean[] DEFAULT_VALUES = {Boolean.TRUE, Boolean.FALSE};
+    private static final boolean[] DEFAULT_VALUES = {true, false};
 
     /**
      * A default empty iterator, to be overridden by child classes.
@@ -53,6 +54,6 @@ public abstract class BooleanStrategy extends PrimitiveStrategy {
      * @return an iterator over the default boolean values.
      */
     public RepeatedAccessIterator<?> defaultValues() {
-        return new ObjectArrayIterator<Boolean>(DEFAULT_VALUES);
+        return new PrimitiveArrayIterator(DEFAULT_VALUES);
     }
 }
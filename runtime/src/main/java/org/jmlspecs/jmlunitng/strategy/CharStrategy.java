@@ -6,6 +6,7 @@
 package org.jmlspecs.jmlunitng.strategy;
 
 import org.jmlspecs.jmlunitng.iterator.ObjectArrayIterator;
+import org.jmlspecs.jmlunitng.iterator.PrimitiveArrayIterator;
 import org.jmlspecs.jmlunitng.iterator.RepeatedAccessIterator;
 
 /**
@@ -14,13 +15,13 @@ import org.jmlspecs.jmlunitng.iterator.RepeatedAccessIterator;
  *
  * @author Jonathan Hogins
  * @author Daniel M. Zimmerman
- * @version January 2011
+ * @version October 2026
  */
 public abstract class CharStrategy extends PrimitiveStrategy {
     /**
      * The default values for this strategy.
      */
-    private static final Character[] DEFAULT_VALUES =
+    private static final char[] DEFAULT_VALUES =
             {Character.MIN_VALUE, Character.MAX_VALUE};
 
     /**
@@ -54,6 +55,6 @@ public abstract class CharStrategy extends PrimitiveStrategy {
      * @return an iterator over the default char values.
      */
     public RepeatedAccessIterator<?> defaultValues() {
-        return new ObjectArrayIterator<Character>(DEFAULT_VALUES);
+        return new PrimitiveArrayIterator(DEFAULT_VALUES);
     }
 }
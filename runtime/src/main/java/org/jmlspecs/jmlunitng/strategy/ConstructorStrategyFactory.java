@@ -0,0 +1,81 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.strategy;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Modifier;
+
+/**
+ * A strategy factory that calls the no-argument constructor of a strategy
+ * class through a method handle, which is looked up once per class.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+final class ConstructorStrategyFactory implements StrategyFactory {
+    /**
+     * The factories, by strategy class.
+     */
+    static final ClassValue<StrategyFactory> FACTORIES = new ClassValue<StrategyFactory>() {
+        @Override
+        protected StrategyFactory computeValue(final Class<?> the_class) {
+            return new ConstructorStrategyFactory(the_class);
+        }
+    };
+
+    /**
+     * The type of the constructor, adapted to return a Strategy.
+     */
+    private static final MethodType STRATEGY_TYPE = MethodType.methodType(Strategy.class);
+
+    /**
+     * The strategy class.
+     */
+    private final Class<?> my_class;
+
+    /**
+     * The constructor of the strategy class.
+     */
+    private final MethodHandle my_constructor;
+
+    /**
+     * Constructs a ConstructorStrategyFactory.
+     *
+     * @param the_class The strategy class.
+     * @throws IllegalArgumentException if the_class is not a strategy class
+     *                                  with an accessible no-argument constructor.
+     */
+    private ConstructorStrategyFactory(final Class<?> the_class) {
+        if (!Strategy.class.isAssignableFrom(the_class) ||
+                Modifier.isAbstract(the_class.getModifiers())) {
+            throw new IllegalArgumentException(the_class + " is not a concrete strategy class");
+        }
+        my_class = the_class;
+        try {
+            my_constructor = MethodHandles.publicLookup()
+                    .findConstructor(the_class, MethodType.methodType(void.class))
+                    .asType(STRATEGY_TYPE);
+        } catch (final NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Strategy newStrategy() {
+        try {
+            return (Strategy) my_constructor.invokeExact();
+        } catch (final RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable e) {
+            throw new IllegalStateException("could not instantiate " + my_class, e);
+        }
+    }
+}
@@ -6,6 +6,7 @@
 package org.jmlspecs.jmlunitng.strategy;
 
 import org.jmlspecs.jmlunitng.iterator.ObjectArrayIterator;
+import org.jmlspecs.jmlunitng.iterator.PrimitiveArrayIterator;
 import org.jmlspecs.jmlunitng.iterator.RepeatedAccessIterator;
 
 /**
@@ -14,13 +15,13 @@ import org.jmlspecs.jmlunitng.iterator.RepeatedAccessIterator;
  *
  * @author Jonathan Hogins
  * @author Daniel M. Zimmerman
- * @version January 2011
+ * @version October 2026
  */
 public abstract class DoubleStrategy extends PrimitiveStrategy {
     /**
      * The default values for this strategy.
      */
-    private static final Double[] DEFAULT_VALUES =
+    private static final double[] DEFAULT_VALUES =
             {Double.NEGATIVE_INFINITY, 0.0, Double.POSITIVE_INFINITY};
 
     /**
@@ -54,6 +55,6 @@ public abstract class DoubleStrategy extends PrimitiveStrategy {
      * @return an iterator over the default double values.
      */
     public RepeatedAccessIterator<?> defaultValues() {
-        return new ObjectArrayIterator<Double>(DEFAULT_VALUES);
+        return new PrimitiveArrayIterator(DEFAULT_VALUES);
     }
 }
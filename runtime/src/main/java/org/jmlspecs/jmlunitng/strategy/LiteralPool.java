@@ -0,0 +1,443 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.strategy;
+
+import org.jmlspecs.jmlunitng.iterator.ObjectArrayIterator;
+import org.jmlspecs.jmlunitng.iterator.RepeatedAccessIterator;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The literals found by JMLUnitNG for the strategies of one test class,
+ * stored in a binary resource next to the test class rather than in the
+ * generated strategy sources. A pool is loaded the first time it is used
+ * and is then shared by all strategies that use it; each set of literals
+ * is kept as an array of the literals' type, which is never copied.
+ * <p>
+ * JMLUnitNG writes the pool resource next to the generated test class
+ * source; it must be copied to the class output along with the compiled
+ * test class (the annotation processor writes it there directly). A
+ * strategy that uses a pool that is missing or unreadable fails, rather
+ * than silently testing without its literals.
+ * <p>
+ * A literal pool resource starts with a text header that marks it as
+ * generated by JMLUnitNG (so that it can be cleaned up like generated
+ * sources), terminated by a zero byte. It continues with a magic number,
+ * a version and the sets of literals, each of which has a key, a type
+ * tag and the literals themselves.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+public final class LiteralPool {
+    /**
+     * The suffix of literal pool resources; the resource for a test class
+     * is named after the test class.
+     */
+    public static final String SUFFIX = ".literals";
+
+    /**
+     * The magic number at the start of the binary part of a pool ("JMLP").
+     */
+    private static final int MAGIC = 0x4A4D4C50;
+
+    /**
+     * The version of the pool format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The type tag of boolean literals.
+     */
+    private static final byte TAG_BOOLEAN = 0;
+
+    /**
+     * The type tag of byte literals.
+     */
+    private static final byte TAG_BYTE = 1;
+
+    /**
+     * The type tag of short literals.
+     */
+    private static final byte TAG_SHORT = 2;
+
+    /**
+     * The type tag of char literals.
+     */
+    private static final byte TAG_CHAR = 3;
+
+    /**
+     * The type tag of int literals.
+     */
+    private static final byte TAG_INT = 4;
+
+    /**
+     * The type tag of long literals.
+     */
+    private static final byte TAG_LONG = 5;
+
+    /**
+     * The type tag of float literals.
+     */
+    private static final byte TAG_FLOAT = 6;
+
+    /**
+     * The type tag of double literals.
+     */
+    private static final byte TAG_DOUBLE = 7;
+
+    /**
+     * The type tag of String literals.
+     */
+    private static final byte TAG_STRING = 8;
+
+    /**
+     * The type tag of class literals.
+     */
+    private static final byte TAG_CLASS = 9;
+
+    /**
+     * The types of literals, indexed by type tag.
+     */
+    private static final Class<?>[] TYPES = {Boolean.class, Byte.class, Short.class,
+        Character.class, Integer.class, Long.class, Float.class, Double.class,
+        String.class, ClassName.class};
+
+    /**
+     * The pools of the test classes that have used them so far.
+     */
+    private static final ClassValue<LiteralPool> POOLS = new ClassValue<LiteralPool>() {
+        @Override
+        protected LiteralPool computeValue(final Class<?> the_test_class) {
+            return load(the_test_class);
+        }
+    };
+
+    /**
+     * The sets of literals in this pool, by key.
+     */
+    private final Map<String, Object[]> my_values;
+
+    /**
+     * Constructs a LiteralPool.
+     *
+     * @param the_values The sets of literals, by key.
+     */
+    private LiteralPool(final Map<String, Object[]> the_values) {
+        my_values = the_values;
+    }
+
+    /**
+     * Returns the literal pool of the specified test class, loading it if
+     * it has not been used before.
+     *
+     * @param the_test_class The test class.
+     * @return the literal pool.
+     * @throws IllegalStateException if the test class has no pool resource,
+     *                               or it cannot be read.
+     */
+    public static /*@ non_null @*/ LiteralPool forClass(final /*@ non_null @*/ Class<?> the_test_class) {
+        return POOLS.get(the_test_class);
+    }
+
+    /**
+     * @param the_key The key of a set of literals.
+     * @return the set of literals with the specified key, which is empty if
+     * the pool has no such set; the array is shared, and must not be modified.
+     */
+    public /*@ pure non_null @*/ Object[] values(final /*@ non_null @*/ String the_key) {
+        final Object[] result = my_values.get(the_key);
+        if (result == null) {
+            return new Object[0];
+        }
+        return result;
+    }
+
+    /**
+     * Returns an iterator over the set of literals with the specified key,
+     * followed by the specified additional values.
+     *
+     * @param the_key   The key of a set of literals.
+     * @param the_extra Additional values or generators.
+     * @return the iterator.
+     */
+    public /*@ non_null @*/ RepeatedAccessIterator<?> iterator(final /*@ non_null @*/ String the_key,
+                                                               final /*@ non_null @*/ Object... the_extra) {
+        Object[] array = values(the_key);
+        if (the_extra.length > 0) {
+            final Object[] all = new Object[array.length + the_extra.length];
+            System.arraycopy(array, 0, all, 0, array.length);
+            System.arraycopy(the_extra, 0, all, array.length, the_extra.length);
+            array = all;
+        }
+        return new ObjectArrayIterator<Object>(array);
+    }
+
+    /**
+     * Encodes a literal pool. All the literals in a set must have the same
+     * type, which must be a primitive wrapper type, String or ClassName.
+     *
+     * @param the_header The text header that marks the pool as generated
+     *                   by JMLUnitNG.
+     * @param the_values The sets of literals, by key.
+     * @return the encoded pool.
+     * @throws IllegalArgumentException if a set of literals contains null,
+     *                                  values of more than one type or values of an
+     *                                  unsupported type.
+     */
+    public static /*@ non_null @*/ byte[] encode(final /*@ non_null @*/ String the_header,
+                                                 final /*@ non_null @*/ Map<String, Object[]> the_values) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.write(the_header.getBytes(StandardCharsets.UTF_8));
+            out.write(0);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(the_values.size());
+            for (Map.Entry<String, Object[]> e : the_values.entrySet()) {
+                final Object[] values = e.getValue();
+                final byte tag;
+                if (values.length == 0) {
+                    tag = TAG_STRING;
+                } else {
+                    tag = tag(values[0]);
+                }
+                out.writeUTF(e.getKey());
+                out.writeByte(tag);
+                out.writeInt(values.length);
+                for (Object o : values) {
+                    if (tag(o) != tag) {
+                        throw new IllegalArgumentException
+                                ("literals of more than one type for " + e.getKey());
+                    }
+                    writeValue(out, tag, o);
+                }
+            }
+        } catch (final IOException e) {
+            // this should never happen, since we write to memory
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Loads the literal pool of the specified test class.
+     *
+     * @param the_test_class The test class.
+     * @return the literal pool.
+     * @throws IllegalStateException if there is no pool resource or it
+     *                               cannot be read.
+     */
+    private static LiteralPool load(final Class<?> the_test_class) {
+        final String name = the_test_class.getSimpleName() + SUFFIX;
+        final InputStream resource = the_test_class.getResourceAsStream(name);
+        if (resource == null) {
+            throw new IllegalStateException("The literal pool " + name + " of " +
+                    the_test_class.getName() + " is not on the classpath; it must be " +
+                    "copied next to the compiled test class.");
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(resource))) {
+            // skip the header
+            int b = in.read();
+            while (b > 0) {
+                b = in.read();
+            }
+            if (b < 0 || in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("not a literal pool");
+            }
+            final int count = in.readInt();
+            final Map<String, Object[]> values = new HashMap<String, Object[]>(count * 2);
+            for (int i = 0; i < count; i++) {
+                final String key = in.readUTF();
+                final byte tag = in.readByte();
+                if (tag < 0 || tag >= TYPES.length) {
+                    throw new IOException("unknown literal type " + tag);
+                }
+                final int length = in.readInt();
+                if (tag == TAG_CLASS) {
+                    values.put(key, readClasses(in, length, the_test_class.getClassLoader()));
+                } else {
+                    final Object[] array =
+                            (Object[]) Array.newInstance(TYPES[tag], length);
+                    for (int j = 0; j < length; j++) {
+                        array[j] = readValue(in, tag);
+                    }
+                    values.put(key, array);
+                }
+            }
+            return new LiteralPool(values);
+        } catch (final IOException e) {
+            throw new IllegalStateException("Could not read the literal pool " + name + " of " +
+                    the_test_class.getName(), e);
+        }
+    }
+
+    /**
+     * @param the_value A literal.
+     * @return the type tag of the literal.
+     * @throws IllegalArgumentException if the literal has an unsupported type.
+     */
+    private static byte tag(final Object the_value) {
+        for (byte i = 0; i < TYPES.length; i++) {
+            if (TYPES[i].isInstance(the_value)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("unsupported literal " + the_value);
+    }
+
+    /**
+     * Writes a literal.
+     *
+     * @param the_out   The output.
+     * @param the_tag   The type tag of the literal.
+     * @param the_value The literal.
+     * @throws IOException if the literal cannot be written.
+     */
+    private static void writeValue(final DataOutputStream the_out, final byte the_tag,
+                                   final Object the_value) throws IOException {
+        switch (the_tag) {
+            case TAG_BOOLEAN:
+                the_out.writeBoolean((Boolean) the_value);
+                break;
+            case TAG_BYTE:
+                the_out.writeByte((Byte) the_value);
+                break;
+            case TAG_SHORT:
+                the_out.writeShort((Short) the_value);
+                break;
+            case TAG_CHAR:
+                the_out.writeChar((Character) the_value);
+                break;
+            case TAG_INT:
+                the_out.writeInt((Integer) the_value);
+                break;
+            case TAG_LONG:
+                the_out.writeLong((Long) the_value);
+                break;
+            case TAG_FLOAT:
+                the_out.writeFloat((Float) the_value);
+                break;
+            case TAG_DOUBLE:
+                the_out.writeDouble((Double) the_value);
+                break;
+            case TAG_STRING:
+                final byte[] utf8 = ((String) the_value).getBytes(StandardCharsets.UTF_8);
+                the_out.writeInt(utf8.length);
+                the_out.write(utf8);
+                break;
+            default:
+                the_out.writeUTF(((ClassName) the_value).getName());
+                break;
+        }
+    }
+
+    /**
+     * Reads a literal that is not a class literal.
+     *
+     * @param the_in  The input.
+     * @param the_tag The type tag of the literal.
+     * @return the literal.
+     * @throws IOException if the literal cannot be read.
+     */
+    private static Object readValue(final DataInputStream the_in, final byte the_tag)
+            throws IOException {
+        final Object result;
+        switch (the_tag) {
+            case TAG_BOOLEAN:
+                result = the_in.readBoolean();
+                break;
+            case TAG_BYTE:
+                result = the_in.readByte();
+                break;
+            case TAG_SHORT:
+                result = the_in.readShort();
+                break;
+            case TAG_CHAR:
+                result = the_in.readChar();
+                break;
+            case TAG_INT:
+                result = the_in.readInt();
+                break;
+            case TAG_LONG:
+                result = the_in.readLong();
+                break;
+            case TAG_FLOAT:
+                result = the_in.readFloat();
+                break;
+            case TAG_DOUBLE:
+                result = the_in.readDouble();
+                break;
+            default:
+                final byte[] utf8 = new byte[the_in.readInt()];
+                the_in.readFully(utf8);
+                result = new String(utf8, StandardCharsets.UTF_8);
+                break;
+        }
+        return result;
+    }
+
+    /**
+     * Reads class literals, omitting those whose classes cannot be loaded.
+     *
+     * @param the_in     The input.
+     * @param the_length The number of class literals.
+     * @param the_loader The class loader to load the classes with.
+     * @return the classes.
+     * @throws IOException if the class literals cannot be read.
+     */
+    private static Class<?>[] readClasses(final DataInputStream the_in, final int the_length,
+                                          final ClassLoader the_loader) throws IOException {
+        final List<Class<?>> result = new ArrayList<Class<?>>(the_length);
+        for (int i = 0; i < the_length; i++) {
+            final String name = the_in.readUTF();
+            try {
+                result.add(Class.forName(name, false, the_loader));
+            } catch (final ClassNotFoundException | LinkageError e) {
+                // a class literal that cannot be loaded is not test data
+            }
+        }
+        return result.toArray(new Class<?>[result.size()]);
+    }
+
+    /**
+     * The name of a class, written to a pool as a class literal; the class
+     * itself need not be loadable when the pool is written.
+     */
+    public static final class ClassName {
+        /**
+         * The binary name of the class.
+         */
+        private final String my_name;
+
+        /**
+         * Constructs a ClassName.
+         *
+         * @param the_name The binary name of the class (as for Class.forName).
+         */
+        public ClassName(final /*@ non_null @*/ String the_name) {
+            my_name = the_name;
+        }
+
+        /**
+         * @return the binary name of the class.
+         */
+        public /*@ pure non_null @*/ String getName() {
+            return my_name;
+        }
+    }
+}
@@ -6,6 +6,7 @@
 package org.jmlspecs.jmlunitng.strategy;
 
 import org.jmlspecs.jmlunitng.iterator.ObjectArrayIterator;
+import org.jmlspecs.jmlunitng.iterator.PrimitiveArrayIterator;
 import org.jmlspecs.jmlunitng.iterator.RepeatedAccessIterator;
 
 /**
@@ -14,13 +15,13 @@ import org.jmlspecs.jmlunitng.iterator.RepeatedAccessIterator;
  *
  * @author Jonathan Hogins
  * @author Daniel M. Zimmerman
- * @version January 2011
+ * @version October 2026
  */
 public abstract class LongStrategy extends PrimitiveStrategy {
     /**
      * The default values for this strategy.
      */
-    private static final Long[] DEFAULT_VALUES =
+    private static final long[] DEFAULT_VALUES =
             {Long.MIN_VALUE, 0L, Long.MAX_VALUE};
 
     /**
@@ -54,6 +55,6 @@ public abstract class LongStrategy extends PrimitiveStrategy {
      * @return an iterator over the default long values.
      */
     public RepeatedAccessIterator<?> defaultValues() {
-        return new ObjectArrayIterator<Long>(DEFAULT_VALUES);
+        return new PrimitiveArrayIterator(DEFAULT_VALUES);
     }
 }
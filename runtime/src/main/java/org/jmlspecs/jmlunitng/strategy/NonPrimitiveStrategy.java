@@ -5,7 +5,6 @@
 
 package org.jmlspecs.jmlunitng.strategy;
 
-import org.jmlspecs.jmlunitng.iterator.IteratorSampler;
 import org.jmlspecs.jmlunitng.iterator.MultiIterator;
 import org.jmlspecs.jmlunitng.iterator.ObjectArrayIterator;
 import org.jmlspecs.jmlunitng.iterator.RepeatedAccessIterator;
@@ -18,7 +17,7 @@ import java.util.List;
  * The parent strategy for all non-primitive types.
  *
  * @author Daniel M. Zimmerman
- * @version July 2011
+ * @version October 2026
  */
 public abstract class NonPrimitiveStrategy extends AbstractStrategy {
     /**
@@ -35,9 +34,9 @@ public abstract class NonPrimitiveStrategy extends AbstractStrategy {
     protected final Class<?> my_default_data_class;
 
     /**
-     * The test data generators found for this strategy to use.
+     * The factories of the test data generators found for this strategy to use.
      */
-    protected final List<Class<? extends Strategy>> my_generators;
+    protected final List<StrategyFactory> my_generators;
 
     /**
      * The classes that are generated by the test data generators.
@@ -68,7 +67,7 @@ public abstract class NonPrimitiveStrategy extends AbstractStrategy {
         my_class = the_class;
         my_default_data_class = the_default_data_class;
         my_reflective = false;
-        my_generators = new ArrayList<Class<? extends Strategy>>();
+        my_generators = new ArrayList<StrategyFactory>();
         my_generator_classes = new ArrayList<Class<?>>();
         my_non_generator_classes = new ArrayList<Class<?>>();
         if (the_default_data_class != null) {
@@ -117,11 +116,7 @@ public abstract class NonPrimitiveStrategy extends AbstractStrategy {
         iterators.add(classValues());
         iterators.add(packageValues());
         iterators.add(defaultValues());
-        RepeatedAccessIterator<?> result = new MultiIterator(iterators);
-        if (fraction() < 1.0) {
-            result = new IteratorSampler(result, fraction(), seed());
-        }
-        return result;
+        return sample(new MultiIterator(iterators));
     }
 
     /**
@@ -156,7 +151,6 @@ public abstract class NonPrimitiveStrategy extends AbstractStrategy {
      * @throws ClassCastException if the new data class cannot
      *                            be cast to the default data class of this strategy.
      */
-    @SuppressWarnings("unchecked")
     protected final void addDataClass(final Class<?> the_class)
             throws ClassCastException {
         if (my_default_data_class == null) {
@@ -169,12 +163,21 @@ public abstract class NonPrimitiveStrategy extends AbstractStrategy {
                 !my_non_generator_classes.contains(the_class)) {
             // it's not already added, so we can add it
             final Class<?> generator_class = findStrategyClass(the_class);
+            StrategyFactory generator = null;
             if (generator_class != null &&
                     Strategy.class.isAssignableFrom(generator_class)) {
-                my_generators.add((Class<? extends Strategy>) generator_class);
-                my_generator_classes.add(the_class);
-            } else {
+                try {
+                    generator = StrategyFactory.forClass(generator_class.asSubclass(Strategy.class));
+                } catch (final IllegalArgumentException e) {
+                    // the generator cannot be constructed, so we don't use it
+                    generator = null;
+                }
+            }
+            if (generator == null) {
                 my_non_generator_classes.add(the_class);
+            } else {
+                my_generators.add(generator);
+                my_generator_classes.add(the_class);
             }
         }
     }
@@ -201,7 +204,7 @@ public abstract class NonPrimitiveStrategy extends AbstractStrategy {
     private Class<?> findStrategyClass(final Class<?> the_class) {
         Class<?> result = null;
         final String class_name = the_class.getCanonicalName();
-        result = loadClass(class_name + "_InstanceStrategy");
+        result = findInstanceStrategyClass(the_class);
 
         if (result == null) {
             final String formatted_name = formatClassName(class_name);
@@ -229,12 +232,17 @@ public abstract class NonPrimitiveStrategy extends AbstractStrategy {
                 // a package strategy name looks like "PackageStrategy_formattedclassname"
                 result = loadClass("PackageStrategy_" + formatted_name);
             } else {
-                // we need to look in our parent package
+                // we need to look in our parent package, which may be the
+                // default package
                 final String pkg_name =
                         my_class.getName().substring(0, my_class.getName().lastIndexOf('.'));
-                final String parent_pkg_name =
-                        pkg_name.substring(0, pkg_name.lastIndexOf('.'));
-                result = loadClass(parent_pkg_name + ".PackageStrategy_" + formatted_name);
+                if (pkg_name.lastIndexOf('.') < 0) {
+                    result = loadClass("PackageStrategy_" + formatted_name);
+                } else {
+                    final String parent_pkg_name =
+                            pkg_name.substring(0, pkg_name.lastIndexOf('.'));
+                    result = loadClass(parent_pkg_name + ".PackageStrategy_" + formatted_name);
+                }
             }
         }
 
@@ -242,14 +250,14 @@ public abstract class NonPrimitiveStrategy extends AbstractStrategy {
         // it's this class, in which case we already know it works
 
         if (result != getClass()) {
-            try {
-                result.newInstance();
-            } catch (final InstantiationException e) {
-                result = null;
-            } catch (final IllegalAccessException e) {
-                result = null;
-            } catch (final NullPointerException e) {
+            if (result == null || !Strategy.class.isAssignableFrom(result)) {
                 result = null;
+            } else {
+                try {
+                    StrategyFactory.forClass(result.asSubclass(Strategy.class)).newStrategy();
+                } catch (final IllegalArgumentException e) {
+                    result = null;
+                }
             }
         }
 
@@ -257,13 +265,24 @@ public abstract class NonPrimitiveStrategy extends AbstractStrategy {
         return result;
     }
 
+    /**
+     * Finds the instance strategy class for the specified class, whether
+     * generated or written by hand.
+     *
+     * @param the_class The class to find an instance strategy class for.
+     * @return the instance strategy class, or null if it cannot be loaded.
+     */
+    static Class<?> findInstanceStrategyClass(final Class<?> the_class) {
+        return loadClass(the_class.getCanonicalName() + "_InstanceStrategy");
+    }
+
     /**
      * Attempts to load the specified class.
      *
      * @param the_name The name of the class.
      * @return the class, or null if it does not exist.
      */
-    private Class<?> loadClass(final String the_name) {
+    private static Class<?> loadClass(final String the_name) {
         try {
             return Class.forName(the_name);
         } catch (final ClassNotFoundException e) {
@@ -126,16 +126,8 @@ public abstract class ObjectStrategy extends NonPrimitiveStrategy {
             // try to return data generated using reflection
             final List<RepeatedAccessIterator<?>> iterators =
                     new LinkedList<RepeatedAccessIterator<?>>();
-            for (Class<? extends Strategy> c : my_generators) {
-                try {
-                    iterators.add(c.newInstance().iterator());
-                } catch (final InstantiationException e) {
-                    // should never happen because we checked it earlier
-                    e.printStackTrace();
-                } catch (final IllegalAccessException e) {
-                    // should never happen because we checked it earlier
-                    e.printStackTrace();
-                }
+            for (StrategyFactory f : my_generators) {
+                iterators.add(f.newStrategy().iterator());
             }
             for (Class<?> c : my_non_generator_classes) {
                 // add the default constructor for each non-generator class
@@ -0,0 +1,276 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.strategy;
+
+import org.jmlspecs.jmlunitng.iterator.ObjectArrayIterator;
+import org.jmlspecs.jmlunitng.iterator.PrimitiveArrayIterator;
+import org.jmlspecs.jmlunitng.iterator.RepeatedAccessIterator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The basic framework of a primitive test data generation strategy.
+ * Primitive data strategies deduplicate the test data values to save
+ * on redundant test executions.
+ *
+ * @author Jonathan Hogins
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+public abstract class PrimitiveStrategy extends AbstractStrategy {
+    /**
+     * The marker cached for a cacheable strategy class whose values
+     * include object generators, and so cannot be cached after all.
+     */
+    private static final Object NOT_CACHED = new Object();
+
+    /**
+     * The deduplicated, sorted values of the cacheable strategy classes,
+     * by class; each is a primitive array, an array of Comparables,
+     * NOT_CACHED, or null until the values are first computed.
+     */
+    private static final ClassValue<AtomicReference<Object>> VALUES =
+            new ClassValue<AtomicReference<Object>>() {
+                @Override
+                protected AtomicReference<Object> computeValue(final Class<?> the_class) {
+                    return new AtomicReference<Object>();
+                }
+            };
+
+    /**
+     * To be implemented by subclasses. Returns the iterator over default
+     * values for this type.
+     *
+     * @return What are your default values?
+     */
+    public abstract RepeatedAccessIterator<?> defaultValues();
+
+    /**
+     * Returns a RepeatedAccessIterator over a fraction of the strategy
+     * values, as specified by configuration methods. If this strategy is
+     * cacheable and its values include no object generators, the values
+     * are deduplicated and sorted only once for its class, and shared by
+     * all the iterators of its instances. Values of
+     * a primitive type (other than String), with no null among them, are
+     * stored in a primitive array and iterated over without boxing them.
+     *
+     * @return What are your values?
+     */
+    public RepeatedAccessIterator<Comparable<?>> iterator() {
+        AtomicReference<Object> cache = null;
+        Object data = null;
+        if (isCacheable()) {
+            cache = VALUES.get(getClass());
+            data = cache.get();
+        }
+        if (data == null || data == NOT_CACHED) {
+            final RepeatedAccessIterator<?>[] sources =
+                    {localValues(), classValues(), packageValues(), defaultValues()};
+            boolean generators = false;
+            for (RepeatedAccessIterator<?> r : sources) {
+                generators = generators ||
+                        (r instanceof ObjectArrayIterator<?> &&
+                                ((ObjectArrayIterator<?>) r).hasGenerators());
+            }
+            data = values(sources);
+            if (cache != null) {
+                // two threads may compute the values, but only one set is kept
+                cache.compareAndSet(null, generators ? NOT_CACHED : data);
+            }
+        }
+        final RepeatedAccessIterator<Comparable<?>> result;
+        if (data instanceof Comparable<?>[]) {
+            result = new ObjectArrayIterator<Comparable<?>>((Comparable<?>[]) data);
+        } else {
+            result = new PrimitiveArrayIterator(data);
+        }
+        return sample(result);
+    }
+
+    /**
+     * Can the values of this strategy be cached for its class? They can if
+     * every instance of the class has the same values, which is true for
+     * generated strategies; those override this method to return true.
+     * Values that include object generators are never cached, since they
+     * may be different every time.
+     *
+     * @return true if the values of this strategy can be cached, false
+     * otherwise; false by default.
+     */
+    protected boolean isCacheable() {
+        return false;
+    }
+
+    /**
+     * @param the_sources The iterators over the local, class, package and
+     *                    default values of this strategy.
+     * @return the deduplicated, sorted values of this strategy, as a
+     * primitive array if they are all of the same primitive wrapper type
+     * and as an array of Comparables otherwise.
+     */
+    private Object values(final RepeatedAccessIterator<?>[] the_sources) {
+        // deduplicate the primitive data, because we can easily keep it all in memory
+        // at once and this saves test executions; note that all primitive types,
+        // including String, are Comparable, so we sort them too so that tests end
+        // up being executed in a reasonable order - being careful to correctly handle
+        // the null string so it doesn't get compared and cause an exception.
+
+        boolean add_null = false;
+        final List<Comparable<?>> elements = new ArrayList<Comparable<?>>();
+        for (RepeatedAccessIterator<?> r : the_sources) {
+            while (r.hasElement()) {
+                final Comparable<?> element = (Comparable<?>) r.element();
+                if (element == null) {
+                    add_null = true;
+                } else {
+                    elements.add(element);
+                }
+                r.advance();
+            }
+        }
+        if (!add_null) {
+            final Object primitives = primitiveValues(elements);
+            if (primitives != null) {
+                return primitives;
+            }
+        }
+        final SortedSet<Comparable<?>> data_set = new TreeSet<Comparable<?>>(elements);
+        final List<Comparable<?>> data_list = new ArrayList<Comparable<?>>();
+        if (add_null) {
+            data_list.add(null);
+        }
+        data_list.addAll(data_set);
+        return data_list.toArray(new Comparable<?>[data_list.size()]);
+    }
+
+    /**
+     * Deduplicates and sorts a list of primitive values, in the same order
+     * as their wrappers' compareTo methods, without boxing them again.
+     *
+     * @param the_values The values.
+     * @return a primitive array of the deduplicated, sorted values, or null
+     * if the_values is empty or its elements are not all of the same
+     * primitive wrapper type.
+     */
+    //@ requires !the_values.contains(null);
+    private static Object primitiveValues(final List<Comparable<?>> the_values) {
+        if (the_values.isEmpty()) {
+            return null;
+        }
+        final Class<?> type = the_values.get(0).getClass();
+        for (Comparable<?> c : the_values) {
+            if (c.getClass() != type) {
+                return null;
+            }
+        }
+        final int size = the_values.size();
+        int count = 0;
+        final Object result;
+        if (type == Integer.class) {
+            final int[] array = new int[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = (Integer) the_values.get(i);
+            }
+            Arrays.sort(array);
+            for (int i = 0; i < size; i++) {
+                if (count == 0 || array[i] != array[count - 1]) {
+                    array[count++] = array[i];
+                }
+            }
+            result = Arrays.copyOf(array, count);
+        } else if (type == Long.class) {
+            final long[] array = new long[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = (Long) the_values.get(i);
+            }
+            Arrays.sort(array);
+            for (int i = 0; i < size; i++) {
+                if (count == 0 || array[i] != array[count - 1]) {
+                    array[count++] = array[i];
+                }
+            }
+            result = Arrays.copyOf(array, count);
+        } else if (type == Short.class) {
+            final short[] array = new short[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = (Short) the_values.get(i);
+            }
+            Arrays.sort(array);
+            for (int i = 0; i < size; i++) {
+                if (count == 0 || array[i] != array[count - 1]) {
+                    array[count++] = array[i];
+                }
+            }
+            result = Arrays.copyOf(array, count);
+        } else if (type == Byte.class) {
+            final byte[] array = new byte[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = (Byte) the_values.get(i);
+            }
+            Arrays.sort(array);
+            for (int i = 0; i < size; i++) {
+                if (count == 0 || array[i] != array[count - 1]) {
+                    array[count++] = array[i];
+                }
+            }
+            result = Arrays.copyOf(array, count);
+        } else if (type == Character.class) {
+            final char[] array = new char[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = (Character) the_values.get(i);
+            }
+            Arrays.sort(array);
+            for (int i = 0; i < size; i++) {
+                if (count == 0 || array[i] != array[count - 1]) {
+                    array[count++] = array[i];
+                }
+            }
+            result = Arrays.copyOf(array, count);
+        } else if (type == Double.class) {
+            // Arrays.sort and Double.compare order -0.0 and NaN as compareTo does
+            final double[] array = new double[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = (Double) the_values.get(i);
+            }
+            Arrays.sort(array);
+            for (int i = 0; i < size; i++) {
+                if (count == 0 || Double.compare(array[i], array[count - 1]) != 0) {
+                    array[count++] = array[i];
+                }
+            }
+            result = Arrays.copyOf(array, count);
+        } else if (type == Float.class) {
+            final float[] array = new float[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = (Float) the_values.get(i);
+            }
+            Arrays.sort(array);
+            for (int i = 0; i < size; i++) {
+                if (count == 0 || Float.compare(array[i], array[count - 1]) != 0) {
+                    array[count++] = array[i];
+                }
+            }
+            result = Arrays.copyOf(array, count);
+        } else if (type == Boolean.class) {
+            // false comes before true
+            final boolean has_false = the_values.contains(Boolean.FALSE);
+            final boolean has_true = the_values.contains(Boolean.TRUE);
+            if (has_false && has_true) {
+                result = new boolean[]{false, true};
+            } else {
+                result = new boolean[]{has_true};
+            }
+        } else {
+            result = null;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,433 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.strategy;
+
+import org.jmlspecs.jmlunitng.iterator.DynamicArrayIterator;
+import org.jmlspecs.jmlunitng.iterator.InstantiationIterator;
+import org.jmlspecs.jmlunitng.iterator.MultiIterator;
+import org.jmlspecs.jmlunitng.iterator.NonNullMultiIterator;
+import org.jmlspecs.jmlunitng.iterator.ObjectArrayIterator;
+import org.jmlspecs.jmlunitng.iterator.RepeatedAccessIterator;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A factory for the strategies used by test classes generated with
+ * "--runtime-strategies". Such test classes contain no strategy classes;
+ * instead, they describe the test data for each parameter (its type,
+ * the literals found for it and the child classes to use for it) and
+ * the constructors of the class under test, and this factory builds
+ * strategies that behave like the generated local, class, package and
+ * instance strategies would. Hand-written instance strategies are
+ * still used, both for the class under test and (through
+ * NonPrimitiveStrategy's data classes) for non-primitive parameters.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+public final class RuntimeStrategies {
+    /**
+     * The base strategies for the primitive types, their wrappers and
+     * String, which supply the default values of those types.
+     */
+    private static final Map<Class<?>, PrimitiveStrategy> BASE_STRATEGIES;
+
+    static {
+        final Map<Class<?>, PrimitiveStrategy> temp = new HashMap<>();
+        addBaseStrategy(temp, new IntStrategy() { }, int.class, Integer.class);
+        addBaseStrategy(temp, new LongStrategy() { }, long.class, Long.class);
+        addBaseStrategy(temp, new FloatStrategy() { }, float.class, Float.class);
+        addBaseStrategy(temp, new DoubleStrategy() { }, double.class, Double.class);
+        addBaseStrategy(temp, new BooleanStrategy() { }, boolean.class, Boolean.class);
+        addBaseStrategy(temp, new ByteStrategy() { }, byte.class, Byte.class);
+        addBaseStrategy(temp, new ShortStrategy() { }, short.class, Short.class);
+        addBaseStrategy(temp, new CharStrategy() { }, char.class, Character.class);
+        addBaseStrategy(temp, new StringStrategy() { }, String.class);
+        BASE_STRATEGIES = Collections.unmodifiableMap(temp);
+    }
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private RuntimeStrategies() {
+        // do nothing
+    }
+
+    /**
+     * Creates a strategy for a method parameter. The resulting strategy
+     * provides the local-scope values, then the class-scope values, then
+     * the default values for the parameter type; for non-primitive types,
+     * the specified data classes are used in addition to the parameter type
+     * itself.
+     *
+     * @param the_type         The parameter type.
+     * @param the_reflective   true to use reflection to generate objects,
+     *                         false otherwise; ignored for primitive types.
+     * @param the_local_values The literals found for the parameter in its method.
+     * @param the_class_values The literals found for the parameter type in its class.
+     * @param the_data_classes The child classes to use as data classes.
+     * @return the strategy.
+     * @throws ClassCastException if one of the data classes is not a subtype
+     *                            of the parameter type (or its component type,
+     *                            for arrays).
+     */
+    public static /*@ non_null @*/ Strategy parameter
+    (final /*@ non_null @*/ Class<?> the_type, final boolean the_reflective,
+     final /*@ non_null @*/ Object[] the_local_values,
+     final /*@ non_null @*/ Object[] the_class_values,
+     final /*@ non_null @*/ Class<?>... the_data_classes) {
+        final Strategy result;
+        final PrimitiveStrategy base = BASE_STRATEGIES.get(the_type);
+        if (base != null) {
+            result = new RuntimePrimitiveStrategy(base, the_local_values, the_class_values);
+        } else if (the_type.isArray()) {
+            final RuntimeArrayStrategy strategy =
+                    new RuntimeArrayStrategy(the_type, the_local_values, the_class_values);
+            strategy.setReflective(the_reflective);
+            strategy.addDataClasses(the_data_classes);
+            result = strategy;
+        } else {
+            final RuntimeObjectStrategy strategy =
+                    new RuntimeObjectStrategy(the_type, the_local_values, the_class_values);
+            strategy.setReflective(the_reflective);
+            strategy.addDataClasses(the_data_classes);
+            result = strategy;
+        }
+        return result;
+    }
+
+    /**
+     * Creates the instance strategy for a class under test. If an instance
+     * strategy class exists for the class, it is used; otherwise, the
+     * resulting strategy instantiates the class with its default constructor
+     * (if it has one) and with each of the specified constructor data
+     * iterators, in order.
+     *
+     * @param <T>                  The class under test.
+     * @param the_class            The class under test.
+     * @param the_reflective       true to use reflection to generate objects,
+     *                             false otherwise.
+     * @param the_constructor_data Suppliers of iterators that instantiate the
+     *                             class with the test parameters of its constructors.
+     * @return the strategy.
+     */
+    @SafeVarargs
+    public static <T> /*@ non_null @*/ Strategy instances
+    (final /*@ non_null @*/ Class<T> the_class, final boolean the_reflective,
+     final /*@ non_null @*/ Supplier<? extends RepeatedAccessIterator<?>>... the_constructor_data) {
+        final Strategy existing = instanceStrategy(the_class);
+        if (existing != null) {
+            return existing;
+        }
+        final List<Supplier<? extends RepeatedAccessIterator<?>>> data =
+                new ArrayList<Supplier<? extends RepeatedAccessIterator<?>>>();
+        for (Supplier<? extends RepeatedAccessIterator<?>> s : the_constructor_data) {
+            data.add(s);
+        }
+        final RuntimeInstanceStrategy<T> result = new RuntimeInstanceStrategy<T>(the_class, data);
+        result.setReflective(the_reflective);
+        return result;
+    }
+
+    /**
+     * Instantiates the instance strategy class for the specified class,
+     * if there is one.
+     *
+     * @param the_class The class.
+     * @return a new instance of the instance strategy class, or null if
+     * there is no instance strategy class or it cannot be instantiated.
+     */
+    private static Strategy instanceStrategy(final Class<?> the_class) {
+        Strategy result = null;
+        final Class<?> c = NonPrimitiveStrategy.findInstanceStrategyClass(the_class);
+        if (c != null && Strategy.class.isAssignableFrom(c)) {
+            try {
+                result = StrategyFactory.forClass(c.asSubclass(Strategy.class)).newStrategy();
+            } catch (final RuntimeException e) {
+                // an unusable instance strategy is treated as a missing one
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds a base strategy to the specified map for each of the specified types.
+     *
+     * @param the_map      The map.
+     * @param the_strategy The base strategy.
+     * @param the_types    The types.
+     */
+    private static void addBaseStrategy(final Map<Class<?>, PrimitiveStrategy> the_map,
+                                        final PrimitiveStrategy the_strategy,
+                                        final Class<?>... the_types) {
+        for (Class<?> c : the_types) {
+            the_map.put(c, the_strategy);
+        }
+    }
+
+    /**
+     * A strategy for a primitive type, a wrapper type or String, which
+     * takes its default values from a base strategy.
+     */
+    private static final class RuntimePrimitiveStrategy extends PrimitiveStrategy {
+        /**
+         * The base strategy.
+         */
+        private final PrimitiveStrategy my_base;
+
+        /**
+         * The local-scope values.
+         */
+        private final Object[] my_local_values;
+
+        /**
+         * The class-scope values.
+         */
+        private final Object[] my_class_values;
+
+        /**
+         * Constructs a RuntimePrimitiveStrategy.
+         *
+         * @param the_base         The base strategy.
+         * @param the_local_values The local-scope values.
+         * @param the_class_values The class-scope values.
+         */
+        RuntimePrimitiveStrategy(final PrimitiveStrategy the_base,
+                                 final Object[] the_local_values,
+                                 final Object[] the_class_values) {
+            super();
+            my_base = the_base;
+            my_local_values = the_local_values;
+            my_class_values = the_class_values;
+        }
+
+        /**
+         * @return an iterator over the local-scope values.
+         */
+        public RepeatedAccessIterator<?> localValues() {
+            return new ObjectArrayIterator<Object>(my_local_values);
+        }
+
+        /**
+         * @return an iterator over the class-scope values.
+         */
+        public RepeatedAccessIterator<?> classValues() {
+            return new ObjectArrayIterator<Object>(my_class_values);
+        }
+
+        /**
+         * @return an iterator over the base strategy's package-scope values.
+         */
+        public RepeatedAccessIterator<?> packageValues() {
+            return my_base.packageValues();
+        }
+
+        /**
+         * @return an iterator over the base strategy's default values.
+         */
+        public RepeatedAccessIterator<?> defaultValues() {
+            return my_base.defaultValues();
+        }
+    }
+
+    /**
+     * A strategy for a non-primitive, non-array type.
+     */
+    private static final class RuntimeObjectStrategy extends ObjectStrategy {
+        /**
+         * The local-scope values.
+         */
+        private final Object[] my_local_values;
+
+        /**
+         * The class-scope values.
+         */
+        private final Object[] my_class_values;
+
+        /**
+         * Constructs a RuntimeObjectStrategy.
+         *
+         * @param the_class        The class for which to generate test data.
+         * @param the_local_values The local-scope values.
+         * @param the_class_values The class-scope values.
+         */
+        RuntimeObjectStrategy(final Class<?> the_class,
+                              final Object[] the_local_values,
+                              final Object[] the_class_values) {
+            super(the_class);
+            my_local_values = the_local_values;
+            my_class_values = the_class_values;
+        }
+
+        /**
+         * @return an iterator over the local-scope values.
+         */
+        public RepeatedAccessIterator<?> localValues() {
+            return new ObjectArrayIterator<Object>(my_local_values);
+        }
+
+        /**
+         * @return an iterator over the class-scope values.
+         */
+        public RepeatedAccessIterator<?> classValues() {
+            return new ObjectArrayIterator<Object>(my_class_values);
+        }
+
+        /**
+         * Adds the specified data classes to this strategy.
+         *
+         * @param the_data_classes The data classes.
+         */
+        void addDataClasses(final Class<?>... the_data_classes) {
+            for (Class<?> c : the_data_classes) {
+                addDataClass(c);
+            }
+        }
+    }
+
+    /**
+     * A strategy for an array type. If no strategy classes are found for
+     * its component type, its arrays are populated using a strategy built
+     * for the component type, in place of the class and package strategies
+     * that would have been generated for it.
+     */
+    private static final class RuntimeArrayStrategy extends ArrayStrategy {
+        /**
+         * The local-scope values.
+         */
+        private final Object[] my_local_values;
+
+        /**
+         * The class-scope values.
+         */
+        private final Object[] my_class_values;
+
+        /**
+         * Constructs a RuntimeArrayStrategy.
+         *
+         * @param the_class        The array class for which to generate test data.
+         * @param the_local_values The local-scope values.
+         * @param the_class_values The class-scope values.
+         */
+        RuntimeArrayStrategy(final Class<?> the_class,
+                             final Object[] the_local_values,
+                             final Object[] the_class_values) {
+            super(the_class);
+            my_local_values = the_local_values;
+            my_class_values = the_class_values;
+        }
+
+        /**
+         * @return an iterator over default values; see ArrayStrategy.
+         */
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        public RepeatedAccessIterator<?> defaultValues() {
+            if (!my_generators.isEmpty()) {
+                return super.defaultValues();
+            }
+            int max = 0;
+            if (isReflective()) {
+                max = maxLength();
+            }
+            final Strategy component =
+                    parameter(my_default_data_class, isReflective(), new Object[0], new Object[0]);
+            final List<RepeatedAccessIterator<?>> list =
+                    new ArrayList<RepeatedAccessIterator<?>>();
+            list.add(new ObjectArrayIterator(new Object[]{null}));
+            list.add(new DynamicArrayIterator(my_default_data_class,
+                    new Strategy[]{component}, max));
+            return new MultiIterator(list);
+        }
+
+        /**
+         * @return an iterator over the local-scope values.
+         */
+        public RepeatedAccessIterator<?> localValues() {
+            return new ObjectArrayIterator<Object>(my_local_values);
+        }
+
+        /**
+         * @return an iterator over the class-scope values.
+         */
+        public RepeatedAccessIterator<?> classValues() {
+            return new ObjectArrayIterator<Object>(my_class_values);
+        }
+
+        /**
+         * Adds the specified data classes to this strategy.
+         *
+         * @param the_data_classes The data classes.
+         */
+        void addDataClasses(final Class<?>... the_data_classes) {
+            for (Class<?> c : the_data_classes) {
+                addDataClass(c);
+            }
+        }
+    }
+
+    /**
+     * The instance strategy for a class under test.
+     *
+     * @param <T> The class under test.
+     */
+    private static final class RuntimeInstanceStrategy<T> extends ObjectStrategy {
+        /**
+         * The class under test.
+         */
+        private final Class<T> my_instance_class;
+
+        /**
+         * The suppliers of constructor instantiation iterators.
+         */
+        private final List<Supplier<? extends RepeatedAccessIterator<?>>> my_constructor_data;
+
+        /**
+         * Constructs a RuntimeInstanceStrategy.
+         *
+         * @param the_class            The class under test.
+         * @param the_constructor_data The suppliers of constructor
+         *                             instantiation iterators.
+         */
+        RuntimeInstanceStrategy(final Class<T> the_class,
+                                final List<Supplier<? extends RepeatedAccessIterator<?>>>
+                                        the_constructor_data) {
+            super(the_class);
+            my_instance_class = the_class;
+            my_constructor_data = the_constructor_data;
+        }
+
+        /**
+         * @return default instances of the class under test, generated
+         * using its default constructor and constructor test parameters.
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public RepeatedAccessIterator<?> defaultValues() {
+            if (Modifier.isAbstract(my_instance_class.getModifiers())) {
+                // abstract classes cannot be constructed
+                return emptyIterator();
+            }
+            final List<RepeatedAccessIterator<?>> iters =
+                    new LinkedList<RepeatedAccessIterator<?>>();
+
+            // an instantiation iterator for the default constructor
+            // (if there isn't one, it will fail silently)
+            iters.add(new InstantiationIterator<T>
+                    (my_instance_class, new Class<?>[0],
+                            new ObjectArrayIterator<Object[]>(new Object[][]{{}})));
+            for (Supplier<? extends RepeatedAccessIterator<?>> s : my_constructor_data) {
+                iters.add(s.get());
+            }
+            return new NonNullMultiIterator(iters);
+        }
+    }
+}
@@ -6,6 +6,7 @@
 package org.jmlspecs.jmlunitng.strategy;
 
 import org.jmlspecs.jmlunitng.iterator.ObjectArrayIterator;
+import org.jmlspecs.jmlunitng.iterator.PrimitiveArrayIterator;
 import org.jmlspecs.jmlunitng.iterator.RepeatedAccessIterator;
 
 /**
@@ -14,13 +15,13 @@ import org.jmlspecs.jmlunitng.iterator.RepeatedAccessIterator;
  *
  * @author Jonathan Hogins
  * @author Daniel M. Zimmerman
- * @version January 2011
+ * @version October 2026
  */
 public abstract class ShortStrategy extends PrimitiveStrategy {
     /**
      * The default values for this strategy.
      */
-    private static final Short[] DEFAULT_VALUES =
+    private static final short[] DEFAULT_VALUES =
             {Short.MIN_VALUE, 0, Short.MAX_VALUE};
 
     /**
@@ -54,6 +55,6 @@ public abstract class ShortStrategy extends PrimitiveStrategy {
      * @return an iterator over the default short values.
      */
     public RepeatedAccessIterator<?> defaultValues() {
-        return new ObjectArrayIterator<Short>(DEFAULT_VALUES);
+        return new PrimitiveArrayIterator(DEFAULT_VALUES);
     }
 }
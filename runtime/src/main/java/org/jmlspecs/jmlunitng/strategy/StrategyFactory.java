@@ -0,0 +1,40 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.strategy;
+
+/**
+ * A factory of strategies. Iterators that need fresh strategies, such as
+ * ParameterArrayIterator each time one of its dimensions wraps around, use
+ * factories rather than strategy classes, so that they make no reflective
+ * calls. Generated tests pass constructor references ("Strategy::new");
+ * a factory for a strategy class that is only known at runtime is
+ * obtained with forClass.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+@FunctionalInterface
+public interface StrategyFactory {
+    /**
+     * @return a new strategy.
+     */
+    Strategy newStrategy();
+
+    /**
+     * Returns the factory that calls the public no-argument constructor of
+     * the specified strategy class. Factories are cached per class, so the
+     * constructor is looked up only once.
+     *
+     * @param the_class The strategy class.
+     * @return the factory.
+     * @throws IllegalArgumentException if the_class has no accessible
+     *                                  no-argument constructor.
+     */
+    static /*@ non_null @*/ StrategyFactory forClass
+    (final /*@ non_null @*/ Class<? extends Strategy> the_class) {
+        return ConstructorStrategyFactory.FACTORIES.get(the_class);
+    }
+}
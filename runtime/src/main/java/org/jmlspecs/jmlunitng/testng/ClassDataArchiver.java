@@ -0,0 +1,324 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.testng;
+
+import org.testng.TestNG;
+import org.testng.xml.XmlSuite;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A command that creates an AppCDS (application class data sharing) archive
+ * for running generated tests, so that JVMs running the tests start faster.
+ * It is run with the classpath that the tests will be run with, and the file
+ * to write the archive to:
+ * <pre>
+ *   java -cp [classpath] org.jmlspecs.jmlunitng.testng.ClassDataArchiver tests.jsa
+ * </pre>
+ * It trains the archive by running, in a JVM that writes the archive when it
+ * exits, all the generated test classes on the classpath; it also loads the
+ * JMLUnitNG runtime classes and all the generated strategy classes, so that
+ * they are archived even if no test uses them. It then writes the JVM options
+ * that use the archive to "tests.jsa.options", for use as an argument file:
+ * <pre>
+ *   java @tests.jsa.options org.testng.TestNG ...
+ * </pre>
+ * The options include the classpath (made absolute), which must be the same
+ * when the archive is used as when it was created.
+ * <p>
+ * Only classes loaded from jar files, and compiled for Java 6 or later, are
+ * archived, and the JVM creates no archive at all if a directory on the
+ * classpath contains anything. Each such directory is therefore packaged
+ * into a jar file next to the archive ("tests.jsa.1.jar" for the first
+ * classpath entry, and so on), which replaces the directory both in the
+ * classpath the archive is trained with and in the options. The jar files
+ * must be kept with the archive, and since the tests then run the classes
+ * in the jar files, the archive must be created again whenever the classes
+ * in the directories change.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+public final class ClassDataArchiver {
+    /**
+     * The argument that runs the training JVM.
+     */
+    public static final String TRAIN = "--train";
+
+    /**
+     * The suffix of the JVM options file.
+     */
+    public static final String OPTIONS_SUFFIX = ".options";
+
+    /**
+     * The suffix of the generated test class names.
+     */
+    private static final String TEST_CLASS_SUFFIX = "_JML_Test";
+
+    /**
+     * The suffix of the generated strategy package names.
+     */
+    private static final String STRATEGY_PACKAGE_SUFFIX = "_JML_Data";
+
+    /**
+     * The path prefix of the JMLUnitNG runtime classes.
+     */
+    private static final String RUNTIME_PREFIX = "org/jmlspecs/jmlunitng/";
+
+    /**
+     * The suffix of class files.
+     */
+    private static final String CLASS_SUFFIX = ".class";
+
+    /**
+     * The suffix of jar files.
+     */
+    private static final String JAR_SUFFIX = ".jar";
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private ClassDataArchiver() {
+        // do nothing
+    }
+
+    /**
+     * Creates an archive, or trains one if the argument is "--train".
+     *
+     * @param the_args The command line arguments: the archive file, or "--train".
+     */
+    public static void main(final String[] the_args) {
+        if (the_args.length != 1) {
+            System.err.println("usage: java -cp <classpath> " +
+                    ClassDataArchiver.class.getName() + " <archive-file>");
+            System.exit(1);
+        }
+        try {
+            if (TRAIN.equals(the_args[0])) {
+                train();
+            } else {
+                final List<String> options = create(new File(the_args[0]));
+                for (String o : options) {
+                    System.out.println(o);
+                }
+            }
+        } catch (final IOException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Creates an archive for the current classpath, and writes the JVM
+     * options that use it.
+     *
+     * @param the_archive The archive file.
+     * @return the JVM options that use the archive.
+     * @throws IOException if the archive or the options cannot be written.
+     */
+    public static /*@ non_null @*/ List<String> create(final /*@ non_null @*/ File the_archive)
+            throws IOException {
+        return create(the_archive, System.getProperty("java.class.path"));
+    }
+
+    /**
+     * Creates an archive for the given classpath, and writes the JVM options
+     * that use it. Each directory on the classpath that is not empty is
+     * packaged into a jar file next to the archive, which replaces it.
+     *
+     * @param the_archive   The archive file.
+     * @param the_classpath The classpath, which must contain this class.
+     * @return the JVM options that use the archive.
+     * @throws IOException if the archive, the jar files or the options cannot
+     *                     be written.
+     */
+    static /*@ non_null @*/ List<String> create(final /*@ non_null @*/ File the_archive,
+                                                final /*@ non_null @*/ String the_classpath)
+            throws IOException {
+        final File archive = the_archive.getAbsoluteFile();
+        final String[] entries = the_classpath.split(File.pathSeparator);
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < entries.length; i++) {
+            File file = new File(entries[i]).getAbsoluteFile();
+            if (isNonEmptyDirectory(file)) {
+                final File jar = new File(archive.getPath() + "." + (i + 1) + JAR_SUFFIX);
+                System.err.println("Packaging classes in directory " + file + " into " + jar +
+                        ".");
+                jar(file, jar);
+                file = jar;
+            }
+            if (sb.length() > 0) {
+                sb.append(File.pathSeparatorChar);
+            }
+            sb.append(file);
+        }
+        final String classpath = sb.toString();
+        Files.deleteIfExists(archive.toPath());
+        final String java =
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        final Process training = new ProcessBuilder(java,
+                "-XX:ArchiveClassesAtExit=" + archive, "-Xlog:cds=error", "-cp", classpath,
+                ClassDataArchiver.class.getName(), TRAIN).inheritIO().start();
+        final int status;
+        try {
+            status = training.waitFor();
+        } catch (final InterruptedException e) {
+            training.destroy();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while training " + archive, e);
+        }
+        if (status != 0 || !archive.isFile()) {
+            throw new IOException("Could not create " + archive + " (training exited with " +
+                    status + ")");
+        }
+        final List<String> result =
+                Arrays.asList("-XX:SharedArchiveFile=" + archive, "-cp", classpath);
+        final List<String> quoted = new ArrayList<>();
+        for (String o : result) {
+            quoted.add('"' + o.replace("\\", "\\\\").replace("\"", "\\\"") + '"');
+        }
+        Files.write(new File(archive.getPath() + OPTIONS_SUFFIX).toPath(), quoted,
+                StandardCharsets.UTF_8);
+        return result;
+    }
+
+    /**
+     * @param the_file A file.
+     * @return true if the_file is a directory that contains anything, false
+     * otherwise.
+     * @throws IOException if the directory cannot be read.
+     */
+    private static boolean isNonEmptyDirectory(final File the_file) throws IOException {
+        if (!the_file.isDirectory()) {
+            return false;
+        }
+        try (Stream<Path> paths = Files.list(the_file.toPath())) {
+            return paths.findAny().isPresent();
+        }
+    }
+
+    /**
+     * Writes a jar file with the contents of a directory.
+     *
+     * @param the_directory The directory.
+     * @param the_jar       The jar file.
+     * @throws IOException if the directory cannot be read or the jar file
+     *                     cannot be written.
+     */
+    private static void jar(final File the_directory, final File the_jar) throws IOException {
+        final Path root = the_directory.toPath();
+        final List<Path> paths;
+        try (Stream<Path> walk = Files.walk(root)) {
+            paths = walk.filter(p -> !p.equals(root)).sorted().collect(Collectors.toList());
+        }
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(the_jar.toPath()))) {
+            for (Path p : paths) {
+                final String name = root.relativize(p).toString().replace(File.separatorChar, '/');
+                if (Files.isDirectory(p)) {
+                    out.putNextEntry(new JarEntry(name + "/"));
+                } else {
+                    out.putNextEntry(new JarEntry(name));
+                    Files.copy(p, out);
+                }
+                out.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * Loads the JMLUnitNG runtime and generated strategy classes on the
+     * current classpath, and runs the generated test classes on it.
+     *
+     * @throws IOException if the classpath cannot be read.
+     */
+    private static void train() throws IOException {
+        final SortedSet<String> classes = new TreeSet<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            classes.addAll(getClassNames(new File(entry)));
+        }
+        final ClassLoader loader = ClassDataArchiver.class.getClassLoader();
+        final List<Class<?>> tests = new ArrayList<>();
+        for (String c : classes) {
+            final String path = c.replace('.', '/');
+            final boolean test = c.endsWith(TEST_CLASS_SUFFIX);
+            if (test || path.startsWith(RUNTIME_PREFIX) ||
+                    path.contains(STRATEGY_PACKAGE_SUFFIX + "/")) {
+                try {
+                    final Class<?> loaded = Class.forName(c, false, loader);
+                    if (test) {
+                        tests.add(loaded);
+                    }
+                } catch (final ClassNotFoundException | LinkageError e) {
+                    // the class cannot be used in this classpath, so skip it
+                }
+            }
+        }
+        System.out.println("Training with " + tests.size() + " test classes.");
+        if (!tests.isEmpty()) {
+            final TestNG testng_runner = new TestNG();
+            testng_runner.setUseDefaultListeners(false);
+            testng_runner.setXmlSuites(new ArrayList<XmlSuite>());
+            testng_runner.setTestClasses(tests.toArray(new Class<?>[0]));
+            testng_runner.addListener(new BasicTestListener(new PrintWriter(Writer.nullWriter())));
+            testng_runner.run();
+        }
+    }
+
+    /**
+     * @param the_entry A classpath entry.
+     * @return the names of the classes in the_entry.
+     * @throws IOException if the_entry cannot be read.
+     */
+    private static List<String> getClassNames(final File the_entry) throws IOException {
+        final List<String> result = new ArrayList<>();
+        if (the_entry.isDirectory()) {
+            final Path root = the_entry.toPath();
+            try (Stream<Path> paths = Files.walk(root)) {
+                paths.forEach(p -> addClassName(root.relativize(p).toString()
+                        .replace(File.separatorChar, '/'), result));
+            }
+        } else if (the_entry.isFile()) {
+            try (JarFile jar = new JarFile(the_entry)) {
+                final Enumeration<JarEntry> entries = jar.entries();
+                while (entries.hasMoreElements()) {
+                    addClassName(entries.nextElement().getName(), result);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds the name of a class to a list, if a path names a class file.
+     *
+     * @param the_path The path, relative to its classpath entry.
+     * @param the_list The list.
+     */
+    private static void addClassName(final String the_path, final List<String> the_list) {
+        if (the_path.endsWith(CLASS_SUFFIX) && !the_path.startsWith("META-INF/") &&
+                !the_path.endsWith("module-info" + CLASS_SUFFIX)) {
+            the_list.add(the_path.substring(0, the_path.length() - CLASS_SUFFIX.length())
+                    .replace('/', '.'));
+        }
+    }
+}
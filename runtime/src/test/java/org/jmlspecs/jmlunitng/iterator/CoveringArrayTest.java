@@ -0,0 +1,140 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.iterator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Tests for CoveringArray and CoveringArrayIterator.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+class CoveringArrayTest {
+    /**
+     * Every combination of values of every t parameters is in some row, and
+     * every row has a valid index for each parameter.
+     *
+     * @param the_sizes    The numbers of values, separated by spaces.
+     * @param the_strength The strength.
+     */
+    @ParameterizedTest
+    @CsvSource({"2 2 2, 2", "3 3 3 3, 2", "4 1 3 2 5, 2", "2 3 4 2, 3",
+        "3 3 3 3 3, 3", "2 2 2 2, 4", "5 4, 1", "7, 1"})
+    void everyTupleIsCovered(final String the_sizes, final int the_strength) {
+        final String[] parts = the_sizes.split(" ");
+        final int[] sizes = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            sizes[i] = Integer.parseInt(parts[i]);
+        }
+        final int[][] rows = CoveringArray.generate(sizes, the_strength);
+        for (int[] row : rows) {
+            assertEquals(sizes.length, row.length);
+            for (int i = 0; i < row.length; i++) {
+                assertTrue(0 <= row[i] && row[i] < sizes[i]);
+            }
+        }
+        for (int[] columns : subsets(sizes.length, the_strength)) {
+            final Set<List<Integer>> covered = new HashSet<List<Integer>>();
+            for (int[] row : rows) {
+                final List<Integer> tuple = new ArrayList<Integer>();
+                for (int c : columns) {
+                    tuple.add(row[c]);
+                }
+                covered.add(tuple);
+            }
+            int expected = 1;
+            for (int c : columns) {
+                expected = expected * sizes[c];
+            }
+            assertEquals(expected, covered.size());
+        }
+    }
+
+    /**
+     * A parameter with no values means there are no rows.
+     */
+    @Test
+    void emptyParameterMeansNoRows() {
+        assertEquals(0, CoveringArray.generate(new int[]{3, 0, 2}, 2).length);
+    }
+
+    /**
+     * Strengths outside 1 to the number of parameters are rejected.
+     */
+    @Test
+    void invalidStrengthIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CoveringArray.generate(new int[]{2, 2}, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> CoveringArray.generate(new int[]{2, 2}, 3));
+    }
+
+    /**
+     * The iterator returns, for each row, the objects at its indices, both
+     * in order and by index.
+     */
+    @Test
+    void iteratorReturnsTheRows() {
+        final int[] sizes = {3, 2, 4};
+        final int[][] rows = CoveringArray.generate(sizes, 2);
+        final CoveringArrayIterator iterator =
+                new CoveringArrayIterator(2, TestStrategies.ranges(sizes));
+        assertTrue(iterator.isIndexed());
+        assertEquals(rows.length, iterator.size());
+        final List<Object[]> arrays = TestStrategies.elements(iterator);
+        assertEquals(rows.length, arrays.size());
+        for (int i = 0; i < rows.length; i++) {
+            final Object[] expected = {rows[i][0], rows[i][1], rows[i][2]};
+            assertArrayEquals(expected, arrays.get(i));
+            assertArrayEquals(expected, iterator.elementAt(i));
+        }
+    }
+
+    /**
+     * @param the_count The number of elements.
+     * @param the_size  The size of the subsets.
+     * @return all the subsets of the_size elements of 0 to the_count - 1.
+     */
+    private static List<int[]> subsets(final int the_count, final int the_size) {
+        final List<int[]> result = new ArrayList<int[]>();
+        final int[] subset = new int[the_size];
+        addSubsets(result, subset, 0, 0, the_count);
+        return result;
+    }
+
+    /**
+     * @param the_result The list to add subsets to.
+     * @param the_subset The subset being built.
+     * @param the_index  The index of the next element of the_subset.
+     * @param the_from   The smallest value of the next element.
+     * @param the_count  The number of elements.
+     */
+    private static void addSubsets(final List<int[]> the_result, final int[] the_subset,
+                                   final int the_index, final int the_from,
+                                   final int the_count) {
+        if (the_index == the_subset.length) {
+            the_result.add(the_subset.clone());
+        } else {
+            for (int i = the_from; i < the_count; i++) {
+                the_subset[the_index] = i;
+                addSubsets(the_result, the_subset, the_index + 1, i + 1, the_count);
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.iterator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.jmlspecs.jmlunitng.objgen.ObjectGenerator;
+import org.jmlspecs.jmlunitng.strategy.StrategyFactory;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for IndexedParameterSpace.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+class IndexedParameterSpaceTest {
+    /**
+     * The arrays of a space are those of a ParameterArrayIterator over the
+     * same strategies, in the same order.
+     */
+    @Test
+    void orderMatchesParameterArrayIterator() {
+        final StrategyFactory[] factories = TestStrategies.ranges(3, 1, 4, 2);
+        final IndexedParameterSpace space = new IndexedParameterSpace(factories);
+        assertTrue(space.isIndexed());
+        assertEquals(4, space.dimensions());
+        assertEquals(24, space.size());
+        final List<Object[]> expected =
+                TestStrategies.elements(new ParameterArrayIterator(factories));
+        final List<Object[]> actual = TestStrategies.elements(space.iterator());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), actual.get(i));
+            assertArrayEquals(expected.get(i), space.element(i));
+        }
+    }
+
+    /**
+     * Arrays can be generated in any order, and from any range.
+     */
+    @Test
+    void elementsCanBeGeneratedInAnyOrder() {
+        final IndexedParameterSpace space =
+                new IndexedParameterSpace(TestStrategies.ranges(5, 3, 2));
+        assertArrayEquals(new Object[]{4, 2, 1}, space.element(29));
+        assertArrayEquals(new Object[]{1, 0, 0}, space.element(1));
+        assertArrayEquals(new Object[]{2, 1, 1}, space.element(22));
+        final List<Object[]> range = TestStrategies.elements(space.iterator(10, 13));
+        assertEquals(3, range.size());
+        for (int i = 0; i < range.size(); i++) {
+            assertArrayEquals(space.element(10 + i), range.get(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> space.element(30));
+        assertThrows(IndexOutOfBoundsException.class, () -> space.iterator(3, 31));
+    }
+
+    /**
+     * A copy of a space has the same arrays, and using it does not change
+     * the arrays of the original.
+     */
+    @Test
+    void copyHasTheSameArrays() {
+        final IndexedParameterSpace space =
+                new IndexedParameterSpace(TestStrategies.ranges(2, 3, 2));
+        final IndexedParameterSpace copy = space.copy();
+        assertEquals(space.size(), copy.size());
+        for (long i = space.size() - 1; i >= 0; i--) {
+            assertArrayEquals(space.element(i), copy.element(i));
+        }
+    }
+
+    /**
+     * Every array of a space, of a copy of it and of a covering array over
+     * it has its own object of a strategy that is not indexed, such as a
+     * receiver, and the objects are at the right indices.
+     */
+    @Test
+    void unindexedObjectsAreNotShared() {
+        final IndexedParameterSpace space = new IndexedParameterSpace(
+                TestStrategies.instances(3), TestStrategies.ranges(4)[0]);
+        assertFalse(space.isIndexed());
+        assertEquals(12, space.size());
+        final IndexedParameterSpace copy = space.copy();
+        final Set<Object> receivers = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (long i = space.size() - 1; i >= 0; i--) {
+            for (Object[] array : Arrays.asList(space.element(i), copy.element(i))) {
+                assertEquals(i % 3, ((TestStrategies.Instance) array[0]).number());
+                assertTrue(receivers.add(array[0]));
+            }
+        }
+        assertNull(space.element(0, 3));
+
+        final List<Object[]> rows = TestStrategies.elements(CoveringArrayIterator.forStrength(2,
+                TestStrategies.instances(3), TestStrategies.ranges(4)[0],
+                TestStrategies.ranges(4)[0]));
+        assertEquals(rows.size(), rows.stream().map(r -> r[0])
+                .filter(TestStrategies.Instance.class::isInstance).distinct().count());
+    }
+
+    /**
+     * Objects that cannot be generated are null in every array containing
+     * them.
+     */
+    @Test
+    void failedObjectsAreNull() {
+        final ObjectGenerator<Object> failing = new ObjectGenerator<Object>() {
+            @Override
+            public Object generate() {
+                throw new IllegalStateException("cannot generate");
+            }
+
+            @Override
+            public Class<?> generatedClass() {
+                return Object.class;
+            }
+        };
+        final IndexedParameterSpace space = new IndexedParameterSpace(
+                TestStrategies.indexed(1, failing), TestStrategies.unindexed("a"));
+        assertArrayEquals(new Object[]{1, "a"}, space.element(0));
+        assertArrayEquals(new Object[]{null, "a"}, space.element(1));
+    }
+
+    /**
+     * A parallel stream over a space has the same arrays, in order, as the
+     * space.
+     */
+    @Test
+    void parallelStreamKeepsTheOrder() {
+        final IndexedParameterSpace space =
+                new IndexedParameterSpace(TestStrategies.ranges(7, 5, 3));
+        final List<List<Object>> sequential = TestStrategies.elements(space.iterator())
+                .stream().map(Arrays::asList).collect(Collectors.toList());
+        final List<List<Object>> parallel = StreamSupport.stream(space.spliterator(), true)
+                .map(Arrays::asList).collect(Collectors.toList());
+        assertEquals(sequential, parallel);
+    }
+
+    /**
+     * A sample has exactly the requested number of distinct arrays, in
+     * order, and is the same for the same seed.
+     */
+    @Test
+    void sampleIsOrderedAndReproducible() {
+        final IndexedParameterSpace space =
+                new IndexedParameterSpace(TestStrategies.ranges(10, 10, 10));
+        final List<List<Object>> sample = TestStrategies.elements(space.sample(25, 42))
+                .stream().map(Arrays::asList).collect(Collectors.toList());
+        assertEquals(25, sample.size());
+        long last = -1;
+        for (List<Object> a : sample) {
+            final long index = (Integer) a.get(0) + 10L * (Integer) a.get(1) +
+                    100L * (Integer) a.get(2);
+            assertTrue(index > last);
+            last = index;
+        }
+        assertEquals(sample, TestStrategies.elements(space.sample(25, 42))
+                .stream().map(Arrays::asList).collect(Collectors.toList()));
+        assertEquals(1000, TestStrategies.elements(space.sample(5000, 42)).size());
+    }
+}
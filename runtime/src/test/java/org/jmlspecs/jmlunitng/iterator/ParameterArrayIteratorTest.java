@@ -0,0 +1,152 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.iterator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+
+import org.jmlspecs.jmlunitng.objgen.ObjectGenerator;
+import org.jmlspecs.jmlunitng.strategy.StrategyFactory;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for ParameterArrayIterator.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+class ParameterArrayIteratorTest {
+    /**
+     * The arrays are the cartesian product of the strategies' values, with
+     * the first strategy varying fastest.
+     */
+    @Test
+    void iteratesOverTheCartesianProduct() {
+        final List<Object[]> arrays =
+                TestStrategies.elements(new ParameterArrayIterator(TestStrategies.ranges(2, 3)));
+        assertEquals(6, arrays.size());
+        for (int i = 0; i < arrays.size(); i++) {
+            assertArrayEquals(new Object[]{i % 2, i / 2}, arrays.get(i));
+        }
+    }
+
+    /**
+     * A strategy whose iterator is neither indexed nor resettable is
+     * restarted with a new strategy, so every combination is still returned.
+     */
+    @Test
+    void restartsStrategiesThatCannotBeReset() {
+        final List<Object[]> arrays = TestStrategies.elements(new ParameterArrayIterator(
+                TestStrategies.indexed("a", "b"), TestStrategies.unindexed(1, 2, 3)));
+        assertEquals(6, arrays.size());
+        assertArrayEquals(new Object[]{"b", 3}, arrays.get(5));
+    }
+
+    /**
+     * Resetting the iterator returns the same arrays again, from any
+     * position.
+     */
+    @Test
+    void resetRestartsFromTheFirstArray() {
+        final ParameterArrayIterator iterator = new ParameterArrayIterator(
+                TestStrategies.indexed("a", "b"), TestStrategies.unindexed(1, 2, 3));
+        assertTrue(iterator.isResettable());
+        final List<Object[]> first = TestStrategies.elements(iterator);
+        assertFalse(iterator.hasElement());
+        iterator.reset();
+        assertArrayEqualsInOrder(first, TestStrategies.elements(iterator));
+        iterator.reset();
+        iterator.advance();
+        iterator.advance();
+        iterator.reset();
+        assertArrayEqualsInOrder(first, TestStrategies.elements(iterator));
+    }
+
+    /**
+     * An iterator with no strategies has no arrays.
+     */
+    @Test
+    void noStrategiesMeansNoArrays() {
+        final ParameterArrayIterator iterator = new ParameterArrayIterator(new StrategyFactory[0]);
+        assertFalse(iterator.hasElement());
+        assertThrows(NoSuchElementException.class, iterator::element);
+        iterator.reset();
+        assertFalse(iterator.hasElement());
+    }
+
+    /**
+     * Building the objects of each array concurrently gives the same arrays
+     * as building them one after another.
+     */
+    @Test
+    void concurrentArraysEqualSequentialArrays() {
+        final StrategyFactory[] factories = TestStrategies.ranges(3, 4, 2, 5);
+        final ParameterArrayIterator concurrent = new ParameterArrayIterator(factories);
+        concurrent.setConcurrent(true);
+        assertTrue(concurrent.isConcurrent());
+        final ParameterArrayIterator sequential = new ParameterArrayIterator(factories);
+        sequential.setConcurrent(false);
+        assertArrayEqualsInOrder(TestStrategies.elements(sequential),
+                                 TestStrategies.elements(concurrent));
+    }
+
+    /**
+     * A thread interrupted while waiting for the concurrently built objects
+     * gets no partial array, and keeps its interrupt.
+     */
+    @Test
+    void interruptedConcurrentElementThrows() {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final ObjectGenerator<Object> blocking = new ObjectGenerator<Object>() {
+            @Override
+            public Object generate() {
+                try {
+                    latch.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "late";
+            }
+
+            @Override
+            public Class<?> generatedClass() {
+                return String.class;
+            }
+        };
+        final ParameterArrayIterator iterator = new ParameterArrayIterator(
+                TestStrategies.indexed("early"), TestStrategies.indexed(blocking));
+        iterator.setConcurrent(true);
+        try {
+            Thread.currentThread().interrupt();
+            final NoSuchElementException e =
+                    assertThrows(NoSuchElementException.class, iterator::element);
+            assertTrue(e.getCause() instanceof InterruptedException);
+            assertTrue(Thread.interrupted());
+        } finally {
+            Thread.interrupted();
+            latch.countDown();
+        }
+    }
+
+    /**
+     * @param the_expected The expected arrays.
+     * @param the_actual   The actual arrays.
+     */
+    private static void assertArrayEqualsInOrder(final List<Object[]> the_expected,
+                                                 final List<Object[]> the_actual) {
+        assertEquals(the_expected.size(), the_actual.size());
+        for (int i = 0; i < the_expected.size(); i++) {
+            assertArrayEquals(the_expected.get(i), the_actual.get(i), "array " + i);
+        }
+    }
+}
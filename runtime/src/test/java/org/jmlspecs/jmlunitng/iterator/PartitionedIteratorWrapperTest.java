@@ -0,0 +1,146 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.iterator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jmlspecs.jmlunitng.objgen.ObjectGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests for PartitionedIteratorWrapper.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+class PartitionedIteratorWrapperTest {
+    /**
+     * The parts of an iterator are disjoint, and together have exactly its
+     * elements.
+     *
+     * @param the_partitions The number of parts.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 7, 60, 200})
+    void partsHaveExactlyAllTheElements(final int the_partitions) {
+        final IndexedParameterSpace space =
+                new IndexedParameterSpace(TestStrategies.ranges(4, 5, 3));
+        final List<RepeatedAccessIterator<Object[]>> parts =
+                PartitionedIteratorWrapper.partition(space.iterator(), the_partitions);
+        assertEquals(Math.min(the_partitions, 60), parts.size());
+        final Set<List<Object>> all = new HashSet<List<Object>>();
+        int count = 0;
+        for (RepeatedAccessIterator<Object[]> p : parts) {
+            for (Object[] a : TestStrategies.elements(p)) {
+                all.add(Arrays.asList(a));
+                count++;
+            }
+        }
+        assertEquals(60, count);
+        assertEquals(60, all.size());
+        for (Object[] a : TestStrategies.elements(space.iterator())) {
+            assertFalse(all.add(Arrays.asList(a)));
+        }
+    }
+
+    /**
+     * The wrapper returns the elements in the order of the wrapped
+     * iterator, whatever the number of parts.
+     *
+     * @param the_partitions The number of parts.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 5, 200})
+    void wrapperKeepsTheOrder(final int the_partitions) {
+        final IndexedParameterSpace space =
+                new IndexedParameterSpace(TestStrategies.ranges(10, 10));
+        final List<List<Object>> expected = new ArrayList<List<Object>>();
+        for (Object[] a : TestStrategies.elements(space.iterator())) {
+            expected.add(Arrays.asList(a));
+        }
+        final PartitionedIteratorWrapper<Object[]> wrapper =
+                new PartitionedIteratorWrapper<Object[]>(space.iterator(), the_partitions, 3);
+        final List<List<Object>> actual = new ArrayList<List<Object>>();
+        while (wrapper.hasNext()) {
+            actual.add(Arrays.asList(wrapper.next()));
+        }
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * An iterator over a space with a strategy that is not indexed is not
+     * split, since its parts would share objects.
+     */
+    @Test
+    void unindexedSpaceIsNotSplit() {
+        final IndexedParameterSpace space = new IndexedParameterSpace(
+                TestStrategies.ranges(3)[0], TestStrategies.unindexed("a", "b"));
+        assertFalse(space.iterator().isSplittable());
+        assertEquals(1, PartitionedIteratorWrapper.partition(space.iterator(), 4).size());
+        final PartitionedIteratorWrapper<Object[]> wrapper =
+                new PartitionedIteratorWrapper<Object[]>(space.iterator(), 4, 4);
+        int count = 0;
+        while (wrapper.hasNext()) {
+            wrapper.next();
+            count++;
+        }
+        assertEquals(6, count);
+    }
+
+    /**
+     * An error thrown by the wrapped iterator is thrown by the wrapper, after
+     * the elements before it.
+     */
+    @Test
+    void errorsArePassedOn() {
+        final ObjectGenerator<Object> failing = new ObjectGenerator<Object>() {
+            @Override
+            public Object generate() {
+                throw new AssertionError("failed");
+            }
+
+            @Override
+            public Class<?> generatedClass() {
+                return Object.class;
+            }
+        };
+        final Object[] values = new Object[20];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        values[12] = failing;
+        final SplittableIterator<Object[]> iterator =
+                new IndexedParameterSpace(TestStrategies.indexed(values)).iterator();
+        final PartitionedIteratorWrapper<Object[]> wrapper =
+                new PartitionedIteratorWrapper<Object[]>(iterator, 3, 3);
+        for (int i = 0; i < 12; i++) {
+            assertEquals(i, wrapper.next()[0]);
+        }
+        assertThrows(AssertionError.class, wrapper::next);
+    }
+
+    /**
+     * Non-positive numbers of parts are rejected.
+     */
+    @Test
+    void invalidPartitionsAreRejected() {
+        final IndexedParameterSpace space = new IndexedParameterSpace(TestStrategies.ranges(3));
+        assertThrows(IllegalArgumentException.class,
+                () -> PartitionedIteratorWrapper.partition(space.iterator(), 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PartitionedIteratorWrapper<Object[]>(space.iterator(), 0, 1));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.iterator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Tests for RandomSampler.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+class RandomSamplerTest {
+    /**
+     * The chosen indices are distinct, in increasing order and in range,
+     * and there are as many as requested (or all of them, if fewer).
+     *
+     * @param the_size  The number of indices to choose from.
+     * @param the_count The number of indices to choose.
+     */
+    @ParameterizedTest
+    @CsvSource({"0, 5", "1, 1", "10, 0", "10, 3", "10, 10", "10, 20", "1000, 999",
+        "5000000000, 100"})
+    void chosenIndicesAreValid(final long the_size, final int the_count) {
+        final long[] chosen = RandomSampler.choose(the_size, the_count, new Random(17));
+        assertEquals(Math.min(the_size, the_count), chosen.length);
+        for (int i = 0; i < chosen.length; i++) {
+            assertTrue(0 <= chosen[i] && chosen[i] < the_size);
+            assertTrue(i == 0 || chosen[i - 1] < chosen[i]);
+        }
+    }
+
+    /**
+     * The same seed chooses the same indices.
+     */
+    @Test
+    void choiceIsReproducible() {
+        assertArrayEquals(RandomSampler.choose(100000, 50, new Random(3)),
+                          RandomSampler.choose(100000, 50, new Random(3)));
+    }
+
+    /**
+     * Every index is chosen about equally often over many choices.
+     */
+    @Test
+    void choiceIsUniform() {
+        final int size = 10;
+        final int trials = 20000;
+        final int[] counts = new int[size];
+        final Random random = new Random(5);
+        for (int t = 0; t < trials; t++) {
+            for (long c : RandomSampler.choose(size, 3, random)) {
+                counts[(int) c]++;
+            }
+        }
+        final double expected = trials * 3.0 / size;
+        for (int c : counts) {
+            assertTrue(Math.abs(c - expected) < expected / 10, "count " + c);
+        }
+    }
+
+    /**
+     * Sampling a count of elements returns exactly that many, in their
+     * original order, from both indexed and unindexed iterators, and
+     * resetting the sampler returns the same elements again.
+     */
+    @Test
+    void sampleWithCount() {
+        final Integer[] values = new Integer[50];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        final RandomSampler<Integer> indexed =
+                RandomSampler.withCount(new ObjectArrayIterator<Integer>(values), 7, 11);
+        final List<Integer> sample = TestStrategies.elements(indexed);
+        assertEquals(7, sample.size());
+        for (int i = 1; i < sample.size(); i++) {
+            assertTrue(sample.get(i - 1) < sample.get(i));
+        }
+        indexed.reset();
+        assertEquals(sample, TestStrategies.elements(indexed));
+
+        @SuppressWarnings("unchecked")
+        final RepeatedAccessIterator<Integer> unindexed =
+                (RepeatedAccessIterator<Integer>) TestStrategies.unindexed((Object[]) values)
+                        .newStrategy().iterator();
+        final List<Integer> reservoir =
+                TestStrategies.elements(RandomSampler.withCount(unindexed, 7, 11));
+        assertEquals(7, reservoir.size());
+        assertEquals(new ArrayList<Integer>(new TreeSet<Integer>(reservoir)),
+                     reservoir);
+
+        assertEquals(50, TestStrategies.elements(RandomSampler.withCount(
+                new ObjectArrayIterator<Integer>(values), 70, 11)).size());
+        assertThrows(IllegalArgumentException.class, () -> RandomSampler.withCount(
+                new ObjectArrayIterator<Integer>(values), -1, 11));
+    }
+}
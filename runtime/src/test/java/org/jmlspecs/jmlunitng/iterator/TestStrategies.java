@@ -0,0 +1,213 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.iterator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.jmlspecs.jmlunitng.strategy.Strategy;
+import org.jmlspecs.jmlunitng.strategy.StrategyFactory;
+
+/**
+ * Strategies over fixed values and constructed instances, for the
+ * iterator tests.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+final class TestStrategies {
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private TestStrategies() {
+        // do nothing
+    }
+
+    /**
+     * @param the_values The values.
+     * @return a factory of strategies whose iterators are indexed and
+     * return the_values.
+     */
+    static StrategyFactory indexed(final Object... the_values) {
+        return () -> new FixedStrategy(the_values, true);
+    }
+
+    /**
+     * @param the_values The values.
+     * @return a factory of strategies whose iterators are not indexed and
+     * return the_values.
+     */
+    static StrategyFactory unindexed(final Object... the_values) {
+        return () -> new FixedStrategy(the_values, false);
+    }
+
+    /**
+     * @param the_count The number of instances.
+     * @return a factory of strategies whose iterators are not indexed and
+     * construct a new Instance each time an element is taken from them, as
+     * the iterators of receiver objects do; the instances are numbered from
+     * 0 to the_count - 1.
+     */
+    static StrategyFactory instances(final int the_count) {
+        return () -> new FixedStrategy(new Object[0], false) {
+            @Override
+            public RepeatedAccessIterator<?> iterator() {
+                return new InstantiationIterator<Instance>(Instance.class,
+                        new Class<?>[]{int.class}, new ParameterArrayIterator(ranges(the_count)));
+            }
+        };
+    }
+
+    /**
+     * @param the_sizes The number of values of each strategy.
+     * @return factories of indexed strategies, the i-th of which returns the
+     * integers from 0 to the_sizes[i] - 1.
+     */
+    static StrategyFactory[] ranges(final int... the_sizes) {
+        final StrategyFactory[] result = new StrategyFactory[the_sizes.length];
+        for (int i = 0; i < the_sizes.length; i++) {
+            final Object[] values = new Object[the_sizes[i]];
+            for (int j = 0; j < values.length; j++) {
+                values[j] = j;
+            }
+            result[i] = indexed(values);
+        }
+        return result;
+    }
+
+    /**
+     * @param <T>          The type of the elements.
+     * @param the_iterator An iterator at its first element.
+     * @return all the elements of the_iterator, in order.
+     */
+    static <T> List<T> elements(final RepeatedAccessIterator<T> the_iterator) {
+        final List<T> result = new ArrayList<T>();
+        while (the_iterator.hasElement()) {
+            result.add(the_iterator.element());
+            the_iterator.advance();
+        }
+        return result;
+    }
+
+    /**
+     * An object constructed by the iterators of instances().
+     */
+    static final class Instance {
+        /**
+         * The number of the instance.
+         */
+        private final int my_number;
+
+        /**
+         * @param the_number The number of the instance.
+         */
+        public Instance(final int the_number) {
+            my_number = the_number;
+        }
+
+        /**
+         * @return the number of the instance.
+         */
+        int number() {
+            return my_number;
+        }
+    }
+
+    /**
+     * A strategy that returns fixed values.
+     */
+    private static class FixedStrategy implements Strategy {
+        /**
+         * The values.
+         */
+        private final Object[] my_values;
+
+        /**
+         * Is the iterator indexed?
+         */
+        private final boolean my_indexed;
+
+        /**
+         * @param the_values  The values.
+         * @param the_indexed Is the iterator indexed?
+         */
+        FixedStrategy(final Object[] the_values, final boolean the_indexed) {
+            my_values = the_values;
+            my_indexed = the_indexed;
+        }
+
+        @Override
+        public RepeatedAccessIterator<?> localValues() {
+            return new ObjectArrayIterator<Object>(new Object[0]);
+        }
+
+        @Override
+        public RepeatedAccessIterator<?> classValues() {
+            return new ObjectArrayIterator<Object>(new Object[0]);
+        }
+
+        @Override
+        public RepeatedAccessIterator<?> packageValues() {
+            return new ObjectArrayIterator<Object>(new Object[0]);
+        }
+
+        @Override
+        public RepeatedAccessIterator<?> defaultValues() {
+            return new ObjectArrayIterator<Object>(my_values);
+        }
+
+        @Override
+        public RepeatedAccessIterator<?> iterator() {
+            if (my_indexed) {
+                return defaultValues();
+            }
+            return new Unindexed<Object>(my_values);
+        }
+    }
+
+    /**
+     * An iterator over an array that is neither indexed nor resettable.
+     *
+     * @param <T> The type of the returned elements.
+     */
+    private static final class Unindexed<T> implements RepeatedAccessIterator<T> {
+        /**
+         * The elements.
+         */
+        private final T[] my_elements;
+
+        /**
+         * The index of the current element.
+         */
+        private int my_index;
+
+        /**
+         * @param the_elements The elements.
+         */
+        Unindexed(final T[] the_elements) {
+            my_elements = the_elements;
+        }
+
+        @Override
+        public boolean hasElement() {
+            return my_index < my_elements.length;
+        }
+
+        @Override
+        public T element() {
+            if (!hasElement()) {
+                throw new NoSuchElementException("iterator has no current element");
+            }
+            return my_elements[my_index];
+        }
+
+        @Override
+        public void advance() {
+            my_index++;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.strategy;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jmlspecs.jmlunitng.iterator.RepeatedAccessIterator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for LiteralPool.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+class LiteralPoolTest {
+    /**
+     * The class files to copy, for the class that the pools are written
+     * for and the class that it is nested in.
+     */
+    private static final String[] CLASS_FILES = {"LiteralPoolTest.class",
+        "LiteralPoolTest$Pooled.class"};
+
+    /**
+     * A directory for the pooled class and its pool.
+     */
+    @TempDir
+    Path my_dir;
+
+    /**
+     * Every supported type of literal is read back as it was encoded, as
+     * an array of the literals' type.
+     *
+     * @throws Exception if the pool cannot be written or loaded.
+     */
+    @Test
+    void literalsAreReadBackAsEncoded() throws Exception {
+        final Map<String, Object[]> values = new LinkedHashMap<String, Object[]>();
+        values.put("boolean", new Object[]{true, false});
+        values.put("byte", new Object[]{(byte) -1, Byte.MAX_VALUE});
+        values.put("short", new Object[]{(short) 7, Short.MIN_VALUE});
+        values.put("char", new Object[]{'a', '\u20ac'});
+        values.put("int", new Object[]{0, -5, Integer.MAX_VALUE});
+        values.put("long", new Object[]{Long.MIN_VALUE, 3L});
+        values.put("float", new Object[]{1.5f, Float.NaN});
+        values.put("double", new Object[]{-0.0, Double.POSITIVE_INFINITY});
+        values.put("String", new Object[]{"", "caf\u00e9 \ud83d\ude00", "line\nbreak"});
+        values.put("class", new Object[]{new LiteralPool.ClassName("java.lang.String"),
+            new LiteralPool.ClassName("no.such.Class")});
+        values.put("empty", new Object[0]);
+
+        final LiteralPool pool = LiteralPool.forClass(pooledClass(values));
+        assertArrayEquals(new Boolean[]{true, false}, pool.values("boolean"));
+        assertArrayEquals(new Byte[]{-1, Byte.MAX_VALUE}, pool.values("byte"));
+        assertArrayEquals(new Short[]{7, Short.MIN_VALUE}, pool.values("short"));
+        assertArrayEquals(new Character[]{'a', '\u20ac'}, pool.values("char"));
+        assertArrayEquals(new Integer[]{0, -5, Integer.MAX_VALUE}, pool.values("int"));
+        assertArrayEquals(new Long[]{Long.MIN_VALUE, 3L}, pool.values("long"));
+        assertArrayEquals(new Float[]{1.5f, Float.NaN}, pool.values("float"));
+        assertArrayEquals(new Double[]{-0.0, Double.POSITIVE_INFINITY}, pool.values("double"));
+        assertArrayEquals(values.get("String"), pool.values("String"));
+        assertEquals(Integer[].class, pool.values("int").getClass());
+        assertArrayEquals(new Class<?>[]{String.class}, pool.values("class"));
+        assertEquals(0, pool.values("empty").length);
+        assertEquals(0, pool.values("missing").length);
+    }
+
+    /**
+     * A pool is loaded once per class, and its iterators return its
+     * literals followed by the additional values.
+     *
+     * @throws Exception if the pool cannot be written or loaded.
+     */
+    @Test
+    void poolIsSharedAndIterated() throws Exception {
+        final Map<String, Object[]> values = new LinkedHashMap<String, Object[]>();
+        values.put("int", new Object[]{1, 2});
+        final Class<?> pooled = pooledClass(values);
+        assertSame(LiteralPool.forClass(pooled), LiteralPool.forClass(pooled));
+        assertSame(LiteralPool.forClass(pooled).values("int"),
+                   LiteralPool.forClass(pooled).values("int"));
+
+        final RepeatedAccessIterator<?> iterator = LiteralPool.forClass(pooled).iterator("int", 3);
+        final StringBuilder sb = new StringBuilder();
+        while (iterator.hasElement()) {
+            sb.append(iterator.element());
+            iterator.advance();
+        }
+        assertEquals("123", sb.toString());
+    }
+
+    /**
+     * A missing or malformed pool is an error, not an empty pool.
+     *
+     * @throws Exception if the pool cannot be written.
+     */
+    @Test
+    void missingOrMalformedPoolFails() throws Exception {
+        assertThrows(IllegalStateException.class, () -> LiteralPool.forClass(getClass()));
+        final Class<?> pooled = pooledClass(null);
+        assertThrows(IllegalStateException.class, () -> LiteralPool.forClass(pooled));
+    }
+
+    /**
+     * Literals of mixed or unsupported types cannot be encoded.
+     */
+    @Test
+    void invalidLiteralsAreRejected() {
+        final Map<String, Object[]> mixed = new LinkedHashMap<String, Object[]>();
+        mixed.put("mixed", new Object[]{1, "one"});
+        assertThrows(IllegalArgumentException.class, () -> LiteralPool.encode("", mixed));
+        final Map<String, Object[]> unsupported = new LinkedHashMap<String, Object[]>();
+        unsupported.put("object", new Object[]{new Object()});
+        assertThrows(IllegalArgumentException.class, () -> LiteralPool.encode("", unsupported));
+    }
+
+    /**
+     * Writes the Pooled class and a pool for it to a new directory, and
+     * loads the class from there with a class loader of its own.
+     *
+     * @param the_values The literals of the pool, or null for a malformed pool.
+     * @return the class.
+     * @throws IOException if the class or the pool cannot be written.
+     * @throws ClassNotFoundException if the class cannot be loaded.
+     */
+    private Class<?> pooledClass(final Map<String, Object[]> the_values)
+            throws IOException, ClassNotFoundException {
+        final Path dir = Files.createTempDirectory(my_dir, "pool");
+        final Path package_dir = dir.resolve(getClass().getPackage().getName().replace('.', '/'));
+        Files.createDirectories(package_dir);
+        for (String c : CLASS_FILES) {
+            try (InputStream in = getClass().getResourceAsStream(c)) {
+                Files.copy(in, package_dir.resolve(c));
+            }
+        }
+        final byte[] pool;
+        if (the_values == null) {
+            pool = "Generated by JMLUnitNG\0not a pool".getBytes(StandardCharsets.UTF_8);
+        } else {
+            pool = LiteralPool.encode("Generated by JMLUnitNG", the_values);
+        }
+        Files.write(package_dir.resolve(Pooled.class.getSimpleName() + LiteralPool.SUFFIX), pool);
+        // no parent, so that Pooled is loaded from dir rather than the classpath
+        final ClassLoader loader = new URLClassLoader(new URL[]{dir.toUri().toURL()}, null);
+        return Class.forName(Pooled.class.getName(), false, loader);
+    }
+
+    /**
+     * A class to load with a literal pool.
+     */
+    static final class Pooled {
+        // nothing
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.testng;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.jar.JarFile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.testng.TestNG;
+
+/**
+ * Tests for ClassDataArchiver.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+class ClassDataArchiverTest {
+    /**
+     * The path of the class file of this class, relative to its classpath
+     * entry.
+     */
+    private static final String CLASS_FILE =
+            ClassDataArchiverTest.class.getName().replace('.', '/') + ".class";
+
+    /**
+     * A directory for the classpath and the archive.
+     */
+    @TempDir
+    Path my_dir;
+
+    /**
+     * An archive is created for a classpath with directories: the
+     * directories that are not empty are packaged into jar files next to
+     * the archive, which replace them in the options, and a JVM that
+     * requires the archive starts with those options.
+     *
+     * @throws IOException if the classpath or the archive cannot be written.
+     * @throws InterruptedException if interrupted while waiting for the JVM.
+     */
+    @Test
+    void directoriesOnTheClasspathArePackaged() throws IOException, InterruptedException {
+        // -XX:ArchiveClassesAtExit is available from Java 13
+        assumeTrue(Runtime.version().feature() >= 13);
+        final Path classes = my_dir.resolve("classes");
+        Files.createDirectories(classes.resolve(CLASS_FILE).getParent());
+        try (InputStream in = ClassDataArchiverTest.class.getResourceAsStream(
+                ClassDataArchiverTest.class.getSimpleName() + ".class")) {
+            Files.copy(in, classes.resolve(CLASS_FILE));
+        }
+        Files.createDirectories(classes.resolve("p"));
+        Files.write(classes.resolve("p/A_JML_Test.literals"), new byte[]{1, 2, 3});
+        final Path empty = Files.createDirectories(my_dir.resolve("empty"));
+        final String classpath = String.join(File.pathSeparator, location(ClassDataArchiver.class),
+                classes.toString(), empty.toString(), location(TestNG.class));
+
+        final File archive = my_dir.resolve("tests.jsa").toFile();
+        final List<String> options = ClassDataArchiver.create(archive, classpath);
+        assertTrue(archive.isFile());
+        assertEquals(3, options.size());
+        assertEquals("-XX:SharedArchiveFile=" + archive.getAbsolutePath(), options.get(0));
+        assertEquals("-cp", options.get(1));
+        final List<String> entries = Arrays.asList(options.get(2).split(File.pathSeparator));
+        assertEquals(4, entries.size());
+        final File jar = new File(archive.getAbsolutePath() + ".2.jar");
+        assertEquals(jar.getPath(), entries.get(1));
+        assertEquals(empty.toAbsolutePath().toString(), entries.get(2));
+        try (JarFile contents = new JarFile(jar)) {
+            assertNotNull(contents.getEntry(CLASS_FILE));
+            assertNotNull(contents.getEntry("p/"));
+            assertNotNull(contents.getEntry("p/A_JML_Test.literals"));
+        }
+        for (String e : entries) {
+            final File file = new File(e);
+            assertTrue(!file.isDirectory() || file.list().length == 0, e);
+        }
+        assertEquals(3, Files.readAllLines(new File(archive.getPath() +
+                ClassDataArchiver.OPTIONS_SUFFIX).toPath(), StandardCharsets.UTF_8).size());
+
+        final String java = System.getProperty("java.home") + File.separator + "bin" +
+                File.separator + "java";
+        final Process run = new ProcessBuilder(java, "-Xshare:on",
+                "@" + archive.getPath() + ClassDataArchiver.OPTIONS_SUFFIX,
+                ClassDataArchiver.class.getName(), ClassDataArchiver.TRAIN)
+                .redirectErrorStream(true).start();
+        final String output = new String(run.getInputStream().readAllBytes(),
+                StandardCharsets.UTF_8);
+        assertEquals(0, run.waitFor(), output);
+    }
+
+    /**
+     * @param the_class A class.
+     * @return the classpath entry that the_class was loaded from.
+     */
+    private static String location(final Class<?> the_class) {
+        return new File(the_class.getProtectionDomain().getCodeSource().getLocation().getPath())
+                .getPath();
+    }
+}
@@ -8,4 +8,4 @@
  */
 
 rootProject.name = "JMLUnitNG"
-include("app")
+include("runtime")
@@ -14,10 +14,17 @@ import ie.ucd.clops.runtime.options.InvalidOptionPropertyValueException;
 import ie.ucd.clops.runtime.options.InvalidOptionValueException;
 import org.jmlspecs.jmlunitng.clops.JMLUnitNGOptionStore;
 import org.jmlspecs.jmlunitng.clops.JMLUnitNGParser;
+import org.jmlspecs.jmlunitng.generator.ArchiveSourceWriter;
 import org.jmlspecs.jmlunitng.generator.ClassInfo;
+import org.jmlspecs.jmlunitng.generator.GeneratedSourceWriter;
+import org.jmlspecs.jmlunitng.generator.GenerationPlan;
+import org.jmlspecs.jmlunitng.generator.GenerationSession;
 import org.jmlspecs.jmlunitng.generator.InfoFactory;
 import org.jmlspecs.jmlunitng.generator.MethodInfo;
+import org.jmlspecs.jmlunitng.generator.ModelIndex;
 import org.jmlspecs.jmlunitng.generator.TestClassGenerator;
+import org.jmlspecs.jmlunitng.strategy.LiteralPool;
+import org.jmlspecs.jmlunitng.util.BodyStripper;
 import org.jmlspecs.jmlunitng.util.JavaSuffixFilter;
 import org.jmlspecs.jmlunitng.util.Logger;
 import org.jmlspecs.jmlunitng.util.ProtectionLevel;
@@ -26,8 +33,13 @@ import org.stringtemplate.v4.ST;
 import org.stringtemplate.v4.STGroup;
 
 import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * The main executable.
@@ -47,6 +59,16 @@ public final class JMLUnitNG implements Runnable {
      */
     public static final String CLASS_SUFFIX = ".class";
 
+    /**
+     * The extension for the literal pools written alongside test classes.
+     */
+    public static final String LITERALS_SUFFIX = LiteralPool.SUFFIX;
+
+    /**
+     * The suffixes of archives from which sources can be read.
+     */
+    private static final String[] SOURCE_ARCHIVE_SUFFIXES = {".jar", ".zip"};
+
     /**
      * The string to be prepended to the reported version.
      */
@@ -109,13 +131,23 @@ public final class JMLUnitNG implements Runnable {
      */
     private final JMLUnitNGConfiguration my_config;
     /**
-     * The set of files/directories we have cleaned on this run.
+     * The generation session for the current run; it holds the class
+     * information and the sets of files created and cleaned, and is
+     * disposed when the run ends.
+     */
+    private GenerationSession my_session;
+
+    /**
+     * The generation plan being built in the current run, if it is to be
+     * saved rather than rendered ("--save-plan"); null otherwise.
      */
-    private final Set<String> my_cleaned_files = new HashSet<>();
+    private GenerationPlan my_plan;
+
     /**
-     * The set of files/directories we have created on this run.
+     * The archives from which sources are read in the current run, by the
+     * zip file systems through which they are read.
      */
-    private final Set<String> my_created_files = new HashSet<>();
+    private final Map<FileSystem, File> my_source_archives = new HashMap<>();
     /**
      * The logger to use when generating output.
      */
@@ -184,6 +216,65 @@ public final class JMLUnitNG implements Runnable {
      * @return a JMLUnitNGConfiguration generated from the option store.
      */
     private static JMLUnitNGConfiguration getConfiguration
+    (final JMLUnitNGOptionStore the_options) {
+        if (the_options.isMaxTestsPerClassSet() && the_options.getMaxTestsPerClass() < 1) {
+            System.err.println("The maximum number of tests per class must be positive.");
+            Runtime.getRuntime().exit(1);
+        }
+        if (the_options.isPrefetchSet() && the_options.getPrefetch() < 1) {
+            System.err.println("The prefetch depth must be positive.");
+            Runtime.getRuntime().exit(1);
+        }
+        if (the_options.isCoveringStrengthSet() && the_options.getCoveringStrength() < 1) {
+            System.err.println("The covering strength must be positive.");
+            Runtime.getRuntime().exit(1);
+        }
+
+        final JMLUnitNGConfiguration result = createConfiguration(the_options);
+
+        // check for help request
+
+        if (the_options.isHelpSet() ||
+                (result.getFiles().size() == 0 && !result.isNoGenSet())) {
+            printHelp();
+            Runtime.getRuntime().exit(0);
+        }
+
+        // check for invalid RAC
+
+        if (result.isRACVersionSet() &&
+                !TestClassGenerator.VALID_RAC_VERSIONS.contains
+                        (result.getRACVersion())) {
+            System.err.println(invalidRACError());
+            Runtime.getRuntime().exit(1);
+        }
+
+        // tests for sources in archives are written next to the archives
+        // unless there is a destination, and the directories containing
+        // the archives are not ours to clean or prune
+
+        if ((result.isCleanSet() || result.isPruneSet()) && !result.isDestinationSet() &&
+                !result.isArchiveSet()) {
+            for (File f : result.getFiles()) {
+                if (isSourceArchive(f)) {
+                    System.err.println("Cleaning or pruning tests for sources in archives " +
+                            "requires a destination directory (--dest).");
+                    Runtime.getRuntime().exit(1);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Converts a CLOPS option store to a JMLUnitNGConfiguration, without
+     * checking the options or showing help information.
+     *
+     * @param the_options The option store.
+     * @return a JMLUnitNGConfiguration generated from the option store.
+     */
+    static JMLUnitNGConfiguration createConfiguration
     (final JMLUnitNGOptionStore the_options) {
         final JMLUnitNGConfiguration result = new JMLUnitNGConfiguration();
 
@@ -220,6 +311,8 @@ public final class JMLUnitNG implements Runnable {
 
         result.setDeprecation(the_options.isDeprecationSet());
         result.setInherited(the_options.isInheritedSet());
+        result.setShareInherited(the_options.isShareInheritedSet());
+        result.setRuntimeStrategies(the_options.isRuntimeStrategiesSet());
         result.setParallel(the_options.isParallelSet());
 
         // protection level requires special processing
@@ -244,22 +337,26 @@ public final class JMLUnitNG implements Runnable {
         result.setNoGen(the_options.isNoGenSet());
         result.setDryRun(the_options.isDryRunSet());
         result.setVerbose(the_options.isVerboseSet());
-
-        // check for help request
-
-        if (the_options.isHelpSet() ||
-                (result.getFiles().size() == 0 && !result.isNoGenSet())) {
-            printHelp();
-            Runtime.getRuntime().exit(0);
+        if (the_options.isArchiveSet()) {
+            result.setArchive(the_options.getArchive());
         }
-
-        // check for invalid RAC
-
-        if (result.isRACVersionSet() &&
-                !TestClassGenerator.VALID_RAC_VERSIONS.contains
-                        (result.getRACVersion())) {
-            System.err.println(invalidRACError());
-            Runtime.getRuntime().exit(1);
+        if (the_options.isIndexSet()) {
+            result.setIndex(the_options.getIndex());
+        }
+        if (the_options.isMaxTestsPerClassSet()) {
+            result.setMaxTestsPerClass(the_options.getMaxTestsPerClass());
+        }
+        if (the_options.isPrefetchSet()) {
+            result.setPrefetch(the_options.getPrefetch());
+        }
+        if (the_options.isCoveringStrengthSet()) {
+            result.setCoveringStrength(the_options.getCoveringStrength());
+        }
+        if (the_options.isSavePlanSet()) {
+            result.setSavePlan(the_options.getSavePlan());
+        }
+        if (the_options.isLoadPlanSet()) {
+            result.setLoadPlan(the_options.getLoadPlan());
         }
 
         return result;
@@ -278,7 +375,7 @@ public final class JMLUnitNG implements Runnable {
     /**
      * @return a String describing an invalid RAC setting error.
      */
-    private static String invalidRACError() {
+    static String invalidRACError() {
         final StringBuilder sb = new StringBuilder();
         sb.append("Invalid RAC version specified. Valid versions are: ");
         for (String s : TestClassGenerator.VALID_RAC_VERSIONS) {
@@ -315,6 +412,43 @@ public final class JMLUnitNG implements Runnable {
         return result;
     }
 
+    /**
+     * Returns a list of Java files in an archive, ignoring files generated
+     * by JMLUnitNG.
+     *
+     * @param the_archive The file system of the archive.
+     * @return A List of Java files.
+     * @throws IOException if the archive cannot be read.
+     */
+    private static List<Path> findJavaFiles(final FileSystem the_archive) throws IOException {
+        final List<Path> result = new LinkedList<>();
+        for (Path root : the_archive.getRootDirectories()) {
+            try (Stream<Path> paths = Files.walk(root)) {
+                paths.filter(p -> Files.isRegularFile(p) &&
+                                isJavaSourcePath(p.toString().replace('/', File.separatorChar)) &&
+                                !isJMLUnitNGGenerated(p))
+                        .forEach(result::add);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param the_file A file.
+     * @return true if the_file is an archive from which sources can be read,
+     * false otherwise.
+     */
+    private static boolean isSourceArchive(final File the_file) {
+        boolean result = false;
+        if (the_file.isFile()) {
+            final String name = the_file.getName().toLowerCase(Locale.ROOT);
+            for (String s : SOURCE_ARCHIVE_SUFFIXES) {
+                result |= name.endsWith(s);
+            }
+        }
+        return result;
+    }
+
     /**
      * @param the_path A pathname.
      * @return true if the specified pathname represents a Java file
@@ -336,17 +470,7 @@ public final class JMLUnitNG implements Runnable {
         try {
             if (the_file.exists() && !the_file.isDirectory()) {
                 // it's a file so it's generated by us if it has our comment
-                final BufferedReader br = new BufferedReader(new FileReader(the_file));
-                boolean gen_string_found = false;
-                boolean dnm_string_found = false;
-                String line = br.readLine();
-                while (line != null && (!gen_string_found || !dnm_string_found)) {
-                    gen_string_found |= line.contains(GEN_STRING);
-                    dnm_string_found |= line.contains(DNM_STRING);
-                    line = br.readLine();
-                }
-                br.close();
-                result = gen_string_found && dnm_string_found;
+                result = isJMLUnitNGGenerated(the_file.toPath());
             } else if (the_file.exists()) {
                 // it's a directory so it's generated by us if it has the right suffix
                 result = the_file.getCanonicalPath().endsWith(SP_SUFFIX);
@@ -359,6 +483,42 @@ public final class JMLUnitNG implements Runnable {
         return result;
     }
 
+    /**
+     * @param the_path The file to check, which may be in an archive.
+     * @return true if the file has the comment that marks files
+     * generated by JMLUnitNG, false otherwise.
+     */
+    private static /*@ helper @*/ boolean isJMLUnitNGGenerated(final Path the_path) {
+        boolean result = false;
+        try (BufferedReader br =
+                     new BufferedReader(new InputStreamReader(Files.newInputStream(the_path)))) {
+            boolean gen_string_found = false;
+            boolean dnm_string_found = false;
+            String line = br.readLine();
+            while (line != null && (!gen_string_found || !dnm_string_found)) {
+                gen_string_found |= line.contains(GEN_STRING);
+                dnm_string_found |= line.contains(DNM_STRING);
+                line = br.readLine();
+            }
+            result = gen_string_found && dnm_string_found;
+        } catch (final IOException e) {
+            // if we got an exception, we couldn't read the file, so let's
+            // assume we didn't generate it
+            result = false;
+        }
+        return result;
+    }
+
+    /**
+     * @param the_source The contents of a source file.
+     * @return true if the source has the comment that marks files
+     * generated by JMLUnitNG, false otherwise.
+     */
+    static /*@ helper @*/ boolean isJMLUnitNGGenerated(final CharSequence the_source) {
+        final String source = the_source.toString();
+        return source.contains(GEN_STRING) && source.contains(DNM_STRING);
+    }
+
     /**
      * Generates a human-readable string representing an elapsed time.
      *
@@ -394,16 +554,28 @@ public final class JMLUnitNG implements Runnable {
         if (my_config.isDryRunSet()) {
             my_logger.println(">>> DRY RUN <<<");
         }
-        if (my_config.isCleanSet()) {
-            cleanAllFiles();
-        }
+        my_session = new GenerationSession(generateClasspath());
         try {
-            processAllCompilationUnits();
-        } catch (final IOException e) {
-            throw new JMLUnitNGError(e);
-        }
-        if (my_config.isPruneSet()) {
-            pruneAllFiles();
+            if (my_config.isCleanSet() && my_config.isArchiveSet()) {
+                cleanArchive();
+            } else if (my_config.isCleanSet()) {
+                cleanAllFiles();
+            }
+            try {
+                processAllCompilationUnits();
+            } catch (final IOException e) {
+                throw new JMLUnitNGError(e);
+            }
+            // an archive is pruned as it is rewritten, and nothing is
+            // pruned when the plan is saved rather than rendered
+            if (my_config.isPruneSet() && !my_config.isArchiveSet() &&
+                    !my_config.isSavePlanSet()) {
+                pruneAllFiles();
+            }
+        } finally {
+            closeSourceArchives();
+            my_session.dispose();
+            my_session = null;
         }
 
         my_logger.print("Elapsed time ");
@@ -413,27 +585,66 @@ public final class JMLUnitNG implements Runnable {
     }
 
     /**
+     * Finds the files to be processed. Sources in zip/jar archives are read
+     * in place, through file systems that stay open until the end of the run.
+     *
      * @return A list of files to be processed.
+     * @throws IOException if an archive cannot be opened.
      */
-    private List<File> filesToProcess() {
-        final Set<File> file_set = new HashSet<>();
+    private List<Path> filesToProcess() throws IOException {
+        final Set<Path> file_set = new HashSet<>();
 
         for (File f : my_config.getFiles()) {
             if (f.isDirectory()) {
-                file_set.addAll(findJavaFiles(f));
+                for (File j : findJavaFiles(f)) {
+                    file_set.add(j.toPath());
+                }
             } else if (f.getPath().endsWith(JAVA_SUFFIX)) {
                 try {
-                    file_set.add(f.getCanonicalFile());
+                    file_set.add(f.getCanonicalFile().toPath());
                 } catch (final IOException e) {
                     // this should never happen
                     throw new JMLUnitNGError("I/O exception while finding files.", e);
                 }
-            } // don't add non-java files to the list
+            } else if (isSourceArchive(f)) {
+                final FileSystem archive = FileSystems.newFileSystem(f.toPath());
+                my_source_archives.put(archive, f.getCanonicalFile());
+                file_set.addAll(findJavaFiles(archive));
+            } // don't add other non-java files to the list
         }
 
         return new ArrayList<>(file_set);
     }
 
+    /**
+     * Closes the file systems of all the archives from which sources were read.
+     */
+    private void closeSourceArchives() {
+        for (FileSystem fs : my_source_archives.keySet()) {
+            try {
+                fs.close();
+            } catch (final IOException e) {
+                my_logger.println("Could not close " + my_source_archives.get(fs));
+            }
+        }
+        my_source_archives.clear();
+    }
+
+    /**
+     * @param the_source A source file, which may be in an archive.
+     * @return the key that identifies the_source in the index.
+     * @throws IOException if the canonical path of the_source cannot be found.
+     */
+    private String indexKey(final Path the_source) throws IOException {
+        final String result;
+        if (my_source_archives.containsKey(the_source.getFileSystem())) {
+            result = the_source.toUri().toString();
+        } else {
+            result = the_source.toFile().getCanonicalPath();
+        }
+        return result;
+    }
+
     /**
      * Extracts the classpath from the command line options.
      *
@@ -497,7 +708,7 @@ public final class JMLUnitNG implements Runnable {
         // --prune is also set, so we need to find out what files to prune
 
         if (!my_config.isNoGenSet() || my_config.isPruneSet()) {
-            final List<File> file_list = filesToProcess();
+            final List<Path> file_list = filesToProcess();
             final String classpath = generateClasspath();
             final String specspath = generateSpecspath();
             final String[] openjml_args =
@@ -510,48 +721,147 @@ public final class JMLUnitNG implements Runnable {
                 JavaParser jp = new JavaParser(config);
 
 
-                final List<ParseResult<CompilationUnit>> units =
-                        file_list.stream().map(it -> {
-                                    try {
-                                        return jp.parse(it);
-                                    } catch (FileNotFoundException e) {
-                                        e.printStackTrace();
-                                        return null;
-                                    }
-                                })
-                                .collect(Collectors.toList());
-                final int numOfErrors = units.stream().mapToInt(it -> it.getProblems().size()).sum();
+                // unchanged source files are not parsed if they are indexed
+                ModelIndex index = null;
+                if (my_config.isIndexSet()) {
+                    index = ModelIndex.load(new File(my_config.getIndex()));
+                }
+                final Map<Path, CompilationUnit> units = new HashMap<>();
+                final Map<Path, ModelIndex.Entry> entries = new HashMap<>();
+                final Map<Path, String> hashes = new HashMap<>();
+                int numOfErrors = 0;
+                for (Path f : file_list) {
+                    final byte[] contents = Files.readAllBytes(f);
+                    if (index != null) {
+                        hashes.put(f, ModelIndex.hash(contents));
+                        final ModelIndex.Entry entry = index.get(indexKey(f),
+                                hashes.get(f), my_config.isLiteralsSet());
+                        if (entry != null) {
+                            entries.put(f, entry);
+                            continue;
+                        }
+                    }
+                    final ParseResult<CompilationUnit> r = parse(jp, f, contents);
+                    numOfErrors = numOfErrors + r.getProblems().size();
+                    r.getResult().ifPresent(u -> units.put(f, u));
+                }
                 if (numOfErrors > 0) {
                     throw new JMLUnitNGError(
                             "Encountered " + numOfErrors + " compilation errors: \n" + openjml_results);
                 }
+                if (index != null) {
+                    my_logger.println("Using indexed class information for " + entries.size() +
+                            " of " + file_list.size() + " source files");
+                }
 
                 // get class info for all classes before generating tests for any,
                 // to enable reflective generation of child classes
-                InfoFactory.generateInfos(units.stream().map(it -> it.getResult().get()).collect(Collectors.toList()));
-                for (ParseResult<CompilationUnit> r : units) {
-                    CompilationUnit u = r.getResult().get();
-                    processCompilationUnit(u, InfoFactory.getClassInfo(u));
-                    if (!my_config.isNoGenSet()) {
-                        my_logger.println();
+                final InfoFactory factory = my_session.getInfoFactory();
+                factory.generateInfos(new ArrayList<>(units.values()), entries.values());
+                if (index != null) {
+                    for (Map.Entry<Path, CompilationUnit> e : units.entrySet()) {
+                        final ClassInfo info = factory.getClassInfo(e.getValue());
+                        if (info != null) {
+                            index.put(indexKey(e.getKey()),
+                                    ModelIndex.createEntry(info, hashes.get(e.getKey()),
+                                            my_config.isLiteralsSet()));
+                        }
+                    }
+                    if (!my_config.isDryRunSet()) {
+                        index.save(new File(my_config.getIndex()));
                     }
                 }
+
+                // rendered sources are written by a separate I/O stage
+                // for the whole run; an archive is rewritten even if nothing
+                // is generated, when it has to be pruned
+                GeneratedSourceWriter writer = null;
+                if (my_config.isArchiveSet() && !my_config.isDryRunSet() &&
+                        (!my_config.isNoGenSet() || my_config.isPruneSet())) {
+                    writer = new ArchiveSourceWriter(new File(my_config.getArchive()),
+                            outputRoot(), GEN_STRING, my_config.isPruneSet(),
+                            my_session.getCreatedFiles());
+                } else if (!my_config.isNoGenSet() && !my_config.isDryRunSet()) {
+                    writer = new GeneratedSourceWriter();
+                }
+                // tests are planned per compilation unit, unless a plan is
+                // loaded; a plan that is saved is not rendered
+                if (my_config.isSavePlanSet()) {
+                    my_plan = new GenerationPlan(new TestClassGenerator
+                            (my_config, my_logger, my_session, null).getRenderSettings());
+                }
+                try {
+                    if (my_config.isLoadPlanSet()) {
+                        generatePlannedTests(writer);
+                    } else {
+                        for (Path f : file_list) {
+                            final ClassInfo info;
+                            if (entries.containsKey(f)) {
+                                info = factory.getClassInfo(entries.get(f).getClassName());
+                            } else {
+                                info = factory.getClassInfo(units.get(f));
+                            }
+                            processCompilationUnit(f, info, writer);
+                            if (!my_config.isNoGenSet()) {
+                                my_logger.println();
+                            }
+                        }
+                    }
+                } finally {
+                    if (writer != null) {
+                        writer.close();
+                    }
+                }
+                if (my_plan != null) {
+                    my_logger.println("Saving generation plan for " + my_plan.getItems().size() +
+                            " files to " + my_config.getSavePlan());
+                    if (!my_config.isDryRunSet()) {
+                        my_plan.save(new File(my_config.getSavePlan()));
+                    }
+                    my_plan = null;
+                }
             } catch (final Exception e) {
                 throw new JMLUnitNGError("Could not construct OpenJML API", e);
             }
         }
     }
 
+    /**
+     * Parses the specified source file. Method bodies are only parsed if
+     * their literals are needed (the "--literals" option); otherwise,
+     * only declarations and specifications are parsed.
+     *
+     * @param the_parser   The parser.
+     * @param the_file     The source file, which may be in an archive.
+     * @param the_contents The contents of the source file.
+     * @return the result of parsing the_file.
+     */
+    private ParseResult<CompilationUnit> parse(final JavaParser the_parser,
+                                               final Path the_file,
+                                               final byte[] the_contents) {
+        final Charset encoding = the_parser.getParserConfiguration().getCharacterEncoding();
+        String source = new String(the_contents, encoding);
+        if (!my_config.isLiteralsSet()) {
+            source = BodyStripper.strip(source);
+        }
+        final ParseResult<CompilationUnit> result = the_parser.parse(source);
+        result.getResult().ifPresent(u -> u.setStorage(the_file, encoding));
+        return result;
+    }
+
     /**
      * Performs all source processing of the given compilation unit.
      *
-     * @param unit The compilation unit to process.
-     * @param info The class information generated from the
-     *             compilation unit.
+     * @param source The source file of the compilation unit to process.
+     * @param info The class information generated (or loaded from
+     *             the index) for the compilation unit.
+     * @param writer The writer for generated sources, or null if
+     *               nothing is to be written.
      * @throws IOException Thrown if source output fails.
      */
-    private void processCompilationUnit(final CompilationUnit unit,
-                                        final ClassInfo info)
+    private void processCompilationUnit(final Path source,
+                                        final ClassInfo info,
+                                        final GeneratedSourceWriter writer)
             throws IOException {
         if (!my_config.isNoGenSet()) {
             my_logger.print("Processing ");
@@ -567,63 +877,74 @@ public final class JMLUnitNG implements Runnable {
             }
         }
 
-        boolean generate = true;
-        if (info.isAbstract() && info.getNestedClasses().isEmpty() &&
-                info.getTestableMethods().isEmpty()) {
-            if (!my_config.isNoGenSet()) {
-                my_logger.println("Not generating tests for abstract class with " +
-                        "no concrete static methods");
-            }
-            generate = false;
+        final String reason = getSkipReason(info, my_config);
+        if (reason == null) {
+            generateTests(source, info, writer);
+        } else if (!my_config.isNoGenSet()) {
+            my_logger.println(reason);
         }
-        if (info.isEnumeration()) {
-            if (!my_config.isNoGenSet()) {
-                my_logger.println("Not generating tests for enumeration");
-            }
-            generate = false;
-        }
-        if (info.getProtectionLevel().strongerThan(my_config.getProtectionLevel())) {
-            if (!my_config.isNoGenSet()) {
-                my_logger.println("Not generating tests for " + info.getProtectionLevel() +
-                        " " + info + ", configured for " +
-                        my_config.getProtectionLevel());
-            }
-            generate = false;
-        }
-        if (generate) {
+    }
+
+    /**
+     * Determines whether tests are to be generated for the specified class.
+     *
+     * @param the_class  The class.
+     * @param the_config The configuration.
+     * @return null if tests are to be generated for the_class, or the
+     * reason they are not otherwise.
+     */
+    static /*@ pure @*/ String getSkipReason(final /*@ non_null @*/ ClassInfo the_class,
+                                             final /*@ non_null @*/ JMLUnitNGConfiguration the_config) {
+        String result = null;
+        if (the_class.isAbstract() && the_class.getNestedClasses().isEmpty() &&
+                the_class.getTestableMethods().isEmpty()) {
+            result = "Not generating tests for abstract class with no concrete static methods";
+        } else if (the_class.isEnumeration()) {
+            result = "Not generating tests for enumeration";
+        } else if (the_class.getProtectionLevel().strongerThan(the_config.getProtectionLevel())) {
+            result = "Not generating tests for " + the_class.getProtectionLevel() + " " +
+                    the_class + ", configured for " + the_config.getProtectionLevel();
+        } else {
             boolean usable_constructor = false;
-            for (MethodInfo m : info.getConstructors()) {
+            for (MethodInfo m : the_class.getConstructors()) {
                 usable_constructor |=
                         m.isConstructor() &&
-                                m.getProtectionLevel().weakerThanOrEqualTo(my_config.getProtectionLevel());
+                                m.getProtectionLevel().weakerThanOrEqualTo(the_config.getProtectionLevel());
             }
-            if (!usable_constructor && !my_config.isNoGenSet()) {
-                my_logger.println("Not generating tests for " + info + " with no " +
-                        my_config.getProtectionLevel() +
-                        " (or weaker) constructors");
+            if (!usable_constructor) {
+                result = "Not generating tests for " + the_class + " with no " +
+                        the_config.getProtectionLevel() + " (or weaker) constructors";
             }
-            generate &= usable_constructor;
-        }
-        if (generate) {
-            generateTests(unit, info);
         }
+        return result;
     }
 
     /**
      * Generates tests for the specified compilation unit.
      *
-     * @param unit The compilation unit.
+     * @param source The source file of the compilation unit.
      * @param info The class information for the compilation unit.
+     * @param writer The writer for generated sources, or null if
+     *               nothing is to be written.
      * @throws IOException if there is a problem generating tests.
      */
-    private void generateTests(final CompilationUnit unit,
-                               final ClassInfo info) throws IOException {
-        final TestClassGenerator generator = new TestClassGenerator(my_config, my_logger);
-        final String[] dirs = getDirectories(unit, info);
+    private void generateTests(final Path source,
+                               final ClassInfo info,
+                               final GeneratedSourceWriter writer) throws IOException {
+        final TestClassGenerator generator =
+                new TestClassGenerator(my_config, my_logger, my_session, writer);
+        final String[] dirs = getDirectories(source, info);
+        if (my_plan != null) {
+            // the plan is saved rather than rendered, so no directories are needed
+            my_plan.addAll(generator.planClasses(info, outputRoot(), dirs[0],
+                                                 dirs[dirs.length - 1]));
+            return;
+        }
         String strategy_dir = dirs[0];
         for (String s : dirs) {
             final File f = new File(s);
-            if (!my_config.isNoGenSet() && !info.getTestableMethods().isEmpty()) {
+            if (!my_config.isNoGenSet() && !my_config.isArchiveSet() &&
+                    !info.getTestableMethods().isEmpty()) {
                 // don't create dirs for classes with no testable methods
                 my_logger.println("Creating directory " + f);
                 if (!my_config.isDryRunSet() && !f.mkdirs() && !f.isDirectory()) {
@@ -631,17 +952,20 @@ public final class JMLUnitNG implements Runnable {
                             " for generated tests.");
                 }
             }
-            my_created_files.add(f.getCanonicalPath());
+            my_session.addCreatedFile(f.getCanonicalPath());
             strategy_dir = s;
         }
 
         generator.generateClasses(info, dirs[0], strategy_dir);
-        my_created_files.addAll(generator.getCreatedFiles());
+        my_session.addCreatedFiles(generator.getCreatedFiles());
 
-        // if either of our directories ended up empty, delete it
+        // if either of our directories ended up empty, delete it; sources
+        // may still be waiting in the writer, so it must be consulted first
         for (String s : dirs) {
             final File f = new File(s);
-            if (!my_config.isNoGenSet() && f.isDirectory() && f.listFiles().length == 0) {
+            if (!my_config.isNoGenSet() && !my_config.isArchiveSet() &&
+                    (writer == null || !writer.hasWrittenTo(f)) &&
+                    f.isDirectory() && f.listFiles().length == 0) {
                 my_logger.println("Removing empty directory " + f);
                 if (!my_config.isDryRunSet() && !f.delete()) {
                     my_logger.println("Could not remove empty directory " + f);
@@ -652,19 +976,55 @@ public final class JMLUnitNG implements Runnable {
     }
 
     /**
-     * @param unit The unit being processed.
+     * Generates the tests in a previously saved generation plan ("--load-plan"),
+     * which must have been made from the same sources and with the same settings.
+     *
+     * @param writer The writer for generated sources, or null if
+     *               nothing is to be written.
+     * @throws IOException if the plan cannot be read, or there is a problem
+     *                     generating tests.
+     */
+    private void generatePlannedTests(final GeneratedSourceWriter writer) throws IOException {
+        final GenerationPlan plan = GenerationPlan.load(new File(my_config.getLoadPlan()));
+        if (!my_config.isNoGenSet()) {
+            my_logger.println("Generating " + plan.getItems().size() + " files planned in " +
+                    my_config.getLoadPlan());
+        }
+        final Set<File> dirs = new HashSet<>();
+        for (GenerationPlan.Item i : plan.getItems()) {
+            final File f = i.getFile(outputRoot()).getParentFile();
+            if (dirs.add(f)) {
+                if (!my_config.isNoGenSet() && !my_config.isArchiveSet() && !f.isDirectory()) {
+                    my_logger.println("Creating directory " + f);
+                    if (!my_config.isDryRunSet() && !f.mkdirs() && !f.isDirectory()) {
+                        throw new JMLUnitNGError("Could not create directory " + f +
+                                " for generated tests.");
+                    }
+                }
+                my_session.addCreatedFile(f.getCanonicalPath());
+            }
+        }
+        final TestClassGenerator generator =
+                new TestClassGenerator(my_config, my_logger, my_session, writer);
+        generator.generateClasses(plan, outputRoot());
+        my_session.addCreatedFiles(generator.getCreatedFiles());
+    }
+
+    /**
+     * @param source The source file of the unit being processed.
      * @param info The class information for the unit being processed.
      * @return An array of directory names to create/use for the specified unit.
      */
-    private String[] getDirectories(final CompilationUnit unit,
+    private String[] getDirectories(final Path source,
                                     final ClassInfo info) {
         String[] result;
         final STGroup group = StringTemplateUtil.load("shared_java");
         final ST sp_template = group.getInstanceOf("strategyPackageShortName");
         sp_template.add("classInfo", info);
 
-        final String output_dir = generateDestinationDirectory(unit);
-        if (info.isPackaged()) {
+        final String output_dir = generateDestinationDirectory(source, info);
+        // runtime strategies need no strategy package
+        if (info.isPackaged() && !my_config.isRuntimeStrategiesSet()) {
             final String strategy_dir =
                     output_dir + sp_template.render() + File.separator;
             result = new String[]{output_dir, strategy_dir};
@@ -680,14 +1040,8 @@ public final class JMLUnitNG implements Runnable {
      */
     private void pruneAllFiles() {
         my_logger.println("Pruning obsolete JMLUnitNG-generated files");
-        my_cleaned_files.clear();
-        final Set<File> files_to_prune = new HashSet<>();
-        if (my_config.isDestinationSet()) {
-            files_to_prune.add(new File(my_config.getDestination()));
-        } else {
-            files_to_prune.addAll(my_config.getFiles());
-        }
-        for (File f : files_to_prune) {
+        my_session.resetCleanedFiles();
+        for (File f : filesToCleanOrPrune()) {
             try {
                 cleanOrPruneFile(f, true);
             } catch (final IOException e) {
@@ -703,13 +1057,7 @@ public final class JMLUnitNG implements Runnable {
      */
     private void cleanAllFiles() {
         my_logger.println("Cleaning old JMLUnitNG-generated files");
-        final Set<File> files_to_clean = new HashSet<>();
-        if (my_config.isDestinationSet()) {
-            files_to_clean.add(new File(my_config.getDestination()));
-        } else {
-            files_to_clean.addAll(my_config.getFiles());
-        }
-        for (File f : files_to_clean) {
+        for (File f : filesToCleanOrPrune()) {
             try {
                 cleanOrPruneFile(f, false);
             } catch (final IOException e) {
@@ -720,6 +1068,61 @@ public final class JMLUnitNG implements Runnable {
         my_logger.println();
     }
 
+    /**
+     * @return the files/directories to clean or prune (recursively); the
+     * destination directory, if one is set, or the files in path-list other
+     * than source archives. The directories containing source archives are
+     * never cleaned or pruned, since they may hold more than our output.
+     */
+    private Set<File> filesToCleanOrPrune() {
+        final Set<File> result = new HashSet<>();
+        if (my_config.isDestinationSet()) {
+            result.add(new File(my_config.getDestination()));
+        } else {
+            for (File f : my_config.getFiles()) {
+                if (!isSourceArchive(f)) {
+                    result.add(f);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Cleans the output archive, by removing it if it was generated by
+     * JMLUnitNG.
+     */
+    private void cleanArchive() {
+        my_logger.println("Cleaning old JMLUnitNG-generated archive");
+        final File archive = new File(my_config.getArchive());
+        if (archive.exists()) {
+            if (ArchiveSourceWriter.isGeneratedArchive(archive, GEN_STRING)) {
+                my_logger.println("Deleting " + archive);
+                if (!my_config.isDryRunSet() && !archive.delete()) {
+                    my_logger.println("Unable to delete " + archive + ", check permissions.");
+                }
+            } else {
+                my_logger.println("Not deleting " + archive +
+                        ", which was not generated by JMLUnitNG");
+            }
+        }
+        my_logger.println("Cleaning complete");
+        my_logger.println();
+    }
+
+    /**
+     * @return the directory that package-structured output (and archive
+     * entry names) are relative to; the destination directory, if one is
+     * set, or the current directory.
+     */
+    private File outputRoot() {
+        File result = new File("").getAbsoluteFile();
+        if (my_config.isDestinationSet()) {
+            result = new File(my_config.getDestination()).getAbsoluteFile();
+        }
+        return result;
+    }
+
     /**
      * Clean or prune the specified file/directory (recursively), by removing any
      * JMLUnitNG-generated files and directories.
@@ -731,10 +1134,11 @@ public final class JMLUnitNG implements Runnable {
      */
     private void cleanOrPruneFile
     (final File the_file, final boolean the_prune) throws IOException {
-        if (my_cleaned_files.add(the_file.getCanonicalPath()) && the_file.exists()) {
+        if (my_session.addCleanedFile(the_file.getCanonicalPath()) && the_file.exists()) {
             final boolean one_of_ours =
                     isJMLUnitNGGenerated(the_file) &&
-                            (!the_prune || !my_created_files.contains(the_file.getCanonicalPath()));
+                            (!the_prune ||
+                                    !my_session.getCreatedFiles().contains(the_file.getCanonicalPath()));
             if (the_file.isDirectory()) {
                 for (File f : the_file.listFiles(JavaSuffixFilter.instance())) {
                     cleanOrPruneFile(f, the_prune);
@@ -761,21 +1165,31 @@ public final class JMLUnitNG implements Runnable {
     }
 
     /**
-     * Generates the destination filename of the given CompilationUnit for the given options.
+     * Generates the destination filename of the given compilation unit for the given options.
      *
-     * @param the_unit The CompilationUnit for which to generate a filename.
+     * @param the_source The source file of the compilation unit for which to
+     *                   generate a filename.
+     * @param the_info   The class information for the compilation unit.
      * @return the generated filename.
      */
-    private String generateDestinationDirectory(final CompilationUnit the_unit) {
+    private String generateDestinationDirectory(final Path the_source,
+                                                final ClassInfo the_info) {
         String output_dir = DEF_OUTPUT_DIR;
-        if (my_config.isDestinationSet()) {
-            final StringBuilder sb = new StringBuilder(my_config.getDestination());
+        final File source_archive = my_source_archives.get(the_source.getFileSystem());
+        if (my_config.isDestinationSet() || my_config.isArchiveSet() || source_archive != null) {
+            // archives are always laid out by package, and so are tests for
+            // sources in archives (next to the archive, if there is no destination)
+            File root = outputRoot();
+            if (source_archive != null && !my_config.isDestinationSet() &&
+                    !my_config.isArchiveSet()) {
+                root = source_archive.getParentFile();
+            }
+            final StringBuilder sb = new StringBuilder(root.getPath());
             if (!(output_dir.endsWith("\\") || output_dir.endsWith("/"))) {
                 sb.append(File.separator);
             }
-            if (the_unit.getPackageDeclaration().isPresent()) {
-                sb.append(the_unit.getPackageDeclaration().get().getNameAsString()
-                        .replace('.', File.separatorChar));
+            if (the_info.isPackaged()) {
+                sb.append(the_info.getPackageName().replace('.', File.separatorChar));
             }
             if (!(output_dir.endsWith("\\") || output_dir.endsWith("/"))) {
                 sb.append(File.separator);
@@ -784,7 +1198,7 @@ public final class JMLUnitNG implements Runnable {
             output_dir = sb.toString().replace('\\', File.separatorChar);
             output_dir = output_dir.replace('/', File.separatorChar);
         } else {
-            output_dir = the_unit.getStorage().get().getPath().getParent() + File.separator;
+            output_dir = the_source.toAbsolutePath().getParent() + File.separator;
         }
         return output_dir;
     }
@@ -61,6 +61,18 @@ public class JMLUnitNGConfiguration {
      */
     private boolean my_inherited;
 
+    /**
+     * A flag indicating whether the "--share-inherited" option is on;
+     * the default value is off.
+     */
+    private boolean my_share_inherited;
+
+    /**
+     * A flag indicating whether the "--runtime-strategies" option is on;
+     * the default value is off.
+     */
+    private boolean my_runtime_strategies;
+
     /**
      * A flag indicating whether the "--parallel" option is on;
      * the default value is off.
@@ -127,6 +139,63 @@ public class JMLUnitNGConfiguration {
      */
     private boolean my_verbose;
 
+    /**
+     * The archive into which generated sources are written (the "--archive"
+     * option). This is the empty String by default, meaning that generated
+     * sources are written to the file system.
+     */
+    private String my_archive = "";
+
+    /**
+     * The index file of extracted class information (the "--index" option).
+     * This is the empty String by default, meaning that every source file
+     * is parsed on every run.
+     */
+    private String my_index = "";
+
+    /**
+     * The maximum number of tests in a generated test class (the
+     * "--max-tests-per-class" option); test classes with more tests are
+     * split into shards. This is 0 by default, meaning that there is no
+     * maximum.
+     */
+    private int my_max_tests_per_class;
+
+    /**
+     * The number of test parameter lists that generated data providers
+     * prefetch (the "--prefetch" option). This is 0 by default, meaning
+     * that data providers do not prefetch.
+     */
+    private int my_prefetch;
+
+    /**
+     * The strength of the covering arrays used by generated data providers
+     * (the "--covering-strength" option). This is 0 by default, meaning
+     * that data providers use all combinations of parameter values.
+     */
+    private int my_covering_strength;
+
+    /**
+     * The file to which the generation plan is saved instead of being
+     * rendered (the "--save-plan" option). This is the empty String by
+     * default, meaning that the plan is rendered.
+     */
+    private String my_save_plan = "";
+
+    /**
+     * The file from which a previously saved generation plan is loaded and
+     * rendered (the "--load-plan" option). This is the empty String by
+     * default, meaning that tests are planned in the same run.
+     */
+    private String my_load_plan = "";
+
+    /**
+     * A flag indicating whether the tests are compiled in the same
+     * compilation as the classes under test, as when they are generated
+     * by the annotation processor; the default value is off.
+     */
+    private boolean my_same_compilation;
+
     // default constructor
 
     // destination settings
@@ -282,6 +351,42 @@ public class JMLUnitNGConfiguration {
         return my_inherited;
     }
 
+    // share inherited setting
+
+    /**
+     * Sets the "--share-inherited" option.
+     *
+     * @param the_share_inherited The new setting.
+     */
+    public void setShareInherited(final boolean the_share_inherited) {
+        my_share_inherited = the_share_inherited;
+    }
+
+    /**
+     * @return the "--share-inherited" setting.
+     */
+    public /*@ pure @*/ boolean isShareInheritedSet() {
+        return my_share_inherited;
+    }
+
+    // runtime strategies setting
+
+    /**
+     * Sets the "--runtime-strategies" option.
+     *
+     * @param the_runtime_strategies The new setting.
+     */
+    public void setRuntimeStrategies(final boolean the_runtime_strategies) {
+        my_runtime_strategies = the_runtime_strategies;
+    }
+
+    /**
+     * @return the "--runtime-strategies" setting.
+     */
+    public /*@ pure @*/ boolean isRuntimeStrategiesSet() {
+        return my_runtime_strategies;
+    }
+
     // parallel setting
 
     /**
@@ -479,4 +584,225 @@ public class JMLUnitNGConfiguration {
     public /*@ pure @*/ boolean isVerboseSet() {
         return my_verbose;
     }
+
+    // archive setting
+
+    /**
+     * @return the zip/jar archive into which generated sources are written,
+     * or the empty string if they are written to the file system.
+     */
+    public /*@ pure @*/ String getArchive() {
+        return my_archive;
+    }
+
+    /**
+     * Sets the zip/jar archive into which generated sources are written;
+     * the empty string results in generated sources being written to the
+     * file system.
+     *
+     * @param the_archive The archive file name.
+     */
+    public void setArchive(final String the_archive) {
+        my_archive = the_archive;
+    }
+
+    /**
+     * @return true if an archive for generated sources has been set,
+     * false otherwise.
+     */
+    public /*@ pure @*/ boolean isArchiveSet() {
+        return my_archive.length() > 0;
+    }
+
+    // index setting
+
+    /**
+     * @return the index file of extracted class information, or the empty
+     * string if no index is used.
+     */
+    public /*@ pure @*/ String getIndex() {
+        return my_index;
+    }
+
+    /**
+     * Sets the index file of extracted class information; the empty string
+     * results in every source file being parsed on every run.
+     *
+     * @param the_index The index file name.
+     */
+    public void setIndex(final String the_index) {
+        my_index = the_index;
+    }
+
+    /**
+     * @return true if an index file has been set, false otherwise.
+     */
+    public /*@ pure @*/ boolean isIndexSet() {
+        return my_index.length() > 0;
+    }
+
+    /**
+     * @return the maximum number of tests in a generated test class, or 0
+     * if there is no maximum.
+     */
+    public /*@ pure @*/ int getMaxTestsPerClass() {
+        return my_max_tests_per_class;
+    }
+
+    /**
+     * Sets the maximum number of tests in a generated test class; 0 results
+     * in test classes that are never split.
+     *
+     * @param the_max_tests The maximum number of tests.
+     * @throws IllegalArgumentException if the_max_tests is negative.
+     */
+    //@ requires the_max_tests >= 0;
+    public void setMaxTestsPerClass(final int the_max_tests) {
+        if (the_max_tests < 0) {
+            throw new IllegalArgumentException("maximum tests per class cannot be negative");
+        }
+        my_max_tests_per_class = the_max_tests;
+    }
+
+    /**
+     * @return true if a maximum number of tests per test class has been
+     * set, false otherwise.
+     */
+    public /*@ pure @*/ boolean isMaxTestsPerClassSet() {
+        return my_max_tests_per_class > 0;
+    }
+
+    /**
+     * @return the number of test parameter lists that generated data
+     * providers prefetch, or 0 if they do not prefetch.
+     */
+    public /*@ pure @*/ int getPrefetch() {
+        return my_prefetch;
+    }
+
+    /**
+     * Sets the number of test parameter lists that generated data providers
+     * prefetch; 0 results in data providers that do not prefetch.
+     *
+     * @param the_prefetch The number of parameter lists.
+     * @throws IllegalArgumentException if the_prefetch is negative.
+     */
+    //@ requires the_prefetch >= 0;
+    public void setPrefetch(final int the_prefetch) {
+        if (the_prefetch < 0) {
+            throw new IllegalArgumentException("prefetch depth cannot be negative");
+        }
+        my_prefetch = the_prefetch;
+    }
+
+    /**
+     * @return true if generated data providers prefetch, false otherwise.
+     */
+    public /*@ pure @*/ boolean isPrefetchSet() {
+        return my_prefetch > 0;
+    }
+
+    /**
+     * @return the strength of the covering arrays used by generated data
+     * providers, or 0 if they use all combinations of parameter values.
+     */
+    public /*@ pure @*/ int getCoveringStrength() {
+        return my_covering_strength;
+    }
+
+    /**
+     * Sets the strength of the covering arrays used by generated data
+     * providers; 0 results in data providers that use all combinations
+     * of parameter values.
+     *
+     * @param the_strength The strength.
+     * @throws IllegalArgumentException if the_strength is negative.
+     */
+    //@ requires the_strength >= 0;
+    public void setCoveringStrength(final int the_strength) {
+        if (the_strength < 0) {
+            throw new IllegalArgumentException("covering strength cannot be negative");
+        }
+        my_covering_strength = the_strength;
+    }
+
+    /**
+     * @return true if generated data providers use covering arrays, false
+     * otherwise.
+     */
+    public /*@ pure @*/ boolean isCoveringStrengthSet() {
+        return my_covering_strength > 0;
+    }
+
+    /**
+     * @return the file to which the generation plan is saved, or the empty
+     * string if the plan is rendered.
+     */
+    public /*@ pure @*/ String getSavePlan() {
+        return my_save_plan;
+    }
+
+    /**
+     * Sets the file to which the generation plan is saved instead of being
+     * rendered; the empty string results in the plan being rendered.
+     *
+     * @param the_save_plan The plan file name.
+     */
+    public void setSavePlan(final String the_save_plan) {
+        my_save_plan = the_save_plan;
+    }
+
+    /**
+     * @return true if the generation plan is to be saved, false otherwise.
+     */
+    public /*@ pure @*/ boolean isSavePlanSet() {
+        return my_save_plan.length() > 0;
+    }
+
+    /**
+     * @return the file from which a generation plan is loaded, or the empty
+     * string if tests are planned in the same run.
+     */
+    public /*@ pure @*/ String getLoadPlan() {
+        return my_load_plan;
+    }
+
+    /**
+     * Sets the file from which a previously saved generation plan is loaded
+     * and rendered; the empty string results in tests being planned in the
+     * same run.
+     *
+     * @param the_load_plan The plan file name.
+     */
+    public void setLoadPlan(final String the_load_plan) {
+        my_load_plan = the_load_plan;
+    }
+
+    /**
+     * @return true if a generation plan is to be loaded, false otherwise.
+     */
+    public /*@ pure @*/ boolean isLoadPlanSet() {
+        return my_load_plan.length() > 0;
+    }
+
+    // same compilation setting
+
+    /**
+     * Sets whether the tests are compiled in the same compilation as the
+     * classes under test. This is not a command line option; it is set by
+     * the annotation processor.
+     *
+     * @param the_same_compilation The new setting.
+     */
+    public void setSameCompilation(final boolean the_same_compilation) {
+        my_same_compilation = the_same_compilation;
+    }
+
+    /**
+     * @return true if the tests are compiled in the same compilation as
+     * the classes under test, false otherwise.
+     */
+    public /*@ pure @*/ boolean isSameCompilationSet() {
+        return my_same_compilation;
+    }
 }
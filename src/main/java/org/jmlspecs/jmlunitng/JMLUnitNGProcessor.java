@@ -0,0 +1,345 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng;
+
+import com.sun.source.util.TreePath;
+import com.sun.source.util.Trees;
+import ie.ucd.clops.runtime.automaton.AutomatonException;
+import ie.ucd.clops.runtime.options.InvalidOptionPropertyValueException;
+import ie.ucd.clops.runtime.options.InvalidOptionValueException;
+import org.jmlspecs.jmlunitng.clops.JMLUnitNGParser;
+import org.jmlspecs.jmlunitng.generator.ClassInfo;
+import org.jmlspecs.jmlunitng.generator.GenerationPlan;
+import org.jmlspecs.jmlunitng.generator.GenerationSession;
+import org.jmlspecs.jmlunitng.generator.InfoFactory;
+import org.jmlspecs.jmlunitng.generator.TestClassGenerator;
+import org.jmlspecs.jmlunitng.util.Logger;
+import org.jmlspecs.jmlunitng.util.StringTemplateUtil;
+import org.stringtemplate.v4.ST;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An annotation processor that generates tests in the same compilation as
+ * the classes under test, from the compiler's own model of them, rather than
+ * parsing their sources again. It generates tests for every top-level class
+ * in the compilation (other than those generated by JMLUnitNG), writing the
+ * test and strategy classes as generated sources, which are compiled in the
+ * same compilation, and the literal pools as class output resources.
+ * <p>
+ * The processor runs only when the "jmlunitng.options" processor option is
+ * given; its value holds the JMLUnitNG options to use, as on the command
+ * line:
+ * <pre>
+ *   javac -Ajmlunitng.options="--rac-version openjml --literals" ...
+ * </pre>
+ * The options that choose files and where to put them ("-d", "--archive",
+ * "--index", "--save-plan", "--load-plan", "--clean", "--prune") are ignored,
+ * because the compiler chooses the files. The JMLUnitNG runtime, TestNG and
+ * the RAC runtime must be on the classpath of the compilation. JML
+ * specifications are comments to the compiler, so signals clauses and
+ * specification literals are not used.
+ * <p>
+ * Since the tests are compiled in the same compilation as the classes under
+ * test, they are RAC-compiled whenever those classes are. The OpenJML test
+ * classes normally check that they are not RAC-compiled themselves; the
+ * test classes generated by the processor check only that the class under
+ * test is RAC-compiled. To keep the tests free of RAC, generate them with
+ * the command line tool instead and compile them separately.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(JMLUnitNGProcessor.OPTIONS)
+public final class JMLUnitNGProcessor extends AbstractProcessor {
+    /**
+     * The processor option that holds the JMLUnitNG options.
+     */
+    public static final String OPTIONS = "jmlunitng.options";
+
+    /**
+     * The configuration, or null if the processor is not to run.
+     */
+    private JMLUnitNGConfiguration my_config;
+
+    /**
+     * The logger to use for printing output.
+     */
+    private Logger my_logger;
+
+    /**
+     * The generation session shared by all rounds of the compilation, or
+     * null if the processor is not to run.
+     */
+    private GenerationSession my_session;
+
+    /**
+     * The generator shared by all rounds of the compilation, or null if
+     * the processor is not to run.
+     */
+    private TestClassGenerator my_generator;
+
+    /**
+     * The trees of the compilation, or null if the compiler has none.
+     */
+    private Trees my_trees;
+
+    /**
+     * The qualified names of the classes generated in this compilation.
+     */
+    private final Set<String> my_generated_classes = new HashSet<>();
+
+    /**
+     * Initializes the processor, reading the JMLUnitNG options.
+     *
+     * @param the_env The processing environment of the compilation.
+     */
+    @Override
+    public synchronized void init(final ProcessingEnvironment the_env) {
+        super.init(the_env);
+        if (!the_env.getOptions().containsKey(OPTIONS)) {
+            return;
+        }
+        final String options = the_env.getOptions().get(OPTIONS);
+        final String[] args;
+        if (options == null || options.trim().isEmpty()) {
+            args = new String[0];
+        } else {
+            args = options.trim().split("\\s+");
+        }
+        final Messager messager = the_env.getMessager();
+        try {
+            final JMLUnitNGParser clops = new JMLUnitNGParser();
+            if (!clops.parse(args)) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Invalid " + OPTIONS + ": " + options);
+                return;
+            }
+            if (clops.getOptionStore().isMaxTestsPerClassSet() &&
+                    clops.getOptionStore().getMaxTestsPerClass() < 1) {
+                messager.printMessage(Diagnostic.Kind.ERROR,
+                        "The maximum number of tests per class must be positive.");
+                return;
+            }
+            if (clops.getOptionStore().isPrefetchSet() &&
+                    clops.getOptionStore().getPrefetch() < 1) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "The prefetch depth must be positive.");
+                return;
+            }
+            if (clops.getOptionStore().isCoveringStrengthSet() &&
+                    clops.getOptionStore().getCoveringStrength() < 1) {
+                messager.printMessage(Diagnostic.Kind.ERROR,
+                        "The covering strength must be positive.");
+                return;
+            }
+            final JMLUnitNGConfiguration config =
+                    JMLUnitNG.createConfiguration(clops.getOptionStore());
+            if (config.isRACVersionSet() &&
+                    !TestClassGenerator.VALID_RAC_VERSIONS.contains(config.getRACVersion())) {
+                messager.printMessage(Diagnostic.Kind.ERROR, JMLUnitNG.invalidRACError());
+                return;
+            }
+            config.setSameCompilation(true);
+            my_config = config;
+            my_logger = new Logger(config.isVerboseSet());
+            my_session = new GenerationSession();
+            my_generator = new TestClassGenerator(my_config, my_logger, my_session, null);
+        } catch (final InvalidOptionPropertyValueException | AutomatonException |
+                       InvalidOptionValueException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Invalid " + OPTIONS + ": " +
+                    e.getLocalizedMessage());
+            return;
+        }
+        try {
+            my_trees = Trees.instance(the_env);
+        } catch (final IllegalArgumentException e) {
+            // not javac, so generated classes are recognized only by name
+            my_trees = null;
+        }
+    }
+
+    /**
+     * @return the latest source version, since the processor reads only
+     * declarations and literals.
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /**
+     * Generates tests for the top-level classes of a round, and disposes
+     * of the generation session after the last round.
+     *
+     * @param the_annotations The annotation types of the round, ignored.
+     * @param the_round       The round.
+     * @return false, since no annotations are claimed.
+     */
+    @Override
+    public boolean process(final Set<? extends TypeElement> the_annotations,
+                           final RoundEnvironment the_round) {
+        if (my_config == null) {
+            return false;
+        }
+        if (the_round.processingOver()) {
+            my_session.dispose();
+            return false;
+        }
+        if (my_config.isNoGenSet()) {
+            return false;
+        }
+        final List<TypeElement> classes = new ArrayList<>();
+        for (Element e : the_round.getRootElements()) {
+            if (e instanceof TypeElement && isSourceClass((TypeElement) e)) {
+                classes.add((TypeElement) e);
+            }
+        }
+        if (classes.isEmpty()) {
+            return false;
+        }
+
+        // classes of earlier rounds stay in the session, so that classes
+        // of later rounds can refer to them
+        try {
+            final InfoFactory factory = my_session.getInfoFactory();
+            factory.generateInfos(classes, processingEnv);
+            for (TypeElement e : classes) {
+                final ClassInfo info = factory.getClassInfo(e.getQualifiedName().toString());
+                final String reason = JMLUnitNG.getSkipReason(info, my_config);
+                if (reason == null) {
+                    my_logger.println("Generating tests for " + info.getFullyQualifiedName());
+                    generateTests(my_generator, info, e);
+                } else {
+                    my_logger.println(reason);
+                }
+            }
+        } catch (final IOException | JMLUnitNGError e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not generate tests: " + e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * @param the_class A root element of a round.
+     * @return true if the_class is a top-level class that was not generated
+     * by JMLUnitNG, false otherwise.
+     */
+    private boolean isSourceClass(final TypeElement the_class) {
+        if (the_class.getNestingKind() != NestingKind.TOP_LEVEL ||
+                my_generated_classes.contains(the_class.getQualifiedName().toString())) {
+            return false;
+        }
+        boolean result = true;
+        if (my_trees != null) {
+            final TreePath path = my_trees.getPath(the_class);
+            if (path != null) {
+                try {
+                    result = !JMLUnitNG.isJMLUnitNGGenerated
+                            (path.getCompilationUnit().getSourceFile().getCharContent(true));
+                } catch (final IOException e) {
+                    // if we couldn't read the source, let's assume we didn't generate it
+                    result = true;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Plans the test and test data classes for the specified class, and
+     * renders and writes them through the compiler. Strategies that exist
+     * in the compilation already are not overwritten, so that modifications
+     * to them are kept.
+     *
+     * @param the_generator The generator.
+     * @param the_class     The class for which to generate tests.
+     * @param the_element   The type element of the_class.
+     * @throws IOException if a file cannot be written.
+     */
+    private void generateTests(final TestClassGenerator the_generator,
+                               final ClassInfo the_class,
+                               final TypeElement the_element) throws IOException {
+        final Filer filer = processingEnv.getFiler();
+
+        // plan as if the packages were directories, to find the package of each file
+        String test_package = "";
+        File test_dir = new File(".");
+        if (the_class.isPackaged()) {
+            test_package = the_class.getPackageName();
+            test_dir = new File(test_package.replace('.', File.separatorChar));
+        }
+        String strategy_package = test_package;
+        File strategy_dir = test_dir;
+        if (the_class.isPackaged() && !my_config.isRuntimeStrategiesSet()) {
+            final ST sp_template =
+                    StringTemplateUtil.load("shared_java").getInstanceOf("strategyPackageShortName");
+            sp_template.add("classInfo", the_class);
+            strategy_package = test_package + '.' + sp_template.render();
+            strategy_dir = new File(test_dir, sp_template.render());
+        }
+        final String strategy_path = strategy_dir.getCanonicalPath();
+
+        final File root = new File(".");
+        final GenerationPlan plan = the_generator.planClasses(the_class, root,
+                test_dir.getPath(), strategy_dir.getPath());
+        for (GenerationPlan.Item i : plan.getItems()) {
+            final File f = i.getFile(root);
+            String pkg = test_package;
+            if (f.getParentFile().getCanonicalPath().equals(strategy_path)) {
+                pkg = strategy_package;
+            }
+            if (i.getKind() == GenerationPlan.Kind.LITERAL_POOL) {
+                final byte[] pool = the_generator.renderLiteralPool(i);
+                if (!my_config.isDryRunSet()) {
+                    try (OutputStream out = filer.createResource(StandardLocation.CLASS_OUTPUT,
+                            pkg, f.getName(), the_element).openOutputStream()) {
+                        out.write(pool);
+                    }
+                }
+                continue;
+            }
+            final String simple_name =
+                    f.getName().substring(0, f.getName().length() - JMLUnitNG.JAVA_SUFFIX.length());
+            final String name = pkg.isEmpty() ? simple_name : pkg + '.' + simple_name;
+            if (my_generated_classes.contains(name) ||
+                    (i.getKind() != GenerationPlan.Kind.TEST_CLASS &&
+                            processingEnv.getElementUtils().getTypeElement(name) != null)) {
+                my_logger.println("Not overwriting existing " + name);
+                continue;
+            }
+            final StringWriter sw = new StringWriter();
+            the_generator.render(i, sw);
+            if (!my_config.isDryRunSet()) {
+                try (Writer out = filer.createSourceFile(name, the_element).openWriter()) {
+                    out.write(sw.toString());
+                }
+            }
+            my_generated_classes.add(name);
+        }
+    }
+}
@@ -29,6 +29,15 @@ public class JMLUnitNGOptionStore extends OptionStore implements JMLUnitNGOption
     private final FileListOption ogSpecspath;
     private final BooleanOption ogDryRun;
     private final BooleanOption ogNoGen;
+    private final StringOption ogArchive;
+    private final BooleanOption ogShareInherited;
+    private final StringOption ogIndex;
+    private final BooleanOption ogRuntimeStrategies;
+    private final IntegerOption ogMaxTestsPerClass;
+    private final StringOption ogSavePlan;
+    private final StringOption ogLoadPlan;
+    private final IntegerOption ogPrefetch;
+    private final IntegerOption ogCoveringStrength;
     private final CLOPSErrorOption CLOPSERROROPTION;
 
     public JMLUnitNGOptionStore() throws InvalidOptionPropertyValueException {
@@ -117,6 +126,33 @@ public class JMLUnitNGOptionStore extends OptionStore implements JMLUnitNGOption
         ogNoGen = new BooleanOption("NoGen", "(?:--no-gen)");
         addOption(ogNoGen);
         ogNoGen.setProperty("aliases", "--no-gen");
+        ogArchive = new StringOption("Archive", "(?:--archive)");
+        addOption(ogArchive);
+        ogArchive.setProperty("aliases", "--archive");
+        ogShareInherited = new BooleanOption("ShareInherited", "(?:--share-inherited)");
+        addOption(ogShareInherited);
+        ogShareInherited.setProperty("aliases", "--share-inherited");
+        ogIndex = new StringOption("Index", "(?:--index)");
+        addOption(ogIndex);
+        ogIndex.setProperty("aliases", "--index");
+        ogRuntimeStrategies = new BooleanOption("RuntimeStrategies", "(?:--runtime-strategies)");
+        addOption(ogRuntimeStrategies);
+        ogRuntimeStrategies.setProperty("aliases", "--runtime-strategies");
+        ogMaxTestsPerClass = new IntegerOption("MaxTestsPerClass", "(?:--max-tests-per-class)");
+        addOption(ogMaxTestsPerClass);
+        ogMaxTestsPerClass.setProperty("aliases", "--max-tests-per-class");
+        ogSavePlan = new StringOption("SavePlan", "(?:--save-plan)");
+        addOption(ogSavePlan);
+        ogSavePlan.setProperty("aliases", "--save-plan");
+        ogLoadPlan = new StringOption("LoadPlan", "(?:--load-plan)");
+        addOption(ogLoadPlan);
+        ogLoadPlan.setProperty("aliases", "--load-plan");
+        ogPrefetch = new IntegerOption("Prefetch", "(?:--prefetch)");
+        addOption(ogPrefetch);
+        ogPrefetch.setProperty("aliases", "--prefetch");
+        ogCoveringStrength = new IntegerOption("CoveringStrength", "(?:--covering-strength)");
+        addOption(ogCoveringStrength);
+        ogCoveringStrength.setProperty("aliases", "--covering-strength");
 
         CLOPSERROROPTION = new ie.ucd.clops.runtime.options.CLOPSErrorOption();
         addOption(CLOPSERROROPTION);
@@ -148,6 +184,15 @@ public class JMLUnitNGOptionStore extends OptionStore implements JMLUnitNGOption
         ogOption.addOptionOrGroup(ogPublic);
         ogOption.addOptionOrGroup(ogInherited);
         ogOption.addOptionOrGroup(ogRACVersion);
+        ogOption.addOptionOrGroup(ogArchive);
+        ogOption.addOptionOrGroup(ogShareInherited);
+        ogOption.addOptionOrGroup(ogIndex);
+        ogOption.addOptionOrGroup(ogRuntimeStrategies);
+        ogOption.addOptionOrGroup(ogMaxTestsPerClass);
+        ogOption.addOptionOrGroup(ogSavePlan);
+        ogOption.addOptionOrGroup(ogLoadPlan);
+        ogOption.addOptionOrGroup(ogPrefetch);
+        ogOption.addOptionOrGroup(ogCoveringStrength);
         //AllOptions group
         ogAllOptions.addOptionOrGroup(ogDestination);
         ogAllOptions.addOptionOrGroup(ogRACVersion);
@@ -172,6 +217,15 @@ public class JMLUnitNGOptionStore extends OptionStore implements JMLUnitNGOption
         ogAllOptions.addOptionOrGroup(ogSpecspath);
         ogAllOptions.addOptionOrGroup(ogDryRun);
         ogAllOptions.addOptionOrGroup(ogNoGen);
+        ogAllOptions.addOptionOrGroup(ogArchive);
+        ogAllOptions.addOptionOrGroup(ogShareInherited);
+        ogAllOptions.addOptionOrGroup(ogIndex);
+        ogAllOptions.addOptionOrGroup(ogRuntimeStrategies);
+        ogAllOptions.addOptionOrGroup(ogMaxTestsPerClass);
+        ogAllOptions.addOptionOrGroup(ogSavePlan);
+        ogAllOptions.addOptionOrGroup(ogLoadPlan);
+        ogAllOptions.addOptionOrGroup(ogPrefetch);
+        ogAllOptions.addOptionOrGroup(ogCoveringStrength);
     }
 
 // Option Destination.
@@ -818,4 +872,256 @@ public class JMLUnitNGOptionStore extends OptionStore implements JMLUnitNGOption
         return ogNoGen;
     }
 
+// Option Archive.
+// Aliases: [--archive]
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isArchiveSet() {
+        return ogArchive.hasValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getArchive() {
+        return ogArchive.getValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getRawArchive() {
+        return ogArchive.getRawValue();
+    }
+
+    public StringOption getArchiveOption() {
+        return ogArchive;
+    }
+
+// Option ShareInherited.
+// Aliases: [--share-inherited]
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isShareInheritedSet() {
+        return ogShareInherited.hasValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean getShareInherited() {
+        return ogShareInherited.getValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean getRawShareInherited() {
+        return ogShareInherited.getRawValue();
+    }
+
+    public BooleanOption getShareInheritedOption() {
+        return ogShareInherited;
+    }
+
+// Option Index.
+// Aliases: [--index]
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isIndexSet() {
+        return ogIndex.hasValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getIndex() {
+        return ogIndex.getValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getRawIndex() {
+        return ogIndex.getRawValue();
+    }
+
+    public StringOption getIndexOption() {
+        return ogIndex;
+    }
+
+// Option RuntimeStrategies.
+// Aliases: [--runtime-strategies]
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isRuntimeStrategiesSet() {
+        return ogRuntimeStrategies.hasValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean getRuntimeStrategies() {
+        return ogRuntimeStrategies.getValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean getRawRuntimeStrategies() {
+        return ogRuntimeStrategies.getRawValue();
+    }
+
+    public BooleanOption getRuntimeStrategiesOption() {
+        return ogRuntimeStrategies;
+    }
+
+// Option MaxTestsPerClass.
+// Aliases: [--max-tests-per-class]
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isMaxTestsPerClassSet() {
+        return ogMaxTestsPerClass.hasValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getMaxTestsPerClass() {
+        return ogMaxTestsPerClass.getValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getRawMaxTestsPerClass() {
+        return ogMaxTestsPerClass.getRawValue();
+    }
+
+    public IntegerOption getMaxTestsPerClassOption() {
+        return ogMaxTestsPerClass;
+    }
+
+// Option SavePlan.
+// Aliases: [--save-plan]
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isSavePlanSet() {
+        return ogSavePlan.hasValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getSavePlan() {
+        return ogSavePlan.getValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getRawSavePlan() {
+        return ogSavePlan.getRawValue();
+    }
+
+    public StringOption getSavePlanOption() {
+        return ogSavePlan;
+    }
+
+// Option LoadPlan.
+// Aliases: [--load-plan]
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isLoadPlanSet() {
+        return ogLoadPlan.hasValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getLoadPlan() {
+        return ogLoadPlan.getValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getRawLoadPlan() {
+        return ogLoadPlan.getRawValue();
+    }
+
+    public StringOption getLoadPlanOption() {
+        return ogLoadPlan;
+    }
+
+// Option Prefetch.
+// Aliases: [--prefetch]
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isPrefetchSet() {
+        return ogPrefetch.hasValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getPrefetch() {
+        return ogPrefetch.getValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getRawPrefetch() {
+        return ogPrefetch.getRawValue();
+    }
+
+    public IntegerOption getPrefetchOption() {
+        return ogPrefetch;
+    }
+
+// Option CoveringStrength.
+// Aliases: [--covering-strength]
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isCoveringStrengthSet() {
+        return ogCoveringStrength.hasValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getCoveringStrength() {
+        return ogCoveringStrength.getValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getRawCoveringStrength() {
+        return ogCoveringStrength.getRawValue();
+    }
+
+    public IntegerOption getCoveringStrengthOption() {
+        return ogCoveringStrength;
+    }
+
 }
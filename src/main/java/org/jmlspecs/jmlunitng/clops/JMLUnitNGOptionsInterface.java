@@ -423,4 +423,166 @@ public interface JMLUnitNGOptionsInterface {
      */
     boolean getNoGen();
 
+
+// Option Archive. 
+// Aliases: [--archive]
+
+    /**
+     * @return true if the option Archive has been used
+     * in the command line.
+     */
+    boolean isArchiveSet();
+
+    /**
+     * Get the value of {@code Option} Archive.
+     *
+     * @return the value of the option Archive if it has been set
+     * using the arguments. Throws an {@code IllegalStateException} otherwise.
+     */
+    String getArchive();
+
+
+// Option ShareInherited. 
+// Aliases: [--share-inherited]
+
+    /**
+     * @return true if the option ShareInherited has been used
+     * in the command line.
+     */
+    boolean isShareInheritedSet();
+
+    /**
+     * Get the value of {@code Option} ShareInherited.
+     *
+     * @return the value of the option ShareInherited if it has been set
+     * using the arguments. Throws an {@code IllegalStateException} otherwise.
+     */
+    boolean getShareInherited();
+
+
+// Option Index. 
+// Aliases: [--index]
+
+    /**
+     * @return true if the option Index has been used
+     * in the command line.
+     */
+    boolean isIndexSet();
+
+    /**
+     * Get the value of {@code Option} Index.
+     *
+     * @return the value of the option Index if it has been set
+     * using the arguments. Throws an {@code IllegalStateException} otherwise.
+     */
+    String getIndex();
+
+
+// Option RuntimeStrategies. 
+// Aliases: [--runtime-strategies]
+
+    /**
+     * @return true if the option RuntimeStrategies has been used
+     * in the command line.
+     */
+    boolean isRuntimeStrategiesSet();
+
+    /**
+     * Get the value of {@code Option} RuntimeStrategies.
+     *
+     * @return the value of the option RuntimeStrategies if it has been set
+     * using the arguments. Throws an {@code IllegalStateException} otherwise.
+     */
+    boolean getRuntimeStrategies();
+
+
+// Option MaxTestsPerClass. 
+// Aliases: [--max-tests-per-class]
+
+    /**
+     * @return true if the option MaxTestsPerClass has been used
+     * in the command line.
+     */
+    boolean isMaxTestsPerClassSet();
+
+    /**
+     * Get the value of {@code Option} MaxTestsPerClass.
+     *
+     * @return the value of the option MaxTestsPerClass if it has been set
+     * using the arguments. Throws an {@code IllegalStateException} otherwise.
+     */
+    int getMaxTestsPerClass();
+
+
+// Option SavePlan. 
+// Aliases: [--save-plan]
+
+    /**
+     * @return true if the option SavePlan has been used
+     * in the command line.
+     */
+    boolean isSavePlanSet();
+
+    /**
+     * Get the value of {@code Option} SavePlan.
+     *
+     * @return the value of the option SavePlan if it has been set
+     * using the arguments. Throws an {@code IllegalStateException} otherwise.
+     */
+    String getSavePlan();
+
+
+// Option LoadPlan. 
+// Aliases: [--load-plan]
+
+    /**
+     * @return true if the option LoadPlan has been used
+     * in the command line.
+     */
+    boolean isLoadPlanSet();
+
+    /**
+     * Get the value of {@code Option} LoadPlan.
+     *
+     * @return the value of the option LoadPlan if it has been set
+     * using the arguments. Throws an {@code IllegalStateException} otherwise.
+     */
+    String getLoadPlan();
+
+
+// Option Prefetch. 
+// Aliases: [--prefetch]
+
+    /**
+     * @return true if the option Prefetch has been used
+     * in the command line.
+     */
+    boolean isPrefetchSet();
+
+    /**
+     * Get the value of {@code Option} Prefetch.
+     *
+     * @return the value of the option Prefetch if it has been set
+     * using the arguments. Throws an {@code IllegalStateException} otherwise.
+     */
+    int getPrefetch();
+
+
+// Option CoveringStrength. 
+// Aliases: [--covering-strength]
+
+    /**
+     * @return true if the option CoveringStrength has been used
+     * in the command line.
+     */
+    boolean isCoveringStrengthSet();
+
+    /**
+     * Get the value of {@code Option} CoveringStrength.
+     *
+     * @return the value of the option CoveringStrength if it has been set
+     * using the arguments. Throws an {@code IllegalStateException} otherwise.
+     */
+    int getCoveringStrength();
+
 }
@@ -0,0 +1,245 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.generator;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * A GeneratedSourceWriter that streams generated sources into a single
+ * zip/jar archive rather than into individual files. Entry names are the
+ * paths of the generated files relative to a root directory, so the
+ * archive is laid out by package and can be handed to javac as a source
+ * location.
+ *
+ * <p>The archive is rebuilt on every run. Entries of the previous archive
+ * that are not regenerated are carried over (so manually modified
+ * strategies survive, as they do in the file system) unless pruning is
+ * requested, in which case only entries that belong to this run survive.
+ * The new archive replaces the old one only when all writes succeed.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+public class ArchiveSourceWriter extends GeneratedSourceWriter {
+    /**
+     * The archive being written.
+     */
+    private final File my_archive;
+
+    /**
+     * The temporary file the new archive is written to.
+     */
+    private final File my_temp;
+
+    /**
+     * The root directory that entry names are relative to.
+     */
+    private final Path my_root;
+
+    /**
+     * The stream for the new archive.
+     */
+    private final ZipOutputStream my_zip;
+
+    /**
+     * The previous archive, or null if there is none.
+     */
+    private final ZipFile my_old_zip;
+
+    /**
+     * The entry names in the previous archive.
+     */
+    private final Set<String> my_old_entries = new HashSet<>();
+
+    /**
+     * The entry names written during this run.
+     */
+    private final Set<String> my_written_entries = new HashSet<>();
+
+    /**
+     * true if old entries that do not belong to this run are dropped.
+     */
+    private final boolean my_prune;
+
+    /**
+     * The paths of the files that belong to this run; consulted only
+     * when the archive is finished.
+     */
+    private final Set<String> my_run_files;
+
+    /**
+     * Constructs an ArchiveSourceWriter.
+     *
+     * @param the_archive   The archive to write.
+     * @param the_root      The root directory that entry names are relative to.
+     * @param the_marker    A string identifying JMLUnitNG-generated archives; it is
+     *                      stored as the archive comment, and an existing archive
+     *                      without it is never replaced.
+     * @param the_prune     true if old entries that do not belong to this run
+     *                      should be dropped, false otherwise.
+     * @param the_run_files The paths of the files that belong to this run; this
+     *                      set may still grow until the writer is closed.
+     * @throws IOException if the previous archive cannot be read, was not
+     *                     generated by JMLUnitNG, or the new archive cannot be created.
+     */
+    public ArchiveSourceWriter(final /*@ non_null @*/ File the_archive,
+                               final /*@ non_null @*/ File the_root,
+                               final /*@ non_null @*/ String the_marker,
+                               final boolean the_prune,
+                               final /*@ non_null @*/ Set<String> the_run_files)
+            throws IOException {
+        super();
+        my_archive = the_archive.getCanonicalFile();
+        my_root = the_root.getCanonicalFile().toPath();
+        my_prune = the_prune;
+        my_run_files = the_run_files;
+        try {
+            if (my_archive.exists()) {
+                if (!isGeneratedArchive(my_archive, the_marker)) {
+                    throw new IOException("Not overwriting " + my_archive +
+                            ", which was not generated by JMLUnitNG");
+                }
+                my_old_zip = new ZipFile(my_archive);
+                for (Enumeration<? extends ZipEntry> e = my_old_zip.entries();
+                     e.hasMoreElements(); ) {
+                    my_old_entries.add(e.nextElement().getName());
+                }
+            } else {
+                my_old_zip = null;
+            }
+            final File parent = my_archive.getParentFile();
+            if (!parent.mkdirs() && !parent.isDirectory()) {
+                throw new IOException("Could not create directory " + parent);
+            }
+            my_temp = File.createTempFile(my_archive.getName(), ".tmp", parent);
+            my_zip = new ZipOutputStream(new FileOutputStream(my_temp));
+            my_zip.setComment(the_marker);
+        } catch (final IOException e) {
+            // stop the writer thread before giving up
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * @param the_file   The file to check.
+     * @param the_marker The string identifying JMLUnitNG-generated archives.
+     * @return true if the_file is a zip/jar archive generated by JMLUnitNG,
+     * false otherwise.
+     */
+    public static boolean isGeneratedArchive(final File the_file, final String the_marker) {
+        boolean result = false;
+        try (ZipFile zip = new ZipFile(the_file)) {
+            result = zip.getComment() != null && zip.getComment().contains(the_marker);
+        } catch (final IOException e) {
+            // not a readable archive, so it isn't one of ours
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean exists(final File the_file) {
+        return my_old_entries.contains(entryName(the_file.getPath()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void writeSource(final File the_file, final ByteBuffer the_bytes)
+            throws IOException {
+        final String name = entryName(the_file.getPath());
+        my_zip.putNextEntry(new ZipEntry(name));
+        my_zip.write(the_bytes.array(), the_bytes.arrayOffset() + the_bytes.position(),
+                the_bytes.remaining());
+        my_zip.closeEntry();
+        my_written_entries.add(name);
+    }
+
+    /**
+     * Carries over the surviving entries of the previous archive and
+     * replaces it with the new one; if any write failed, the previous
+     * archive is left untouched.
+     *
+     * @param the_failed true if any write failed, false otherwise.
+     * @throws IOException if the archive cannot be completed.
+     */
+    @Override
+    protected void finish(final boolean the_failed) throws IOException {
+        if (my_zip == null) {
+            // the constructor failed before the archive was created
+            if (my_old_zip != null) {
+                my_old_zip.close();
+            }
+            return;
+        }
+        try {
+            if (!the_failed && my_old_zip != null) {
+                final Set<String> run_entries = new HashSet<>();
+                for (String s : my_run_files) {
+                    run_entries.add(entryName(s));
+                }
+                for (String name : new TreeSet<>(my_old_entries)) {
+                    if (!my_written_entries.contains(name) &&
+                            (!my_prune || run_entries.contains(name))) {
+                        copyOldEntry(name);
+                    }
+                }
+            }
+            my_zip.close();
+        } finally {
+            if (my_old_zip != null) {
+                my_old_zip.close();
+            }
+        }
+        if (the_failed) {
+            Files.deleteIfExists(my_temp.toPath());
+        } else {
+            Files.move(my_temp.toPath(), my_archive.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Copies an entry of the previous archive into the new one.
+     *
+     * @param the_name The entry name.
+     * @throws IOException if the copy fails.
+     */
+    private void copyOldEntry(final String the_name) throws IOException {
+        my_zip.putNextEntry(new ZipEntry(the_name));
+        try (InputStream in = my_old_zip.getInputStream(my_old_zip.getEntry(the_name))) {
+            in.transferTo(my_zip);
+        }
+        my_zip.closeEntry();
+    }
+
+    /**
+     * @param the_path The path of a generated file.
+     * @return the archive entry name for the_path.
+     */
+    private String entryName(final String the_path) {
+        final Path path = new File(the_path).getAbsoluteFile().toPath().normalize();
+        return my_root.relativize(path).toString().replace(File.separatorChar, '/');
+    }
+}
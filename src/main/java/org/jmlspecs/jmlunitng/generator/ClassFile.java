@@ -0,0 +1,643 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.generator;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The parts of a class file that test generation needs: the class's
+ * name, access flags, superclass and interfaces, and the names, access
+ * flags and descriptors of its methods. A class file is read directly
+ * from its bytes; nothing is loaded.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+final class ClassFile {
+    /**
+     * The access flag for public members.
+     */
+    static final int ACC_PUBLIC = 0x0001;
+
+    /**
+     * The access flag for private members.
+     */
+    static final int ACC_PRIVATE = 0x0002;
+
+    /**
+     * The access flag for protected members.
+     */
+    static final int ACC_PROTECTED = 0x0004;
+
+    /**
+     * The access flag for static members.
+     */
+    static final int ACC_STATIC = 0x0008;
+
+    /**
+     * The access flag for bridge methods.
+     */
+    static final int ACC_BRIDGE = 0x0040;
+
+    /**
+     * The access flag for interfaces.
+     */
+    static final int ACC_INTERFACE = 0x0200;
+
+    /**
+     * The access flag for abstract classes and methods.
+     */
+    static final int ACC_ABSTRACT = 0x0400;
+
+    /**
+     * The access flag for synthetic members.
+     */
+    static final int ACC_SYNTHETIC = 0x1000;
+
+    /**
+     * The access flag for enumerations.
+     */
+    static final int ACC_ENUM = 0x4000;
+
+    /**
+     * The magic number that starts every class file.
+     */
+    private static final int MAGIC = 0xCAFEBABE;
+
+    /**
+     * The descriptor of the java.lang.Deprecated annotation.
+     */
+    private static final String DEPRECATED_DESCRIPTOR = "Ljava/lang/Deprecated;";
+
+    /**
+     * The descriptor of the JML model annotation.
+     */
+    private static final String MODEL_DESCRIPTOR = "Lorg/jmlspecs/annotation/Model;";
+
+    /**
+     * The internal name of the class (e.g., "java/util/Map$Entry").
+     */
+    private final String my_name;
+
+    /**
+     * The access flags of the class; for a nested class, these are the
+     * flags from its InnerClasses entry.
+     */
+    private final int my_access;
+
+    /**
+     * true if the class is nested in another class, false otherwise.
+     */
+    private final boolean my_is_nested;
+
+    /**
+     * The internal name of the superclass, or null if there is none.
+     */
+    private final String my_super_name;
+
+    /**
+     * The internal names of the interfaces.
+     */
+    private final List<String> my_interfaces;
+
+    /**
+     * The methods.
+     */
+    private final List<Method> my_methods;
+
+    /**
+     * The constant pool; UTF-8 entries hold Strings, class entries hold
+     * the indices of their names, and all other entries are null.
+     */
+    private final Object[] my_pool;
+
+    /**
+     * Parses a class file.
+     *
+     * @param the_bytes The bytes of the class file.
+     * @throws IllegalArgumentException if the_bytes is not a class file.
+     */
+    ClassFile(final /*@ non_null @*/ ByteBuffer the_bytes) {
+        final ByteBuffer b = the_bytes.slice().order(ByteOrder.BIG_ENDIAN);
+        try {
+            if (b.getInt() != MAGIC) {
+                throw new IllegalArgumentException("not a class file");
+            }
+            b.getInt(); // version
+            my_pool = readConstantPool(b);
+            int access = u2(b);
+            my_name = className(u2(b));
+            final int super_index = u2(b);
+            if (super_index == 0) {
+                my_super_name = null;
+            } else {
+                my_super_name = className(super_index);
+            }
+            final int interface_count = u2(b);
+            final List<String> interfaces = new ArrayList<>(interface_count);
+            for (int i = 0; i < interface_count; i++) {
+                interfaces.add(className(u2(b)));
+            }
+            my_interfaces = Collections.unmodifiableList(interfaces);
+            final int field_count = u2(b);
+            for (int i = 0; i < field_count; i++) {
+                b.position(b.position() + 6);
+                skipAttributes(b);
+            }
+            final int method_count = u2(b);
+            final List<Method> methods = new ArrayList<>(method_count);
+            for (int i = 0; i < method_count; i++) {
+                methods.add(readMethod(b));
+            }
+            my_methods = Collections.unmodifiableList(methods);
+
+            // the InnerClasses attribute records the declared flags of nested classes
+            boolean nested = false;
+            final int attribute_count = u2(b);
+            for (int i = 0; i < attribute_count; i++) {
+                final String name = utf8(u2(b));
+                final int length = b.getInt();
+                final int end = b.position() + length;
+                if ("InnerClasses".equals(name)) {
+                    final int count = u2(b);
+                    for (int j = 0; j < count; j++) {
+                        final int inner = u2(b);
+                        final int outer = u2(b);
+                        b.getShort(); // inner name
+                        final int flags = u2(b);
+                        if (my_name.equals(className(inner)) && outer != 0) {
+                            nested = true;
+                            access = flags;
+                        }
+                    }
+                }
+                b.position(end);
+            }
+            my_access = access;
+            my_is_nested = nested;
+        } catch (final BufferUnderflowException | ClassCastException e) {
+            throw new IllegalArgumentException("malformed class file", e);
+        }
+    }
+
+    /**
+     * @return the internal name of the class.
+     */
+    /*@ pure non_null @*/ String getName() {
+        return my_name;
+    }
+
+    /**
+     * @return the access flags of the class.
+     */
+    /*@ pure @*/ int getAccess() {
+        return my_access;
+    }
+
+    /**
+     * @return true if the class is nested in another class, false otherwise.
+     */
+    /*@ pure @*/ boolean isNested() {
+        return my_is_nested;
+    }
+
+    /**
+     * @return the internal name of the superclass, or null if there is none.
+     */
+    /*@ pure nullable @*/ String getSuperName() {
+        return my_super_name;
+    }
+
+    /**
+     * @return the internal names of the interfaces.
+     */
+    /*@ pure non_null @*/ List<String> getInterfaces() {
+        return my_interfaces;
+    }
+
+    /**
+     * @return the methods, including constructors and static initializers.
+     */
+    /*@ pure non_null @*/ List<Method> getMethods() {
+        return my_methods;
+    }
+
+    /**
+     * Converts a field descriptor into a Java type name.
+     *
+     * @param the_descriptor The descriptor (e.g., "[Ljava/lang/String;").
+     * @param the_start      The index at which the descriptor starts.
+     * @param the_end        An array whose first element is set to the index
+     *                       just after the descriptor.
+     * @return the Java type name (e.g., "java.lang.String[]").
+     */
+    static String typeName(final String the_descriptor, final int the_start,
+                           final int[] the_end) {
+        int i = the_start;
+        int dimensions = 0;
+        while (the_descriptor.charAt(i) == '[') {
+            dimensions = dimensions + 1;
+            i = i + 1;
+        }
+        final StringBuilder sb = new StringBuilder();
+        final char c = the_descriptor.charAt(i);
+        if (c == 'L') {
+            final int semicolon = the_descriptor.indexOf(';', i);
+            sb.append(the_descriptor, i + 1, semicolon);
+            replaceSeparators(sb);
+            i = semicolon + 1;
+        } else {
+            sb.append(primitiveName(c));
+            i = i + 1;
+        }
+        for (int d = 0; d < dimensions; d++) {
+            sb.append("[]");
+        }
+        the_end[0] = i;
+        return sb.toString();
+    }
+
+    /**
+     * Converts an internal class name into a Java class name.
+     *
+     * @param the_internal_name The internal name (e.g., "java/util/Map$Entry").
+     * @return the Java class name (e.g., "java.util.Map.Entry").
+     */
+    static String javaName(final String the_internal_name) {
+        final StringBuilder sb = new StringBuilder(the_internal_name);
+        replaceSeparators(sb);
+        return sb.toString();
+    }
+
+    /**
+     * Replaces the package and nesting separators of an internal name with dots.
+     *
+     * @param the_name The name.
+     */
+    private static void replaceSeparators(final StringBuilder the_name) {
+        for (int i = 0; i < the_name.length(); i++) {
+            if (the_name.charAt(i) == '/' || the_name.charAt(i) == '$') {
+                the_name.setCharAt(i, '.');
+            }
+        }
+    }
+
+    /**
+     * @param the_code A primitive type descriptor character.
+     * @return the name of the primitive type.
+     */
+    private static String primitiveName(final char the_code) {
+        final String result;
+        switch (the_code) {
+            case 'B':
+                result = "byte";
+                break;
+            case 'C':
+                result = "char";
+                break;
+            case 'D':
+                result = "double";
+                break;
+            case 'F':
+                result = "float";
+                break;
+            case 'I':
+                result = "int";
+                break;
+            case 'J':
+                result = "long";
+                break;
+            case 'S':
+                result = "short";
+                break;
+            case 'Z':
+                result = "boolean";
+                break;
+            case 'V':
+                result = "void";
+                break;
+            default:
+                throw new IllegalArgumentException("bad descriptor character " + the_code);
+        }
+        return result;
+    }
+
+    /**
+     * Reads the constant pool.
+     *
+     * @param the_buffer The buffer, positioned at the constant pool count.
+     * @return the constant pool.
+     */
+    private static Object[] readConstantPool(final ByteBuffer the_buffer) {
+        final Object[] result = new Object[u2(the_buffer)];
+        int i = 1;
+        while (i < result.length) {
+            final int tag = the_buffer.get();
+            int size = 1;
+            switch (tag) {
+                case 1: // UTF-8
+                    result[i] = readModifiedUtf8(the_buffer, u2(the_buffer));
+                    break;
+                case 7: // class
+                    result[i] = u2(the_buffer);
+                    break;
+                case 8: case 16: case 19: case 20: // string, method type, module, package
+                    the_buffer.getShort();
+                    break;
+                case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18:
+                    the_buffer.getInt();
+                    break;
+                case 5: case 6: // long, double
+                    the_buffer.getLong();
+                    size = 2;
+                    break;
+                case 15: // method handle
+                    the_buffer.get();
+                    the_buffer.getShort();
+                    break;
+                default:
+                    throw new IllegalArgumentException("bad constant pool tag " + tag);
+            }
+            i = i + size;
+        }
+        return result;
+    }
+
+    /**
+     * Reads a string in the class file's modified UTF-8 encoding.
+     *
+     * @param the_buffer The buffer.
+     * @param the_length The encoded length.
+     * @return the string.
+     */
+    private static String readModifiedUtf8(final ByteBuffer the_buffer, final int the_length) {
+        final StringBuilder sb = new StringBuilder(the_length);
+        final int end = the_buffer.position() + the_length;
+        while (the_buffer.position() < end) {
+            final int c = the_buffer.get() & 0xFF;
+            if (c < 0x80) {
+                sb.append((char) c);
+            } else if (c < 0xE0) {
+                sb.append((char) (((c & 0x1F) << 6) | (the_buffer.get() & 0x3F)));
+            } else {
+                final int c2 = the_buffer.get() & 0x3F;
+                sb.append((char) (((c & 0x0F) << 12) | (c2 << 6) | (the_buffer.get() & 0x3F)));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Reads a method.
+     *
+     * @param the_buffer The buffer, positioned at the method.
+     * @return the method.
+     */
+    private Method readMethod(final ByteBuffer the_buffer) {
+        final int access = u2(the_buffer);
+        final String name = utf8(u2(the_buffer));
+        final String descriptor = utf8(u2(the_buffer));
+        boolean deprecated = false;
+        boolean model = false;
+        List<String> parameter_names = null;
+        final int attribute_count = u2(the_buffer);
+        for (int i = 0; i < attribute_count; i++) {
+            final String attribute = utf8(u2(the_buffer));
+            final int length = the_buffer.getInt();
+            final int end = the_buffer.position() + length;
+            if ("Deprecated".equals(attribute)) {
+                deprecated = true;
+            } else if ("RuntimeVisibleAnnotations".equals(attribute) ||
+                    "RuntimeInvisibleAnnotations".equals(attribute)) {
+                final int count = u2(the_buffer);
+                for (int j = 0; j < count; j++) {
+                    final String type = utf8(u2(the_buffer));
+                    deprecated |= DEPRECATED_DESCRIPTOR.equals(type);
+                    model |= MODEL_DESCRIPTOR.equals(type);
+                    skipElementValuePairs(the_buffer);
+                }
+            } else if ("MethodParameters".equals(attribute)) {
+                final int count = the_buffer.get() & 0xFF;
+                parameter_names = new ArrayList<>(count);
+                for (int j = 0; j < count; j++) {
+                    final int name_index = u2(the_buffer);
+                    the_buffer.getShort(); // flags
+                    if (name_index == 0) {
+                        parameter_names.add(null);
+                    } else {
+                        parameter_names.add(utf8(name_index));
+                    }
+                }
+            }
+            the_buffer.position(end);
+        }
+        return new Method(access, name, descriptor, deprecated, model, parameter_names);
+    }
+
+    /**
+     * Skips the element-value pairs of an annotation.
+     *
+     * @param the_buffer The buffer, positioned at the number of pairs.
+     */
+    private static void skipElementValuePairs(final ByteBuffer the_buffer) {
+        final int count = u2(the_buffer);
+        for (int i = 0; i < count; i++) {
+            the_buffer.getShort(); // element name
+            skipElementValue(the_buffer);
+        }
+    }
+
+    /**
+     * Skips an annotation element value.
+     *
+     * @param the_buffer The buffer, positioned at the element value.
+     */
+    private static void skipElementValue(final ByteBuffer the_buffer) {
+        final char tag = (char) the_buffer.get();
+        switch (tag) {
+            case 'e': // enum constant
+                the_buffer.getInt();
+                break;
+            case '@': // nested annotation
+                the_buffer.getShort();
+                skipElementValuePairs(the_buffer);
+                break;
+            case '[': // array
+                final int count = u2(the_buffer);
+                for (int i = 0; i < count; i++) {
+                    skipElementValue(the_buffer);
+                }
+                break;
+            default: // constant or class
+                the_buffer.getShort();
+                break;
+        }
+    }
+
+    /**
+     * Skips a list of attributes.
+     *
+     * @param the_buffer The buffer, positioned at the attribute count.
+     */
+    private static void skipAttributes(final ByteBuffer the_buffer) {
+        final int count = u2(the_buffer);
+        for (int i = 0; i < count; i++) {
+            the_buffer.getShort();
+            final int length = the_buffer.getInt();
+            the_buffer.position(the_buffer.position() + length);
+        }
+    }
+
+    /**
+     * @param the_buffer The buffer.
+     * @return the next unsigned 2-byte value in the_buffer.
+     */
+    private static int u2(final ByteBuffer the_buffer) {
+        return the_buffer.getShort() & 0xFFFF;
+    }
+
+    /**
+     * @param the_index A constant pool index.
+     * @return the UTF-8 constant at the_index.
+     */
+    private String utf8(final int the_index) {
+        return (String) my_pool[the_index];
+    }
+
+    /**
+     * @param the_index A constant pool index.
+     * @return the internal name of the class constant at the_index.
+     */
+    private String className(final int the_index) {
+        return utf8((Integer) my_pool[the_index]);
+    }
+
+    /**
+     * A method read from a class file.
+     */
+    static final class Method {
+        /**
+         * The access flags.
+         */
+        private final int my_access;
+
+        /**
+         * The name ("&lt;init&gt;" for constructors).
+         */
+        private final String my_name;
+
+        /**
+         * The descriptor.
+         */
+        private final String my_descriptor;
+
+        /**
+         * Is the method deprecated?
+         */
+        private final boolean my_is_deprecated;
+
+        /**
+         * Is the method a JML model method?
+         */
+        private final boolean my_is_model;
+
+        /**
+         * The parameter names, or null if they were not recorded.
+         */
+        private final List<String> my_parameter_names;
+
+        /**
+         * Constructs a Method.
+         *
+         * @param the_access          The access flags.
+         * @param the_name            The name.
+         * @param the_descriptor      The descriptor.
+         * @param the_is_deprecated   Is the method deprecated?
+         * @param the_is_model        Is the method a JML model method?
+         * @param the_parameter_names The parameter names, or null.
+         */
+        Method(final int the_access, final String the_name, final String the_descriptor,
+               final boolean the_is_deprecated, final boolean the_is_model,
+               final List<String> the_parameter_names) {
+            my_access = the_access;
+            my_name = the_name;
+            my_descriptor = the_descriptor;
+            my_is_deprecated = the_is_deprecated;
+            my_is_model = the_is_model;
+            my_parameter_names = the_parameter_names;
+        }
+
+        /**
+         * @return the access flags.
+         */
+        /*@ pure @*/ int getAccess() {
+            return my_access;
+        }
+
+        /**
+         * @return the name.
+         */
+        /*@ pure non_null @*/ String getName() {
+            return my_name;
+        }
+
+        /**
+         * @return true if the method is deprecated, false otherwise.
+         */
+        /*@ pure @*/ boolean isDeprecated() {
+            return my_is_deprecated;
+        }
+
+        /**
+         * @return true if the method is a JML model method, false otherwise.
+         */
+        /*@ pure @*/ boolean isModel() {
+            return my_is_model;
+        }
+
+        /**
+         * @return the Java type names of the parameters, in order.
+         */
+        /*@ pure non_null @*/ List<String> getParameterTypes() {
+            final List<String> result = new ArrayList<>();
+            final int[] end = new int[1];
+            int i = 1;
+            while (my_descriptor.charAt(i) != ')') {
+                result.add(typeName(my_descriptor, i, end));
+                i = end[0];
+            }
+            return result;
+        }
+
+        /**
+         * @return the Java type name of the return type.
+         */
+        /*@ pure non_null @*/ String getReturnType() {
+            return typeName(my_descriptor, my_descriptor.indexOf(')') + 1, new int[1]);
+        }
+
+        /**
+         * @param the_index The index of a parameter.
+         * @return the name of the parameter, or "argN" (where N is the_index)
+         * if it was not recorded.
+         */
+        /*@ pure non_null @*/ String getParameterName(final int the_index) {
+            String result = null;
+            if (my_parameter_names != null && the_index < my_parameter_names.size()) {
+                result = my_parameter_names.get(the_index);
+            }
+            if (result == null) {
+                result = "arg" + the_index;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.generator;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
+
+/**
+ * Finds and parses class files on a classpath, so that ClassInfos can be
+ * built for classes whose sources are not available. Directories are read
+ * file by file; jar files are opened once, and their entries are read on
+ * demand. Classes that are not on the classpath are looked up in the
+ * runtime image of the running JVM. No class is ever loaded. The jar
+ * files stay open until the reader is closed.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+final class ClassFileReader implements Closeable {
+    /**
+     * The suffix of class files.
+     */
+    private static final String CLASS_SUFFIX = ".class";
+
+    /**
+     * The classpath entries, in classpath order.
+     */
+    private final List<Location> my_entries = new ArrayList<>();
+
+    /**
+     * The open jar files on the classpath.
+     */
+    private final List<JarFile> my_jars = new ArrayList<>();
+
+    /**
+     * The runtime image file system, or null if it is unavailable.
+     */
+    private final FileSystem my_runtime_image;
+
+    /**
+     * Constructs a ClassFileReader for the specified classpath. Classpath
+     * entries that do not exist or cannot be read are ignored.
+     *
+     * @param the_classpath The classpath, formatted as for javac.
+     */
+    ClassFileReader(final /*@ non_null @*/ String the_classpath) {
+        for (String s : the_classpath.split(File.pathSeparator)) {
+            final File f = new File(s);
+            if (s.isEmpty()) {
+                continue;
+            } else if (f.isDirectory()) {
+                my_entries.add(the_file_name -> {
+                    final File c = new File(f, the_file_name.replace('/', File.separatorChar));
+                    ByteBuffer result = null;
+                    if (c.isFile()) {
+                        result = ByteBuffer.wrap(Files.readAllBytes(c.toPath()));
+                    }
+                    return result;
+                });
+            } else if (f.isFile()) {
+                final JarFile jar;
+                try {
+                    jar = new JarFile(f, false);
+                } catch (final IOException | SecurityException e) {
+                    // not a readable jar file, so it can't supply any classes
+                    continue;
+                }
+                my_jars.add(jar);
+                my_entries.add(the_file_name -> {
+                    final ZipEntry entry = jar.getEntry(the_file_name);
+                    ByteBuffer result = null;
+                    if (entry != null) {
+                        try (InputStream in = jar.getInputStream(entry)) {
+                            result = ByteBuffer.wrap(in.readAllBytes());
+                        }
+                    }
+                    return result;
+                });
+            }
+        }
+        FileSystem image = null;
+        try {
+            image = FileSystems.getFileSystem(URI.create("jrt:/"));
+        } catch (final FileSystemNotFoundException | IllegalArgumentException e) {
+            // no runtime image, so only the classpath is searched
+        }
+        my_runtime_image = image;
+    }
+
+    /**
+     * Finds and parses the class file for the specified class.
+     *
+     * @param the_internal_name The internal name of the class (e.g.,
+     *                          "java/util/Map$Entry").
+     * @return the class file, or null if it cannot be found or read.
+     */
+    ClassFile read(final /*@ non_null @*/ String the_internal_name) {
+        ClassFile result = null;
+        try {
+            final ByteBuffer bytes = find(the_internal_name);
+            if (bytes != null) {
+                result = new ClassFile(bytes);
+            }
+        } catch (final IOException | IllegalArgumentException e) {
+            // an unreadable class file is treated as a missing one
+        }
+        return result;
+    }
+
+    /**
+     * Finds the bytes of the class file for the specified class.
+     *
+     * @param the_internal_name The internal name of the class.
+     * @return the bytes, or null if there is no class file for the class.
+     * @throws IOException if the class file cannot be read.
+     */
+    private ByteBuffer find(final String the_internal_name) throws IOException {
+        final String file_name = the_internal_name + CLASS_SUFFIX;
+        for (Location l : my_entries) {
+            final ByteBuffer result = l.find(file_name);
+            if (result != null) {
+                return result;
+            }
+        }
+        return findInRuntimeImage(the_internal_name, file_name);
+    }
+
+    /**
+     * Finds the bytes of the class file for the specified class in the
+     * runtime image.
+     *
+     * @param the_internal_name The internal name of the class.
+     * @param the_file_name     The class file name.
+     * @return the bytes, or null if there is no such class file.
+     * @throws IOException if the class file cannot be read.
+     */
+    private ByteBuffer findInRuntimeImage(final String the_internal_name,
+                                          final String the_file_name) throws IOException {
+        if (my_runtime_image == null || the_internal_name.indexOf('/') < 0) {
+            return null;
+        }
+        // the runtime image lists the modules containing each package
+        final String package_name =
+                the_internal_name.substring(0, the_internal_name.lastIndexOf('/')).replace('/', '.');
+        final Path package_dir = my_runtime_image.getPath("/packages", package_name);
+        if (!Files.isDirectory(package_dir)) {
+            return null;
+        }
+        try (DirectoryStream<Path> modules = Files.newDirectoryStream(package_dir)) {
+            for (Path m : modules) {
+                final Path p = my_runtime_image.getPath("/modules",
+                        m.getFileName().toString(), the_file_name);
+                if (Files.isRegularFile(p)) {
+                    return ByteBuffer.wrap(Files.readAllBytes(p));
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Closes the jar files on the classpath; after this, no class files
+     * can be read from them.
+     */
+    @Override
+    public void close() {
+        for (JarFile j : my_jars) {
+            try {
+                j.close();
+            } catch (final IOException e) {
+                // nothing more can be read from it either way
+            }
+        }
+        my_jars.clear();
+        my_entries.clear();
+    }
+
+    /**
+     * A classpath entry.
+     */
+    private interface Location {
+        /**
+         * @param the_file_name The name of a class file, relative to the
+         *                      classpath entry (e.g., "java/util/Map$Entry.class").
+         * @return the bytes of the class file, or null if the classpath
+         * entry does not contain it.
+         * @throws IOException if the class file cannot be read.
+         */
+        ByteBuffer find(String the_file_name) throws IOException;
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.generator;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The I/O stage of test generation. Rendered sources are handed to an
+ * instance of this class, which queues them and writes them (in UTF-8,
+ * in batches, using NIO file channels) on a dedicated writer thread.
+ * When the queue is full, submitting a source blocks until the writer
+ * thread catches up. Subclasses may direct the output elsewhere by
+ * overriding exists, writeSource and finish.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+public class GeneratedSourceWriter implements Closeable {
+    /**
+     * The default number of rendered sources that may be waiting to be
+     * written before submitters block.
+     */
+    public static final int DEF_QUEUE_CAPACITY = 64;
+
+    /**
+     * The maximum number of sources written in one batch.
+     */
+    private static final int BATCH_SIZE = 16;
+
+    /**
+     * The entry used to tell the writer thread to stop.
+     */
+    private static final Entry END = new Entry(null, null, null);
+
+    /**
+     * The queue of sources waiting to be written.
+     */
+    private final BlockingQueue<Entry> my_queue;
+
+    /**
+     * The writer thread.
+     */
+    private final Thread my_thread;
+
+    /**
+     * The canonical paths of the package strategies emitted (or found to
+     * already exist) during this run.
+     */
+    private final Set<String> my_package_strategies = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The directories to which sources have been submitted during this run.
+     */
+    private final Set<File> my_directories = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The first I/O exception encountered by the writer thread, if any.
+     */
+    private volatile IOException my_failure;
+
+    /**
+     * true if this writer has been closed, false otherwise.
+     */
+    private boolean my_closed;
+
+    /**
+     * Constructs a GeneratedSourceWriter with the default queue capacity.
+     */
+    public GeneratedSourceWriter() {
+        this(DEF_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Constructs a GeneratedSourceWriter with the specified queue capacity.
+     *
+     * @param the_capacity The number of rendered sources that may be waiting
+     *                     to be written before submitters block.
+     */
+    //@ requires 0 < the_capacity;
+    public GeneratedSourceWriter(final int the_capacity) {
+        if (the_capacity < 1) {
+            throw new IllegalArgumentException("queue capacity must be positive");
+        }
+        my_queue = new ArrayBlockingQueue<>(the_capacity);
+        my_thread = new Thread(this::writeLoop, "JMLUnitNG source writer");
+        my_thread.setDaemon(true);
+        my_thread.start();
+    }
+
+    /**
+     * Queues the specified source to be written to the specified file,
+     * replacing any existing content. Blocks while the queue is full.
+     *
+     * @param the_file   The file to write.
+     * @param the_source The source to write.
+     * @throws IOException if a previous write failed, or if the calling
+     *                     thread is interrupted while waiting.
+     */
+    public void write(final /*@ non_null @*/ File the_file,
+                      final /*@ non_null @*/ String the_source) throws IOException {
+        submit(new Entry(the_file, the_source, null));
+    }
+
+    /**
+     * Queues the specified binary content (such as a literal pool) to be
+     * written to the specified file, replacing any existing content. Blocks
+     * while the queue is full.
+     *
+     * @param the_file  The file to write.
+     * @param the_bytes The content to write.
+     * @throws IOException if a previous write failed, or if the calling
+     *                     thread is interrupted while waiting.
+     */
+    public void write(final /*@ non_null @*/ File the_file,
+                      final /*@ non_null @*/ byte[] the_bytes) throws IOException {
+        submit(new Entry(the_file, null, the_bytes));
+    }
+
+    /**
+     * Queues the specified entry. Blocks while the queue is full.
+     *
+     * @param the_entry The entry.
+     * @throws IOException if a previous write failed, or if the calling
+     *                     thread is interrupted while waiting.
+     */
+    private void submit(final Entry the_entry) throws IOException {
+        final File the_file = the_entry.my_file;
+        checkFailure();
+        if (my_closed) {
+            throw new IOException("source writer is closed");
+        }
+        my_directories.add(the_file.getAbsoluteFile().getParentFile());
+        try {
+            my_queue.put(the_entry);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while queueing " + the_file, e);
+        }
+    }
+
+    /**
+     * @param the_file The file.
+     * @return true if the_file already exists in the output, false otherwise.
+     */
+    public boolean exists(final /*@ non_null @*/ File the_file) {
+        return the_file.exists();
+    }
+
+    /**
+     * Registers the specified package strategy file as handled during this
+     * run. Package strategies are shared by all classes in a package, so
+     * only the first registration for a given file needs to look at the
+     * file system.
+     *
+     * @param the_canonical_path The canonical path of the package strategy.
+     * @return true if this is the first registration of the_canonical_path
+     * during this run, false otherwise.
+     */
+    public boolean registerPackageStrategy(final /*@ non_null @*/ String the_canonical_path) {
+        return my_package_strategies.add(the_canonical_path);
+    }
+
+    /**
+     * @param the_directory The directory.
+     * @return true if any source has been submitted for writing to
+     * the_directory during this run, false otherwise.
+     */
+    public boolean hasWrittenTo(final /*@ non_null @*/ File the_directory) {
+        return my_directories.contains(the_directory.getAbsoluteFile());
+    }
+
+    /**
+     * Waits for all queued sources to be written and stops the writer thread.
+     *
+     * @throws IOException if any write failed, or if the calling thread is
+     *                     interrupted while waiting.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!my_closed) {
+            my_closed = true;
+            try {
+                my_queue.put(END);
+                my_thread.join();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("interrupted while writing generated sources", e);
+            }
+            finish(my_failure != null);
+        }
+        checkFailure();
+    }
+
+    /**
+     * @throws IOException if the writer thread has encountered a failure.
+     */
+    private void checkFailure() throws IOException {
+        final IOException failure = my_failure;
+        if (failure != null) {
+            throw new IOException(failure.getMessage(), failure);
+        }
+    }
+
+    /**
+     * The body of the writer thread; writes batches of queued sources until
+     * the end marker is reached. After a failure, queued sources are
+     * discarded so that submitters never block indefinitely.
+     */
+    private void writeLoop() {
+        final List<Entry> batch = new ArrayList<>(BATCH_SIZE);
+        boolean done = false;
+        while (!done) {
+            try {
+                batch.add(my_queue.take());
+            } catch (final InterruptedException e) {
+                // only close() waits on this thread, so keep going
+                continue;
+            }
+            my_queue.drainTo(batch, BATCH_SIZE - 1);
+            for (Entry e : batch) {
+                if (e == END) {
+                    done = true;
+                } else if (my_failure == null) {
+                    try {
+                        if (e.my_bytes == null) {
+                            writeSource(e.my_file, StandardCharsets.UTF_8.encode
+                                    (CharBuffer.wrap(e.my_source)));
+                        } else {
+                            writeSource(e.my_file, ByteBuffer.wrap(e.my_bytes));
+                        }
+                    } catch (final IOException ex) {
+                        my_failure = ex;
+                    }
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Writes a single source to its file. This is called only on the
+     * writer thread.
+     *
+     * @param the_file  The file to write.
+     * @param the_bytes The UTF-8 encoded source.
+     * @throws IOException if the write fails.
+     */
+    protected void writeSource(final File the_file, final ByteBuffer the_bytes)
+            throws IOException {
+        try (FileChannel channel =
+                     FileChannel.open(the_file.toPath(),
+                             StandardOpenOption.WRITE,
+                             StandardOpenOption.CREATE,
+                             StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (the_bytes.hasRemaining()) {
+                channel.write(the_bytes);
+            }
+        }
+    }
+
+    /**
+     * Completes the output after all queued sources have been written.
+     * This is called once, from close(), after the writer thread has
+     * finished; it does nothing by default.
+     *
+     * @param the_failed true if any write failed, false otherwise.
+     * @throws IOException if completing the output fails.
+     */
+    protected void finish(final boolean the_failed) throws IOException {
+        // nothing to do for plain files
+    }
+
+    /**
+     * A rendered source waiting to be written.
+     */
+    private static final class Entry {
+        /**
+         * The file to write.
+         */
+        private final File my_file;
+
+        /**
+         * The source to write, or null if the entry is binary.
+         */
+        private final String my_source;
+
+        /**
+         * The binary content to write, or null if the entry is a source.
+         */
+        private final byte[] my_bytes;
+
+        /**
+         * Constructs an Entry.
+         *
+         * @param the_file   The file to write.
+         * @param the_source The source to write, or null.
+         * @param the_bytes  The binary content to write, or null.
+         */
+        Entry(final File the_file, final String the_source, final byte[] the_bytes) {
+            my_file = the_file;
+            my_source = the_source;
+            my_bytes = the_bytes;
+        }
+    }
+}
@@ -0,0 +1,395 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.generator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A plan for test generation: the files to generate, in order, each with
+ * the inputs of the template that renders it. Planning, rendering and
+ * writing are separate stages; a plan can be saved, compared with another,
+ * or loaded in another run (possibly on another machine) that renders and
+ * writes it.
+ * <p>
+ * A plan refers to classes, methods, parameters and types by name, so it
+ * can only be rendered against the class information of the sources it
+ * was made from. It also records the settings that affect rendering,
+ * which must match those of the run that renders it. The paths of the
+ * planned files are relative to the output root of the run that made the
+ * plan, and are resolved against the output root of the run that renders
+ * it, so a plan can be rendered in another directory.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+public final class GenerationPlan {
+    /**
+     * The magic number at the start of a plan file ("JMLG").
+     */
+    private static final int MAGIC = 0x4A4D4C47;
+
+    /**
+     * The version of the plan format.
+     */
+    private static final int VERSION = 2;
+
+    /**
+     * The kinds of generated files.
+     */
+    public enum Kind {
+        /**
+         * A test class, or one of its shards.
+         */
+        TEST_CLASS,
+
+        /**
+         * The literal pool of a test class.
+         */
+        LITERAL_POOL,
+
+        /**
+         * A local-scope strategy for a method parameter.
+         */
+        LOCAL_STRATEGY,
+
+        /**
+         * A class-scope strategy for a type.
+         */
+        CLASS_STRATEGY,
+
+        /**
+         * A package-scope strategy for a type.
+         */
+        PACKAGE_STRATEGY,
+
+        /**
+         * The instance strategy of a class.
+         */
+        INSTANCE_STRATEGY
+    }
+
+    /**
+     * The settings that affect rendering.
+     */
+    private final String my_settings;
+
+    /**
+     * The planned files, in order.
+     */
+    private final List<Item> my_items = new ArrayList<>();
+
+    /**
+     * Constructs an empty GenerationPlan.
+     *
+     * @param the_settings The settings that affect rendering.
+     */
+    public GenerationPlan(final /*@ non_null @*/ String the_settings) {
+        my_settings = the_settings;
+    }
+
+    /**
+     * Loads a plan from a file.
+     *
+     * @param the_file The plan file.
+     * @return the plan.
+     * @throws IOException if the_file cannot be read or is not a plan
+     *                     written by this version of JMLUnitNG.
+     */
+    public static /*@ non_null @*/ GenerationPlan load(final /*@ non_null @*/ File the_file)
+            throws IOException {
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(the_file.toPath()));
+             DataInputStream in = new DataInputStream(is)) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException(the_file + " is not a generation plan for this " +
+                        "version of JMLUnitNG");
+            }
+            final GenerationPlan result = new GenerationPlan(in.readUTF());
+            final int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                result.add(Item.read(in));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Saves this plan to a file.
+     *
+     * @param the_file The plan file.
+     * @throws IOException if the plan cannot be written.
+     */
+    public void save(final /*@ non_null @*/ File the_file) throws IOException {
+        try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(the_file.toPath()));
+             DataOutputStream out = new DataOutputStream(os)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(my_settings);
+            out.writeInt(my_items.size());
+            for (Item i : my_items) {
+                i.write(out);
+            }
+        }
+    }
+
+    /**
+     * @return the settings that affect rendering.
+     */
+    public /*@ pure non_null @*/ String getSettings() {
+        return my_settings;
+    }
+
+    /**
+     * Adds a file to the end of this plan.
+     *
+     * @param the_item The planned file.
+     */
+    public void add(final /*@ non_null @*/ Item the_item) {
+        my_items.add(the_item);
+    }
+
+    /**
+     * Adds all the files of another plan to the end of this plan.
+     *
+     * @param the_plan The other plan.
+     * @throws IllegalArgumentException if the_plan was made with different
+     *                                  settings.
+     */
+    public void addAll(final /*@ non_null @*/ GenerationPlan the_plan) {
+        if (!my_settings.equals(the_plan.my_settings)) {
+            throw new IllegalArgumentException("plans made with different settings");
+        }
+        my_items.addAll(the_plan.my_items);
+    }
+
+    /**
+     * @return an unmodifiable view of the planned files, in order.
+     */
+    public /*@ pure non_null @*/ List<Item> getItems() {
+        return Collections.unmodifiableList(my_items);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public /*@ pure non_null @*/ String toString() {
+        final StringBuilder sb = new StringBuilder(my_settings);
+        for (Item i : my_items) {
+            sb.append(System.lineSeparator());
+            sb.append(i);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * A planned file and the inputs of the template that renders it.
+     */
+    public static final class Item {
+        /**
+         * The kind of file.
+         */
+        private final Kind my_kind;
+
+        /**
+         * The path of the file, relative to the output root, with '/' as
+         * the separator.
+         */
+        private final String my_path;
+
+        /**
+         * The fully qualified name of the class under test.
+         */
+        private final String my_class_name;
+
+        /**
+         * The abbreviated formatted names of the methods that the file is
+         * for; for a strategy, this is the method (if any) that it is for.
+         */
+        private final List<String> my_methods;
+
+        /**
+         * The name of the parameter that the file is for, or the empty string.
+         */
+        private final String my_parameter;
+
+        /**
+         * The fully qualified name of the type that the file is for, or the
+         * empty string.
+         */
+        private final String my_type;
+
+        /**
+         * The number of the shard, or 0 for the test class itself.
+         */
+        private final int my_shard;
+
+        /**
+         * The number of shards of the test class.
+         */
+        private final int my_shard_count;
+
+        /**
+         * Constructs an Item.
+         *
+         * @param the_kind        The kind of file.
+         * @param the_path        The path of the file, relative to the output
+         *                        root, with '/' as the separator.
+         * @param the_class_name  The fully qualified name of the class under test.
+         * @param the_methods     The abbreviated formatted names of the methods
+         *                        that the file is for.
+         * @param the_parameter   The name of the parameter that the file is for,
+         *                        or the empty string.
+         * @param the_type        The fully qualified name of the type that the file
+         *                        is for, or the empty string.
+         * @param the_shard       The number of the shard, or 0.
+         * @param the_shard_count The number of shards of the test class.
+         */
+        //@ requires the_shard >= 0 && the_shard_count >= 0;
+        public Item(final /*@ non_null @*/ Kind the_kind,
+                    final /*@ non_null @*/ String the_path,
+                    final /*@ non_null @*/ String the_class_name,
+                    final /*@ non_null @*/ List<String> the_methods,
+                    final /*@ non_null @*/ String the_parameter,
+                    final /*@ non_null @*/ String the_type,
+                    final int the_shard, final int the_shard_count) {
+            my_kind = the_kind;
+            my_path = the_path;
+            my_class_name = the_class_name;
+            my_methods = Collections.unmodifiableList(new ArrayList<>(the_methods));
+            my_parameter = the_parameter;
+            my_type = the_type;
+            my_shard = the_shard;
+            my_shard_count = the_shard_count;
+        }
+
+        /**
+         * @return the kind of file.
+         */
+        public /*@ pure non_null @*/ Kind getKind() {
+            return my_kind;
+        }
+
+        /**
+         * @return the path of the file, relative to the output root, with
+         * '/' as the separator.
+         */
+        public /*@ pure non_null @*/ String getPath() {
+            return my_path;
+        }
+
+        /**
+         * @param the_root The output root.
+         * @return the file, resolved against the_root.
+         */
+        public /*@ pure non_null @*/ File getFile(final /*@ non_null @*/ File the_root) {
+            return new File(the_root, my_path.replace('/', File.separatorChar));
+        }
+
+        /**
+         * @return the fully qualified name of the class under test.
+         */
+        public /*@ pure non_null @*/ String getClassName() {
+            return my_class_name;
+        }
+
+        /**
+         * @return the abbreviated formatted names of the methods that the
+         * file is for.
+         */
+        public /*@ pure non_null @*/ List<String> getMethods() {
+            return my_methods;
+        }
+
+        /**
+         * @return the name of the parameter that the file is for, or the
+         * empty string.
+         */
+        public /*@ pure non_null @*/ String getParameter() {
+            return my_parameter;
+        }
+
+        /**
+         * @return the fully qualified name of the type that the file is for,
+         * or the empty string.
+         */
+        public /*@ pure non_null @*/ String getType() {
+            return my_type;
+        }
+
+        /**
+         * @return the number of the shard, or 0 for the test class itself.
+         */
+        public /*@ pure @*/ int getShard() {
+            return my_shard;
+        }
+
+        /**
+         * @return the number of shards of the test class.
+         */
+        public /*@ pure @*/ int getShardCount() {
+            return my_shard_count;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public /*@ pure non_null @*/ String toString() {
+            return my_kind + " " + my_path + " " + my_class_name + " " + my_methods + " " +
+                    my_parameter + " " + my_type + " " + my_shard + "/" + my_shard_count;
+        }
+
+        /**
+         * @param the_out The output to write this item to.
+         * @throws IOException if this item cannot be written.
+         */
+        private void write(final DataOutputStream the_out) throws IOException {
+            the_out.writeByte(my_kind.ordinal());
+            the_out.writeUTF(my_path);
+            the_out.writeUTF(my_class_name);
+            the_out.writeInt(my_methods.size());
+            for (String m : my_methods) {
+                the_out.writeUTF(m);
+            }
+            the_out.writeUTF(my_parameter);
+            the_out.writeUTF(my_type);
+            the_out.writeInt(my_shard);
+            the_out.writeInt(my_shard_count);
+        }
+
+        /**
+         * @param the_in The input to read an item from.
+         * @return the item.
+         * @throws IOException if the item cannot be read.
+         */
+        private static Item read(final DataInputStream the_in) throws IOException {
+            final int kind = the_in.readUnsignedByte();
+            if (kind >= Kind.values().length) {
+                throw new IOException("malformed generation plan");
+            }
+            final String path = the_in.readUTF();
+            final String class_name = the_in.readUTF();
+            final int count = the_in.readInt();
+            final List<String> methods = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                methods.add(the_in.readUTF());
+            }
+            return new Item(Kind.values()[kind], path, class_name, methods,
+                    the_in.readUTF(), the_in.readUTF(), the_in.readInt(), the_in.readInt());
+        }
+    }
+}
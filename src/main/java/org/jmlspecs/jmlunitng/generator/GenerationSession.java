@@ -0,0 +1,154 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.generator;
+
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The state of one test generation run: the ClassInfo and MethodInfo
+ * caches, and the sets of files created and cleaned during the run.
+ * Nothing is shared between sessions, so several sessions can run
+ * concurrently in one JVM; once a session is disposed, its state is
+ * released and it can no longer be used.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+public class GenerationSession implements Closeable {
+    /**
+     * The factory (and caches) for ClassInfo and MethodInfo objects.
+     */
+    private final InfoFactory my_info_factory;
+
+    /**
+     * The set of files/directories we have created in this session.
+     */
+    private final Set<String> my_created_files = new HashSet<>();
+
+    /**
+     * The set of files/directories we have cleaned in this session.
+     */
+    private final Set<String> my_cleaned_files = new HashSet<>();
+
+    /**
+     * true if this session has been disposed, false otherwise.
+     */
+    private boolean my_disposed;
+
+    /**
+     * Constructs a GenerationSession with an empty classpath.
+     */
+    public GenerationSession() {
+        this("");
+    }
+
+    /**
+     * Constructs a GenerationSession.
+     *
+     * @param the_classpath The classpath (formatted as for javac) on which to
+     *                      look for the class files of classes whose sources
+     *                      are not available, such as superclasses from libraries.
+     */
+    public GenerationSession(final /*@ non_null @*/ String the_classpath) {
+        my_info_factory = new InfoFactory(the_classpath);
+    }
+
+    /**
+     * @return the factory that creates (and caches) ClassInfo and
+     * MethodInfo objects for this session.
+     */
+    public InfoFactory getInfoFactory() {
+        checkNotDisposed();
+        return my_info_factory;
+    }
+
+    /**
+     * Records that a file/directory has been created in this session.
+     *
+     * @param the_path The canonical path of the file/directory.
+     */
+    public void addCreatedFile(final /*@ non_null @*/ String the_path) {
+        checkNotDisposed();
+        my_created_files.add(the_path);
+    }
+
+    /**
+     * Records that some files/directories have been created in this session.
+     *
+     * @param the_paths The canonical paths of the files/directories.
+     */
+    public void addCreatedFiles(final /*@ non_null @*/ Collection<String> the_paths) {
+        checkNotDisposed();
+        my_created_files.addAll(the_paths);
+    }
+
+    /**
+     * @return an unmodifiable (live) view of the set of canonical paths
+     * of files/directories created in this session.
+     */
+    public /*@ pure @*/ Set<String> getCreatedFiles() {
+        return Collections.unmodifiableSet(my_created_files);
+    }
+
+    /**
+     * Records that a file/directory has been cleaned in this session.
+     *
+     * @param the_path The canonical path of the file/directory.
+     * @return true if the_path had not already been cleaned in this session,
+     * false otherwise.
+     */
+    public boolean addCleanedFile(final /*@ non_null @*/ String the_path) {
+        checkNotDisposed();
+        return my_cleaned_files.add(the_path);
+    }
+
+    /**
+     * Forgets which files/directories have been cleaned in this session,
+     * so they can be visited again (for example, when pruning after cleaning).
+     */
+    public void resetCleanedFiles() {
+        checkNotDisposed();
+        my_cleaned_files.clear();
+    }
+
+    /**
+     * @return true if this session has been disposed, false otherwise.
+     */
+    public /*@ pure @*/ boolean isDisposed() {
+        return my_disposed;
+    }
+
+    /**
+     * Disposes of this session, releasing all of its state.
+     */
+    public void dispose() {
+        my_disposed = true;
+        my_info_factory.close();
+        my_created_files.clear();
+        my_cleaned_files.clear();
+    }
+
+    /**
+     * Disposes of this session; equivalent to dispose().
+     */
+    @Override
+    public void close() {
+        dispose();
+    }
+
+    /**
+     * @throws IllegalStateException if this session has been disposed.
+     */
+    private void checkNotDisposed() {
+        if (my_disposed) {
+            throw new IllegalStateException("generation session has been disposed");
+        }
+    }
+}
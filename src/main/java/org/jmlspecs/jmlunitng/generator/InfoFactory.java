@@ -6,6 +6,7 @@
 package org.jmlspecs.jmlunitng.generator;
 
 import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.ImportDeclaration;
 import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.body.*;
 import com.github.javaparser.ast.expr.*;
@@ -17,16 +18,43 @@ import com.github.javaparser.ast.type.ClassOrInterfaceType;
 import com.github.javaparser.ast.type.Type;
 import com.github.javaparser.ast.type.TypeParameter;
 import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
+import com.github.javaparser.resolution.declarations.AssociableToAST;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.utils.StringEscapeUtils;
+import com.sun.source.tree.InstanceOfTree;
+import com.sun.source.tree.LiteralTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreePathScanner;
+import com.sun.source.util.Trees;
 import org.jmlspecs.jmlunitng.JMLUnitNGError;
 import org.jmlspecs.jmlunitng.util.InheritanceComparator;
 import org.jmlspecs.jmlunitng.util.ProtectionLevel;
 
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
 import java.util.*;
 
 import static com.github.javaparser.ast.Modifier.DefaultKeyword.*;
 
 /**
- * Factory class that generates ClassInfo and MethodInfo objects.
+ * Factory class that generates ClassInfo and MethodInfo objects. Each
+ * instance caches the objects it has generated; instances are owned by
+ * (and live only as long as) a GenerationSession.
  *
  * @author Daniel M. Zimmerman
  * @author Jonathan Hogins
@@ -38,28 +66,72 @@ public final class InfoFactory {
      */
     private static final String CLASS_SUFFIX = ".class";
 
+    /**
+     * The internal name of java.lang.Object.
+     */
+    private static final String OBJECT_INTERNAL_NAME = "java/lang/Object";
+
+    /**
+     * The class file name of constructors.
+     */
+    private static final String CONSTRUCTOR_NAME = "<init>";
+
+    /**
+     * The class file name of static initializers.
+     */
+    private static final String STATIC_INITIALIZER_NAME = "<clinit>";
+
     /**
      * Cache of already created ClassInfo objects.
      */
-    private static final Map<String, ClassInfo> CLASS_CACHE =
+    private final Map<String, ClassInfo> my_class_cache =
             new HashMap<>();
 
     /**
      * Cache of already-created top-level ClassInfo objects by compilation unit.
      */
-    private static final Map<CompilationUnit, ClassInfo> COMPILATION_UNIT_CACHE =
+    private final Map<CompilationUnit, ClassInfo> my_compilation_unit_cache =
             new HashMap<>();
 
+    /**
+     * The top-level ClassInfo objects of all the source files, parsed or indexed.
+     */
+    private final Set<ClassInfo> my_source_classes = new HashSet<>();
+
+    /**
+     * The class declarations of the compilation units being processed, by
+     * qualified name, for which ClassInfo objects may not yet exist.
+     */
+    private final Map<String, ClassOrInterfaceDeclaration> my_pending_declarations =
+            new HashMap<>();
+
+    /**
+     * The index records of the classes being processed, by qualified name,
+     * for which ClassInfo objects do not yet exist.
+     */
+    private final Map<String, ModelIndex.ClassRecord> my_pending_records = new HashMap<>();
+
     /**
      * Cache of already-created methods by method symbol.
      */
-    private static final SortedMap<ClassInfo, SortedSet<MethodInfo>> METHOD_CACHE =
+    private final SortedMap<ClassInfo, SortedSet<MethodInfo>> my_method_cache =
             new TreeMap<>();
 
     /**
-     * Private constructor to prevent initialization.
+     * The reader for class files of classes whose sources are not available.
+     */
+    private final ClassFileReader my_class_file_reader;
+
+    /**
+     * Constructs an InfoFactory with empty caches. Instances are created
+     * by GenerationSession.
+     *
+     * @param the_classpath The classpath (formatted as for javac) on which to
+     *                      look for the class files of classes whose sources
+     *                      are not available.
      */
-    private InfoFactory() {
+    InfoFactory(final /*@ non_null @*/ String the_classpath) {
+        my_class_file_reader = new ClassFileReader(the_classpath);
     }
 
     /**
@@ -68,14 +140,48 @@ public final class InfoFactory {
      *
      * @param the_units The compilation units to create ClassInfos from.
      */
-    public static void generateInfos(final List<CompilationUnit> the_units) {
+    public void generateInfos(final List<CompilationUnit> the_units) {
+        generateInfos(the_units, Collections.emptyList());
+    }
+
+    /**
+     * Generates ClassInfo (and dependent) objects for the given
+     * compilation units and index entries. Classes in the compilation
+     * units and index entries may refer to each other freely; inherited
+     * methods are determined for all of them together.
+     *
+     * @param the_units   The compilation units to create ClassInfos from.
+     * @param the_entries The index entries (of unchanged source files) to
+     *                    create ClassInfos from.
+     */
+    public synchronized void generateInfos(final List<CompilationUnit> the_units,
+                                           final Collection<ModelIndex.Entry> the_entries) {
         final SortedMap<ClassInfo, SortedSet<MethodInfo>> signals_cache = new TreeMap<>();
 
-        // first, generate ClassInfos and MethodInfos for each tree
+        // any class may refer to any other, so all of them must be known
+        // before any ClassInfo is created
+        for (CompilationUnit u : the_units) {
+            for (ClassOrInterfaceDeclaration d : u.findAll(ClassOrInterfaceDeclaration.class)) {
+                d.getFullyQualifiedName().ifPresent(n -> my_pending_declarations.put(n, d));
+            }
+        }
+        for (ModelIndex.Entry e : the_entries) {
+            for (ModelIndex.ClassRecord r : e.getClasses()) {
+                my_pending_records.put(r.getName(), r);
+            }
+        }
+
+        // first, generate ClassInfos (and their MethodInfos) for each index entry
+        for (ModelIndex.Entry e : the_entries) {
+            my_source_classes.add(findClassInfo(e.getClassName()));
+        }
+
+        // then, generate ClassInfos and MethodInfos for each tree
         for (CompilationUnit u : the_units) {
             final ClassInfoParser cp = new ClassInfoParser();
             u.accept(cp, null);
-            COMPILATION_UNIT_CACHE.put(u, cp.getEnclosingClassInfo());
+            my_compilation_unit_cache.put(u, cp.getEnclosingClassInfo());
+            my_source_classes.add(cp.getEnclosingClassInfo());
             final MethodInfoParser mp = new MethodInfoParser(signals_cache);
             u.accept(mp, null);
         }
@@ -87,7 +193,7 @@ public final class InfoFactory {
         final SortedSet<ClassInfo> all_classes = getAllClassInfos();
 
         for (ClassInfo c : all_classes) {
-            final SortedSet<MethodInfo> raw = METHOD_CACHE.get(c);
+            final SortedSet<MethodInfo> raw = my_method_cache.get(c);
             final SortedSet<MethodInfo> signals = signals_cache.get(c);
             final SortedSet<MethodInfo> combined = new TreeSet<>();
 
@@ -116,9 +222,11 @@ public final class InfoFactory {
                 }
             }
 
-            METHOD_CACHE.put(c, combined);
+            my_method_cache.put(c, combined);
         }
 
+        my_pending_declarations.clear();
+        my_pending_records.clear();
         processInheritedMethods();
     
     /* // debugging info for literal finding
@@ -151,6 +259,46 @@ public final class InfoFactory {
     */
     }
 
+    /**
+     * Generates ClassInfo (and dependent) objects for the given type
+     * elements of a compilation, as seen by an annotation processor, rather
+     * than for parsed compilation units. Literals are found in the
+     * compiler's own trees, where they are available; JML specifications
+     * are comments to the compiler, so the methods have no signals clauses
+     * and no specification literals.
+     *
+     * @param the_elements The top-level type elements of the source files.
+     * @param the_env      The processing environment of the compilation.
+     */
+    public synchronized void generateInfos(final Collection<? extends TypeElement> the_elements,
+                                           final ProcessingEnvironment the_env) {
+        final ElementParser parser = new ElementParser(the_env);
+        for (TypeElement e : the_elements) {
+            my_source_classes.add(parser.createClassInfo(e));
+        }
+        processInheritedMethods();
+    }
+
+    /**
+     * Discards all cached ClassInfo and MethodInfo objects.
+     */
+    public synchronized void clear() {
+        my_class_cache.clear();
+        my_compilation_unit_cache.clear();
+        my_source_classes.clear();
+        my_method_cache.clear();
+    }
+
+    /**
+     * Discards all cached ClassInfo and MethodInfo objects and closes the
+     * jar files on the classpath; after this, no more classes can be read
+     * from class files.
+     */
+    public synchronized void close() {
+        clear();
+        my_class_file_reader.close();
+    }
+
     /**
      * Returns the cached ClassInfo object for the specified
      * qualified class name.
@@ -159,8 +307,8 @@ public final class InfoFactory {
      * @return a ClassInfo object representing the class, or null
      * if one has not yet been created.
      */
-    public static ClassInfo getClassInfo(final String the_qualified_name) {
-        return CLASS_CACHE.get(the_qualified_name);
+    public ClassInfo getClassInfo(final String the_qualified_name) {
+        return my_class_cache.get(the_qualified_name);
     }
 
     /**
@@ -172,16 +320,26 @@ public final class InfoFactory {
      * classes in the compilation unit, or null if one
      * has not yet been created.
      */
-    public static ClassInfo getClassInfo(final CompilationUnit the_unit) {
-        return COMPILATION_UNIT_CACHE.get(the_unit);
+    public ClassInfo getClassInfo(final CompilationUnit the_unit) {
+        return my_compilation_unit_cache.get(the_unit);
+    }
+
+    /**
+     * @param the_class The class.
+     * @return true if the_class is the top-level class of one of the source
+     * files (parsed or indexed) for which ClassInfos have been generated,
+     * false otherwise.
+     */
+    public boolean isSourceClass(final ClassInfo the_class) {
+        return my_source_classes.contains(the_class);
     }
 
     /**
      * @return all the ClassInfos that have been generated.
      */
-    public static SortedSet<ClassInfo> getAllClassInfos() {
+    public SortedSet<ClassInfo> getAllClassInfos() {
         final SortedSet<ClassInfo> result = new TreeSet<>();
-        result.addAll(CLASS_CACHE.values());
+        result.addAll(my_class_cache.values());
         return result;
     }
 
@@ -192,9 +350,9 @@ public final class InfoFactory {
      * @param the_class The class to find the children of.
      * @return all the ClassInfos that describe child classes of the_class.
      */
-    public static SortedSet<ClassInfo> getAllChildren(final ClassInfo the_class) {
+    public SortedSet<ClassInfo> getAllChildren(final ClassInfo the_class) {
         final SortedSet<ClassInfo> result = new TreeSet<>();
-        for (ClassInfo c : CLASS_CACHE.values()) {
+        for (ClassInfo c : my_class_cache.values()) {
             ClassInfo p = c;
             while (p != null) {
                 if (p.equals(the_class)) {
@@ -220,7 +378,7 @@ public final class InfoFactory {
      * @param the_class The class to find the concrete children of.
      * @return all the ClassInfos that describe concrete child classes of the_class.
      */
-    public static SortedSet<ClassInfo> getConcreteChildren(final ClassInfo the_class) {
+    public SortedSet<ClassInfo> getConcreteChildren(final ClassInfo the_class) {
         final SortedSet<ClassInfo> all_children = getAllChildren(the_class);
         final Iterator<ClassInfo> i = all_children.iterator();
         while (i.hasNext()) {
@@ -235,7 +393,7 @@ public final class InfoFactory {
     /**
      * Processes the inherited methods for all classes.
      */
-    private static void processInheritedMethods() {
+    private void processInheritedMethods() {
         final SortedSet<ClassInfo> class_set = getAllClassInfos();
         final Queue<ClassInfo> class_queue = new LinkedList<>();
 
@@ -246,7 +404,7 @@ public final class InfoFactory {
             final ClassInfo c = it.next();
             if (c.getParent() == null) {
                 it.remove();
-                c.initializeMethods(METHOD_CACHE.get(c));
+                c.initializeMethods(my_method_cache.get(c));
             }
         }
 
@@ -257,7 +415,7 @@ public final class InfoFactory {
         while (!class_queue.isEmpty()) {
             final ClassInfo c = class_queue.poll();
             if (c.getParent().areMethodsInitialized()) {
-                final SortedSet<MethodInfo> methods = METHOD_CACHE.get(c);
+                final SortedSet<MethodInfo> methods = my_method_cache.get(c);
                 // it's safe to add methods from the parent class
                 if (c.getParent() != null) {
                     final Set<MethodInfo> parent_methods =
@@ -299,10 +457,10 @@ public final class InfoFactory {
      * @param the_class The Class to generate a ClassInfo object for.
      * @return A ClassInfo object representing the class.
      */
-    private static synchronized ClassInfo createClassInfo(final ClassOrInterfaceDeclaration the_class) {
+    private synchronized ClassInfo createClassInfo(final ClassOrInterfaceDeclaration the_class) {
         final var fqn = the_class.getFullyQualifiedName().get();
-        if (CLASS_CACHE.containsKey(fqn)) {
-            return CLASS_CACHE.get(fqn);
+        if (my_class_cache.containsKey(fqn)) {
+            return my_class_cache.get(fqn);
         }
         final String name = fqn;
         final boolean is_abstract = the_class.hasModifier(ABSTRACT);
@@ -311,21 +469,17 @@ public final class InfoFactory {
         final boolean is_inner = the_class.isNestedType();
 
         ClassInfo parent = null;
-        //check for instanceof. Returns a NoType instance if no superclass exists
         final var first = the_class.getExtendedTypes().getFirst();
         if (first.isPresent()) {
-            var t = first.get().resolve();
-            ClassOrInterfaceDeclaration d =
-                    (ClassOrInterfaceDeclaration) t.asReferenceType().getTypeDeclaration().get().asClass().toAst().get();
-            parent = createClassInfo(d);
+            parent = createClassInfo(first.get());
         }
         final SortedSet<ClassInfo> interfaces = new TreeSet<>();
         for (var t : the_class.getImplementedTypes()) {
-            var it = first.get().resolve();
-            ClassOrInterfaceDeclaration d =
-                    (ClassOrInterfaceDeclaration) it.asReferenceType().getTypeDeclaration().get().asClass().toAst().get();
-            // this should always be the case but it doesn't hurt to be safe
-            interfaces.add(createClassInfo(d));
+            final ClassInfo i = createClassInfo(t);
+            // this should always be non-null but it doesn't hurt to be safe
+            if (i != null) {
+                interfaces.add(i);
+            }
         }
         final boolean is_enumeration =
                 parent != null && "java.lang.Enum".equals(parent.getFullyQualifiedName());
@@ -333,7 +487,7 @@ public final class InfoFactory {
                 new ClassInfo(name, getLevel(the_class), is_abstract, is_interface,
                         is_enumeration, is_static, is_inner, parent, interfaces);
         // ensure this ClassInfo object is cached before creating methods
-        CLASS_CACHE.put(name, result);
+        my_class_cache.put(name, result);
 
         // add inner classes after ClassInfo creation.
         final Set<ClassInfo> inner_classes = new HashSet<>();
@@ -347,10 +501,10 @@ public final class InfoFactory {
 
         // add methods after ClassInfo creation.
 
-        SortedSet<MethodInfo> methods = METHOD_CACHE.get(result);
+        SortedSet<MethodInfo> methods = my_method_cache.get(result);
         if (methods == null) {
             methods = new TreeSet<>();
-            METHOD_CACHE.put(result, methods);
+            my_method_cache.put(result, methods);
         }
         for (BodyDeclaration<?> e : members) {
             if (e instanceof MethodDeclaration md) {
@@ -367,6 +521,270 @@ public final class InfoFactory {
         return result;
     }
 
+    /**
+     * Creates a ClassInfo object for the class named in an extends or
+     * implements clause. If the class is declared in a parsed source, the
+     * ClassInfo is created from its declaration; if it is declared in an
+     * indexed source, from its index record; otherwise, from its class file.
+     *
+     * @param the_type The type in the extends or implements clause.
+     * @return A ClassInfo object representing the class, or null if neither
+     * its declaration nor its class file can be found.
+     */
+    private ClassInfo createClassInfo(final ClassOrInterfaceType the_type) {
+        final List<String> candidates = new ArrayList<>();
+        try {
+            final ResolvedReferenceTypeDeclaration d =
+                    the_type.resolve().asReferenceType().getTypeDeclaration().get();
+            final ClassInfo source = findSourceClassInfo(d.getQualifiedName());
+            if (source != null) {
+                return source;
+            }
+            if (d instanceof AssociableToAST<?> a &&
+                    a.toAst().orElse(null) instanceof ClassOrInterfaceDeclaration cd) {
+                return createClassInfo(cd);
+            }
+            candidates.add(d.getPackageName().replace('.', '/') + '/' +
+                    d.getClassName().replace('.', '$'));
+        } catch (final RuntimeException e) {
+            // the symbol solver can't find the class (it looks only at sources),
+            // so we find its class file using the imports of the compilation unit
+            candidates.addAll(candidateBinaryNames(the_type));
+        }
+        for (String c : candidates) {
+            final ClassInfo source = findSourceClassInfo(ClassFile.javaName(c));
+            if (source != null) {
+                return source;
+            }
+            final ClassFile cf = my_class_file_reader.read(c);
+            if (cf != null) {
+                return createClassInfo(cf);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds or creates the ClassInfo object for the class with the given
+     * qualified name, from its declaration, its index record or its class
+     * file, in that order.
+     *
+     * @param the_name The qualified name of the class.
+     * @return A ClassInfo object representing the class, or null if it
+     * cannot be found.
+     */
+    private synchronized ClassInfo findClassInfo(final String the_name) {
+        ClassInfo result = findSourceClassInfo(the_name);
+        if (result == null) {
+            for (String n : internalNames(the_name)) {
+                result = createClassInfo(n);
+                if (result != null) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds or creates the ClassInfo object for the class with the given
+     * qualified name from its declaration or its index record.
+     *
+     * @param the_name The qualified name of the class.
+     * @return A ClassInfo object representing the class, or null if it is
+     * declared neither in a parsed source nor in an indexed one.
+     */
+    private synchronized ClassInfo findSourceClassInfo(final String the_name) {
+        ClassInfo result = my_class_cache.get(the_name);
+        if (result == null && my_pending_declarations.containsKey(the_name)) {
+            result = createClassInfo(my_pending_declarations.get(the_name));
+        } else if (result == null && my_pending_records.containsKey(the_name)) {
+            result = createClassInfo(my_pending_records.remove(the_name));
+        }
+        return result;
+    }
+
+    /**
+     * Creates a ClassInfo object (and its MethodInfo objects) from an index
+     * record.
+     *
+     * @param the_record The index record.
+     * @return A ClassInfo object representing the class.
+     */
+    private synchronized ClassInfo createClassInfo(final ModelIndex.ClassRecord the_record) {
+        final ClassInfo result = the_record.createClassInfo(this::findClassInfo);
+        // ensure this ClassInfo object is cached before creating nested classes
+        my_class_cache.put(the_record.getName(), result);
+
+        final Set<ClassInfo> nested_classes = new HashSet<>();
+        for (String n : the_record.getNestedClassNames()) {
+            final ClassInfo c = findClassInfo(n);
+            if (c != null) {
+                nested_classes.add(c);
+            }
+        }
+        result.initializeNestedClasses(nested_classes);
+        the_record.initializeLiterals(result);
+        my_method_cache.put(result, the_record.createMethods(result, this::findClassInfo));
+        return result;
+    }
+
+    /**
+     * Determines the internal names that a class named in the source may
+     * have, in the order in which Java looks for them: single-type imports,
+     * the same package, on-demand imports, java.lang, and finally the name
+     * as written (which may be fully qualified).
+     *
+     * @param the_type The type naming the class.
+     * @return the candidate internal names.
+     */
+    private static List<String> candidateBinaryNames(final ClassOrInterfaceType the_type) {
+        final String name = the_type.getNameWithScope();
+        final int dot = name.indexOf('.');
+        final String first = dot < 0 ? name : name.substring(0, dot);
+        final String rest = dot < 0 ? "" : name.substring(dot);
+        final List<String> qualified = new ArrayList<>();
+        final Optional<CompilationUnit> unit = the_type.findCompilationUnit();
+        if (unit.isPresent()) {
+            for (ImportDeclaration i : unit.get().getImports()) {
+                if (!i.isStatic() && !i.isAsterisk() &&
+                        i.getName().getIdentifier().equals(first)) {
+                    qualified.add(i.getNameAsString() + rest);
+                }
+            }
+            unit.get().getPackageDeclaration().ifPresent(p ->
+                    qualified.add(p.getNameAsString() + '.' + name));
+            for (ImportDeclaration i : unit.get().getImports()) {
+                if (!i.isStatic() && i.isAsterisk()) {
+                    qualified.add(i.getNameAsString() + '.' + name);
+                }
+            }
+        }
+        qualified.add("java.lang." + name);
+        qualified.add(name);
+
+        final List<String> result = new ArrayList<>();
+        for (String q : qualified) {
+            result.addAll(internalNames(q));
+        }
+        return result;
+    }
+
+    /**
+     * Determines the internal names that a class with the given qualified
+     * name may have; the qualified name may have any number of nesting levels.
+     *
+     * @param the_name The qualified name.
+     * @return the candidate internal names, outermost package first.
+     */
+    private static List<String> internalNames(final String the_name) {
+        final List<String> result = new ArrayList<>();
+        final String[] parts = the_name.split("\\.");
+        for (int classes = 1; classes <= parts.length; classes++) {
+            final int package_length = parts.length - classes;
+            final StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < parts.length; i++) {
+                if (i > 0) {
+                    sb.append(i <= package_length ? '/' : '$');
+                }
+                sb.append(parts[i]);
+            }
+            result.add(sb.toString());
+        }
+        return result;
+    }
+
+    /**
+     * Creates a ClassInfo object for the class with the given internal name
+     * from its class file. Returns a cached version if one exists for the
+     * class's qualified name.
+     *
+     * @param the_internal_name The internal name of the class.
+     * @return A ClassInfo object representing the class, or null if
+     * its class file cannot be found.
+     */
+    private ClassInfo createClassInfo(final String the_internal_name) {
+        final ClassInfo cached = my_class_cache.get(ClassFile.javaName(the_internal_name));
+        if (cached != null) {
+            return cached;
+        }
+        final ClassFile cf = my_class_file_reader.read(the_internal_name);
+        ClassInfo result = null;
+        if (cf != null) {
+            result = createClassInfo(cf);
+        }
+        return result;
+    }
+
+    /**
+     * Creates a ClassInfo object (and its MethodInfo objects) from a class
+     * file. Returns a cached version if one exists for the class's qualified
+     * name. Class files have no literals or signals clauses, so the ClassInfo
+     * and its methods have none either.
+     *
+     * @param the_class_file The class file.
+     * @return A ClassInfo object representing the class.
+     */
+    private synchronized ClassInfo createClassInfo(final ClassFile the_class_file) {
+        final String name = ClassFile.javaName(the_class_file.getName());
+        if (my_class_cache.containsKey(name)) {
+            return my_class_cache.get(name);
+        }
+        final int access = the_class_file.getAccess();
+
+        // as for parsed classes, java.lang.Object is never recorded as a parent
+        ClassInfo parent = null;
+        final String super_name = the_class_file.getSuperName();
+        if (super_name != null && !OBJECT_INTERNAL_NAME.equals(super_name)) {
+            parent = createClassInfo(super_name);
+        }
+        final SortedSet<ClassInfo> interfaces = new TreeSet<>();
+        for (String i : the_class_file.getInterfaces()) {
+            final ClassInfo info = createClassInfo(i);
+            if (info != null) {
+                interfaces.add(info);
+            }
+        }
+        final ClassInfo result =
+                new ClassInfo(name, getLevel(access), (access & ClassFile.ACC_ABSTRACT) != 0,
+                        (access & ClassFile.ACC_INTERFACE) != 0,
+                        (access & ClassFile.ACC_ENUM) != 0,
+                        (access & ClassFile.ACC_STATIC) != 0, the_class_file.isNested(),
+                        parent, interfaces);
+        my_class_cache.put(name, result);
+        result.initializeNestedClasses(new HashSet<>());
+        result.initializeLiterals(new HashMap<>(), new HashMap<>());
+
+        final SortedSet<MethodInfo> methods = new TreeSet<>();
+        for (ClassFile.Method m : the_class_file.getMethods()) {
+            if ((m.getAccess() & (ClassFile.ACC_SYNTHETIC | ClassFile.ACC_BRIDGE)) != 0 ||
+                    STATIC_INITIALIZER_NAME.equals(m.getName())) {
+                continue;
+            }
+            final boolean is_constructor = CONSTRUCTOR_NAME.equals(m.getName());
+            final List<String> types = m.getParameterTypes();
+            final List<ParameterInfo> params = new ArrayList<>(types.size());
+            for (int i = 0; i < types.size(); i++) {
+                params.add(new ParameterInfo(types.get(i), m.getParameterName(i)));
+            }
+            final String method_name;
+            final TypeInfo return_type;
+            if (is_constructor) {
+                method_name = result.getShortName();
+                return_type = new TypeInfo(name);
+            } else {
+                method_name = m.getName();
+                return_type = new TypeInfo(m.getReturnType());
+            }
+            methods.add(new MethodInfo(method_name, result, result, getLevel(m.getAccess()),
+                    params, return_type, new ArrayList<>(), new HashMap<>(), new HashMap<>(),
+                    is_constructor, (m.getAccess() & ClassFile.ACC_STATIC) != 0,
+                    m.isDeprecated(), m.isModel()));
+        }
+        my_method_cache.put(result, methods);
+        return result;
+    }
+
   /*@ ensures (\forall String s; \result.getParameterTypes().contains(s);
     @             (\exists VarSymbol v; the_sym.params.contains(v); 
     @                 s.equals(v.getSimpleName().toString()))) &&
@@ -390,7 +808,7 @@ public final class InfoFactory {
      * @param the_spec_literal_map The map of types to literals in the specs.
      * @return The MethodInfo object.
      */
-    private static MethodInfo createMethodInfo(
+    private MethodInfo createMethodInfo(
             final ClassOrInterfaceDeclaration enclDecl,
             final CallableDeclaration<?> the_sym,
             final List<ClassInfo> the_signals,
@@ -492,11 +910,47 @@ public final class InfoFactory {
         return level;
     }
 
+    /**
+     * Returns the protection level present in the given set of element modifiers.
+     *
+     * @param the_mods The modifiers.
+     * @return the protection level.
+     */
+    private static ProtectionLevel getLevel(final Set<Modifier> the_mods) {
+        ProtectionLevel level = ProtectionLevel.NO_LEVEL;
+        if (the_mods.contains(Modifier.PUBLIC)) {
+            level = ProtectionLevel.PUBLIC;
+        } else if (the_mods.contains(Modifier.PROTECTED)) {
+            level = ProtectionLevel.PROTECTED;
+        } else if (the_mods.contains(Modifier.PRIVATE)) {
+            level = ProtectionLevel.PRIVATE;
+        }
+        return level;
+    }
+
+    /**
+     * Returns the protection level present in the given class file access flags.
+     *
+     * @param the_access The access flags.
+     * @return the protection level.
+     */
+    private static ProtectionLevel getLevel(final int the_access) {
+        ProtectionLevel level = ProtectionLevel.NO_LEVEL;
+        if ((the_access & ClassFile.ACC_PUBLIC) != 0) {
+            level = ProtectionLevel.PUBLIC;
+        } else if ((the_access & ClassFile.ACC_PROTECTED) != 0) {
+            level = ProtectionLevel.PROTECTED;
+        } else if ((the_access & ClassFile.ACC_PRIVATE) != 0) {
+            level = ProtectionLevel.PRIVATE;
+        }
+        return level;
+    }
+
     /**
      * JCTree scanner that records relevant information on the classes and methods
      * scanned.
      */
-    private static class ClassInfoParser extends VoidVisitorAdapter<Void> {
+    private class ClassInfoParser extends VoidVisitorAdapter<Void> {
         /**
          * The parsed enclosing ClassInfo object.
          */
@@ -516,7 +970,7 @@ public final class InfoFactory {
          */
         @Override
         public void visit(ClassOrInterfaceDeclaration the_tree, Void arg) {
-            my_class_info = InfoFactory.createClassInfo(the_tree);
+            my_class_info = createClassInfo(the_tree);
             if (!my_class_info.areLiteralsInitialized()) {
                 final LiteralsParser lp = new LiteralsParser(false, false);
                 the_tree.accept(lp, null);
@@ -544,7 +998,7 @@ public final class InfoFactory {
      * JCTree scanner that records relevant information on the classes and methods
      * scanned.
      */
-    private static class MethodInfoParser extends VoidVisitorAdapter<Void> {
+    private class MethodInfoParser extends VoidVisitorAdapter<Void> {
         /**
          * A cache of methods associated with classes.
          */
@@ -593,6 +1047,293 @@ public final class InfoFactory {
         }
     }
 
+    /**
+     * Creator of ClassInfo and MethodInfo objects from the type elements of
+     * a compilation, for an annotation processor. Every class, including
+     * those whose sources are not part of the compilation, is created from
+     * its element; only those with sources have literals.
+     */
+    private final class ElementParser {
+        /**
+         * The element utilities of the compilation.
+         */
+        private final Elements my_elements;
+
+        /**
+         * The type utilities of the compilation.
+         */
+        private final Types my_types;
+
+        /**
+         * The trees of the compilation, or null if the compiler has none.
+         */
+        private final Trees my_trees;
+
+        /**
+         * Constructs an ElementParser for the specified compilation.
+         *
+         * @param the_env The processing environment of the compilation.
+         */
+        ElementParser(final ProcessingEnvironment the_env) {
+            my_elements = the_env.getElementUtils();
+            my_types = the_env.getTypeUtils();
+            Trees trees = null;
+            try {
+                trees = Trees.instance(the_env);
+            } catch (final IllegalArgumentException e) {
+                // not javac, so there are no trees and no literals
+            }
+            my_trees = trees;
+        }
+
+        /**
+         * Creates a ClassInfo object (and its MethodInfo objects) for the
+         * given type element. Returns a cached version if one exists for
+         * the class's qualified name.
+         *
+         * @param the_class The type element.
+         * @return A ClassInfo object representing the class.
+         */
+        ClassInfo createClassInfo(final TypeElement the_class) {
+            final String name = the_class.getQualifiedName().toString();
+            if (my_class_cache.containsKey(name)) {
+                return my_class_cache.get(name);
+            }
+            final Set<Modifier> mods = the_class.getModifiers();
+
+            // as for parsed classes, java.lang.Object is never recorded as a parent
+            ClassInfo parent = null;
+            final TypeElement super_element = asTypeElement(the_class.getSuperclass());
+            if (super_element != null &&
+                    !Object.class.getName().equals(super_element.getQualifiedName().toString())) {
+                parent = createClassInfo(super_element);
+            }
+            final SortedSet<ClassInfo> interfaces = new TreeSet<>();
+            for (TypeMirror t : the_class.getInterfaces()) {
+                final TypeElement i = asTypeElement(t);
+                if (i != null) {
+                    interfaces.add(createClassInfo(i));
+                }
+            }
+            final ClassInfo result =
+                    new ClassInfo(name, getLevel(mods), mods.contains(Modifier.ABSTRACT),
+                            the_class.getKind().isInterface(),
+                            the_class.getKind() == ElementKind.ENUM,
+                            mods.contains(Modifier.STATIC), the_class.getNestingKind().isNested(),
+                            parent, interfaces);
+            // ensure this ClassInfo object is cached before creating nested classes
+            my_class_cache.put(name, result);
+
+            final Set<ClassInfo> nested_classes = new HashSet<>();
+            for (TypeElement t : ElementFilter.typesIn(the_class.getEnclosedElements())) {
+                if (t.getKind() == ElementKind.CLASS || t.getKind() == ElementKind.INTERFACE) {
+                    nested_classes.add(createClassInfo(t));
+                }
+            }
+            result.initializeNestedClasses(nested_classes);
+            result.initializeLiterals(findLiterals(the_class, false), new HashMap<>());
+
+            final SortedSet<MethodInfo> methods = new TreeSet<>();
+            for (ExecutableElement m :
+                    ElementFilter.constructorsIn(the_class.getEnclosedElements())) {
+                methods.add(createMethodInfo(result, m));
+            }
+            for (ExecutableElement m : ElementFilter.methodsIn(the_class.getEnclosedElements())) {
+                methods.add(createMethodInfo(result, m));
+            }
+            my_method_cache.put(result, methods);
+            return result;
+        }
+
+        /**
+         * Creates a MethodInfo object for the given executable element,
+         * declared in the given class.
+         *
+         * @param the_class  The ClassInfo of the class declaring the method.
+         * @param the_method The executable element.
+         * @return The MethodInfo object.
+         */
+        private MethodInfo createMethodInfo(final ClassInfo the_class,
+                                            final ExecutableElement the_method) {
+            final List<ParameterInfo> params = new ArrayList<>();
+            for (VariableElement v : the_method.getParameters()) {
+                params.add(new ParameterInfo(typeName(v.asType()), v.getSimpleName().toString()));
+            }
+            final boolean is_constructor = the_method.getKind() == ElementKind.CONSTRUCTOR;
+            final String method_name;
+            final TypeInfo return_type;
+            if (is_constructor) {
+                method_name = the_class.getShortName();
+                return_type = new TypeInfo(the_class.getFullyQualifiedName());
+            } else {
+                method_name = the_method.getSimpleName().toString();
+                return_type = new TypeInfo(typeName(the_method.getReturnType()));
+            }
+            boolean model = false;
+            for (AnnotationMirror a : the_method.getAnnotationMirrors()) {
+                model |= "org.jmlspecs.annotation.Model".equals
+                        (asTypeElement(a.getAnnotationType()).getQualifiedName().toString());
+            }
+            return new MethodInfo(method_name, the_class, the_class,
+                    getLevel(the_method.getModifiers()), params, return_type,
+                    new ArrayList<>(), findLiterals(the_method, true), new HashMap<>(),
+                    is_constructor, the_method.getModifiers().contains(Modifier.STATIC),
+                    my_elements.isDeprecated(the_method), model);
+        }
+
+        /**
+         * @param the_type A type.
+         * @return the name of the erasure of the_type, which for a type
+         * variable is the name of its (first) bound.
+         */
+        private String typeName(final TypeMirror the_type) {
+            return my_types.erasure(the_type).toString();
+        }
+
+        /**
+         * @param the_type A type.
+         * @return the element of the_type if it is a class or interface
+         * type, null otherwise.
+         */
+        private TypeElement asTypeElement(final TypeMirror the_type) {
+            TypeElement result = null;
+            if (the_type.getKind() == TypeKind.DECLARED) {
+                result = (TypeElement) ((DeclaredType) the_type).asElement();
+            }
+            return result;
+        }
+
+        /**
+         * Finds the literals in the tree of an element.
+         *
+         * @param the_element The element.
+         * @param the_methods true to find literals in methods, false otherwise.
+         * @return the map of literal classes to literals in the tree of
+         * the_element, which is empty if the element has no tree.
+         */
+        private Map<String, SortedSet<String>> findLiterals(final Element the_element,
+                                                            final boolean the_methods) {
+            final TreePath path = my_trees == null ? null : my_trees.getPath(the_element);
+            if (path == null) {
+                return new HashMap<>();
+            }
+            final LiteralsScanner scanner = new LiteralsScanner(my_trees, the_methods);
+            scanner.scan(path, null);
+            return scanner.getLiteralMap();
+        }
+    }
+
+    /**
+     * Compiler tree scanner that scans for literals in the same way as
+     * LiteralsParser does for parsed trees.
+     */
+    private static class LiteralsScanner extends TreePathScanner<Void, Void> {
+        /**
+         * The parser that records the literals.
+         */
+        private final LiteralsParser my_literals = new LiteralsParser(true, false);
+
+        /**
+         * The trees of the compilation.
+         */
+        private final Trees my_trees;
+
+        /**
+         * Do we visit methods?
+         */
+        private final boolean my_methods;
+
+        /**
+         * Constructs a new LiteralsScanner.
+         *
+         * @param the_trees   The trees of the compilation.
+         * @param the_methods true to visit (and find literals in) methods
+         *                    other than constructors, false otherwise.
+         */
+        LiteralsScanner(final Trees the_trees, final boolean the_methods) {
+            super();
+            my_trees = the_trees;
+            my_methods = the_methods;
+        }
+
+        /**
+         * Traverses, or not, a method node.
+         *
+         * @param the_tree The method node.
+         */
+        @Override
+        public Void visitMethod(final MethodTree the_tree, final Void the_arg) {
+            if (my_methods || the_tree.getReturnType() == null) {
+                super.visitMethod(the_tree, the_arg);
+            }
+            return null;
+        }
+
+        /**
+         * Extracts information about a literal.
+         *
+         * @param the_tree The literal node.
+         */
+        @Override
+        public Void visitLiteral(final LiteralTree the_tree, final Void the_arg) {
+            final Object value = the_tree.getValue();
+            if (the_tree.getKind() == Tree.Kind.CHAR_LITERAL) {
+                my_literals.addLiteral(value, Integer.class);
+            } else if (value instanceof String) {
+                // literals are recorded as they are written in the source
+                my_literals.addLiteral(StringEscapeUtils.escapeJava((String) value), String.class);
+            } else if (value != null) {
+                my_literals.addLiteral(value, value.getClass());
+            }
+            return null;
+        }
+
+        /**
+         * Extracts information about a field access (for class literals).
+         *
+         * @param the_tree The field access node.
+         */
+        @Override
+        public Void visitMemberSelect(final MemberSelectTree the_tree, final Void the_arg) {
+            if ("class".contentEquals(the_tree.getIdentifier())) {
+                final Element e =
+                        my_trees.getElement(new TreePath(getCurrentPath(), the_tree.getExpression()));
+                if (e instanceof TypeElement) {
+                    my_literals.getLiteralSet(Class.class.getName()).add
+                            (((TypeElement) e).getQualifiedName() + CLASS_SUFFIX);
+                }
+            }
+            return super.visitMemberSelect(the_tree, the_arg);
+        }
+
+        /**
+         * Extracts information about an instanceof node (for class literals).
+         *
+         * @param the_tree The instanceof node.
+         */
+        @Override
+        public Void visitInstanceOf(final InstanceOfTree the_tree, final Void the_arg) {
+            if (the_tree.getType() != null) {
+                final TypeMirror t =
+                        my_trees.getTypeMirror(new TreePath(getCurrentPath(), the_tree.getType()));
+                // currently we don't use array types as class literals
+                if (t != null && t.getKind() == TypeKind.DECLARED) {
+                    my_literals.getLiteralSet(Class.class.getName()).add
+                            (((TypeElement) ((DeclaredType) t).asElement()).getQualifiedName() +
+                                    CLASS_SUFFIX);
+                }
+            }
+            return super.visitInstanceOf(the_tree, the_arg);
+        }
+
+        /**
+         * @return the map of literal classes to literals in the tree.
+         */
+        public Map<String, SortedSet<String>> getLiteralMap() {
+            return my_literals.getLiteralMap();
+        }
+    }
+
     /**
      * JCTree scanner that scans for literals to generate a map from primitive types
      * to literals of those types in the tree.
@@ -872,7 +1613,7 @@ public final class InfoFactory {
      * JCTree scanner that scans specifically for signals/signals_only clause
      * information to generate a list of exception types.
      */
-    private static class SignalsParser extends VoidVisitorAdapter<Void> {
+    private class SignalsParser extends VoidVisitorAdapter<Void> {
         /**
          * The list of exception types.
          */
@@ -0,0 +1,936 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.generator;
+
+import org.jmlspecs.jmlunitng.JMLUnitNGError;
+import org.jmlspecs.jmlunitng.util.ProtectionLevel;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * A persistent index of the class information extracted from source files.
+ * For each source file, the index records a hash of the file's contents
+ * and the ClassInfos (with their non-inherited MethodInfos, parameters and
+ * literals) declared in it. A source file whose hash has not changed since
+ * the index was saved need not be parsed again; its ClassInfos are rebuilt
+ * from the index, and inherited methods are then computed from the merged
+ * model as usual. Classes are recorded by name, so references between
+ * classes in different source files survive changes to either file.
+ * <p>
+ * The index is a compact binary file: a version header, a table of all
+ * the distinct strings in the index, and the entries themselves, which
+ * refer to strings by their position in the table. An index written by
+ * another version of JMLUnitNG, or one that cannot be read, is ignored.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+public final class ModelIndex {
+    /**
+     * The magic number at the start of an index file ("JMLI").
+     */
+    private static final int MAGIC = 0x4A4D4C49;
+
+    /**
+     * The version of the index format; this must change whenever the
+     * format, or the information extracted from sources, changes.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The hash algorithm for source file contents.
+     */
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    /**
+     * The number of bits in a variable-length integer byte.
+     */
+    private static final int VARINT_BITS = 7;
+
+    /**
+     * The mask for the payload of a variable-length integer byte.
+     */
+    private static final int VARINT_MASK = 0x7F;
+
+    /**
+     * The entries of this index, by canonical source file path.
+     */
+    private final Map<String, Entry> my_entries = new HashMap<>();
+
+    /**
+     * Constructs an empty ModelIndex.
+     */
+    private ModelIndex() {
+        // do nothing
+    }
+
+    /**
+     * Loads an index from a file.
+     *
+     * @param the_file The index file.
+     * @return the index, which is empty if the_file does not exist, was
+     * written by a different version of JMLUnitNG, or cannot be read.
+     */
+    public static /*@ non_null @*/ ModelIndex load(final /*@ non_null @*/ File the_file) {
+        final ModelIndex result = new ModelIndex();
+        if (the_file.isFile()) {
+            try (InputStream is = new BufferedInputStream(Files.newInputStream(the_file.toPath()));
+                 DataInputStream in = new DataInputStream(is)) {
+                if (in.readInt() == MAGIC && in.readInt() == VERSION) {
+                    final String[] strings = new String[readVarInt(in)];
+                    for (int i = 0; i < strings.length; i++) {
+                        final byte[] bytes = new byte[readVarInt(in)];
+                        in.readFully(bytes);
+                        strings[i] = new String(bytes, StandardCharsets.UTF_8);
+                    }
+                    final Reader reader = new Reader(in, strings);
+                    final int count = readVarInt(in);
+                    for (int i = 0; i < count; i++) {
+                        final String path = reader.readString();
+                        result.my_entries.put(path, Entry.read(reader));
+                    }
+                }
+            } catch (final IOException | RuntimeException e) {
+                // an unreadable index is no index at all
+                result.my_entries.clear();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Saves this index to a file. The file is replaced only once the
+     * whole index has been written.
+     *
+     * @param the_file The index file.
+     * @throws IOException if the index cannot be written.
+     */
+    public void save(final /*@ non_null @*/ File the_file) throws IOException {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        final Writer writer = new Writer(new DataOutputStream(body));
+        writeVarInt(writer.my_out, my_entries.size());
+        for (Map.Entry<String, Entry> e : new TreeMap<>(my_entries).entrySet()) {
+            writer.writeString(e.getKey());
+            e.getValue().write(writer);
+        }
+
+        final File dir = the_file.getAbsoluteFile().getParentFile();
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("could not create directory " + dir);
+        }
+        final File temp = File.createTempFile(the_file.getName(), ".tmp", dir);
+        try {
+            try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(temp.toPath()));
+                 DataOutputStream out = new DataOutputStream(os)) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                writeVarInt(out, writer.my_strings.size());
+                for (String s : writer.my_strings.keySet()) {
+                    final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                    writeVarInt(out, bytes.length);
+                    out.write(bytes);
+                }
+                body.writeTo(out);
+            }
+            try {
+                Files.move(temp.toPath(), the_file.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), the_file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+
+    /**
+     * @param the_contents The contents of a source file.
+     * @return the hash of the_contents that identifies them in the index.
+     */
+    public static /*@ non_null @*/ String hash(final /*@ non_null @*/ byte[] the_contents) {
+        try {
+            final byte[] digest = MessageDigest.getInstance(HASH_ALGORITHM).digest(the_contents);
+            final StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+                sb.append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (final NoSuchAlgorithmException e) {
+            throw new JMLUnitNGError(HASH_ALGORITHM + " is not available", e);
+        }
+    }
+
+    /**
+     * Finds the entry for a source file, if it is still usable.
+     *
+     * @param the_path          The canonical path of the source file.
+     * @param the_hash          The hash of the source file's current contents.
+     * @param the_code_literals true if literals in method bodies are needed,
+     *                          false otherwise.
+     * @return the entry, or null if there is none, the source file has
+     * changed since the entry was made, or the entry lacks needed literals.
+     */
+    public /*@ pure @*/ Entry get(final /*@ non_null @*/ String the_path,
+                                  final /*@ non_null @*/ String the_hash,
+                                  final boolean the_code_literals) {
+        Entry result = my_entries.get(the_path);
+        if (result != null && (!result.my_hash.equals(the_hash) ||
+                (the_code_literals && !result.my_code_literals))) {
+            result = null;
+        }
+        return result;
+    }
+
+    /**
+     * Records the entry for a source file, replacing any previous one.
+     *
+     * @param the_path  The canonical path of the source file.
+     * @param the_entry The entry.
+     */
+    public void put(final /*@ non_null @*/ String the_path,
+                    final /*@ non_null @*/ Entry the_entry) {
+        my_entries.put(the_path, the_entry);
+    }
+
+    /**
+     * Creates an entry for a source file from the ClassInfo of its
+     * top-level class, which must have had its methods initialized.
+     *
+     * @param the_class         The ClassInfo of the top-level class.
+     * @param the_hash          The hash of the source file's contents.
+     * @param the_code_literals true if literals in method bodies were
+     *                          extracted, false otherwise.
+     * @return the entry.
+     */
+    public static /*@ non_null @*/ Entry createEntry(final /*@ non_null @*/ ClassInfo the_class,
+                                                     final /*@ non_null @*/ String the_hash,
+                                                     final boolean the_code_literals) {
+        final List<ClassRecord> classes = new ArrayList<>();
+        final Deque<ClassInfo> queue = new ArrayDeque<>();
+        queue.add(the_class);
+        while (!queue.isEmpty()) {
+            final ClassInfo c = queue.poll();
+            classes.add(new ClassRecord(c));
+            queue.addAll(new TreeSet<>(c.getNestedClasses()));
+        }
+        return new Entry(the_hash, the_code_literals, classes);
+    }
+
+    /**
+     * @param the_type A type.
+     * @return the name from which the_type was created.
+     */
+    static String typeName(final TypeInfo the_type) {
+        final String name = the_type.getFullyQualifiedName();
+        final int array_start = name.length() - 2 * the_type.arrayDimension();
+        return name.substring(0, array_start) + the_type.getGenericComponent() +
+                name.substring(array_start);
+    }
+
+    /**
+     * Writes a non-negative integer in as few bytes as possible.
+     *
+     * @param the_out   The output.
+     * @param the_value The integer.
+     * @throws IOException if the integer cannot be written.
+     */
+    private static void writeVarInt(final DataOutput the_out, final int the_value)
+            throws IOException {
+        int value = the_value;
+        while ((value & ~VARINT_MASK) != 0) {
+            the_out.writeByte((value & VARINT_MASK) | ~VARINT_MASK);
+            value = value >>> VARINT_BITS;
+        }
+        the_out.writeByte(value);
+    }
+
+    /**
+     * Reads an integer written by writeVarInt.
+     *
+     * @param the_in The input.
+     * @return the integer.
+     * @throws IOException if the integer cannot be read.
+     */
+    private static int readVarInt(final DataInput the_in) throws IOException {
+        int result = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift > Integer.SIZE) {
+                throw new IOException("malformed integer");
+            }
+            b = the_in.readByte();
+            result = result | ((b & VARINT_MASK) << shift);
+            shift = shift + VARINT_BITS;
+        } while ((b & ~VARINT_MASK) != 0);
+        if (result < 0) {
+            throw new IOException("malformed integer");
+        }
+        return result;
+    }
+
+    /**
+     * The index entry for one source file.
+     */
+    public static final class Entry {
+        /**
+         * The hash of the source file's contents.
+         */
+        private final String my_hash;
+
+        /**
+         * Were literals in method bodies extracted?
+         */
+        private final boolean my_code_literals;
+
+        /**
+         * The classes declared in the source file, top-level class first.
+         */
+        private final List<ClassRecord> my_classes;
+
+        /**
+         * Constructs an Entry.
+         *
+         * @param the_hash          The hash of the source file's contents.
+         * @param the_code_literals Were literals in method bodies extracted?
+         * @param the_classes       The classes declared in the source file,
+         *                          top-level class first.
+         */
+        private Entry(final String the_hash, final boolean the_code_literals,
+                      final List<ClassRecord> the_classes) {
+            my_hash = the_hash;
+            my_code_literals = the_code_literals;
+            my_classes = the_classes;
+        }
+
+        /**
+         * @return the fully qualified name of the top-level class of the
+         * source file.
+         */
+        public /*@ pure @*/ String getClassName() {
+            return my_classes.get(0).my_name;
+        }
+
+        /**
+         * @return the classes declared in the source file, top-level class first.
+         */
+        /*@ pure @*/ List<ClassRecord> getClasses() {
+            return Collections.unmodifiableList(my_classes);
+        }
+
+        /**
+         * @param the_writer The writer to write this entry with.
+         * @throws IOException if this entry cannot be written.
+         */
+        private void write(final Writer the_writer) throws IOException {
+            the_writer.writeString(my_hash);
+            the_writer.my_out.writeBoolean(my_code_literals);
+            writeVarInt(the_writer.my_out, my_classes.size());
+            for (ClassRecord c : my_classes) {
+                c.write(the_writer);
+            }
+        }
+
+        /**
+         * @param the_reader The reader to read an entry with.
+         * @return the entry.
+         * @throws IOException if the entry cannot be read.
+         */
+        private static Entry read(final Reader the_reader) throws IOException {
+            final String hash = the_reader.readString();
+            final boolean code_literals = the_reader.my_in.readBoolean();
+            final int count = readVarInt(the_reader.my_in);
+            final List<ClassRecord> classes = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                classes.add(ClassRecord.read(the_reader));
+            }
+            return new Entry(hash, code_literals, classes);
+        }
+    }
+
+    /**
+     * The recorded information about one class.
+     */
+    static final class ClassRecord {
+        /**
+         * The flag for abstract classes.
+         */
+        private static final int ABSTRACT = 1;
+
+        /**
+         * The flag for interfaces.
+         */
+        private static final int INTERFACE = 2;
+
+        /**
+         * The flag for enumerations.
+         */
+        private static final int ENUMERATION = 4;
+
+        /**
+         * The flag for static classes.
+         */
+        private static final int STATIC = 8;
+
+        /**
+         * The flag for inner classes.
+         */
+        private static final int INNER = 16;
+
+        /**
+         * The flag for classes whose literals are initialized.
+         */
+        private static final int LITERALS = 32;
+
+        /**
+         * The fully qualified name of the class.
+         */
+        private final String my_name;
+
+        /**
+         * The protection level of the class.
+         */
+        private final ProtectionLevel my_level;
+
+        /**
+         * The flags of the class.
+         */
+        private final int my_flags;
+
+        /**
+         * The fully qualified name of the parent class, or null.
+         */
+        private final String my_parent;
+
+        /**
+         * The fully qualified names of the interfaces.
+         */
+        private final List<String> my_interfaces;
+
+        /**
+         * The fully qualified names of the nested classes.
+         */
+        private final List<String> my_nested_classes;
+
+        /**
+         * The literals declared in the class.
+         */
+        private final Map<String, SortedSet<String>> my_literals;
+
+        /**
+         * The literals declared in the class's specification.
+         */
+        private final Map<String, SortedSet<String>> my_spec_literals;
+
+        /**
+         * The non-inherited methods of the class.
+         */
+        private final List<MethodRecord> my_methods;
+
+        /**
+         * Constructs a ClassRecord from a ClassInfo.
+         *
+         * @param the_class The ClassInfo.
+         */
+        private ClassRecord(final ClassInfo the_class) {
+            my_name = the_class.getFullyQualifiedName();
+            my_level = the_class.getProtectionLevel();
+            my_flags = (the_class.isAbstract() ? ABSTRACT : 0) |
+                    (the_class.isInterface() ? INTERFACE : 0) |
+                    (the_class.isEnumeration() ? ENUMERATION : 0) |
+                    (the_class.isStatic() ? STATIC : 0) |
+                    (the_class.isInner() ? INNER : 0) |
+                    (the_class.areLiteralsInitialized() ? LITERALS : 0);
+            my_parent = the_class.getParent() == null ? null :
+                    the_class.getParent().getFullyQualifiedName();
+            my_interfaces = names(the_class.getInterfaces());
+            my_nested_classes = names(new TreeSet<>(the_class.getNestedClasses()));
+            my_literals = the_class.getLiterals();
+            my_spec_literals = the_class.getSpecLiterals();
+            my_methods = new ArrayList<>();
+            for (MethodInfo m : new TreeSet<>(the_class.getNonInheritedMethods())) {
+                my_methods.add(new MethodRecord(m));
+            }
+        }
+
+        /**
+         * Constructs a ClassRecord from its parts.
+         *
+         * @param the_name            The fully qualified name of the class.
+         * @param the_level           The protection level of the class.
+         * @param the_flags           The flags of the class.
+         * @param the_parent          The name of the parent class, or null.
+         * @param the_interfaces      The names of the interfaces.
+         * @param the_nested_classes  The names of the nested classes.
+         * @param the_literals        The literals declared in the class.
+         * @param the_spec_literals   The literals declared in the specification.
+         * @param the_methods         The non-inherited methods of the class.
+         */
+        //@ requires the_name != null && the_level != null;
+        private ClassRecord(final String the_name, final ProtectionLevel the_level,
+                            final int the_flags, final String the_parent,
+                            final List<String> the_interfaces,
+                            final List<String> the_nested_classes,
+                            final Map<String, SortedSet<String>> the_literals,
+                            final Map<String, SortedSet<String>> the_spec_literals,
+                            final List<MethodRecord> the_methods) {
+            my_name = the_name;
+            my_level = the_level;
+            my_flags = the_flags;
+            my_parent = the_parent;
+            my_interfaces = the_interfaces;
+            my_nested_classes = the_nested_classes;
+            my_literals = the_literals;
+            my_spec_literals = the_spec_literals;
+            my_methods = the_methods;
+        }
+
+        /**
+         * @return the fully qualified name of the class.
+         */
+        /*@ pure @*/ String getName() {
+            return my_name;
+        }
+
+        /**
+         * @return the fully qualified names of the nested classes.
+         */
+        /*@ pure @*/ List<String> getNestedClassNames() {
+            return Collections.unmodifiableList(my_nested_classes);
+        }
+
+        /**
+         * Creates the ClassInfo for this record. Its nested classes, literals
+         * and methods are left to the caller, which must first cache it so
+         * that they may refer to it.
+         *
+         * @param the_resolver The function that finds the ClassInfo for a
+         *                     fully qualified class name, or returns null.
+         * @return the ClassInfo.
+         */
+        ClassInfo createClassInfo(final Function<String, ClassInfo> the_resolver) {
+            final ClassInfo parent = my_parent == null ? null : the_resolver.apply(my_parent);
+            final SortedSet<ClassInfo> interfaces = new TreeSet<>();
+            for (String i : my_interfaces) {
+                final ClassInfo info = the_resolver.apply(i);
+                if (info != null) {
+                    interfaces.add(info);
+                }
+            }
+            return new ClassInfo(my_name, my_level, (my_flags & ABSTRACT) != 0,
+                    (my_flags & INTERFACE) != 0, (my_flags & ENUMERATION) != 0,
+                    (my_flags & STATIC) != 0, (my_flags & INNER) != 0, parent, interfaces);
+        }
+
+        /**
+         * Initializes the literals of the ClassInfo for this record, if they
+         * were initialized when the record was made.
+         *
+         * @param the_class The ClassInfo for this record.
+         */
+        void initializeLiterals(final ClassInfo the_class) {
+            if ((my_flags & LITERALS) != 0) {
+                the_class.initializeLiterals(my_literals, my_spec_literals);
+            }
+        }
+
+        /**
+         * Creates the MethodInfos for this record.
+         *
+         * @param the_class    The ClassInfo for this record.
+         * @param the_resolver The function that finds the ClassInfo for a
+         *                     fully qualified class name, or returns null.
+         * @return the MethodInfos.
+         */
+        SortedSet<MethodInfo> createMethods(final ClassInfo the_class,
+                                            final Function<String, ClassInfo> the_resolver) {
+            final SortedSet<MethodInfo> result = new TreeSet<>();
+            for (MethodRecord m : my_methods) {
+                result.add(m.createMethodInfo(the_class, the_resolver));
+            }
+            return result;
+        }
+
+        /**
+         * @param the_writer The writer to write this record with.
+         * @throws IOException if this record cannot be written.
+         */
+        private void write(final Writer the_writer) throws IOException {
+            the_writer.writeString(my_name);
+            the_writer.writeString(my_level.name());
+            writeVarInt(the_writer.my_out, my_flags);
+            the_writer.writeString(my_parent);
+            the_writer.writeStrings(my_interfaces);
+            the_writer.writeStrings(my_nested_classes);
+            the_writer.writeLiterals(my_literals);
+            the_writer.writeLiterals(my_spec_literals);
+            writeVarInt(the_writer.my_out, my_methods.size());
+            for (MethodRecord m : my_methods) {
+                m.write(the_writer);
+            }
+        }
+
+        /**
+         * @param the_reader The reader to read a record with.
+         * @return the record.
+         * @throws IOException if the record cannot be read.
+         */
+        private static ClassRecord read(final Reader the_reader) throws IOException {
+            final String name = the_reader.readString();
+            final ProtectionLevel level = ProtectionLevel.valueOf(the_reader.readString());
+            final int flags = readVarInt(the_reader.my_in);
+            final String parent = the_reader.readString();
+            final List<String> interfaces = the_reader.readStrings();
+            final List<String> nested_classes = the_reader.readStrings();
+            final Map<String, SortedSet<String>> literals = the_reader.readLiterals();
+            final Map<String, SortedSet<String>> spec_literals = the_reader.readLiterals();
+            final int count = readVarInt(the_reader.my_in);
+            final List<MethodRecord> methods = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                methods.add(MethodRecord.read(the_reader));
+            }
+            return new ClassRecord(name, level, flags, parent, interfaces, nested_classes,
+                    literals, spec_literals, methods);
+        }
+
+        /**
+         * @param the_classes Some classes.
+         * @return the fully qualified names of the_classes, in order.
+         */
+        private static List<String> names(final Collection<ClassInfo> the_classes) {
+            final List<String> result = new ArrayList<>(the_classes.size());
+            for (ClassInfo c : the_classes) {
+                result.add(c.getFullyQualifiedName());
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The recorded information about one method.
+     */
+    private static final class MethodRecord {
+        /**
+         * The flag for constructors.
+         */
+        private static final int CONSTRUCTOR = 1;
+
+        /**
+         * The flag for static methods.
+         */
+        private static final int STATIC = 2;
+
+        /**
+         * The flag for deprecated methods.
+         */
+        private static final int DEPRECATED = 4;
+
+        /**
+         * The flag for model methods.
+         */
+        private static final int MODEL = 8;
+
+        /**
+         * The name of the method.
+         */
+        private final String my_name;
+
+        /**
+         * The protection level of the method.
+         */
+        private final ProtectionLevel my_level;
+
+        /**
+         * The flags of the method.
+         */
+        private final int my_flags;
+
+        /**
+         * The parameter types and names, alternating.
+         */
+        private final List<String> my_parameters;
+
+        /**
+         * The return type.
+         */
+        private final String my_return_type;
+
+        /**
+         * The fully qualified names of the signaled exception types, in order.
+         */
+        private final List<String> my_signals;
+
+        /**
+         * The literals declared in the method.
+         */
+        private final Map<String, SortedSet<String>> my_literals;
+
+        /**
+         * The literals declared in the method's specification.
+         */
+        private final Map<String, SortedSet<String>> my_spec_literals;
+
+        /**
+         * Constructs a MethodRecord from a MethodInfo.
+         *
+         * @param the_method The MethodInfo.
+         */
+        private MethodRecord(final MethodInfo the_method) {
+            my_name = the_method.getName();
+            my_level = the_method.getProtectionLevel();
+            my_flags = (the_method.isConstructor() ? CONSTRUCTOR : 0) |
+                    (the_method.isStatic() ? STATIC : 0) |
+                    (the_method.isDeprecated() ? DEPRECATED : 0) |
+                    (the_method.isModel() ? MODEL : 0);
+            my_parameters = new ArrayList<>();
+            for (ParameterInfo p : the_method.getParameters()) {
+                my_parameters.add(typeName(p.getType()));
+                my_parameters.add(p.getName());
+            }
+            my_return_type = typeName(the_method.getReturnType());
+            my_signals = ClassRecord.names(the_method.getSignals());
+            my_literals = the_method.getLiterals();
+            my_spec_literals = the_method.getSpecLiterals();
+        }
+
+        /**
+         * Constructs a MethodRecord from its parts.
+         *
+         * @param the_name          The name of the method.
+         * @param the_level         The protection level of the method.
+         * @param the_flags         The flags of the method.
+         * @param the_parameters    The parameter types and names, alternating.
+         * @param the_return_type   The return type.
+         * @param the_signals       The names of the signaled exception types.
+         * @param the_literals      The literals declared in the method.
+         * @param the_spec_literals The literals declared in the specification.
+         */
+        private MethodRecord(final String the_name, final ProtectionLevel the_level,
+                             final int the_flags, final List<String> the_parameters,
+                             final String the_return_type, final List<String> the_signals,
+                             final Map<String, SortedSet<String>> the_literals,
+                             final Map<String, SortedSet<String>> the_spec_literals) {
+            my_name = the_name;
+            my_level = the_level;
+            my_flags = the_flags;
+            my_parameters = the_parameters;
+            my_return_type = the_return_type;
+            my_signals = the_signals;
+            my_literals = the_literals;
+            my_spec_literals = the_spec_literals;
+        }
+
+        /**
+         * Creates the MethodInfo for this record.
+         *
+         * @param the_class    The ClassInfo of the class declaring the method.
+         * @param the_resolver The function that finds the ClassInfo for a
+         *                     fully qualified class name, or returns null.
+         * @return the MethodInfo.
+         */
+        private MethodInfo createMethodInfo(final ClassInfo the_class,
+                                            final Function<String, ClassInfo> the_resolver) {
+            final List<ParameterInfo> params = new ArrayList<>(my_parameters.size() / 2);
+            for (int i = 0; i < my_parameters.size(); i = i + 2) {
+                params.add(new ParameterInfo(my_parameters.get(i), my_parameters.get(i + 1)));
+            }
+            final List<ClassInfo> signals = new ArrayList<>(my_signals.size());
+            for (String s : my_signals) {
+                final ClassInfo info = the_resolver.apply(s);
+                if (info != null) {
+                    signals.add(info);
+                }
+            }
+            return new MethodInfo(my_name, the_class, the_class, my_level, params,
+                    new TypeInfo(my_return_type), signals, my_literals, my_spec_literals,
+                    (my_flags & CONSTRUCTOR) != 0, (my_flags & STATIC) != 0,
+                    (my_flags & DEPRECATED) != 0, (my_flags & MODEL) != 0);
+        }
+
+        /**
+         * @param the_writer The writer to write this record with.
+         * @throws IOException if this record cannot be written.
+         */
+        private void write(final Writer the_writer) throws IOException {
+            the_writer.writeString(my_name);
+            the_writer.writeString(my_level.name());
+            writeVarInt(the_writer.my_out, my_flags);
+            the_writer.writeStrings(my_parameters);
+            the_writer.writeString(my_return_type);
+            the_writer.writeStrings(my_signals);
+            the_writer.writeLiterals(my_literals);
+            the_writer.writeLiterals(my_spec_literals);
+        }
+
+        /**
+         * @param the_reader The reader to read a record with.
+         * @return the record.
+         * @throws IOException if the record cannot be read.
+         */
+        private static MethodRecord read(final Reader the_reader) throws IOException {
+            final String name = the_reader.readString();
+            final ProtectionLevel level = ProtectionLevel.valueOf(the_reader.readString());
+            final int flags = readVarInt(the_reader.my_in);
+            final List<String> parameters = the_reader.readStrings();
+            final String return_type = the_reader.readString();
+            final List<String> signals = the_reader.readStrings();
+            final Map<String, SortedSet<String>> literals = the_reader.readLiterals();
+            final Map<String, SortedSet<String>> spec_literals = the_reader.readLiterals();
+            return new MethodRecord(name, level, flags, parameters, return_type, signals,
+                    literals, spec_literals);
+        }
+    }
+
+    /**
+     * Writes index data, collecting the table of strings as it goes.
+     */
+    private static final class Writer {
+        /**
+         * The output.
+         */
+        private final DataOutput my_out;
+
+        /**
+         * The table of strings, in the order of their first use.
+         */
+        private final Map<String, Integer> my_strings = new LinkedHashMap<>();
+
+        /**
+         * Constructs a Writer.
+         *
+         * @param the_out The output.
+         */
+        private Writer(final DataOutput the_out) {
+            my_out = the_out;
+        }
+
+        /**
+         * Writes a string (which may be null) as its position in the table.
+         *
+         * @param the_string The string.
+         * @throws IOException if the string cannot be written.
+         */
+        private void writeString(final String the_string) throws IOException {
+            int id = 0;
+            if (the_string != null) {
+                id = my_strings.computeIfAbsent(the_string, s -> my_strings.size()) + 1;
+            }
+            writeVarInt(my_out, id);
+        }
+
+        /**
+         * @param the_strings The strings to write.
+         * @throws IOException if the strings cannot be written.
+         */
+        private void writeStrings(final List<String> the_strings) throws IOException {
+            writeVarInt(my_out, the_strings.size());
+            for (String s : the_strings) {
+                writeString(s);
+            }
+        }
+
+        /**
+         * @param the_literals The map of literals to write.
+         * @throws IOException if the literals cannot be written.
+         */
+        private void writeLiterals(final Map<String, SortedSet<String>> the_literals)
+                throws IOException {
+            writeVarInt(my_out, the_literals.size());
+            for (Map.Entry<String, SortedSet<String>> e : new TreeMap<>(the_literals).entrySet()) {
+                writeString(e.getKey());
+                writeStrings(new ArrayList<>(e.getValue()));
+            }
+        }
+    }
+
+    /**
+     * Reads index data, using a table of strings.
+     */
+    private static final class Reader {
+        /**
+         * The input.
+         */
+        private final DataInput my_in;
+
+        /**
+         * The table of strings.
+         */
+        private final String[] my_strings;
+
+        /**
+         * Constructs a Reader.
+         *
+         * @param the_in      The input.
+         * @param the_strings The table of strings.
+         */
+        private Reader(final DataInput the_in, final String[] the_strings) {
+            my_in = the_in;
+            my_strings = the_strings;
+        }
+
+        /**
+         * @return the next string, which may be null.
+         * @throws IOException if the string cannot be read.
+         */
+        private String readString() throws IOException {
+            final int id = readVarInt(my_in);
+            String result = null;
+            if (id > 0) {
+                if (id > my_strings.length) {
+                    throw new IOException("malformed string reference");
+                }
+                result = my_strings[id - 1];
+            }
+            return result;
+        }
+
+        /**
+         * @return the next list of strings.
+         * @throws IOException if the strings cannot be read.
+         */
+        private List<String> readStrings() throws IOException {
+            final int count = readVarInt(my_in);
+            final List<String> result = new ArrayList<>(Math.min(count, my_strings.length));
+            for (int i = 0; i < count; i++) {
+                result.add(readString());
+            }
+            return result;
+        }
+
+        /**
+         * @return the next map of literals.
+         * @throws IOException if the literals cannot be read.
+         */
+        private Map<String, SortedSet<String>> readLiterals() throws IOException {
+            final int count = readVarInt(my_in);
+            final Map<String, SortedSet<String>> result = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                final String key = readString();
+                result.put(key, new TreeSet<>(readStrings()));
+            }
+            return result;
+        }
+    }
+}
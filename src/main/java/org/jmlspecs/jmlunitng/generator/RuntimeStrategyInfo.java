@@ -0,0 +1,85 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.generator;
+
+import java.util.Collections;
+import java.util.SortedSet;
+
+/**
+ * Information about the test data for a method parameter, as written into
+ * test classes generated with "--runtime-strategies" in place of the local,
+ * class and package strategy classes for the parameter.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+public final class RuntimeStrategyInfo {
+    /**
+     * The parameter type.
+     */
+    private final /*@ non_null @*/ TypeInfo my_type;
+
+    /**
+     * The local-scope literals.
+     */
+    private final /*@ non_null @*/ SortedSet<String> my_local_literals;
+
+    /**
+     * The class-scope literals.
+     */
+    private final /*@ non_null @*/ SortedSet<String> my_class_literals;
+
+    /**
+     * The child classes, in the form "fully.qualified.Name.class".
+     */
+    private final /*@ non_null @*/ SortedSet<String> my_children;
+
+    /**
+     * Creates a new RuntimeStrategyInfo.
+     *
+     * @param the_type           The parameter type.
+     * @param the_local_literals The local-scope literals.
+     * @param the_class_literals The class-scope literals.
+     * @param the_children       The child classes.
+     */
+    public RuntimeStrategyInfo(final /*@ non_null @*/ TypeInfo the_type,
+                               final /*@ non_null @*/ SortedSet<String> the_local_literals,
+                               final /*@ non_null @*/ SortedSet<String> the_class_literals,
+                               final /*@ non_null @*/ SortedSet<String> the_children) {
+        my_type = the_type;
+        my_local_literals = Collections.unmodifiableSortedSet(the_local_literals);
+        my_class_literals = Collections.unmodifiableSortedSet(the_class_literals);
+        my_children = Collections.unmodifiableSortedSet(the_children);
+    }
+
+    /**
+     * @return The parameter type.
+     */
+    public /*@ pure @*/ TypeInfo getType() {
+        return my_type;
+    }
+
+    /**
+     * @return The local-scope literals.
+     */
+    public /*@ pure @*/ SortedSet<String> getLocalLiterals() {
+        return my_local_literals;
+    }
+
+    /**
+     * @return The class-scope literals.
+     */
+    public /*@ pure @*/ SortedSet<String> getClassLiterals() {
+        return my_class_literals;
+    }
+
+    /**
+     * @return The child classes, in the form "fully.qualified.Name.class".
+     */
+    public /*@ pure @*/ SortedSet<String> getChildren() {
+        return my_children;
+    }
+}
@@ -5,8 +5,11 @@
 
 package org.jmlspecs.jmlunitng.generator;
 
+import com.github.javaparser.utils.StringEscapeUtils;
 import org.jmlspecs.jmlunitng.JMLUnitNG;
 import org.jmlspecs.jmlunitng.JMLUnitNGConfiguration;
+import org.jmlspecs.jmlunitng.JMLUnitNGError;
+import org.jmlspecs.jmlunitng.strategy.LiteralPool;
 import org.jmlspecs.jmlunitng.util.Logger;
 import org.jmlspecs.jmlunitng.util.ProtectionLevel;
 import org.jmlspecs.jmlunitng.util.StringTemplateUtil;
@@ -14,6 +17,7 @@ import org.stringtemplate.v4.ST;
 import org.stringtemplate.v4.STGroup;
 
 import java.io.*;
+import java.nio.file.Path;
 import java.text.SimpleDateFormat;
 import java.util.*;
 
@@ -76,11 +80,22 @@ public class TestClassGenerator {
      */
     private final Logger my_logger;
 
+    /**
+     * The generation session holding the class information to use.
+     */
+    private final GenerationSession my_session;
+
     /**
      * The set of files we have created.
      */
     private final Set<String> my_created_files = new HashSet<>();
 
+    /**
+     * The writer to which rendered sources are handed, or null if each
+     * call to generateClasses should use (and close) its own.
+     */
+    private final GeneratedSourceWriter my_writer;
+
     /**
      * Create a new TestClassGenerator with the default options.
      */
@@ -97,8 +112,28 @@ public class TestClassGenerator {
      */
     public TestClassGenerator(final JMLUnitNGConfiguration the_config,
                               final Logger the_logger) {
+        this(the_config, the_logger, new GenerationSession(), null);
+    }
+
+    /**
+     * Create a new TestClassGenerator with the given configuration,
+     * logger, generation session and source writer. The writer is
+     * shared, not owned; the caller is responsible for closing it.
+     *
+     * @param the_config  The JMLUnitNGConfiguration to use.
+     * @param the_logger  The logger to use to generate output.
+     * @param the_session The generation session holding the class information.
+     * @param the_writer  The writer to hand rendered sources to, or null
+     *                    to use a separate writer for each generated class.
+     */
+    public TestClassGenerator(final JMLUnitNGConfiguration the_config,
+                              final Logger the_logger,
+                              final GenerationSession the_session,
+                              final GeneratedSourceWriter the_writer) {
         my_config = the_config;
         my_logger = the_logger;
+        my_session = the_session;
+        my_writer = the_writer;
     }
 
     /**
@@ -119,36 +154,10 @@ public class TestClassGenerator {
             throws IOException {
         final STGroup group = StringTemplateUtil.load("strategy_local");
         final ST t = group.getInstanceOf("main");
-        final SortedSet<String> children = new TreeSet<>();
-        final SortedSet<String> literals = new TreeSet<>();
-        final String fq_name = the_param.getType().getFullyQualifiedName();
-        final ClassInfo type_class_info = InfoFactory.getClassInfo(fq_name);
-
-        // if "--children" was set, we use all child classes we are currently analyzing
-        if (my_config.isChildrenSet() && type_class_info != null) {
-            children.addAll(getChildrenFromClassInfo(type_class_info));
-        }
-
-        // if "--literals" or "--spec-literals" was set, we use all child classes
-        // identified as literals for the method under test
-
-        if (my_config.isLiteralsSet() && type_class_info != null) {
-            children.addAll(checkChildLiterals(type_class_info,
-                    the_method.getLiterals(Class.class.getName())));
-        }
-        if (my_config.isSpecLiteralsSet() && type_class_info != null) {
-            children.addAll(checkChildLiterals(type_class_info,
-                    the_method.getSpecLiterals(Class.class.getName())));
-        }
-
-        // add literals for this type
-
-        if (my_config.isLiteralsSet()) {
-            literals.addAll(the_method.getLiterals(fq_name));
-        }
-        if (my_config.isSpecLiteralsSet()) {
-            literals.addAll(the_method.getSpecLiterals(fq_name));
-        }
+        final SortedSet<String> children = getChildren(the_param.getType(),
+                the_method.getLiterals(), the_method.getSpecLiterals());
+        final SortedSet<String> literals = getLiterals(the_param.getType(),
+                the_method.getLiterals(), the_method.getSpecLiterals());
 
         t.add("class", the_class);
         t.add("date", getFormattedDate());
@@ -183,36 +192,10 @@ public class TestClassGenerator {
             throws IOException {
         final STGroup group = StringTemplateUtil.load("strategy_class");
         final ST t = group.getInstanceOf("main");
-        final SortedSet<String> children = new TreeSet<>();
-        final SortedSet<String> literals = new TreeSet<>();
-        final String fq_name = the_type.getFullyQualifiedName();
-        final ClassInfo type_class_info = InfoFactory.getClassInfo(fq_name);
-
-        // if "--children" was set, we use all child classes we are currently analyzing
-        if (my_config.isChildrenSet() && type_class_info != null) {
-            children.addAll(getChildrenFromClassInfo(type_class_info));
-        }
-
-        // if "--literals" or "--spec-literals" was set, we use all child classes
-        // identified as literals for the method under test
-
-        if (my_config.isLiteralsSet() && type_class_info != null) {
-            children.addAll(checkChildLiterals(type_class_info,
-                    the_class.getLiterals(Class.class.getName())));
-        }
-        if (my_config.isSpecLiteralsSet() && type_class_info != null) {
-            children.addAll(checkChildLiterals(type_class_info,
-                    the_class.getSpecLiterals(Class.class.getName())));
-        }
-
-        // add literals for this type
-
-        if (my_config.isLiteralsSet()) {
-            literals.addAll(the_class.getLiterals(fq_name));
-        }
-        if (my_config.isSpecLiteralsSet()) {
-            literals.addAll(the_class.getSpecLiterals(fq_name));
-        }
+        final SortedSet<String> children = getChildren(the_type,
+                the_class.getLiterals(), the_class.getSpecLiterals());
+        final SortedSet<String> literals = getLiterals(the_type,
+                the_class.getLiterals(), the_class.getSpecLiterals());
 
         t.add("class", the_class);
         t.add("date", getFormattedDate());
@@ -249,7 +232,7 @@ public class TestClassGenerator {
         final SortedSet<String> children = new TreeSet<>();
 
         final ClassInfo type_class_info =
-                InfoFactory.getClassInfo(the_type.getFullyQualifiedName());
+                my_session.getInfoFactory().getClassInfo(the_type.getFullyQualifiedName());
 
         // if "--children" was set, we use all child classes we are currently analyzing
         if (my_config.isChildrenSet() && type_class_info != null) {
@@ -320,26 +303,75 @@ public class TestClassGenerator {
                                   final /*@ non_null @*/ Set<MethodInfo> the_methods,
                                   final /*@ non_null @*/ Writer the_writer)
             throws IOException {
+        generateTestClass(the_class, the_methods, getSharedMethods(the_methods), 0, 0, the_writer);
+    }
+
+    /**
+     * Generates a test class, or a shard of a test class, for the_class and
+     * writes it to the_writer. The data providers for the methods in the_shared
+     * use the strategies of the methods' declaring classes.
+     *
+     * @param the_class       The class to generate a test class for.
+     * @param the_methods     The methods to generate tests for.
+     * @param the_shared      The shared methods, as returned by getSharedMethods.
+     * @param the_shard       The number of the shard to generate, or 0 to generate
+     *                        the test class itself.
+     * @param the_shard_count The number of shards of the test class, which are
+     *                        run by its main method.
+     * @param the_writer      The writer to write the test class to.
+     * @throws IOException if an IOException occurs while writing the class.
+     */
+    //@ requires the_shard >= 0 && the_shard_count >= 0;
+    private void generateTestClass(final /*@ non_null @*/ ClassInfo the_class,
+                                   final /*@ non_null @*/ Set<MethodInfo> the_methods,
+                                   final /*@ non_null @*/ Map<String, MethodInfo> the_shared,
+                                   final int the_shard,
+                                   final int the_shard_count,
+                                   final /*@ non_null @*/ Writer the_writer)
+            throws IOException {
         final STGroup group =
                 StringTemplateUtil.load("test_class_" + my_config.getRACVersion());
         final ST t = group.getInstanceOf("main");
         t.add("class", the_class);
         t.add("date", getFormattedDate());
         t.add("methods", the_methods);
+        t.add("shared", the_shared);
 
         // if there are no methods with parameters to generate tests for,
-        // we don't need a data package
+        // or they all use shared strategies, we don't need a data package;
+        // nor do we need one if the strategies are built at runtime
+        final boolean runtime = my_config.isRuntimeStrategiesSet();
         boolean params = false;
         for (MethodInfo m : the_methods) {
-            params = params || !m.getParameters().isEmpty();
+            params = params || (!runtime && !m.getParameters().isEmpty() &&
+                    !the_shared.containsKey(m.getAbbreviatedFormattedName()));
         }
         t.add("params", params);
+        t.add("runtime", runtime);
+        if (runtime) {
+            t.add("specs", getRuntimeStrategies(the_class, the_methods));
+        }
+        if (the_shard > 0) {
+            t.add("shard", the_shard);
+        }
+        for (int i = 1; i <= the_shard_count; i++) {
+            t.add("shards", i);
+        }
+        t.add("use_reflection", my_config.isReflectionSet());
+        t.add("same_compilation", my_config.isSameCompilationSet());
         t.add("package_name", the_class.getPackageName());
         t.add("packaged", !"".equals(the_class.getPackageName()));
         t.add("parallel", my_config.isParallelSet());
+        if (my_config.isPrefetchSet()) {
+            t.add("prefetch", my_config.getPrefetch());
+        }
+        t.add("covering_strength", my_config.getCoveringStrength());
         t.add("jmlunitng_version", JMLUnitNG.version());
 
-        if (!my_config.isNoGenSet()) {
+        if (!my_config.isNoGenSet() && the_shard > 0) {
+            my_logger.println("Generating test shard " + the_shard + " for class " +
+                    the_class.getFullyQualifiedName());
+        } else if (!my_config.isNoGenSet()) {
             my_logger.println("Generating test class for class " +
                     the_class.getFullyQualifiedName());
         }
@@ -349,7 +381,8 @@ public class TestClassGenerator {
 
     /**
      * Generates both test and test data classes and writes them to the given
-     * directory.
+     * directory; the classes are planned, and the plan is then rendered and
+     * written.
      *
      * @param the_class        The class for which to generate test classes.
      * @param the_test_dir     The directory in which to generate test classes, as well
@@ -364,9 +397,38 @@ public class TestClassGenerator {
                                 final /*@ non_null @*/ String the_test_dir,
                                 final /*@ non_null @*/ String the_strategy_dir)
             throws IOException {
+        final File root = new File(the_test_dir);
+        generateClasses(planClasses(the_class, root, the_test_dir, the_strategy_dir), root);
+    }
+
+    /**
+     * Plans the test and test data classes for the specified class, without
+     * rendering or writing any of them. Every file that the class needs is
+     * planned, including strategies that already exist; whether those are
+     * overwritten is decided when the plan is written.
+     *
+     * @param the_class        The class for which to plan test classes.
+     * @param the_root         The output root, which the paths of the planned
+     *                         files are relative to.
+     * @param the_test_dir     The directory in which to generate test classes, as well
+     *                         as package and instance strategies.
+     * @param the_strategy_dir The directory in which to generate parameter and class
+     *                         strategies.
+     * @return the plan.
+     * @throws IOException if the canonical paths of the directories cannot be found.
+     * @throws IllegalArgumentException if a directory cannot be reached by a
+     *                                  relative path from the_root.
+     */
+    public /*@ non_null @*/ GenerationPlan planClasses(final /*@ non_null @*/ ClassInfo the_class,
+                                                       final /*@ non_null @*/ File the_root,
+                                                       final /*@ non_null @*/ String the_test_dir,
+                                                       final /*@ non_null @*/ String the_strategy_dir)
+            throws IOException {
         final STGroup shared = StringTemplateUtil.load("shared_java");
+        final GenerationPlan result = new GenerationPlan(getRenderSettings());
 
         final Set<MethodInfo> methods_to_test = getMethodsToTest(the_class);
+        final Map<String, MethodInfo> shared_methods = getSharedMethods(methods_to_test);
         final Set<ClassInfo> classes_to_test = getClassesToTest(the_class);
 
         // we don't test nested classes yet but we can say something
@@ -377,131 +439,371 @@ public class TestClassGenerator {
 
         if (methods_to_test.isEmpty()) {
             my_logger.println("No testable methods in class " + the_class.getFullyQualifiedName());
-            return;
+            return result;
         }
 
         // initialize name templates
         final ST tc_name = shared.getInstanceOf("testClassName");
         tc_name.add("classInfo", the_class);
 
-        // this stream is for writing to memory, in the case of a dry run
+        // directory paths relative to the root are computed once, rather than per file
 
-        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        final BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(baos));
+        final Path root = the_root.getCanonicalFile().toPath();
+        final String test_dir = relativeDirectory(root, the_test_dir);
+        final String strategy_dir = relativeDirectory(root, the_strategy_dir);
+        final String name = the_class.getFullyQualifiedName();
+        final List<String> none = Collections.emptyList();
 
-        File f;
+        // methods that share the strategies of their declaring classes need
+        // none of the strategy classes or literals below
 
-        // generate the (single) test class, if necessary
+        final Set<MethodInfo> unshared_methods = new TreeSet<>();
+        for (MethodInfo m : methods_to_test) {
+            if (!shared_methods.containsKey(m.getAbbreviatedFormattedName())) {
+                unshared_methods.add(m);
+            }
+        }
 
-        f = new File(the_test_dir + tc_name.render() + JMLUnitNG.JAVA_SUFFIX);
-        if (my_config.isDryRunSet() || my_config.isNoGenSet()) {
-            generateTestClass(the_class, methods_to_test, bw);
-            baos.reset();
-        } else {
-            final FileWriter fw = new FileWriter(f);
-            generateTestClass(the_class, methods_to_test, fw);
-            fw.close();
+        // the test class, split into shards if it has too many tests
+
+        final List<Set<MethodInfo>> shards = getShards(methods_to_test);
+        result.add(new GenerationPlan.Item(GenerationPlan.Kind.TEST_CLASS,
+                test_dir + tc_name.render() + JMLUnitNG.JAVA_SUFFIX, name,
+                getMethodNames(shards.get(0)), "", "", 0, shards.size() - 1));
+        for (int i = 1; i < shards.size(); i++) {
+            final ST sh_name = shared.getInstanceOf("shardClassName");
+            sh_name.add("classInfo", the_class);
+            sh_name.add("shard", i);
+            result.add(new GenerationPlan.Item(GenerationPlan.Kind.TEST_CLASS,
+                    test_dir + sh_name.render() + JMLUnitNG.JAVA_SUFFIX, name,
+                    getMethodNames(shards.get(i)), "", "", i, 0));
         }
-        my_created_files.add(f.getCanonicalPath());
 
-        // generate the strategy classes - there are three stages here
+        // the literals used by the strategies go in a pool next to the
+        // test class, rather than in the strategy sources
+
+        if (!getLiteralPool(the_class, unshared_methods).isEmpty()) {
+            result.add(new GenerationPlan.Item(GenerationPlan.Kind.LITERAL_POOL,
+                    test_dir + tc_name.render() + JMLUnitNG.LITERALS_SUFFIX, name,
+                    getMethodNames(unshared_methods), "", "", 0, 0));
+        }
+
+        // with "--runtime-strategies", the test class is all there is
+
+        if (my_config.isRuntimeStrategiesSet()) {
+            return result;
+        }
+
+        // the strategy classes - there are three stages here
         // first: local-scope method parameter strategy classes, only if concrete
 
-        for (MethodInfo m : methods_to_test) {
+        for (MethodInfo m : unshared_methods) {
             for (ParameterInfo p : m.getParameters()) {
                 final ST ls_name = shared.getInstanceOf("localStrategyName");
                 ls_name.add("classInfo", the_class);
                 ls_name.add("methodInfo", m);
                 ls_name.add("paramInfo", p);
-                f = new File(the_strategy_dir + ls_name.render() +
-                        JMLUnitNG.JAVA_SUFFIX);
-                if (my_config.isDryRunSet() || my_config.isNoGenSet()) {
-                    generateLocalStrategyClass(the_class, m, p, bw);
-                    baos.reset();
-                } else if (f.exists()) {
-                    my_logger.println("Not overwriting existing strategy for parameter " +
-                            p.getName() + " of " + m);
-                } else {
-                    final FileWriter fw = new FileWriter(f);
-                    generateLocalStrategyClass(the_class, m, p, fw);
-                    fw.close();
-                }
-                my_created_files.add(f.getCanonicalPath());
+                result.add(new GenerationPlan.Item(GenerationPlan.Kind.LOCAL_STRATEGY,
+                        strategy_dir + ls_name.render() + JMLUnitNG.JAVA_SUFFIX, name,
+                        Collections.singletonList(m.getAbbreviatedFormattedName()),
+                        p.getName(), "", 0, 0));
             }
         }
 
         // second: class-scope strategy classes for all data types, only if concrete
 
-        final Set<TypeInfo> parameterTypes = getUniqueParameterTypes(methods_to_test);
+        final Set<TypeInfo> parameterTypes = getUniqueParameterTypes(unshared_methods);
 
         for (TypeInfo t : parameterTypes) {
-            final ST parameters = shared.getInstanceOf("classStrategyName");
-            parameters.add("classInfo", the_class);
-            parameters.add("typeInfo", t);
-            f = new File(the_strategy_dir + parameters.render() + JMLUnitNG.JAVA_SUFFIX);
-            if (my_config.isDryRunSet() || my_config.isNoGenSet()) {
-                generateClassStrategyClass(the_class, t, bw);
-                baos.reset();
-            } else if (f.exists()) {
-                my_logger.println("Not overwriting existing global strategy " +
-                        "for type " + t.getFullyQualifiedName());
-            } else {
-                final FileWriter fw = new FileWriter(f);
-                generateClassStrategyClass(the_class, t, fw);
-                fw.close();
-            }
-            my_created_files.add(f.getCanonicalPath());
+            final ST cs_name = shared.getInstanceOf("classStrategyName");
+            cs_name.add("classInfo", the_class);
+            cs_name.add("typeInfo", t);
+            result.add(new GenerationPlan.Item(GenerationPlan.Kind.CLASS_STRATEGY,
+                    strategy_dir + cs_name.render() + JMLUnitNG.JAVA_SUFFIX, name,
+                    none, "", ModelIndex.typeName(t), 0, 0));
         }
 
         // third: package strategy classes for all types for which strategies
-        // were generated above (note that these may duplicate when we generate
+        // were planned above (note that these may duplicate when we generate
         // multiple sets of tests in the same package, but that's OK, as
         // we won't overwrite them after the first one)
 
         for (TypeInfo t : parameterTypes) {
             final ST ps_name = shared.getInstanceOf("packageStrategyName");
             ps_name.add("typeInfo", t);
-
-            f = new File(the_test_dir + ps_name.render() +
-                    JMLUnitNG.JAVA_SUFFIX);
-            if (my_config.isDryRunSet() || my_config.isNoGenSet()) {
-                generatePackageStrategyClass(the_class, t, bw);
-                baos.reset();
-            } else if (f.exists()) {
-                String pn = "<default>";
-                if (the_class.isPackaged()) {
-                    pn = the_class.getPackageName();
-                }
-                my_logger.println("Not overwriting existing package strategy " +
-                        "for type " + t.getFullyQualifiedName() +
-                        " in package " + pn);
-            } else {
-                final FileWriter fw = new FileWriter(f);
-                generatePackageStrategyClass(the_class, t, fw);
-                fw.close();
-            }
-            my_created_files.add(f.getCanonicalPath());
+            result.add(new GenerationPlan.Item(GenerationPlan.Kind.PACKAGE_STRATEGY,
+                    test_dir + ps_name.render() + JMLUnitNG.JAVA_SUFFIX, name,
+                    none, "", ModelIndex.typeName(t), 0, 0));
         }
 
         // fourth: instance strategy class for this class
 
         final ST is_name = shared.getInstanceOf("instanceStrategyName");
         is_name.add("classInfo", the_class);
-        f = new File(the_test_dir + is_name.render() +
-                JMLUnitNG.JAVA_SUFFIX);
-        if (my_config.isDryRunSet() || my_config.isNoGenSet()) {
-            generateInstanceStrategyClass(the_class, bw);
-            baos.reset();
-        } else if (f.exists()) {
-            my_logger.println("Not overwriting existing instance strategy " +
-                    "for class " + the_class.getFullyQualifiedName());
+        result.add(new GenerationPlan.Item(GenerationPlan.Kind.INSTANCE_STRATEGY,
+                test_dir + is_name.render() + JMLUnitNG.JAVA_SUFFIX, name,
+                none, "", "", 0, 0));
+
+        return result;
+    }
+
+    /**
+     * @param the_root The canonical output root.
+     * @param the_dir  A directory.
+     * @return the path of the_dir relative to the_root, with '/' as the
+     * separator and a trailing '/' unless it is empty.
+     * @throws IOException if the canonical path of the_dir cannot be found.
+     */
+    private static String relativeDirectory(final Path the_root, final String the_dir)
+            throws IOException {
+        final String result = the_root.relativize(new File(the_dir).getCanonicalFile().toPath())
+                .toString().replace(File.separatorChar, '/');
+        if (result.isEmpty()) {
+            return result;
+        }
+        return result + '/';
+    }
+
+    /**
+     * Renders the files of the specified plan and writes them. Existing
+     * strategies are not overwritten, so that modifications to them are kept;
+     * all other files are.
+     *
+     * @param the_plan The plan, which must have been made with the same
+     *                 settings as this generator has.
+     * @param the_root The output root, which the paths of the planned files
+     *                 are resolved against.
+     * @throws IOException Thrown if an IOException occurs while generating the classes.
+     * @throws JMLUnitNGError if the plan was made with different settings, or
+     *                        refers to classes, methods or parameters that this
+     *                        generator does not know.
+     */
+    public void generateClasses(final /*@ non_null @*/ GenerationPlan the_plan,
+                                final /*@ non_null @*/ File the_root)
+            throws IOException {
+        if (!getRenderSettings().equals(the_plan.getSettings())) {
+            throw new JMLUnitNGError("The generation plan was made with different settings (" +
+                    the_plan.getSettings() + ")");
+        }
+
+        // rendered sources go to the writer, unless this is a dry run; the
+        // writer is either shared across the run or owned by this call
+
+        final boolean write = !my_config.isDryRunSet() && !my_config.isNoGenSet();
+        final GeneratedSourceWriter writer;
+        if (write && my_writer == null) {
+            writer = new GeneratedSourceWriter();
         } else {
-            final FileWriter fw = new FileWriter(f);
-            generateInstanceStrategyClass(the_class, fw);
-            fw.close();
+            writer = my_writer;
+        }
+
+        try {
+            for (GenerationPlan.Item i : the_plan.getItems()) {
+                final File f = i.getFile(the_root);
+                final GenerationPlan.Kind kind = i.getKind();
+                if (write && kind == GenerationPlan.Kind.PACKAGE_STRATEGY &&
+                        (!writer.registerPackageStrategy(f.getPath()) || writer.exists(f))) {
+                    String pn = "<default>";
+                    final ClassInfo c = getPlannedClass(i);
+                    if (c.isPackaged()) {
+                        pn = c.getPackageName();
+                    }
+                    my_logger.println("Not overwriting existing package strategy " +
+                            "for type " + new TypeInfo(i.getType()).getFullyQualifiedName() +
+                            " in package " + pn);
+                } else if (write && writer.exists(f) && kind != GenerationPlan.Kind.TEST_CLASS &&
+                        kind != GenerationPlan.Kind.LITERAL_POOL) {
+                    logNotOverwriting(i);
+                } else if (kind == GenerationPlan.Kind.LITERAL_POOL) {
+                    final byte[] pool = renderLiteralPool(i);
+                    if (write) {
+                        writer.write(f, pool);
+                    }
+                } else {
+                    final StringWriter sw = new StringWriter();
+                    render(i, sw);
+                    if (write) {
+                        writer.write(f, sw.toString());
+                    }
+                }
+                my_created_files.add(f.getPath());
+            }
+        } finally {
+            if (writer != null && writer != my_writer) {
+                writer.close();
+            }
+        }
+    }
+
+    /**
+     * Renders the specified planned source file.
+     *
+     * @param the_item   The planned file, which must not be a literal pool.
+     * @param the_writer The writer to write the rendered source to.
+     * @throws IOException if an IOException occurs while writing the source.
+     * @throws JMLUnitNGError if the_item refers to classes, methods or parameters
+     *                        that this generator does not know.
+     */
+    //@ requires the_item.getKind() != GenerationPlan.Kind.LITERAL_POOL;
+    public void render(final /*@ non_null @*/ GenerationPlan.Item the_item,
+                       final /*@ non_null @*/ Writer the_writer) throws IOException {
+        final ClassInfo c = getPlannedClass(the_item);
+        switch (the_item.getKind()) {
+            case TEST_CLASS:
+                final Set<MethodInfo> methods = getPlannedMethods(c, the_item.getMethods());
+                generateTestClass(c, methods, getSharedMethods(methods),
+                        the_item.getShard(), the_item.getShardCount(), the_writer);
+                break;
+            case LOCAL_STRATEGY:
+                final MethodInfo m = getPlannedMethods(c, the_item.getMethods()).iterator().next();
+                generateLocalStrategyClass(c, m, getPlannedParameter(m, the_item.getParameter()),
+                        the_writer);
+                break;
+            case CLASS_STRATEGY:
+                generateClassStrategyClass(c, new TypeInfo(the_item.getType()), the_writer);
+                break;
+            case PACKAGE_STRATEGY:
+                generatePackageStrategyClass(c, new TypeInfo(the_item.getType()), the_writer);
+                break;
+            case INSTANCE_STRATEGY:
+                generateInstanceStrategyClass(c, the_writer);
+                break;
+            default:
+                throw new IllegalArgumentException("cannot render " + the_item.getKind() +
+                        " as a source");
         }
-        my_created_files.add(f.getCanonicalPath());
+    }
+
+    /**
+     * Renders the specified planned literal pool.
+     *
+     * @param the_item The planned literal pool.
+     * @return the encoded literal pool.
+     * @throws JMLUnitNGError if the_item refers to classes or methods that
+     *                        this generator does not know.
+     */
+    //@ requires the_item.getKind() == GenerationPlan.Kind.LITERAL_POOL;
+    public /*@ non_null @*/ byte[] renderLiteralPool(final /*@ non_null @*/ GenerationPlan.Item the_item) {
+        final ClassInfo c = getPlannedClass(the_item);
+        final STGroup shared = StringTemplateUtil.load("shared_java");
+        final ST header = shared.getInstanceOf("literalPoolHeader");
+        header.add("versionString", JMLUnitNG.version());
+        header.add("dateString", getFormattedDate());
+        return LiteralPool.encode(header.render(),
+                getLiteralPool(c, getPlannedMethods(c, the_item.getMethods())));
+    }
 
+    /**
+     * @return the settings of this generator that affect rendering; a plan
+     * can only be rendered by a generator with the settings it was made with.
+     */
+    public /*@ pure non_null @*/ String getRenderSettings() {
+        return "rac-version=" + my_config.getRACVersion() +
+                " protection=" + my_config.getProtectionLevel() +
+                " inherited=" + my_config.isInheritedSet() +
+                " share-inherited=" + my_config.isShareInheritedSet() +
+                " deprecation=" + my_config.isDeprecationSet() +
+                " reflection=" + my_config.isReflectionSet() +
+                " children=" + my_config.isChildrenSet() +
+                " literals=" + my_config.isLiteralsSet() +
+                " spec-literals=" + my_config.isSpecLiteralsSet() +
+                " parallel=" + my_config.isParallelSet() +
+                " prefetch=" + my_config.getPrefetch() +
+                " covering-strength=" + my_config.getCoveringStrength() +
+                " runtime-strategies=" + my_config.isRuntimeStrategiesSet();
+    }
+
+    /**
+     * Logs that the specified planned strategy is not overwritten because
+     * it already exists.
+     *
+     * @param the_item The planned strategy.
+     */
+    private void logNotOverwriting(final GenerationPlan.Item the_item) {
+        switch (the_item.getKind()) {
+            case LOCAL_STRATEGY:
+                my_logger.println("Not overwriting existing strategy for parameter " +
+                        the_item.getParameter() + " of " +
+                        getPlannedMethods(getPlannedClass(the_item),
+                                the_item.getMethods()).iterator().next());
+                break;
+            case CLASS_STRATEGY:
+                my_logger.println("Not overwriting existing global strategy " +
+                        "for type " + new TypeInfo(the_item.getType()).getFullyQualifiedName());
+                break;
+            default:
+                my_logger.println("Not overwriting existing instance strategy " +
+                        "for class " + the_item.getClassName());
+        }
+    }
+
+    /**
+     * @param the_methods Some methods.
+     * @return the abbreviated formatted names of the methods, in order.
+     */
+    private static List<String> getMethodNames(final /*@ non_null @*/ Set<MethodInfo> the_methods) {
+        final List<String> result = new ArrayList<>(the_methods.size());
+        for (MethodInfo m : new TreeSet<>(the_methods)) {
+            result.add(m.getAbbreviatedFormattedName());
+        }
+        return result;
+    }
+
+    /**
+     * @param the_item A planned file.
+     * @return the class under test that the_item is for.
+     * @throws JMLUnitNGError if there is no such class.
+     */
+    private ClassInfo getPlannedClass(final GenerationPlan.Item the_item) {
+        final ClassInfo result =
+                my_session.getInfoFactory().getClassInfo(the_item.getClassName());
+        if (result == null) {
+            throw new JMLUnitNGError("The generation plan refers to unknown class " +
+                    the_item.getClassName());
+        }
+        return result;
+    }
+
+    /**
+     * @param the_class The class under test.
+     * @param the_names The abbreviated formatted names of methods to test.
+     * @return the methods with the specified names, in order.
+     * @throws JMLUnitNGError if the_class has no method to test with one of
+     *                        the names.
+     */
+    private Set<MethodInfo> getPlannedMethods(final ClassInfo the_class,
+                                              final List<String> the_names) {
+        final Map<String, MethodInfo> methods = new HashMap<>();
+        for (MethodInfo m : getMethodsToTest(the_class)) {
+            methods.put(m.getAbbreviatedFormattedName(), m);
+        }
+        final Set<MethodInfo> result = new LinkedHashSet<>();
+        for (String n : the_names) {
+            final MethodInfo m = methods.get(n);
+            if (m == null) {
+                throw new JMLUnitNGError("The generation plan refers to unknown method " +
+                        n + " of " + the_class.getFullyQualifiedName());
+            }
+            result.add(m);
+        }
+        return result;
+    }
+
+    /**
+     * @param the_method The method.
+     * @param the_name   The name of a parameter.
+     * @return the parameter of the_method with the specified name.
+     * @throws JMLUnitNGError if there is no such parameter.
+     */
+    private ParameterInfo getPlannedParameter(final MethodInfo the_method,
+                                              final String the_name) {
+        for (ParameterInfo p : the_method.getParameters()) {
+            if (p.getName().equals(the_name)) {
+                return p;
+            }
+        }
+        throw new JMLUnitNGError("The generation plan refers to unknown parameter " +
+                the_name + " of " + the_method);
     }
 
     /**
@@ -527,6 +829,42 @@ public class TestClassGenerator {
     @   ((m.isDeprecated() && my_test_deprecated_methods) || !m.isDeprecated()));
    */
 
+    /**
+     * Splits the specified methods between a test class and its shards, if
+     * there are more of them than the maximum number of tests per class
+     * ("--max-tests-per-class"). The test class keeps the constructors, whose
+     * data providers the instance strategy may use; the other methods are
+     * divided, in order, among as many shards as necessary.
+     *
+     * @param the_methods The methods to test.
+     * @return the methods to test in the test class, followed by the methods
+     * to test in each of its shards.
+     */
+    private /*@ pure non_null @*/ List<Set<MethodInfo>> getShards
+    (final /*@ non_null @*/ Set<MethodInfo> the_methods) {
+        final List<Set<MethodInfo>> result = new ArrayList<>();
+        final int max = my_config.getMaxTestsPerClass();
+        if (!my_config.isMaxTestsPerClassSet() || the_methods.size() <= max) {
+            result.add(the_methods);
+            return result;
+        }
+        final Set<MethodInfo> constructors = new TreeSet<>();
+        result.add(constructors);
+        Set<MethodInfo> shard = null;
+        for (MethodInfo m : new TreeSet<>(the_methods)) {
+            if (m.isConstructor()) {
+                constructors.add(m);
+            } else {
+                if (shard == null || shard.size() == max) {
+                    shard = new TreeSet<>();
+                    result.add(shard);
+                }
+                shard.add(m);
+            }
+        }
+        return result;
+    }
+
     /**
      * Returns the methods from the given class to test based on generator
      * settings.
@@ -547,6 +885,63 @@ public class TestClassGenerator {
         return methods;
     }
 
+    /**
+     * Finds the methods whose tests can use the strategies generated for
+     * the classes that declare them, rather than their own ("--share-inherited").
+     * This is the case for an inherited method when tests for the same method
+     * are generated in its declaring class.
+     *
+     * @param the_methods The methods to test.
+     * @return A map from the abbreviated names of the methods in the_methods
+     * that share strategies to the corresponding methods of their declaring
+     * classes.
+     */
+    private /*@ pure non_null @*/ Map<String, MethodInfo> getSharedMethods
+    (final /*@ non_null @*/ Set<MethodInfo> the_methods) {
+        final Map<String, MethodInfo> result = new HashMap<>();
+        if (!my_config.isInheritedSet() || !my_config.isShareInheritedSet() ||
+                my_config.isRuntimeStrategiesSet()) {
+            return result;
+        }
+        for (MethodInfo m : the_methods) {
+            if (m.isInherited() && !m.getParameters().isEmpty()) {
+                final ClassInfo declaring_class = m.getDeclaringClass();
+                if (isTestClassGenerated(declaring_class)) {
+                    for (MethodInfo dm : getMethodsToTest(declaring_class)) {
+                        if (!dm.isInherited() && dm.getName().equals(m.getName()) &&
+                                dm.getParameters().equals(m.getParameters())) {
+                            result.put(m.getAbbreviatedFormattedName(), dm);
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Determines whether a test class (and its strategies) is generated for
+     * the specified class during this session; this mirrors the checks made
+     * by JMLUnitNG before it generates tests for a compilation unit.
+     *
+     * @param classInfo The class.
+     * @return true if a test class is generated for classInfo, false otherwise.
+     */
+    private /*@ pure @*/ boolean isTestClassGenerated(final /*@ non_null @*/ ClassInfo classInfo) {
+        boolean result = my_session.getInfoFactory().isSourceClass(classInfo) &&
+                !classInfo.isEnumeration() &&
+                !classInfo.getProtectionLevel().strongerThan(my_config.getProtectionLevel());
+        if (result) {
+            boolean usable_constructor = false;
+            for (MethodInfo m : classInfo.getConstructors()) {
+                usable_constructor |= m.isConstructor() &&
+                        m.getProtectionLevel().weakerThanOrEqualTo(my_config.getProtectionLevel());
+            }
+            result = usable_constructor;
+        }
+        return result;
+    }
+
     /**
      * Returns the nested classes from the given class to test based on
      * generator settings.
@@ -589,6 +984,224 @@ public class TestClassGenerator {
         return classes;
     }
 
+    /**
+     * Finds the literals of the specified type, from among the specified
+     * literals, that are used as test data ("--literals" and "--spec-literals").
+     *
+     * @param the_type          The type.
+     * @param the_literals      The literals found in code, by type name.
+     * @param the_spec_literals The literals found in specifications, by type name.
+     * @return the literals to use.
+     */
+    private SortedSet<String> getLiterals(final TypeInfo the_type,
+                                          final Map<String, SortedSet<String>> the_literals,
+                                          final Map<String, SortedSet<String>> the_spec_literals) {
+        final SortedSet<String> result = new TreeSet<>();
+        final String fq_name = the_type.getFullyQualifiedName();
+        if (my_config.isLiteralsSet() && the_literals.get(fq_name) != null) {
+            result.addAll(the_literals.get(fq_name));
+        }
+        if (my_config.isSpecLiteralsSet() && the_spec_literals.get(fq_name) != null) {
+            result.addAll(the_spec_literals.get(fq_name));
+        }
+        return result;
+    }
+
+    /**
+     * Collects the literals used as test data by the local and class strategies
+     * for the parameters of the specified methods into a literal pool. Each set
+     * of literals is keyed by the name of the strategy that uses it, even when
+     * the strategy is built at runtime ("--runtime-strategies").
+     *
+     * @param the_class   The class under test.
+     * @param the_methods The methods.
+     * @return the sets of literals, by key; empty if there are no literals.
+     */
+    private Map<String, Object[]> getLiteralPool
+    (final /*@ non_null @*/ ClassInfo the_class,
+     final /*@ non_null @*/ Set<MethodInfo> the_methods) {
+        final STGroup shared = StringTemplateUtil.load("shared_java");
+        final Map<String, Object[]> result = new LinkedHashMap<>();
+        for (MethodInfo m : the_methods) {
+            for (ParameterInfo p : m.getParameters()) {
+                final SortedSet<String> literals =
+                        getLiterals(p.getType(), m.getLiterals(), m.getSpecLiterals());
+                if (!literals.isEmpty()) {
+                    final ST ls_name = shared.getInstanceOf("localStrategyName");
+                    ls_name.add("classInfo", the_class);
+                    ls_name.add("methodInfo", m);
+                    ls_name.add("paramInfo", p);
+                    result.put(ls_name.render(), getPoolValues(p.getType(), literals));
+                }
+            }
+        }
+        for (TypeInfo t : getUniqueParameterTypes(the_methods)) {
+            final SortedSet<String> literals =
+                    getLiterals(t, the_class.getLiterals(), the_class.getSpecLiterals());
+            if (!literals.isEmpty()) {
+                final ST cs_name = shared.getInstanceOf("classStrategyName");
+                cs_name.add("classInfo", the_class);
+                cs_name.add("typeInfo", t);
+                result.put(cs_name.render(), getPoolValues(t, literals));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Converts literals, as found by the InfoFactory, to the values stored
+     * in a literal pool for parameters of the specified type. Literals that
+     * cannot be represented as values of the type are left out.
+     *
+     * @param the_type     The type.
+     * @param the_literals The literals.
+     * @return the values.
+     */
+    private static Object[] getPoolValues(final /*@ non_null @*/ TypeInfo the_type,
+                                          final /*@ non_null @*/ SortedSet<String> the_literals) {
+        final List<Object> result = new ArrayList<>(the_literals.size());
+        for (String l : the_literals) {
+            try {
+                final Object value = getPoolValue(the_type.getFullyQualifiedName(), l);
+                if (value != null) {
+                    result.add(value);
+                }
+            } catch (final NumberFormatException e) {
+                // not a literal of this type, so it is left out
+            }
+        }
+        return result.toArray();
+    }
+
+    /**
+     * @param the_type    The fully qualified name of a type.
+     * @param the_literal A literal found by the InfoFactory for the type.
+     * @return the value of the literal, or null if the type has no literals.
+     * @throws NumberFormatException if the literal is not a valid number.
+     */
+    private static Object getPoolValue(final /*@ non_null @*/ String the_type,
+                                       final /*@ non_null @*/ String the_literal) {
+        final Object result;
+        switch (the_type) {
+            case "boolean":
+            case "java.lang.Boolean":
+                result = Boolean.valueOf(the_literal);
+                break;
+            case "byte":
+            case "java.lang.Byte":
+                result = Byte.valueOf(the_literal);
+                break;
+            case "short":
+            case "java.lang.Short":
+                result = Short.valueOf(the_literal);
+                break;
+            case "char":
+            case "java.lang.Character":
+                if (the_literal.length() == 1) {
+                    result = the_literal.charAt(0);
+                } else {
+                    result = null;
+                }
+                break;
+            case "int":
+            case "java.lang.Integer":
+                result = Integer.valueOf(the_literal);
+                break;
+            case "long":
+            case "java.lang.Long":
+                if (the_literal.endsWith("L")) {
+                    result = Long.valueOf(the_literal.substring(0, the_literal.length() - 1));
+                } else {
+                    result = Long.valueOf(the_literal);
+                }
+                break;
+            case "float":
+            case "java.lang.Float":
+                result = Float.valueOf(the_literal);
+                break;
+            case "double":
+            case "java.lang.Double":
+                result = Double.valueOf(the_literal);
+                break;
+            case "java.lang.String":
+                result = StringEscapeUtils.unescapeJava(the_literal);
+                break;
+            case "java.lang.Class":
+                if (the_literal.endsWith(JMLUnitNG.CLASS_SUFFIX)) {
+                    result = new LiteralPool.ClassName(the_literal.substring
+                            (0, the_literal.length() - JMLUnitNG.CLASS_SUFFIX.length()));
+                } else {
+                    result = new LiteralPool.ClassName(the_literal);
+                }
+                break;
+            default:
+                result = null;
+        }
+        return result;
+    }
+
+    /**
+     * Finds the child classes of the specified type that are used to
+     * generate test data: all the child classes being analyzed, if "--children"
+     * was set, and the child classes among the specified class literals,
+     * if "--literals" or "--spec-literals" was set.
+     *
+     * @param the_type          The type.
+     * @param the_literals      The literals found in code, by type name.
+     * @param the_spec_literals The literals found in specifications, by type name.
+     * @return The child classes, in the form "fully.qualified.Name.class".
+     */
+    private SortedSet<String> getChildren(final TypeInfo the_type,
+                                          final Map<String, SortedSet<String>> the_literals,
+                                          final Map<String, SortedSet<String>> the_spec_literals) {
+        final SortedSet<String> result = new TreeSet<>();
+        final ClassInfo type_class_info =
+                my_session.getInfoFactory().getClassInfo(the_type.getFullyQualifiedName());
+        if (type_class_info != null) {
+            if (my_config.isChildrenSet()) {
+                result.addAll(getChildrenFromClassInfo(type_class_info));
+            }
+            if (my_config.isLiteralsSet() || my_config.isSpecLiteralsSet()) {
+                result.addAll(checkChildLiterals(type_class_info,
+                        getLiterals(new TypeInfo(Class.class.getName()),
+                                the_literals, the_spec_literals)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Collects the test data for the parameters of the specified methods,
+     * for test classes generated with "--runtime-strategies"; these are the
+     * data that the local, class and package strategies would contain.
+     *
+     * @param the_class   The class under test.
+     * @param the_methods The methods.
+     * @return a map from the abbreviated names of the methods to maps from
+     * parameter names to test data.
+     */
+    private Map<String, Map<String, RuntimeStrategyInfo>> getRuntimeStrategies
+    (final /*@ non_null @*/ ClassInfo the_class,
+     final /*@ non_null @*/ Set<MethodInfo> the_methods) {
+        final Map<String, Map<String, RuntimeStrategyInfo>> result = new HashMap<>();
+        for (MethodInfo m : the_methods) {
+            final Map<String, RuntimeStrategyInfo> params = new HashMap<>();
+            for (ParameterInfo p : m.getParameters()) {
+                final SortedSet<String> children =
+                        getChildren(p.getType(), m.getLiterals(), m.getSpecLiterals());
+                children.addAll(getChildren(p.getType(),
+                        the_class.getLiterals(), the_class.getSpecLiterals()));
+                params.put(p.getName(), new RuntimeStrategyInfo(p.getType(),
+                        getLiterals(p.getType(), m.getLiterals(), m.getSpecLiterals()),
+                        getLiterals(p.getType(),
+                                the_class.getLiterals(), the_class.getSpecLiterals()),
+                        children));
+            }
+            result.put(m.getAbbreviatedFormattedName(), params);
+        }
+        return result;
+    }
+
     /**
      * Generates a list of the publicly-visible child classes of the class
      * represented by the specified ClassInfo.
@@ -599,7 +1212,7 @@ public class TestClassGenerator {
     private SortedSet<String> getChildrenFromClassInfo(final ClassInfo classInfo) {
         final SortedSet<String> result = new TreeSet<>();
         final SortedSet<ClassInfo> children =
-                InfoFactory.getConcreteChildren(classInfo);
+                my_session.getInfoFactory().getConcreteChildren(classInfo);
 
         // remove non-public children so we don't try to generate them
         children.removeIf(classInfo1 -> classInfo1.getProtectionLevel() != ProtectionLevel.PUBLIC);
@@ -0,0 +1,229 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Removes the bodies of methods, constructors and initializers from Java
+ * source code, leaving only the declarations and the JML specifications
+ * outside those bodies. Test generation needs nothing else unless code
+ * literals are used, and parsing the stripped source is much cheaper
+ * than parsing the original. Stripped bodies are replaced by whitespace
+ * that preserves line breaks, so positions reported by the parser
+ * still refer to the original source.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+public final class BodyStripper {
+    /**
+     * The keywords that introduce type declarations.
+     */
+    private static final String[] TYPE_KEYWORDS = {"class", "interface", "enum", "record"};
+
+    /**
+     * Private constructor to prevent instantiation of this class.
+     */
+    private BodyStripper() {
+        // do nothing
+    }
+
+    /**
+     * Strips the bodies of methods, constructors and initializers (and the
+     * bodies of anything else opened by a brace directly within a type body,
+     * such as array initializers and anonymous classes in field
+     * initializers) from the specified source.
+     *
+     * @param the_source The source code.
+     * @return the stripped source code, or the_source itself if its braces
+     * do not balance.
+     */
+    public static /*@ pure non_null @*/ String strip(final /*@ non_null @*/ String the_source) {
+        final char[] result = the_source.toCharArray();
+        // true for each open brace that starts a type body
+        final Deque<Boolean> braces = new ArrayDeque<>();
+        boolean member_is_type = false;
+        boolean after_dot = false;
+        int parens = 0;
+        int i = 0;
+        while (i < result.length) {
+            final int skipped = skipCommentOrLiteral(the_source, i);
+            if (skipped > i) {
+                i = skipped;
+                continue;
+            }
+            final char c = the_source.charAt(i);
+            if (Character.isJavaIdentifierStart(c)) {
+                int end = i + 1;
+                while (end < result.length &&
+                        Character.isJavaIdentifierPart(the_source.charAt(end))) {
+                    end = end + 1;
+                }
+                if (!after_dot && parens == 0 &&
+                        isTypeKeyword(the_source.substring(i, end))) {
+                    member_is_type = true;
+                }
+                after_dot = false;
+                i = end;
+                continue;
+            }
+            if (c == '(') {
+                parens = parens + 1;
+            } else if (c == ')') {
+                parens = parens - 1;
+            } else if (c == '{') {
+                if (braces.isEmpty() ||
+                        (braces.peek() && parens == 0 && member_is_type)) {
+                    braces.push(true);
+                } else if (braces.peek() && parens == 0) {
+                    final int close = findClosingBrace(the_source, i);
+                    if (close < 0) {
+                        return the_source;
+                    }
+                    blank(result, i + 1, close);
+                    i = close;
+                } else {
+                    braces.push(false);
+                }
+                member_is_type = false;
+            } else if (c == '}') {
+                if (braces.isEmpty()) {
+                    return the_source;
+                }
+                braces.pop();
+                member_is_type = false;
+            } else if (c == ';' && parens == 0) {
+                member_is_type = false;
+            }
+            if (!Character.isWhitespace(c)) {
+                after_dot = c == '.';
+            }
+            i = i + 1;
+        }
+        if (!braces.isEmpty()) {
+            // a type body is never closed
+            return the_source;
+        }
+        return new String(result);
+    }
+
+    /**
+     * @param the_word A word.
+     * @return true if the_word is a keyword that introduces a type
+     * declaration, false otherwise.
+     */
+    private static boolean isTypeKeyword(final String the_word) {
+        boolean result = false;
+        for (String k : TYPE_KEYWORDS) {
+            result |= k.equals(the_word);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the brace that closes the specified open brace.
+     *
+     * @param the_source The source code.
+     * @param the_open   The index of the open brace.
+     * @return the index of the closing brace, or -1 if there is none.
+     */
+    private static int findClosingBrace(final String the_source, final int the_open) {
+        int depth = 0;
+        int i = the_open;
+        while (i < the_source.length()) {
+            final int skipped = skipCommentOrLiteral(the_source, i);
+            if (skipped > i) {
+                i = skipped;
+                continue;
+            }
+            final char c = the_source.charAt(i);
+            if (c == '{') {
+                depth = depth + 1;
+            } else if (c == '}') {
+                depth = depth - 1;
+                if (depth == 0) {
+                    return i;
+                }
+            }
+            i = i + 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Skips a comment, string literal, text block or character literal.
+     *
+     * @param the_source The source code.
+     * @param the_index  The index at which to look.
+     * @return the index just after the comment or literal that starts
+     * at the_index, or the_index if none starts there.
+     */
+    private static int skipCommentOrLiteral(final String the_source, final int the_index) {
+        final int length = the_source.length();
+        int result = the_index;
+        if (the_source.startsWith("//", the_index)) {
+            result = the_source.indexOf('\n', the_index);
+            if (result < 0) {
+                result = length;
+            }
+        } else if (the_source.startsWith("/*", the_index)) {
+            result = the_source.indexOf("*/", the_index + 2);
+            if (result < 0) {
+                result = length;
+            } else {
+                result = result + 2;
+            }
+        } else if (the_source.startsWith("\"\"\"", the_index)) {
+            result = skipQuoted(the_source, the_index + 3, "\"\"\"");
+        } else if (the_source.charAt(the_index) == '"') {
+            result = skipQuoted(the_source, the_index + 1, "\"");
+        } else if (the_source.charAt(the_index) == '\'') {
+            result = skipQuoted(the_source, the_index + 1, "'");
+        }
+        return result;
+    }
+
+    /**
+     * Skips the rest of a quoted literal, honoring backslash escapes.
+     *
+     * @param the_source The source code.
+     * @param the_index  The index just after the opening quote.
+     * @param the_quote  The closing quote.
+     * @return the index just after the closing quote, or the length of
+     * the_source if there is none.
+     */
+    private static int skipQuoted(final String the_source, final int the_index,
+                                  final String the_quote) {
+        int i = the_index;
+        while (i < the_source.length()) {
+            if (the_source.charAt(i) == '\\') {
+                i = i + 2;
+            } else if (the_source.startsWith(the_quote, i)) {
+                return i + the_quote.length();
+            } else {
+                i = i + 1;
+            }
+        }
+        return the_source.length();
+    }
+
+    /**
+     * Replaces a range of characters with spaces, leaving line breaks alone.
+     *
+     * @param the_chars The characters.
+     * @param the_start The start of the range (inclusive).
+     * @param the_end   The end of the range (exclusive).
+     */
+    private static void blank(final char[] the_chars, final int the_start, final int the_end) {
+        for (int i = the_start; i < the_end; i++) {
+            if (the_chars[i] != '\n' && the_chars[i] != '\r') {
+                the_chars[i] = ' ';
+            }
+        }
+    }
+}
@@ -11,7 +11,8 @@ import java.io.File;
 import java.io.FileFilter;
 
 /**
- * A file filter that accepts ".java" files and all directories.
+ * A file filter that accepts ".java" files, the ".literals" pools generated
+ * alongside test classes, and all directories.
  *
  * @author Daniel M. Zimmerman
  * @version September 2010
@@ -33,11 +34,13 @@ public class JavaSuffixFilter implements FileFilter {
     /**
      * @param the_file The file to check.
      * @return Is the_file either a file with name ending in ".java" or
-     * a directory?
+     * ".literals", or a directory?
      */
     @Override
     public /*@ pure @*/ boolean accept(final File the_file) {
-        return the_file.getName().endsWith(JMLUnitNG.JAVA_SUFFIX) ||
+        final String name = the_file.getName();
+        return name.endsWith(JMLUnitNG.JAVA_SUFFIX) ||
+                name.endsWith(JMLUnitNG.LITERALS_SUFFIX) ||
                 the_file.isDirectory();
     }
 }
@@ -0,0 +1,239 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for ClassFileReader and ClassFile, on real class files in jars,
+ * directories and the runtime image.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+class ClassFileReaderTest {
+    /**
+     * The internal name of the sample class.
+     */
+    private static final String SAMPLE =
+            "org/jmlspecs/jmlunitng/generator/ClassFileReaderTest$Sample";
+
+    /**
+     * The TestNG jar in the lib directory.
+     */
+    private static final File TESTNG_JAR = new File("lib/testng-6.3.2beta-modified.jar");
+
+    /**
+     * A directory for jars and class files.
+     */
+    @TempDir
+    Path my_dir;
+
+    /**
+     * A class is read from a jar file with its name, superclass, interfaces
+     * and methods.
+     *
+     * @throws IOException if the jar cannot be written.
+     */
+    @Test
+    void readsClassFromJar() throws IOException {
+        final File jar = jar("sample.jar", SAMPLE, sampleBytes());
+        try (ClassFileReader reader = new ClassFileReader(jar.getPath())) {
+            final ClassFile c = reader.read(SAMPLE);
+            assertNotNull(c);
+            assertEquals(SAMPLE, c.getName());
+            assertTrue(c.isNested());
+            assertEquals("java/lang/Object", c.getSuperName());
+            assertEquals(Arrays.asList("java/lang/Comparable"), c.getInterfaces());
+            assertEquals("org.jmlspecs.jmlunitng.generator.ClassFileReaderTest.Sample",
+                         ClassFile.javaName(c.getName()));
+
+            ClassFile.Method add = null;
+            ClassFile.Method old = null;
+            for (ClassFile.Method m : c.getMethods()) {
+                if ("add".equals(m.getName())) {
+                    add = m;
+                } else if ("old".equals(m.getName())) {
+                    old = m;
+                }
+            }
+            assertNotNull(add);
+            assertEquals(ClassFile.ACC_PUBLIC | ClassFile.ACC_STATIC, add.getAccess());
+            assertEquals(Arrays.asList("int", "java.lang.String[][]", "java.util.Map.Entry"),
+                         add.getParameterTypes());
+            assertEquals("long", add.getReturnType());
+            assertFalse(add.isDeprecated());
+            assertNotNull(old);
+            assertTrue(old.isDeprecated());
+            assertEquals("void", old.getReturnType());
+            assertEquals("arg5", old.getParameterName(5));
+        }
+    }
+
+    /**
+     * Classes are read from a real third-party jar.
+     */
+    @Test
+    void readsClassFromLibraryJar() {
+        try (ClassFileReader reader = new ClassFileReader(TESTNG_JAR.getPath())) {
+            final ClassFile c = reader.read("org/testng/TestNG");
+            assertNotNull(c);
+            assertEquals("org/testng/TestNG", c.getName());
+            assertFalse(c.getMethods().isEmpty());
+            assertNotNull(reader.read("org/testng/annotations/Test"));
+        }
+    }
+
+    /**
+     * Classes are read from directories, and the first classpath entry with
+     * a class file for a class is used.
+     *
+     * @throws IOException if the jar or class file cannot be written.
+     */
+    @Test
+    void readsClassesInClasspathOrder() throws IOException {
+        final Path classes = Files.createDirectories(my_dir.resolve("classes"));
+        final Path class_file = classes.resolve(SAMPLE + ".class");
+        Files.createDirectories(class_file.getParent());
+        Files.write(class_file, sampleBytes());
+        final File broken = jar("broken.jar", SAMPLE, new byte[]{1, 2, 3});
+
+        try (ClassFileReader reader =
+                     new ClassFileReader(classes + File.pathSeparator + broken)) {
+            assertNotNull(reader.read(SAMPLE));
+        }
+        try (ClassFileReader reader =
+                     new ClassFileReader(broken + File.pathSeparator + classes)) {
+            assertNull(reader.read(SAMPLE));
+        }
+    }
+
+    /**
+     * Classes that are not on the classpath are read from the runtime
+     * image; classes that are nowhere are not read at all.
+     */
+    @Test
+    void readsRuntimeClassesAndIgnoresMissingOnes() {
+        final String classpath = String.join(File.pathSeparator, "",
+                my_dir.resolve("missing").toString(), my_dir.resolve("missing.jar").toString());
+        try (ClassFileReader reader = new ClassFileReader(classpath)) {
+            final ClassFile entry = reader.read("java/util/Map$Entry");
+            assertNotNull(entry);
+            assertTrue(entry.isNested());
+            assertTrue((entry.getAccess() & ClassFile.ACC_INTERFACE) != 0);
+            assertNull(reader.read("no/such/Class"));
+            assertNull(reader.read("NoPackage"));
+        }
+    }
+
+    /**
+     * A file on the classpath that is not a jar is ignored, and a closed
+     * reader reads no classes from jars.
+     *
+     * @throws IOException if the files cannot be written.
+     */
+    @Test
+    void closedReaderReadsNoJars() throws IOException {
+        final Path not_a_jar = Files.write(my_dir.resolve("not.jar"), new byte[]{0, 1});
+        final ClassFileReader reader =
+                new ClassFileReader(not_a_jar + File.pathSeparator + TESTNG_JAR);
+        assertNotNull(reader.read("org/testng/TestNG"));
+        reader.close();
+        assertNull(reader.read("org/testng/TestNG"));
+        assertNotNull(reader.read("java/lang/String"));
+    }
+
+    /**
+     * Field descriptors are converted to Java type names.
+     */
+    @Test
+    void convertsDescriptors() {
+        final int[] end = new int[1];
+        final String descriptor = "(I[[Ljava/util/Map$Entry;Z)V";
+        assertEquals("int", ClassFile.typeName(descriptor, 1, end));
+        assertEquals(2, end[0]);
+        assertEquals("java.util.Map.Entry[][]", ClassFile.typeName(descriptor, 2, end));
+        assertEquals(descriptor.indexOf('Z'), end[0]);
+        assertEquals("boolean", ClassFile.typeName(descriptor, end[0], end));
+    }
+
+    /**
+     * @return the bytes of the class file of Sample.
+     * @throws IOException if they cannot be read.
+     */
+    private static byte[] sampleBytes() throws IOException {
+        try (InputStream in = ClassFileReaderTest.class.getResourceAsStream(
+                SAMPLE.substring(SAMPLE.lastIndexOf('/') + 1) + ".class")) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Writes a jar with one entry.
+     *
+     * @param the_name     The name of the jar file.
+     * @param the_class    The internal name of the class of the entry.
+     * @param the_contents The contents of the entry.
+     * @return the jar file.
+     * @throws IOException if the jar cannot be written.
+     */
+    private File jar(final String the_name, final String the_class,
+                     final byte[] the_contents) throws IOException {
+        final File result = my_dir.resolve(the_name).toFile();
+        try (OutputStream os = Files.newOutputStream(result.toPath());
+             JarOutputStream out = new JarOutputStream(os)) {
+            out.putNextEntry(new ZipEntry("org/jmlspecs/"));
+            out.closeEntry();
+            out.putNextEntry(new ZipEntry(the_class + ".class"));
+            out.write(the_contents);
+            out.closeEntry();
+        }
+        return result;
+    }
+
+    /**
+     * A class whose class file is read by the tests.
+     */
+    @SuppressWarnings("unused")
+    abstract static class Sample implements Comparable<Sample> {
+        /**
+         * @param the_int     An int.
+         * @param the_strings Strings.
+         * @param the_entry   An entry.
+         * @return 0.
+         */
+        public static long add(final int the_int, final String[][] the_strings,
+                               final Map.Entry<String, String> the_entry) {
+            return 0;
+        }
+
+        /**
+         * Does nothing.
+         */
+        @Deprecated
+        void old() {
+            // nothing
+        }
+    }
+}
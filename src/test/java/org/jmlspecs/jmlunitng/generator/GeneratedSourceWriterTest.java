@@ -0,0 +1,270 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.generator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for GeneratedSourceWriter.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+class GeneratedSourceWriterTest {
+    /**
+     * The longest time a test waits for the writer thread.
+     */
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * A directory for the written files.
+     */
+    @TempDir
+    Path my_dir;
+
+    /**
+     * Sources are written in UTF-8 and binary content as it is, replacing
+     * existing files, and close() waits until everything is written.
+     *
+     * @throws IOException if a file cannot be written or read.
+     */
+    @Test
+    void writesSourcesAndBytes() throws IOException {
+        final File source = my_dir.resolve("A_JML_Test.java").toFile();
+        Files.write(source.toPath(), "an older and much longer source".getBytes(
+                StandardCharsets.UTF_8));
+        final File pool = my_dir.resolve("A_JML_Test.literals").toFile();
+        final byte[] bytes = {0, -1, 2, -3};
+        final GeneratedSourceWriter writer = new GeneratedSourceWriter();
+        writer.write(source, "class A { String s = \"\u00e9\u20ac\ud83d\ude00\"; }");
+        writer.write(pool, bytes);
+        assertTrue(writer.hasWrittenTo(my_dir.toFile()));
+        assertFalse(writer.hasWrittenTo(my_dir.resolve("other").toFile()));
+        writer.close();
+        assertEquals("class A { String s = \"\u00e9\u20ac\ud83d\ude00\"; }",
+                     new String(Files.readAllBytes(source.toPath()), StandardCharsets.UTF_8));
+        assertArrayEquals(bytes, Files.readAllBytes(pool.toPath()));
+    }
+
+    /**
+     * Sources queued while the writer thread is busy are all written, in
+     * the order in which they were queued, across several batches, on the
+     * writer thread rather than the submitting one.
+     *
+     * @throws IOException if a file cannot be written.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    @Test
+    void queuedSourcesAreWrittenInOrderOnTheWriterThread()
+            throws IOException, InterruptedException {
+        final RecordingWriter writer = new RecordingWriter(100);
+        final List<File> files = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            files.add(my_dir.resolve("S" + i + ".java").toFile());
+        }
+        writer.write(files.get(0), "0");
+        assertTrue(writer.my_started.await(TIMEOUT.getSeconds(), TimeUnit.SECONDS));
+        // the writer thread is now blocked writing the first source
+        for (int i = 1; i < files.size(); i++) {
+            writer.write(files.get(i), String.valueOf(i));
+        }
+        writer.my_gate.countDown();
+        writer.close();
+        assertEquals(files, writer.my_written);
+        assertEquals(1, writer.my_threads.size());
+        final Thread thread = writer.my_threads.get(0);
+        assertNotSame(Thread.currentThread(), thread);
+        assertTrue(thread.isDaemon());
+        for (int i = 0; i < files.size(); i++) {
+            assertEquals(String.valueOf(i), Files.readString(files.get(i).toPath()));
+        }
+    }
+
+    /**
+     * Submitting a source blocks while the queue is full, until the writer
+     * thread takes sources from it.
+     *
+     * @throws IOException if a file cannot be written.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    @Test
+    void submittingBlocksWhileTheQueueIsFull() throws IOException, InterruptedException {
+        final RecordingWriter writer = new RecordingWriter(1);
+        writer.write(my_dir.resolve("A.java").toFile(), "a");
+        assertTrue(writer.my_started.await(TIMEOUT.getSeconds(), TimeUnit.SECONDS));
+        writer.write(my_dir.resolve("B.java").toFile(), "b");
+        final CountDownLatch submitted = new CountDownLatch(1);
+        final Thread submitter = new Thread(() -> {
+            try {
+                writer.write(my_dir.resolve("C.java").toFile(), "c");
+                submitted.countDown();
+            } catch (final IOException e) {
+                // the latch is not counted down, so the test fails
+            }
+        });
+        submitter.start();
+        assertFalse(submitted.await(200, TimeUnit.MILLISECONDS));
+        writer.my_gate.countDown();
+        assertTrue(submitted.await(TIMEOUT.getSeconds(), TimeUnit.SECONDS));
+        submitter.join();
+        writer.close();
+        assertEquals(3, writer.my_written.size());
+    }
+
+    /**
+     * A failed write is reported by later submissions and by close(), and
+     * the sources queued after it are not written.
+     *
+     * @throws IOException if a file cannot be written.
+     */
+    @Test
+    void writeFailuresArePropagated() throws IOException {
+        final File missing = my_dir.resolve("missing").resolve("A.java").toFile();
+        final File after = my_dir.resolve("B.java").toFile();
+        final RecordingWriter writer = new RecordingWriter(8);
+        writer.my_gate.countDown();
+        writer.write(missing, "a");
+        final IOException reported = assertTimeoutPreemptively(TIMEOUT, () ->
+                assertThrows(IOException.class, () -> {
+                    while (true) {
+                        writer.write(after, "b");
+                    }
+                }));
+        assertTrue(reported.getCause() instanceof NoSuchFileException);
+        final IOException closed = assertThrows(IOException.class, writer::close);
+        assertTrue(closed.getCause() instanceof NoSuchFileException);
+        assertFalse(after.exists());
+        assertEquals(Collections.singletonList(true), writer.my_finished);
+        assertThrows(IOException.class, writer::close);
+        assertEquals(1, writer.my_finished.size());
+    }
+
+    /**
+     * finish() is called once, by the first close(), after every source is
+     * written; a closed writer accepts no more sources.
+     *
+     * @throws IOException if a file cannot be written.
+     */
+    @Test
+    void finishIsCalledOnceAfterAllWrites() throws IOException {
+        final RecordingWriter writer = new RecordingWriter(2);
+        writer.my_gate.countDown();
+        for (int i = 0; i < 10; i++) {
+            writer.write(my_dir.resolve("S" + i + ".java").toFile(), "");
+        }
+        writer.close();
+        assertEquals(Collections.singletonList(false), writer.my_finished);
+        assertEquals(Collections.singletonList(10), writer.my_written_at_finish);
+        writer.close();
+        assertEquals(1, writer.my_finished.size());
+        assertThrows(IOException.class,
+                () -> writer.write(my_dir.resolve("T.java").toFile(), ""));
+    }
+
+    /**
+     * Only the first registration of a package strategy counts, and the
+     * queue capacity must be positive.
+     *
+     * @throws IOException if the writer cannot be closed.
+     */
+    @Test
+    void packageStrategiesAreRegisteredOnce() throws IOException {
+        final GeneratedSourceWriter writer = new GeneratedSourceWriter(1);
+        assertTrue(writer.registerPackageStrategy("/out/p/PackageStrategy.java"));
+        assertFalse(writer.registerPackageStrategy("/out/p/PackageStrategy.java"));
+        assertTrue(writer.registerPackageStrategy("/out/q/PackageStrategy.java"));
+        writer.close();
+        assertThrows(IllegalArgumentException.class, () -> new GeneratedSourceWriter(0));
+    }
+
+    /**
+     * A writer that records what it writes and when it finishes, and whose
+     * first write waits until it is let through.
+     */
+    private static final class RecordingWriter extends GeneratedSourceWriter {
+        /**
+         * Counted down when the first write starts.
+         */
+        private final CountDownLatch my_started = new CountDownLatch(1);
+
+        /**
+         * Counted down to let the first write through.
+         */
+        private final CountDownLatch my_gate = new CountDownLatch(1);
+
+        /**
+         * The files written, in order.
+         */
+        private final List<File> my_written = Collections.synchronizedList(new ArrayList<>());
+
+        /**
+         * The distinct threads that wrote the files.
+         */
+        private final List<Thread> my_threads = Collections.synchronizedList(new ArrayList<>());
+
+        /**
+         * The argument of each call to finish().
+         */
+        private final List<Boolean> my_finished = new ArrayList<>();
+
+        /**
+         * The number of files written at each call to finish().
+         */
+        private final List<Integer> my_written_at_finish = new ArrayList<>();
+
+        /**
+         * @param the_capacity The queue capacity.
+         */
+        RecordingWriter(final int the_capacity) {
+            super(the_capacity);
+        }
+
+        @Override
+        protected void writeSource(final File the_file, final ByteBuffer the_bytes)
+                throws IOException {
+            my_started.countDown();
+            try {
+                my_gate.await();
+            } catch (final InterruptedException e) {
+                throw new IOException(e);
+            }
+            if (!my_threads.contains(Thread.currentThread())) {
+                my_threads.add(Thread.currentThread());
+            }
+            super.writeSource(the_file, the_bytes);
+            my_written.add(the_file);
+        }
+
+        @Override
+        protected void finish(final boolean the_failed) {
+            my_finished.add(the_failed);
+            my_written_at_finish.add(my_written.size());
+        }
+    }
+}
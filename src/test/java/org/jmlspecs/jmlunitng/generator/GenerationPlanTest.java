@@ -0,0 +1,104 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.generator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for GenerationPlan.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+class GenerationPlanTest {
+    /**
+     * A directory for plan files.
+     */
+    @TempDir
+    Path my_dir;
+
+    /**
+     * A plan that is saved, loaded and saved again is written byte for
+     * byte the same, and has the same settings and items.
+     *
+     * @throws IOException if a plan cannot be written or read.
+     */
+    @Test
+    void roundTripIsByteForByte() throws IOException {
+        final GenerationPlan plan = new GenerationPlan("settings \u00e9 \ud83d\ude00");
+        plan.add(new GenerationPlan.Item(GenerationPlan.Kind.TEST_CLASS,
+                "p/q/A_JML_Test.java", "p.q.A", Arrays.asList("f(int)", "g()"), "", "", 1, 3));
+        plan.add(new GenerationPlan.Item(GenerationPlan.Kind.LITERAL_POOL,
+                "p/q/A_JML_Test.literals", "p.q.A", Collections.emptyList(), "", "", 0, 0));
+        plan.add(new GenerationPlan.Item(GenerationPlan.Kind.LOCAL_STRATEGY,
+                "p/q/strategies/A/f/x.java", "p.q.A", Arrays.asList("f(int)"), "x",
+                "java.util.Map<java.lang.String, int[]>", 0, 0));
+        plan.add(new GenerationPlan.Item(GenerationPlan.Kind.INSTANCE_STRATEGY,
+                "p/q/strategies/A/Instance.java", "p.q.A", Collections.emptyList(), "",
+                "p.q.A", 0, 0));
+
+        final File first = my_dir.resolve("first.plan").toFile();
+        plan.save(first);
+        final GenerationPlan loaded = GenerationPlan.load(first);
+        final File second = my_dir.resolve("second.plan").toFile();
+        loaded.save(second);
+
+        assertArrayEquals(Files.readAllBytes(first.toPath()), Files.readAllBytes(second.toPath()));
+        assertEquals(plan.getSettings(), loaded.getSettings());
+        assertEquals(plan.toString(), loaded.toString());
+        assertEquals(plan.getItems().size(), loaded.getItems().size());
+        for (int i = 0; i < plan.getItems().size(); i++) {
+            assertEquals(plan.getItems().get(i).toString(), loaded.getItems().get(i).toString());
+        }
+    }
+
+    /**
+     * Item paths are relative to the output root, whatever the root is.
+     */
+    @Test
+    void itemPathsAreRelative() {
+        final GenerationPlan.Item item = new GenerationPlan.Item(GenerationPlan.Kind.TEST_CLASS,
+                "p/q/A_JML_Test.java", "p.q.A", Collections.emptyList(), "", "", 0, 0);
+        final File root = my_dir.toFile();
+        assertEquals(new File(new File(new File(root, "p"), "q"), "A_JML_Test.java"),
+                     item.getFile(root));
+    }
+
+    /**
+     * Files that are not plans, or are truncated, cannot be loaded.
+     *
+     * @throws IOException if a file cannot be written.
+     */
+    @Test
+    void invalidPlansAreRejected() throws IOException {
+        final File not_a_plan = Files.write(my_dir.resolve("not.plan"),
+                "not a plan".getBytes(StandardCharsets.UTF_8)).toFile();
+        assertThrows(IOException.class, () -> GenerationPlan.load(not_a_plan));
+
+        final GenerationPlan plan = new GenerationPlan("");
+        plan.add(new GenerationPlan.Item(GenerationPlan.Kind.TEST_CLASS,
+                "A_JML_Test.java", "A", Collections.emptyList(), "", "", 0, 0));
+        final File whole = my_dir.resolve("whole.plan").toFile();
+        plan.save(whole);
+        final byte[] bytes = Files.readAllBytes(whole.toPath());
+        final File truncated = Files.write(my_dir.resolve("truncated.plan"),
+                Arrays.copyOf(bytes, bytes.length - 3)).toFile();
+        assertThrows(IOException.class, () -> GenerationPlan.load(truncated));
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.generator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import org.jmlspecs.jmlunitng.util.BodyStripper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for ModelIndex.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+class ModelIndexTest {
+    /**
+     * The source file that is indexed.
+     */
+    private static final String SOURCE = String.join("\n",
+            "package p;",
+            "import java.util.ArrayList;",
+            "public abstract class A extends ArrayList<String> implements Runnable {",
+            "  public A(int x) { }",
+            "  protected A(String s, int[][] t) throws java.io.IOException { this(0); }",
+            "  public static class B extends A {",
+            "    public B() { super(0); }",
+            "  }",
+            "  class C { }",
+            "  enum E { X, Y }",
+            "}");
+
+    /**
+     * The index key of the source file.
+     */
+    private static final String PATH = "/src/p/A.java";
+
+    /**
+     * A directory for index files.
+     */
+    @TempDir
+    Path my_dir;
+
+    /**
+     * An index that is saved and loaded has the same entries, which create
+     * the same classes as the source file they were made from; saving it
+     * again writes the same bytes.
+     *
+     * @throws IOException if an index cannot be written.
+     */
+    @Test
+    void roundTripRecreatesTheClasses() throws IOException {
+        final String hash = ModelIndex.hash(SOURCE.getBytes(StandardCharsets.UTF_8));
+        final InfoFactory parsed = new InfoFactory("");
+        final List<String> expected;
+        final ModelIndex index = ModelIndex.load(my_dir.resolve("none.index").toFile());
+        try {
+            final CompilationUnit unit = parse();
+            parsed.generateInfos(Collections.singletonList(unit));
+            final ClassInfo info = parsed.getClassInfo(unit);
+            expected = describe(parsed, info);
+            index.put(PATH, ModelIndex.createEntry(info, hash, false));
+        } finally {
+            parsed.close();
+        }
+        final File first = my_dir.resolve("first.index").toFile();
+        index.save(first);
+
+        final ModelIndex loaded = ModelIndex.load(first);
+        final ModelIndex.Entry entry = loaded.get(PATH, hash, false);
+        assertNotNull(entry);
+        assertEquals("p.A", entry.getClassName());
+        final InfoFactory indexed = new InfoFactory("");
+        try {
+            indexed.generateInfos(Collections.emptyList(), Collections.singletonList(entry));
+            assertEquals(expected, describe(indexed, indexed.getClassInfo("p.A")));
+        } finally {
+            indexed.close();
+        }
+
+        final File second = my_dir.resolve("second.index").toFile();
+        loaded.save(second);
+        assertArrayEquals(Files.readAllBytes(first.toPath()), Files.readAllBytes(second.toPath()));
+    }
+
+    /**
+     * Entries are not used for changed source files, or when they lack
+     * needed literals.
+     *
+     * @throws IOException if the index cannot be written.
+     */
+    @Test
+    void staleEntriesAreNotUsed() throws IOException {
+        final InfoFactory factory = new InfoFactory("");
+        final ModelIndex index = ModelIndex.load(my_dir.resolve("none.index").toFile());
+        try {
+            final CompilationUnit unit = parse();
+            factory.generateInfos(Collections.singletonList(unit));
+            index.put(PATH, ModelIndex.createEntry(factory.getClassInfo(unit), "h1", false));
+        } finally {
+            factory.close();
+        }
+        assertNotNull(index.get(PATH, "h1", false));
+        assertNull(index.get(PATH, "h2", false));
+        assertNull(index.get(PATH, "h1", true));
+        assertNull(index.get("/src/p/B.java", "h1", false));
+    }
+
+    /**
+     * An index file that cannot be read is an empty index.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    @Test
+    void unreadableIndexIsEmpty() throws IOException {
+        final File bad = Files.write(my_dir.resolve("bad.index"),
+                new byte[]{0x4A, 0x4D, 0x4C, 0x49, 0, 0, 0, 1, -1, -1, -1, -1, -1, -1}).toFile();
+        assertNull(ModelIndex.load(bad).get(PATH, "h", false));
+    }
+
+    /**
+     * Contents are hashed with SHA-256.
+     */
+    @Test
+    void hashIsSha256() {
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+                     ModelIndex.hash("abc".getBytes(StandardCharsets.UTF_8)));
+        assertNotEquals(ModelIndex.hash(new byte[]{0}), ModelIndex.hash(new byte[]{1}));
+    }
+
+    /**
+     * @return the compilation unit of the source file, parsed without
+     * method bodies, as when literals in method bodies are not needed.
+     */
+    private static CompilationUnit parse() {
+        return new JavaParser().parse(BodyStripper.strip(SOURCE)).getResult().get();
+    }
+
+    /**
+     * @param the_factory The factory that created the_class.
+     * @param the_class   A class.
+     * @return a description of the_class, its children and the classes nested
+     * in it, with their kinds, parents, methods (including those inherited
+     * from class files) and constructors.
+     */
+    private static List<String> describe(final InfoFactory the_factory,
+                                         final ClassInfo the_class) {
+        final List<String> result = new ArrayList<>();
+        final Set<ClassInfo> classes = new TreeSet<>(the_factory.getAllChildren(the_class));
+        classes.add(the_class);
+        classes.addAll(the_class.getNestedClasses());
+        for (ClassInfo c : classes) {
+            result.add(c.getFullyQualifiedName() + " " + c.getProtectionLevel() + " " +
+                    Arrays.asList(c.isAbstract(), c.isInterface(), c.isEnumeration(),
+                            c.isStatic(), c.isInner()) + " " + c.getParent() + " " +
+                    c.getInterfaces());
+            result.add(strings(c.getMethods()).toString());
+            result.add(strings(c.getConstructors()).toString());
+        }
+        return result;
+    }
+
+    /**
+     * @param the_objects Some objects.
+     * @return the string representations of the_objects, sorted.
+     */
+    private static Set<String> strings(final Set<?> the_objects) {
+        final Set<String> result = new TreeSet<>();
+        for (Object o : the_objects) {
+            result.add(String.valueOf(o));
+        }
+        return result;
+    }
+}
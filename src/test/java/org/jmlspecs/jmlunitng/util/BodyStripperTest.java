@@ -0,0 +1,121 @@
+/*
+ * JMLUnitNG
+ * Copyright (C) 2010-14
+ */
+
+package org.jmlspecs.jmlunitng.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for BodyStripper.
+ *
+ * @author Daniel M. Zimmerman
+ * @version October 2026
+ */
+class BodyStripperTest {
+    /**
+     * Method, constructor and initializer bodies are blanked, and the
+     * declarations and specifications around them are kept.
+     */
+    @Test
+    void bodiesAreBlanked() {
+        final String source = String.join("\n",
+                "public class A {",
+                "  //@ requires x > 0;",
+                "  public int f(int x) { return x + 1; }",
+                "  A() { super(); }",
+                "  static { init(); }",
+                "  { count++; }",
+                "}");
+        final String expected = String.join("\n",
+                "public class A {",
+                "  //@ requires x > 0;",
+                "  public int f(int x) {               }",
+                "  A() {          }",
+                "  static {         }",
+                "  {          }",
+                "}");
+        assertEquals(expected, BodyStripper.strip(source));
+    }
+
+    /**
+     * Blanked bodies keep their line breaks, so that positions still refer
+     * to the original source.
+     */
+    @Test
+    void lineBreaksArePreserved() {
+        final String source = "class A {\n  void f() {\n    int x = 1;\r\n    x++;\n  }\n}\n";
+        final String stripped = BodyStripper.strip(source);
+        assertEquals(source.length(), stripped.length());
+        for (int i = 0; i < source.length(); i++) {
+            final char c = source.charAt(i);
+            if (c == '\n' || c == '\r') {
+                assertEquals(c, stripped.charAt(i));
+            }
+        }
+        assertFalse(stripped.contains("x++"));
+    }
+
+    /**
+     * The bodies of nested, local-scope and enumeration types declared in a
+     * type body are kept, but the bodies of their methods are not.
+     */
+    @Test
+    void nestedTypeBodiesAreKept() {
+        final String source = String.join("\n",
+                "class A {",
+                "  static class B { void g() { b(); } }",
+                "  interface C { default void h() { c(); } }",
+                "  enum E { X, Y; int v() { return 1; } }",
+                "  record R(int x) { R { check(x); } }",
+                "}");
+        final String stripped = BodyStripper.strip(source);
+        assertTrue(stripped.contains("static class B { void g() {      } }"));
+        assertTrue(stripped.contains("interface C { default void h() {      } }"));
+        assertTrue(stripped.contains("enum E { X, Y; int v() {           } }"));
+        assertTrue(stripped.contains("record R(int x) { R {           } }"));
+    }
+
+    /**
+     * Braces in comments and literals do not open or close bodies, and
+     * class literals do not start type bodies.
+     */
+    @Test
+    void bracesInCommentsAndLiteralsAreIgnored() {
+        final String source = String.join("\n",
+                "class A {",
+                "  /* } */ String s = \"}\";",
+                "  char c = '{';",
+                "  String t = \"\"\"",
+                "    }\"\"\";",
+                "  Object o = A.class;",
+                "  void f() { String u = \"}\"; /* { */ }",
+                "  int g() { return 1; }",
+                "}");
+        final String stripped = BodyStripper.strip(source);
+        assertTrue(stripped.contains("/* } */ String s = \"}\";"));
+        assertTrue(stripped.contains("char c = '{';"));
+        assertTrue(stripped.contains("Object o = A.class;"));
+        assertTrue(stripped.contains("void f() {" + " ".repeat(25) + "}"));
+        assertTrue(stripped.contains("int g() {           }"));
+    }
+
+    /**
+     * Source whose braces do not balance is returned unchanged.
+     */
+    @Test
+    void unbalancedSourceIsUnchanged() {
+        final String missing_close = "class A { void f() { return; }";
+        assertSame(missing_close, BodyStripper.strip(missing_close));
+        final String extra_close = "class A { } }";
+        assertSame(extra_close, BodyStripper.strip(extra_close));
+        final String body_unclosed = "class A { void f() { if (x) { }";
+        assertSame(body_unclosed, BodyStripper.strip(body_unclosed));
+    }
+}